@@ -31,6 +31,7 @@ import org.apache.streampipes.messaging.jms.SpJmsProtocolFactory;
 import org.apache.streampipes.messaging.kafka.SpKafkaProtocolFactory;
 import org.apache.streampipes.messaging.mqtt.SpMqttProtocolFactory;
 import org.apache.streampipes.service.extensions.ExtensionsModelSubmitter;
+import org.apache.streampipes.wrapper.standalone.protocol.SpInMemoryProtocolFactory;
 
 import ${package}.pe.${packageName}.${classNamePrefix}DataProcessor;
 import ${package}.pe.${packageName}.${classNamePrefix}DataSink;
@@ -56,7 +57,8 @@ public class Init extends ExtensionsModelSubmitter {
         .registerMessagingProtocols(
             new SpKafkaProtocolFactory(),
             new SpJmsProtocolFactory(),
-            new SpMqttProtocolFactory())
+            new SpMqttProtocolFactory(),
+            new SpInMemoryProtocolFactory())
         .build();
   }
 }
@@ -23,6 +23,8 @@ import org.apache.streampipes.model.config.MessagingSettings;
 import org.apache.streampipes.model.connect.adapter.AdapterDescription;
 import org.apache.streampipes.model.function.FunctionDefinition;
 import org.apache.streampipes.model.message.SuccessMessage;
+import org.apache.streampipes.model.monitoring.RunningInstancesHeartbeat;
+import org.apache.streampipes.model.monitoring.RunningInstancesHeartbeatResponse;
 
 import java.util.List;
 
@@ -44,6 +46,10 @@ public class AdminApi extends AbstractClientApi {
     delete(getDeleteFunctionPath(functionId), SuccessMessage.class);
   }
 
+  public RunningInstancesHeartbeatResponse sendRunningInstancesHeartbeat(RunningInstancesHeartbeat heartbeat) {
+    return post(getHeartbeatPath(), heartbeat, RunningInstancesHeartbeatResponse.class);
+  }
+
   public MessagingSettings getMessagingSettings() {
     return getSingle(getMessagingSettingsPath(), MessagingSettings.class);
   }
@@ -69,6 +75,13 @@ public class AdminApi extends AbstractClientApi {
         .addToPath("functions");
   }
 
+  private StreamPipesApiPath getHeartbeatPath() {
+    return StreamPipesApiPath
+        .fromBaseApiPath()
+        .addToPath("extensions-services")
+        .addToPath("heartbeat");
+  }
+
   private StreamPipesApiPath getDeleteFunctionPath(String functionId) {
     return getFunctionsPath().addToPath(functionId);
   }
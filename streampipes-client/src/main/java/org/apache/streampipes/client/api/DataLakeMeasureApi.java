@@ -21,6 +21,7 @@ package org.apache.streampipes.client.api;
 import org.apache.streampipes.client.model.StreamPipesClientConfig;
 import org.apache.streampipes.client.util.StreamPipesApiPath;
 import org.apache.streampipes.model.datalake.DataLakeMeasure;
+import org.apache.streampipes.model.datalake.DataLakeMeasureStatistics;
 
 import java.util.List;
 
@@ -55,6 +56,14 @@ public class DataLakeMeasureApi extends AbstractTypedClientApi<DataLakeMeasure>
     put(getBaseResourcePath().addToPath(measure.getElementId()), measure);
   }
 
+  /**
+   * Adds the statistics of newly written rows to the statistics of the measure with the given name
+   */
+  public void addStatistics(String measureName,
+                            DataLakeMeasureStatistics statistics) {
+    post(getBaseResourcePath().addToPath(measureName).addToPath("statistics"), statistics);
+  }
+
   @Override
   protected StreamPipesApiPath getBaseResourcePath() {
     return StreamPipesApiPath.fromStreamPipesBasePath()
@@ -34,6 +34,12 @@ public enum Envs {
       DefaultEnvValues.LOCALHOST),
   SP_CONSUL_PORT("SP_CONSUL_PORT", DefaultEnvValues.CONSUL_PORT_DEFAULT),
   SP_KAFKA_RETENTION_MS("SP_KAFKA_RETENTION_MS", DefaultEnvValues.SP_KAFKA_RETENTION_MS_DEFAULT),
+  SP_KAFKA_DEFAULT_PARTITIONS("SP_KAFKA_DEFAULT_PARTITIONS", "1"),
+  SP_KAFKA_DEFAULT_REPLICATION_FACTOR("SP_KAFKA_DEFAULT_REPLICATION_FACTOR", "1"),
+  SP_KAFKA_PRODUCER_PROFILE("SP_KAFKA_PRODUCER_PROFILE", "DEFAULT"),
+  SP_MQTT_QOS("SP_MQTT_QOS", "AT_LEAST_ONCE"),
+  SP_MQTT_MAX_INFLIGHT("SP_MQTT_MAX_INFLIGHT", "1000"),
+  SP_MQTT_ACK_BATCH_SIZE("SP_MQTT_ACK_BATCH_SIZE", "100"),
   SP_JWT_SECRET("JWT_SECRET"),
   SP_JWT_SIGNING_MODE("SP_JWT_SIGNING_MODE"),
   SP_JWT_PRIVATE_KEY_LOC("SP_JWT_PRIVATE_KEY_LOC"),
@@ -50,6 +56,23 @@ public enum Envs {
   SP_DEBUG("SP_DEBUG", "false"),
   SP_MAX_WAIT_TIME_AT_SHUTDOWN("SP_MAX_WAIT_TIME_AT_SHUTDOWN"),
 
+  // Extensions runtime
+  SP_EXT_INPUT_QUEUE_SIZE("SP_EXT_INPUT_QUEUE_SIZE", "0"),
+  SP_EXT_INPUT_QUEUE_POLICY("SP_EXT_INPUT_QUEUE_POLICY", "BLOCK"),
+  SP_EVENT_TRACE_SAMPLING_INTERVAL("SP_EVENT_TRACE_SAMPLING_INTERVAL", "0"),
+  SP_EXT_IN_MEMORY_QUEUE_SIZE("SP_EXT_IN_MEMORY_QUEUE_SIZE", "1000"),
+
+  // Pipeline execution
+  SP_IN_MEMORY_TRANSPORT_ENABLED("SP_IN_MEMORY_TRANSPORT_ENABLED", "true"),
+  SP_IN_MEMORY_TRANSPORT_MIRROR("SP_IN_MEMORY_TRANSPORT_MIRROR", "false"),
+  SP_PLACEMENT_STRATEGY("SP_PLACEMENT_STRATEGY", "FIRST_AVAILABLE"),
+  SP_PIPELINE_SUBMIT_PARALLELISM("SP_PIPELINE_SUBMIT_PARALLELISM", "8"),
+  SP_PIPELINE_ELEMENT_SUBMIT_TIMEOUT_MS("SP_PIPELINE_ELEMENT_SUBMIT_TIMEOUT_MS", "120000"),
+  SP_PIPELINE_BULK_PARALLELISM("SP_PIPELINE_BULK_PARALLELISM", "8"),
+  SP_EXT_MAX_CONCURRENT_REQUESTS("SP_EXT_MAX_CONCURRENT_REQUESTS", "16"),
+  SP_EXT_HEARTBEAT_INTERVAL_MS("SP_EXT_HEARTBEAT_INTERVAL_MS", "10000"),
+  SP_EXT_HEARTBEAT_TIMEOUT_MS("SP_EXT_HEARTBEAT_TIMEOUT_MS", "30000"),
+
   // CouchDB Storage
   SP_COUCHDB_PROTOCOL("SP_COUCHDB_PROTOCOL", "http"),
   SP_COUCHDB_HOST("SP_COUCHDB_HOST", "couchdb", DefaultEnvValues.LOCALHOST),
@@ -67,7 +90,21 @@ public enum Envs {
 
   SP_TS_STORAGE_ORG("SP_TS_STORAGE_ORG", "sp"),
 
-  SP_TS_STORAGE_BUCKET("SP_TS_STORAGE_BUCKET", "sp");
+  SP_TS_STORAGE_BUCKET("SP_TS_STORAGE_BUCKET", "sp"),
+
+  SP_TS_STORAGE_WRITE_BATCH_SIZE("SP_TS_STORAGE_WRITE_BATCH_SIZE", "2000"),
+  SP_TS_STORAGE_WRITE_LINGER_MS("SP_TS_STORAGE_WRITE_LINGER_MS", "500"),
+  SP_TS_STORAGE_WRITE_BUFFER_SIZE("SP_TS_STORAGE_WRITE_BUFFER_SIZE", "20000"),
+  SP_TS_STORAGE_WRITE_MAX_RETRIES("SP_TS_STORAGE_WRITE_MAX_RETRIES", "5"),
+  SP_TS_STORAGE_WRITE_SPILL_DIR("SP_TS_STORAGE_WRITE_SPILL_DIR"),
+  SP_TS_STORAGE_ROLLUP_LATENESS_MS("SP_TS_STORAGE_ROLLUP_LATENESS_MS", "10000"),
+  SP_TS_STORAGE_STATISTICS_INTERVAL_SECONDS("SP_TS_STORAGE_STATISTICS_INTERVAL_SECONDS", "300"),
+
+  // Data explorer
+  SP_DATA_EXPLORER_CACHE_SIZE("SP_DATA_EXPLORER_CACHE_SIZE", "1000"),
+  SP_DATA_EXPLORER_CACHE_TTL_SECONDS("SP_DATA_EXPLORER_CACHE_TTL_SECONDS", "300"),
+  SP_DATA_EXPLORER_CACHE_OPEN_RANGE_TTL_MS("SP_DATA_EXPLORER_CACHE_OPEN_RANGE_TTL_MS", "2000"),
+  SP_DATA_EXPLORER_QUERY_THREADS("SP_DATA_EXPLORER_QUERY_THREADS", "8");
 
   private final String envVariableName;
   private String defaultValue;
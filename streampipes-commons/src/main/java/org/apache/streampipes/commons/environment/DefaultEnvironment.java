@@ -80,6 +80,61 @@ public class DefaultEnvironment implements Environment {
     return new StringEnvironmentVariable(Envs.SP_TS_STORAGE_BUCKET);
   }
 
+  @Override
+  public IntEnvironmentVariable getTsStorageWriteBatchSize() {
+    return new IntEnvironmentVariable(Envs.SP_TS_STORAGE_WRITE_BATCH_SIZE);
+  }
+
+  @Override
+  public IntEnvironmentVariable getTsStorageWriteLingerMs() {
+    return new IntEnvironmentVariable(Envs.SP_TS_STORAGE_WRITE_LINGER_MS);
+  }
+
+  @Override
+  public IntEnvironmentVariable getTsStorageWriteBufferSize() {
+    return new IntEnvironmentVariable(Envs.SP_TS_STORAGE_WRITE_BUFFER_SIZE);
+  }
+
+  @Override
+  public IntEnvironmentVariable getTsStorageWriteMaxRetries() {
+    return new IntEnvironmentVariable(Envs.SP_TS_STORAGE_WRITE_MAX_RETRIES);
+  }
+
+  @Override
+  public StringEnvironmentVariable getTsStorageWriteSpillDir() {
+    return new StringEnvironmentVariable(Envs.SP_TS_STORAGE_WRITE_SPILL_DIR);
+  }
+
+  @Override
+  public IntEnvironmentVariable getTsStorageRollupLatenessMs() {
+    return new IntEnvironmentVariable(Envs.SP_TS_STORAGE_ROLLUP_LATENESS_MS);
+  }
+
+  @Override
+  public IntEnvironmentVariable getTsStorageStatisticsIntervalSeconds() {
+    return new IntEnvironmentVariable(Envs.SP_TS_STORAGE_STATISTICS_INTERVAL_SECONDS);
+  }
+
+  @Override
+  public IntEnvironmentVariable getDataExplorerCacheSize() {
+    return new IntEnvironmentVariable(Envs.SP_DATA_EXPLORER_CACHE_SIZE);
+  }
+
+  @Override
+  public IntEnvironmentVariable getDataExplorerCacheTtlSeconds() {
+    return new IntEnvironmentVariable(Envs.SP_DATA_EXPLORER_CACHE_TTL_SECONDS);
+  }
+
+  @Override
+  public IntEnvironmentVariable getDataExplorerCacheOpenRangeTtlMs() {
+    return new IntEnvironmentVariable(Envs.SP_DATA_EXPLORER_CACHE_OPEN_RANGE_TTL_MS);
+  }
+
+  @Override
+  public IntEnvironmentVariable getDataExplorerQueryThreads() {
+    return new IntEnvironmentVariable(Envs.SP_DATA_EXPLORER_QUERY_THREADS);
+  }
+
   @Override
   public StringEnvironmentVariable getCouchDbProtocol() {
     return new StringEnvironmentVariable(Envs.SP_COUCHDB_PROTOCOL);
@@ -149,6 +204,36 @@ public class DefaultEnvironment implements Environment {
     return new StringEnvironmentVariable(Envs.SP_KAFKA_RETENTION_MS);
   }
 
+  @Override
+  public IntEnvironmentVariable getKafkaDefaultPartitions() {
+    return new IntEnvironmentVariable(Envs.SP_KAFKA_DEFAULT_PARTITIONS);
+  }
+
+  @Override
+  public IntEnvironmentVariable getKafkaDefaultReplicationFactor() {
+    return new IntEnvironmentVariable(Envs.SP_KAFKA_DEFAULT_REPLICATION_FACTOR);
+  }
+
+  @Override
+  public StringEnvironmentVariable getKafkaProducerProfile() {
+    return new StringEnvironmentVariable(Envs.SP_KAFKA_PRODUCER_PROFILE);
+  }
+
+  @Override
+  public StringEnvironmentVariable getMqttQos() {
+    return new StringEnvironmentVariable(Envs.SP_MQTT_QOS);
+  }
+
+  @Override
+  public IntEnvironmentVariable getMqttMaxInflight() {
+    return new IntEnvironmentVariable(Envs.SP_MQTT_MAX_INFLIGHT);
+  }
+
+  @Override
+  public IntEnvironmentVariable getMqttAckBatchSize() {
+    return new IntEnvironmentVariable(Envs.SP_MQTT_ACK_BATCH_SIZE);
+  }
+
   @Override
   public BooleanEnvironmentVariable getSetupInstallPipelineElements() {
     return new BooleanEnvironmentVariable(Envs.SP_SETUP_INSTALL_PIPELINE_ELEMENTS);
@@ -183,4 +268,69 @@ public class DefaultEnvironment implements Environment {
   public StringEnvironmentVariable getConsulLocation() {
     return new StringEnvironmentVariable(Envs.SP_CONSUL_LOCATION);
   }
+
+  @Override
+  public IntEnvironmentVariable getInputQueueSize() {
+    return new IntEnvironmentVariable(Envs.SP_EXT_INPUT_QUEUE_SIZE);
+  }
+
+  @Override
+  public StringEnvironmentVariable getInputQueuePolicy() {
+    return new StringEnvironmentVariable(Envs.SP_EXT_INPUT_QUEUE_POLICY);
+  }
+
+  @Override
+  public IntEnvironmentVariable getEventTraceSamplingInterval() {
+    return new IntEnvironmentVariable(Envs.SP_EVENT_TRACE_SAMPLING_INTERVAL);
+  }
+
+  @Override
+  public IntEnvironmentVariable getInMemoryQueueSize() {
+    return new IntEnvironmentVariable(Envs.SP_EXT_IN_MEMORY_QUEUE_SIZE);
+  }
+
+  @Override
+  public BooleanEnvironmentVariable getInMemoryTransportEnabled() {
+    return new BooleanEnvironmentVariable(Envs.SP_IN_MEMORY_TRANSPORT_ENABLED);
+  }
+
+  @Override
+  public BooleanEnvironmentVariable getInMemoryTransportMirror() {
+    return new BooleanEnvironmentVariable(Envs.SP_IN_MEMORY_TRANSPORT_MIRROR);
+  }
+
+  @Override
+  public StringEnvironmentVariable getPlacementStrategy() {
+    return new StringEnvironmentVariable(Envs.SP_PLACEMENT_STRATEGY);
+  }
+
+  @Override
+  public IntEnvironmentVariable getPipelineSubmitParallelism() {
+    return new IntEnvironmentVariable(Envs.SP_PIPELINE_SUBMIT_PARALLELISM);
+  }
+
+  @Override
+  public IntEnvironmentVariable getPipelineElementSubmitTimeoutMs() {
+    return new IntEnvironmentVariable(Envs.SP_PIPELINE_ELEMENT_SUBMIT_TIMEOUT_MS);
+  }
+
+  @Override
+  public IntEnvironmentVariable getPipelineBulkParallelism() {
+    return new IntEnvironmentVariable(Envs.SP_PIPELINE_BULK_PARALLELISM);
+  }
+
+  @Override
+  public IntEnvironmentVariable getExtensionsMaxConcurrentRequests() {
+    return new IntEnvironmentVariable(Envs.SP_EXT_MAX_CONCURRENT_REQUESTS);
+  }
+
+  @Override
+  public IntEnvironmentVariable getExtensionsHeartbeatIntervalMs() {
+    return new IntEnvironmentVariable(Envs.SP_EXT_HEARTBEAT_INTERVAL_MS);
+  }
+
+  @Override
+  public IntEnvironmentVariable getExtensionsHeartbeatTimeoutMs() {
+    return new IntEnvironmentVariable(Envs.SP_EXT_HEARTBEAT_TIMEOUT_MS);
+  }
 }
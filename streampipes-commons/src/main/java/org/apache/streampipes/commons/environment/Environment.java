@@ -55,6 +55,30 @@ public interface Environment {
 
   StringEnvironmentVariable getTsStorageBucket();
 
+  IntEnvironmentVariable getTsStorageWriteBatchSize();
+
+  IntEnvironmentVariable getTsStorageWriteLingerMs();
+
+  IntEnvironmentVariable getTsStorageWriteBufferSize();
+
+  IntEnvironmentVariable getTsStorageWriteMaxRetries();
+
+  StringEnvironmentVariable getTsStorageWriteSpillDir();
+
+  IntEnvironmentVariable getTsStorageRollupLatenessMs();
+
+  IntEnvironmentVariable getTsStorageStatisticsIntervalSeconds();
+
+  // Data explorer env variables
+
+  IntEnvironmentVariable getDataExplorerCacheSize();
+
+  IntEnvironmentVariable getDataExplorerCacheTtlSeconds();
+
+  IntEnvironmentVariable getDataExplorerCacheOpenRangeTtlMs();
+
+  IntEnvironmentVariable getDataExplorerQueryThreads();
+
   // CouchDB env variables
 
   StringEnvironmentVariable getCouchDbProtocol();
@@ -89,6 +113,44 @@ public interface Environment {
   // Messaging
   StringEnvironmentVariable getKafkaRetentionTimeMs();
 
+  IntEnvironmentVariable getKafkaDefaultPartitions();
+
+  IntEnvironmentVariable getKafkaDefaultReplicationFactor();
+
+  StringEnvironmentVariable getKafkaProducerProfile();
+
+  StringEnvironmentVariable getMqttQos();
+
+  IntEnvironmentVariable getMqttMaxInflight();
+
+  IntEnvironmentVariable getMqttAckBatchSize();
+
+  IntEnvironmentVariable getInputQueueSize();
+
+  StringEnvironmentVariable getInputQueuePolicy();
+
+  IntEnvironmentVariable getEventTraceSamplingInterval();
+
+  IntEnvironmentVariable getInMemoryQueueSize();
+
+  BooleanEnvironmentVariable getInMemoryTransportEnabled();
+
+  BooleanEnvironmentVariable getInMemoryTransportMirror();
+
+  StringEnvironmentVariable getPlacementStrategy();
+
+  IntEnvironmentVariable getPipelineSubmitParallelism();
+
+  IntEnvironmentVariable getPipelineElementSubmitTimeoutMs();
+
+  IntEnvironmentVariable getPipelineBulkParallelism();
+
+  IntEnvironmentVariable getExtensionsMaxConcurrentRequests();
+
+  IntEnvironmentVariable getExtensionsHeartbeatIntervalMs();
+
+  IntEnvironmentVariable getExtensionsHeartbeatTimeoutMs();
+
 
   // Setup
   BooleanEnvironmentVariable getSetupInstallPipelineElements();
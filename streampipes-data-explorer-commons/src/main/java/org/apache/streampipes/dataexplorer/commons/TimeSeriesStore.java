@@ -23,35 +23,70 @@ import org.apache.streampipes.commons.environment.Environment;
 import org.apache.streampipes.commons.exceptions.SpRuntimeException;
 import org.apache.streampipes.dataexplorer.commons.image.ImageStore;
 import org.apache.streampipes.dataexplorer.commons.influx.InfluxStore;
+import org.apache.streampipes.dataexplorer.commons.influx.InfluxWriteBuffer;
+import org.apache.streampipes.dataexplorer.commons.influx.InfluxWriteListener;
 import org.apache.streampipes.model.datalake.DataLakeMeasure;
+import org.apache.streampipes.model.datalake.DataLakeMeasureStatistics;
 import org.apache.streampipes.model.runtime.Event;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 public class TimeSeriesStore {
 
   private static final Logger LOG = LoggerFactory.getLogger(TimeSeriesStore.class);
+
   private final InfluxStore influxStore;
+  private final StreamPipesClient client;
+  private final String measureName;
+  private final ScheduledExecutorService statisticsPublisher;
   private ImageStore imageStore;
+  private DataLakeMeasureStatistics unpublishedStatistics;
+  private boolean statisticsInitialized;
 
 
   public TimeSeriesStore(Environment environment,
                          StreamPipesClient client,
                          DataLakeMeasure measure,
                          boolean enableImageStore) {
+    this(environment, client, measure, enableImageStore, InfluxWriteListener.NONE);
+  }
+
+  public TimeSeriesStore(Environment environment,
+                         StreamPipesClient client,
+                         DataLakeMeasure measure,
+                         boolean enableImageStore,
+                         InfluxWriteListener writeListener) {
 
     measure = DataExplorerUtils.sanitizeAndRegisterAtDataLake(client, measure);
+    this.client = client;
+    this.measureName = measure.getMeasureName();
 
     if (enableImageStore) {
       // TODO check if event properties are replaces correctly
       this.imageStore = new ImageStore(measure, environment);
     }
 
-    this.influxStore = new InfluxStore(measure, environment);
-
+    this.influxStore = new InfluxStore(measure, environment, writeListener);
+
+    // statistics are sent from a separate thread, so that events are not blocked by requests to the core
+    this.statisticsInitialized = initializeStatistics();
+    long statisticsInterval = environment.getTsStorageStatisticsIntervalSeconds().getValueOrDefault();
+    this.statisticsPublisher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "sp-statistics-" + measureName);
+      thread.setDaemon(true);
+      return thread;
+    });
+    this.statisticsPublisher.scheduleWithFixedDelay(this::publishStatistics,
+        statisticsInterval,
+        statisticsInterval,
+        TimeUnit.SECONDS);
   }
 
   public boolean onEvent(Event event) throws SpRuntimeException {
@@ -67,11 +102,81 @@ public class TimeSeriesStore {
   }
 
 
+  public boolean onEvents(List<Event> events) throws SpRuntimeException {
+    // Store all images in image store and replace image with internal id
+    if (imageStore != null) {
+      events.forEach(this.imageStore::onEvent);
+    }
+
+    // Store events in time series database
+    this.influxStore.onEvents(events);
+
+    return true;
+  }
+
   public boolean alterRetentionTime(DataLakeMeasure dataLakeMeasure) {
     return true;
   }
 
+  /**
+   * Blocks until all buffered events have been written to the time series database
+   */
+  public void flush() throws SpRuntimeException {
+    this.influxStore.flush();
+  }
+
+  /**
+   * Lets the core initialize the statistics of the measure from the stored data (if the measure has no statistics
+   * yet) before rows are counted, so that the rows of the first update are not counted twice
+   */
+  private boolean initializeStatistics() {
+    try {
+      client.dataLakeMeasureApi().addStatistics(measureName, new DataLakeMeasureStatistics());
+      return true;
+    } catch (RuntimeException e) {
+      LOG.warn("Could not initialize statistics of measurement {}", measureName, e);
+      return false;
+    }
+  }
+
+  /**
+   * Sends the statistics of the events written since the last publication to the core, statistics which could
+   * not be sent are retained for the next attempt
+   */
+  private synchronized void publishStatistics() {
+    DataLakeMeasureStatistics statistics = influxStore.pollStatistics();
+    if (!statisticsInitialized) {
+      // the rows counted so far are part of the stored data from which the statistics are initialized
+      getWriteBuffer().flush();
+      statisticsInitialized = initializeStatistics();
+      return;
+    }
+    if (statistics != null) {
+      if (unpublishedStatistics != null) {
+        unpublishedStatistics.merge(statistics);
+      } else {
+        unpublishedStatistics = statistics;
+      }
+    }
+    if (unpublishedStatistics != null) {
+      try {
+        client.dataLakeMeasureApi().addStatistics(measureName, unpublishedStatistics);
+        unpublishedStatistics = null;
+      } catch (RuntimeException e) {
+        LOG.warn("Could not publish statistics of measurement {}", measureName, e);
+      }
+    }
+  }
+
+  public InfluxWriteBuffer getWriteBuffer() {
+    return this.influxStore.getWriteBuffer();
+  }
+
   public void close() throws SpRuntimeException {
+    this.flush();
+    statisticsPublisher.shutdown();
+    publishStatistics();
+
     if (imageStore != null) {
       try {
         this.imageStore.close();
@@ -21,11 +21,19 @@ package org.apache.streampipes.dataexplorer.commons.influx;
 import org.apache.streampipes.commons.environment.Environment;
 import org.apache.streampipes.commons.environment.Environments;
 
+import okhttp3.ConnectionPool;
 import org.influxdb.InfluxDB;
 import org.influxdb.InfluxDBFactory;
 
+import java.util.concurrent.TimeUnit;
+
 public class InfluxClientProvider {
 
+  private static final int SHARED_CLIENT_IDLE_CONNECTIONS = 16;
+  private static final long SHARED_CLIENT_KEEP_ALIVE_MINUTES = 5;
+
+  private static volatile InfluxDB sharedClient;
+
   /**
    * Create a new InfluxDB client from environment variables
    *
@@ -58,6 +66,46 @@ public class InfluxClientProvider {
     }
   }
 
+  /**
+   * Returns the client shared by all queries of this service. The client keeps a pool of connections to InfluxDB,
+   * so that concurrent queries do not open a new connection each. The shared client must not be closed.
+   *
+   * @return InfluxDB
+   */
+  public static InfluxDB getSharedInfluxDBClient() {
+    if (sharedClient == null) {
+      synchronized (InfluxClientProvider.class) {
+        if (sharedClient == null) {
+          sharedClient = makeSharedClient(InfluxConnectionSettings.from(getEnvironment()));
+        }
+      }
+    }
+    return sharedClient;
+  }
+
+  private static InfluxDB makeSharedClient(InfluxConnectionSettings settings) {
+    var connectionPool = new ConnectionPool(
+        SHARED_CLIENT_IDLE_CONNECTIONS,
+        SHARED_CLIENT_KEEP_ALIVE_MINUTES,
+        TimeUnit.MINUTES);
+
+    if (settings.getAuthMode() == InfluxAuthMode.TOKEN) {
+      var okHttpClientBuilder = InfluxClientUtils.getHttpClientBuilder(settings.getToken())
+          .connectionPool(connectionPool);
+
+      return InfluxDBFactory.connect(settings.getConnectionUrl(), okHttpClientBuilder);
+    } else {
+      var okHttpClientBuilder = InfluxClientUtils.getHttpClientBuilder()
+          .connectionPool(connectionPool);
+      return InfluxDBFactory.connect(
+          settings.getConnectionUrl(),
+          settings.getUsername(),
+          settings.getPassword(),
+          okHttpClientBuilder
+      );
+    }
+  }
+
   private static Environment getEnvironment() {
     return Environments.getEnvironment();
   }
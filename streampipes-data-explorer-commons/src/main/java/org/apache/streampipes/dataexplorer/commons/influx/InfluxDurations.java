@@ -0,0 +1,77 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.dataexplorer.commons.influx;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Parses InfluxDB duration literals (e.g., 10s, 1h30m) as used in GROUP BY time() clauses and rollup tiers.
+ */
+public final class InfluxDurations {
+
+  private static final Pattern DURATION_PART = Pattern.compile("(\\d+)(ns|us|u|ms|s|m|h|d|w)");
+
+  private InfluxDurations() {
+  }
+
+  /**
+   * @return the length of the given duration in milliseconds or -1 if the duration cannot be parsed or is shorter
+   *     than one millisecond
+   */
+  public static long toMillis(String duration) {
+    if (duration == null || duration.isBlank()) {
+      return -1;
+    }
+    String trimmed = duration.trim();
+    Matcher matcher = DURATION_PART.matcher(trimmed);
+    long nanos = 0;
+    int position = 0;
+    while (matcher.find() && matcher.start() == position) {
+      nanos += Long.parseLong(matcher.group(1)) * nanosPerUnit(matcher.group(2));
+      position = matcher.end();
+    }
+    if (position != trimmed.length() || nanos < 1000000) {
+      return -1;
+    }
+    return nanos / 1000000;
+  }
+
+  private static long nanosPerUnit(String unit) {
+    switch (unit) {
+      case "ns":
+        return 1L;
+      case "us":
+      case "u":
+        return 1000L;
+      case "ms":
+        return 1000000L;
+      case "s":
+        return 1000000000L;
+      case "m":
+        return 60L * 1000000000L;
+      case "h":
+        return 3600L * 1000000000L;
+      case "d":
+        return 24L * 3600L * 1000000000L;
+      default:
+        return 7L * 24L * 3600L * 1000000000L;
+    }
+  }
+}
@@ -0,0 +1,236 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.dataexplorer.commons.influx;
+
+import org.apache.streampipes.model.datalake.DataLakeMeasure;
+import org.apache.streampipes.model.datalake.DataLakeRollupTier;
+
+import org.influxdb.dto.Point;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Incrementally maintains the rollup tiers of a data lake measure from the events written to the measure.
+ *
+ * <p>Each tier keeps the open buckets per tag set in memory. A bucket is written and removed once the newest
+ * event timestamp passed the end of the bucket plus the allowed lateness. Open buckets are additionally written
+ * (without being removed) periodically and when the store is flushed, so that queries on rollups include the newest
+ * data.</p>
+ *
+ * <p>Writes are merge-safe: each in-memory bucket is written as a partial point whose timestamp is the bucket start
+ * plus a sub-millisecond offset which is unique for the bucket. Rewriting a bucket only replaces its own partial
+ * point, while the partial points of other writers, of earlier runs of the sink and of events arriving after the
+ * bucket was closed are kept. As rollups only store mergeable aggregates, queries combine all partial points of a
+ * bucket (e.g., {@code SUM(sum_x)}).</p>
+ */
+class InfluxRollupAggregator implements InfluxValueCollector {
+
+  private static final long PARTIAL_OFFSETS = TimeUnit.MILLISECONDS.toNanos(1);
+
+  private final String[] columns;
+  private final List<Tier> tiers;
+  private final long latenessMs;
+  private final long offsetSeed = ThreadLocalRandom.current().nextLong(PARTIAL_OFFSETS);
+
+  private long watermark = Long.MIN_VALUE;
+  private long createdBuckets;
+
+  private InfluxRollupAggregator(List<String> columns,
+                                 List<Tier> tiers,
+                                 long latenessMs) {
+    this.columns = columns.toArray(new String[0]);
+    this.tiers = tiers;
+    this.latenessMs = latenessMs;
+  }
+
+  /**
+   * @return the aggregator for the rollup tiers of the measure or null if the measure has no (valid) tiers
+   */
+  static InfluxRollupAggregator create(DataLakeMeasure measure,
+                                       List<String> numericColumns,
+                                       long latenessMs) {
+    List<DataLakeRollupTier> rollupTiers = InfluxRollups.getTiers(measure);
+    if (rollupTiers.isEmpty() || numericColumns.isEmpty()) {
+      return null;
+    }
+    List<Tier> tiers = new ArrayList<>();
+    for (DataLakeRollupTier tier : rollupTiers) {
+      tiers.add(new Tier(InfluxRollups.measureName(measure.getMeasureName(), tier),
+          InfluxDurations.toMillis(tier.getInterval()),
+          InfluxRollups.storedAggregates(tier)));
+    }
+    return new InfluxRollupAggregator(numericColumns, tiers, latenessMs);
+  }
+
+  /**
+   * Adds the numeric values of an event to the open buckets of all tiers. Events of a closed bucket are added to a
+   * new partial bucket, which is written with the next call of {@link #pollClosedBuckets()}.
+   */
+  @Override
+  public synchronized void collect(long timestamp,
+                                   Map<String, String> tags,
+                                   double[] values) {
+    watermark = Math.max(watermark, timestamp);
+    for (Tier tier : tiers) {
+      long bucketStart = Math.floorDiv(timestamp, tier.intervalMs) * tier.intervalMs;
+      tier.buckets
+          .computeIfAbsent(bucketStart, key -> new HashMap<>())
+          .computeIfAbsent(tags, key -> new Bucket(columns.length, nextOffset()))
+          .add(values);
+    }
+  }
+
+  /**
+   * @return the points of all buckets which were closed since the last call
+   */
+  synchronized List<Point> pollClosedBuckets() {
+    List<Point> points = new ArrayList<>();
+    for (Tier tier : tiers) {
+      Iterator<Map.Entry<Long, Map<Map<String, String>, Bucket>>> iterator = tier.buckets.entrySet().iterator();
+      while (iterator.hasNext()) {
+        Map.Entry<Long, Map<Map<String, String>, Bucket>> entry = iterator.next();
+        if (!isClosed(tier, entry.getKey())) {
+          break;
+        }
+        addPoints(points, tier, entry.getKey(), entry.getValue());
+        iterator.remove();
+      }
+    }
+    return points;
+  }
+
+  /**
+   * @return the points of all open buckets, the buckets remain open
+   */
+  synchronized List<Point> snapshotOpenBuckets() {
+    List<Point> points = new ArrayList<>();
+    for (Tier tier : tiers) {
+      tier.buckets.forEach((bucketStart, buckets) -> addPoints(points, tier, bucketStart, buckets));
+    }
+    return points;
+  }
+
+  private long nextOffset() {
+    return Math.floorMod(offsetSeed + createdBuckets++, PARTIAL_OFFSETS);
+  }
+
+  private boolean isClosed(Tier tier,
+                           long bucketStart) {
+    return bucketStart + tier.intervalMs + latenessMs <= watermark;
+  }
+
+  private void addPoints(List<Point> points,
+                         Tier tier,
+                         long bucketStart,
+                         Map<Map<String, String>, Bucket> buckets) {
+    buckets.forEach((tags, bucket) -> {
+      Point.Builder point = Point.measurement(tier.measureName)
+          .time(TimeUnit.MILLISECONDS.toNanos(bucketStart) + bucket.offsetNanos, TimeUnit.NANOSECONDS)
+          .tag(tags);
+      boolean hasFields = false;
+      for (int i = 0; i < columns.length; i++) {
+        if (bucket.count[i] > 0) {
+          hasFields = true;
+          addFields(point, tier.aggregates, columns[i], bucket, i);
+        }
+      }
+      if (hasFields) {
+        points.add(point.build());
+      }
+    });
+  }
+
+  private void addFields(Point.Builder point,
+                         Set<String> aggregates,
+                         String column,
+                         Bucket bucket,
+                         int index) {
+    if (aggregates.contains(InfluxRollups.SUM)) {
+      point.addField(InfluxRollups.fieldName(InfluxRollups.SUM, column), bucket.sum[index]);
+    }
+    if (aggregates.contains(InfluxRollups.COUNT)) {
+      point.addField(InfluxRollups.fieldName(InfluxRollups.COUNT, column), bucket.count[index]);
+    }
+    if (aggregates.contains(InfluxRollups.MIN)) {
+      point.addField(InfluxRollups.fieldName(InfluxRollups.MIN, column), bucket.min[index]);
+    }
+    if (aggregates.contains(InfluxRollups.MAX)) {
+      point.addField(InfluxRollups.fieldName(InfluxRollups.MAX, column), bucket.max[index]);
+    }
+  }
+
+  private static class Tier {
+
+    private final String measureName;
+    private final long intervalMs;
+    private final Set<String> aggregates;
+
+    // open buckets by bucket start and tag set
+    private final TreeMap<Long, Map<Map<String, String>, Bucket>> buckets = new TreeMap<>();
+
+    Tier(String measureName,
+         long intervalMs,
+         Set<String> aggregates) {
+      this.measureName = measureName;
+      this.intervalMs = intervalMs;
+      this.aggregates = aggregates;
+    }
+  }
+
+  private static class Bucket {
+
+    private final long offsetNanos;
+    private final long[] count;
+    private final double[] sum;
+    private final double[] min;
+    private final double[] max;
+
+    Bucket(int columns,
+           long offsetNanos) {
+      this.offsetNanos = offsetNanos;
+      this.count = new long[columns];
+      this.sum = new double[columns];
+      this.min = new double[columns];
+      this.max = new double[columns];
+      Arrays.fill(min, Double.POSITIVE_INFINITY);
+      Arrays.fill(max, Double.NEGATIVE_INFINITY);
+    }
+
+    void add(double[] values) {
+      for (int i = 0; i < values.length; i++) {
+        double value = values[i];
+        if (!Double.isNaN(value)) {
+          count[i]++;
+          sum[i] += value;
+          min[i] = Math.min(min[i], value);
+          max[i] = Math.max(max[i], value);
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,138 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.dataexplorer.commons.influx;
+
+import org.apache.streampipes.model.datalake.DataLakeMeasure;
+import org.apache.streampipes.model.datalake.DataLakeRollupTier;
+import org.apache.streampipes.vocabulary.SO;
+import org.apache.streampipes.vocabulary.XSD;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Naming and aggregate conventions of the rollup measurements of a data lake measure, shared by the
+ * writer which maintains the rollups and the query planner which reads them.
+ *
+ * <p>Rollups only store aggregates which can be merged across buckets (sum, count, min and max), so that coarser
+ * intervals can be computed exactly from a rollup, e.g., the mean as {@code SUM(sum_x) / SUM(count_x)}.</p>
+ */
+public final class InfluxRollups {
+
+  public static final String SUM = "sum";
+  public static final String COUNT = "count";
+  public static final String MIN = "min";
+  public static final String MAX = "max";
+
+  private static final String ROLLUP_INFIX = "_rollup_";
+
+  private InfluxRollups() {
+  }
+
+  public static String measureName(String measureName,
+                                   DataLakeRollupTier tier) {
+    return measureName + ROLLUP_INFIX + tier.getInterval().trim();
+  }
+
+  public static String fieldName(String storedAggregate,
+                                 String columnName) {
+    return storedAggregate + "_" + columnName;
+  }
+
+  /**
+   * @return the stored aggregates required to compute the given aggregation function (e.g., MEAN) from a rollup,
+   *     or an empty list if the function cannot be computed from a rollup
+   */
+  public static List<String> requiredAggregates(String aggregationFunction) {
+    switch (aggregationFunction.toUpperCase(Locale.ROOT)) {
+      case "MEAN":
+        return List.of(SUM, COUNT);
+      case "SUM":
+        return List.of(SUM);
+      case "COUNT":
+        return List.of(COUNT);
+      case "MIN":
+        return List.of(MIN);
+      case "MAX":
+        return List.of(MAX);
+      default:
+        return List.of();
+    }
+  }
+
+  public static Set<String> storedAggregates(DataLakeRollupTier tier) {
+    Set<String> aggregates = new LinkedHashSet<>();
+    if (tier.getAggregations() != null) {
+      tier.getAggregations().forEach(aggregation -> aggregates.addAll(requiredAggregates(aggregation)));
+    }
+    return aggregates;
+  }
+
+  /**
+   * @return true if fields of the given runtime type are aggregated in rollups
+   */
+  public static boolean isNumeric(String runtimeType) {
+    return XSD.INTEGER.toString().equals(runtimeType)
+        || XSD.LONG.toString().equals(runtimeType)
+        || XSD.FLOAT.toString().equals(runtimeType)
+        || XSD.DOUBLE.toString().equals(runtimeType)
+        || SO.NUMBER.equals(runtimeType);
+  }
+
+  /**
+   * @return the start of the first bucket of the tier which contains all events written after the tier was
+   *     created, or {@link Long#MAX_VALUE} if the creation time of the tier is unknown
+   */
+  public static long firstCompleteBucket(DataLakeRollupTier tier) {
+    if (tier.getCreatedAt() <= 0) {
+      return Long.MAX_VALUE;
+    }
+    long intervalMs = InfluxDurations.toMillis(tier.getInterval());
+    return Math.floorDiv(tier.getCreatedAt() + intervalMs - 1, intervalMs) * intervalMs;
+  }
+
+  /**
+   * @return the start of the bucket of the tier which contains the given time
+   */
+  public static long bucketStart(DataLakeRollupTier tier,
+                                 long time) {
+    long intervalMs = InfluxDurations.toMillis(tier.getInterval());
+    return Math.floorDiv(time, intervalMs) * intervalMs;
+  }
+
+  /**
+   * @return all tiers of the measure with a valid interval and at least one supported aggregation, finest first
+   */
+  public static List<DataLakeRollupTier> getTiers(DataLakeMeasure measure) {
+    List<DataLakeRollupTier> tiers = new ArrayList<>();
+    if (measure.getRollupTiers() != null) {
+      for (DataLakeRollupTier tier : measure.getRollupTiers()) {
+        if (InfluxDurations.toMillis(tier.getInterval()) > 0 && !storedAggregates(tier).isEmpty()) {
+          tiers.add(tier);
+        }
+      }
+    }
+    tiers.sort(Comparator.comparingLong(tier -> InfluxDurations.toMillis(tier.getInterval())));
+    return tiers;
+  }
+}
@@ -0,0 +1,173 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.dataexplorer.commons.influx;
+
+import org.influxdb.dto.Point;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Append-only file of points (in line protocol) which could not be written to InfluxDB or did not fit into the
+ * write buffer. Spilled points are replayed by the writer of the buffer once the database accepts writes again.
+ * The position up to which points were written during a replay is checkpointed, so that written points are not
+ * replayed again.
+ */
+class InfluxSpillFile {
+
+  // rollup points are written with sub-millisecond offsets, which must be kept when points are replayed
+  static final TimeUnit PRECISION = TimeUnit.NANOSECONDS;
+
+  private static final char LINE_SEPARATOR = '\n';
+
+  private final Path file;
+  private final Path replayFile;
+  private final Path checkpointFile;
+  private final AtomicLong pendingPoints;
+
+  InfluxSpillFile(Path directory,
+                  String measureName) throws IOException {
+    Files.createDirectories(directory);
+    this.file = directory.resolve(measureName + ".lp");
+    this.replayFile = directory.resolve(measureName + ".lp.replay");
+    this.checkpointFile = directory.resolve(measureName + ".lp.checkpoint");
+    this.pendingPoints = new AtomicLong(countLines(file, 0) + countLines(replayFile, readCheckpoint()));
+  }
+
+  synchronized void append(List<Point> points) throws IOException {
+    List<String> lines = new ArrayList<>(points.size());
+    for (Point point : points) {
+      lines.add(point.lineProtocol(PRECISION));
+    }
+    appendLines(lines);
+    pendingPoints.addAndGet(lines.size());
+  }
+
+  synchronized boolean hasPoints() throws IOException {
+    return Files.exists(replayFile) || (Files.exists(file) && Files.size(file) > 0);
+  }
+
+  /**
+   * @return the number of spilled points which have not been written yet
+   */
+  long getPendingPoints() {
+    return pendingPoints.get();
+  }
+
+  /**
+   * Passes all spilled points in chunks to the given writer. After each written chunk, the position in the file is
+   * checkpointed. If the writer fails, the exception is rethrown and the next replay continues with the failed
+   * chunk, points spilled in the meantime are replayed afterwards.
+   */
+  void replay(int chunkSize,
+              Consumer<List<String>> writer) throws IOException {
+    synchronized (this) {
+      if (!Files.exists(replayFile)) {
+        if (!Files.exists(file)) {
+          return;
+        }
+        Files.deleteIfExists(checkpointFile);
+        Files.move(file, replayFile, StandardCopyOption.REPLACE_EXISTING);
+      }
+    }
+
+    long position = readCheckpoint();
+    try (FileChannel channel = FileChannel.open(replayFile, StandardOpenOption.READ);
+         BufferedReader reader = new BufferedReader(Channels.newReader(channel, StandardCharsets.UTF_8))) {
+      channel.position(position);
+      List<String> chunk = new ArrayList<>(chunkSize);
+      long chunkBytes = 0;
+      String line;
+      while ((line = reader.readLine()) != null) {
+        chunk.add(line);
+        chunkBytes += line.getBytes(StandardCharsets.UTF_8).length + 1;
+        if (chunk.size() == chunkSize) {
+          position = writeChunk(chunk, position + chunkBytes, writer);
+          chunk = new ArrayList<>(chunkSize);
+          chunkBytes = 0;
+        }
+      }
+      if (!chunk.isEmpty()) {
+        writeChunk(chunk, position + chunkBytes, writer);
+      }
+    }
+    Files.delete(replayFile);
+    Files.deleteIfExists(checkpointFile);
+  }
+
+  /**
+   * @return the position after the chunk, which has been checkpointed
+   */
+  private long writeChunk(List<String> chunk,
+                          long nextPosition,
+                          Consumer<List<String>> writer) throws IOException {
+    writer.accept(chunk);
+    writeCheckpoint(nextPosition);
+    pendingPoints.addAndGet(-chunk.size());
+    return nextPosition;
+  }
+
+  private long readCheckpoint() throws IOException {
+    if (!Files.exists(checkpointFile)) {
+      return 0;
+    }
+    return Long.parseLong(Files.readString(checkpointFile, StandardCharsets.UTF_8).trim());
+  }
+
+  private void writeCheckpoint(long position) throws IOException {
+    Path tempFile = checkpointFile.resolveSibling(checkpointFile.getFileName() + ".tmp");
+    Files.writeString(tempFile, Long.toString(position), StandardCharsets.UTF_8);
+    Files.move(tempFile, checkpointFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+  }
+
+  private long countLines(Path path,
+                          long position) throws IOException {
+    if (!Files.exists(path)) {
+      return 0;
+    }
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+         BufferedReader reader = new BufferedReader(Channels.newReader(channel, StandardCharsets.UTF_8))) {
+      channel.position(position);
+      return reader.lines().count();
+    }
+  }
+
+  private void appendLines(List<String> lines) throws IOException {
+    try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+        StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+      for (String line : lines) {
+        writer.write(line);
+        writer.write(LINE_SEPARATOR);
+      }
+    }
+  }
+}
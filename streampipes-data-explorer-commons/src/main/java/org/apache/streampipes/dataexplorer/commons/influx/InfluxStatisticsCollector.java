@@ -0,0 +1,95 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.dataexplorer.commons.influx;
+
+import org.apache.streampipes.model.datalake.DataLakeFieldStatistics;
+import org.apache.streampipes.model.datalake.DataLakeMeasureStatistics;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Collects the statistics (time range, row count and value ranges) of the points written since the last poll.
+ */
+class InfluxStatisticsCollector implements InfluxValueCollector {
+
+  private final String[] columns;
+  private final long[] counts;
+  private final double[] min;
+  private final double[] max;
+
+  private long firstTimestamp;
+  private long lastTimestamp;
+  private long rowCount;
+
+  InfluxStatisticsCollector(List<String> numericColumns) {
+    this.columns = numericColumns.toArray(new String[0]);
+    this.counts = new long[columns.length];
+    this.min = new double[columns.length];
+    this.max = new double[columns.length];
+    reset();
+  }
+
+  @Override
+  public synchronized void collect(long timestamp,
+                                   Map<String, String> tags,
+                                   double[] values) {
+    firstTimestamp = Math.min(firstTimestamp, timestamp);
+    lastTimestamp = Math.max(lastTimestamp, timestamp);
+    rowCount++;
+    for (int i = 0; i < values.length; i++) {
+      double value = values[i];
+      if (!Double.isNaN(value)) {
+        counts[i]++;
+        min[i] = Math.min(min[i], value);
+        max[i] = Math.max(max[i], value);
+      }
+    }
+  }
+
+  /**
+   * @return the statistics of all points collected since the last poll or null if no points were collected
+   */
+  synchronized DataLakeMeasureStatistics poll() {
+    if (rowCount == 0) {
+      return null;
+    }
+    Map<String, DataLakeFieldStatistics> fields = new HashMap<>();
+    for (int i = 0; i < columns.length; i++) {
+      if (counts[i] > 0) {
+        fields.put(columns[i], new DataLakeFieldStatistics(min[i], max[i], counts[i]));
+      }
+    }
+    DataLakeMeasureStatistics statistics =
+        new DataLakeMeasureStatistics(firstTimestamp, lastTimestamp, rowCount, fields);
+    reset();
+    return statistics;
+  }
+
+  private void reset() {
+    firstTimestamp = Long.MAX_VALUE;
+    lastTimestamp = Long.MIN_VALUE;
+    rowCount = 0;
+    Arrays.fill(counts, 0);
+    Arrays.fill(min, Double.POSITIVE_INFINITY);
+    Arrays.fill(max, Double.NEGATIVE_INFINITY);
+  }
+}
@@ -19,55 +19,83 @@
 package org.apache.streampipes.dataexplorer.commons.influx;
 
 import org.apache.streampipes.commons.environment.Environment;
+import org.apache.streampipes.commons.environment.Environments;
 import org.apache.streampipes.commons.exceptions.SpRuntimeException;
 import org.apache.streampipes.model.datalake.DataLakeMeasure;
+import org.apache.streampipes.model.datalake.DataLakeMeasureStatistics;
 import org.apache.streampipes.model.runtime.Event;
-import org.apache.streampipes.model.runtime.field.PrimitiveField;
-import org.apache.streampipes.model.schema.EventProperty;
-import org.apache.streampipes.model.schema.EventPropertyPrimitive;
-import org.apache.streampipes.model.schema.PropertyScope;
-import org.apache.streampipes.vocabulary.SO;
-import org.apache.streampipes.vocabulary.XSD;
 
 import org.influxdb.InfluxDB;
 import org.influxdb.dto.Point;
 import org.influxdb.dto.Pong;
 import org.influxdb.dto.Query;
-import org.jetbrains.annotations.NotNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.concurrent.TimeUnit;
+import java.util.List;
 
 public class InfluxStore {
 
   private static final Logger LOG = LoggerFactory.getLogger(InfluxStore.class);
+
+  // open rollup buckets are written at most this often, so that queries on rollups include the newest data
+  private static final long ROLLUP_SNAPSHOT_INTERVAL_MS = 10000;
+
   DataLakeMeasure measure;
-  Map<String, String> sanitizedRuntimeNames = new HashMap<>();
+  private final InfluxWritePlan writePlan;
   private InfluxDB influxDb = null;
+  private String databaseName;
+  private final InfluxWriteBuffer writeBuffer;
+  private final InfluxRollupAggregator rollupAggregator;
+  private final InfluxStatisticsCollector statisticsCollector;
+  private final InfluxValueCollector valueCollector;
+  private long lastRollupSnapshot;
 
   public InfluxStore(DataLakeMeasure measure,
                      InfluxConnectionSettings settings) {
-    this.measure = measure;
-    // store sanitized target property runtime names in local variable
-    measure.getEventSchema()
-        .getEventProperties()
-        .forEach(ep -> sanitizedRuntimeNames.put(ep.getRuntimeName(),
-            InfluxNameSanitizer.renameReservedKeywords(ep.getRuntimeName())));
-
-    connect(settings);
+    this(measure,
+        settings,
+        InfluxWriteSettings.from(measure, Environments.getEnvironment()),
+        InfluxWriteListener.NONE);
   }
 
   public InfluxStore(DataLakeMeasure measure,
                      Environment environment) throws SpRuntimeException {
-    this(measure, InfluxConnectionSettings.from(environment));
+    this(measure, environment, InfluxWriteListener.NONE);
+  }
+
+  public InfluxStore(DataLakeMeasure measure,
+                     Environment environment,
+                     InfluxWriteListener writeListener) throws SpRuntimeException {
+    this(measure,
+        InfluxConnectionSettings.from(environment),
+        InfluxWriteSettings.from(measure, environment),
+        writeListener);
+  }
+
+  public InfluxStore(DataLakeMeasure measure,
+                     InfluxConnectionSettings settings,
+                     InfluxWriteSettings writeSettings,
+                     InfluxWriteListener writeListener) {
+    this.measure = measure;
+    this.writePlan = InfluxWritePlan.compile(measure);
+    this.rollupAggregator = InfluxRollupAggregator.create(measure,
+        writePlan.getNumericColumns(),
+        writeSettings.getRollupLatenessMs());
+    this.statisticsCollector = new InfluxStatisticsCollector(writePlan.getNumericColumns());
+    this.valueCollector = rollupAggregator == null ? statisticsCollector : (timestamp, tags, values) -> {
+      statisticsCollector.collect(timestamp, tags, values);
+      rollupAggregator.collect(timestamp, tags, values);
+    };
+
+    connect(settings);
+    this.writeBuffer = new InfluxWriteBuffer(influxDb, databaseName, measure.getMeasureName(), writeSettings,
+        writeListener);
   }
 
   /**
-   * Connects to the InfluxDB Server, sets the database and initializes the batch-behaviour
+   * Connects to the InfluxDB Server and sets the database, batching is done by the {@link InfluxWriteBuffer}
    *
    * @throws SpRuntimeException If not connection can be established or if the database could not
    *                            be found
@@ -81,7 +109,7 @@ public class InfluxStore {
       throw new SpRuntimeException("Could not connect to InfluxDb Server: " + settings.getConnectionUrl());
     }
 
-    String databaseName = settings.getDatabaseName();
+    this.databaseName = settings.getDatabaseName();
     // Checking whether the database exists
     if (!InfluxRequests.databaseExists(influxDb, databaseName)) {
       LOG.info("Database '" + databaseName + "' not found. Gets created ...");
@@ -90,9 +118,6 @@ public class InfluxStore {
 
     // setting up the database
     influxDb.setDatabase(databaseName);
-    int batchSize = 2000;
-    int flushDuration = 500;
-    influxDb.enableBatch(batchSize, flushDuration, TimeUnit.MILLISECONDS);
   }
 
   /**
@@ -109,118 +134,74 @@ public class InfluxStore {
   }
 
   /**
-   * Saves an event to the connected InfluxDB database
+   * Adds an event to the write buffer of the connected InfluxDB database, blocks while the buffer is full
    *
    * @param event The event which should be saved
    * @throws SpRuntimeException If the column name (key-value of the event map) is not allowed
    */
   public void onEvent(Event event) throws SpRuntimeException {
-    var missingFields = new ArrayList<String>();
-    var nullFields = new ArrayList<String>();
-    if (event == null) {
-      throw new SpRuntimeException("event is null");
-    }
+    writeBuffer.add(writePlan.toPoint(event, valueCollector));
+    writeClosedRollups();
+  }
 
-    Long timestampValue = event.getFieldBySelector(measure.getTimestampField()).getAsPrimitive().getAsLong();
-    Point.Builder point =
-        Point.measurement(measure.getMeasureName()).time((long) timestampValue, TimeUnit.MILLISECONDS);
-
-    for (EventProperty ep : measure.getEventSchema().getEventProperties()) {
-      if (ep instanceof EventPropertyPrimitive) {
-        String runtimeName = ep.getRuntimeName();
-
-        // timestamp should not be added as a field
-        if (!measure.getTimestampField().endsWith(runtimeName)) {
-          String sanitizedRuntimeName = sanitizedRuntimeNames.get(runtimeName);
-
-          try {
-            var field = event.getOptionalFieldByRuntimeName(runtimeName);
-            if (field.isPresent()) {
-              PrimitiveField eventPropertyPrimitiveField = field.get().getAsPrimitive();
-              if (eventPropertyPrimitiveField.getRawValue() == null) {
-                nullFields.add(sanitizedRuntimeName);
-              } else {
-
-                // store property as tag when the field is a dimension property
-                if (PropertyScope.DIMENSION_PROPERTY.name().equals(ep.getPropertyScope())) {
-                  point.tag(sanitizedRuntimeName, eventPropertyPrimitiveField.getAsString());
-                } else {
-                  handleMeasurementProperty(
-                      point,
-                      (EventPropertyPrimitive) ep,
-                      sanitizedRuntimeName,
-                      eventPropertyPrimitiveField);
-                }
-              }
-            } else {
-              missingFields.add(runtimeName);
-            }
-          } catch (SpRuntimeException iae) {
-            LOG.warn("Runtime exception while extracting field value of field {} - this field will be ignored",
-                runtimeName, iae);
-          }
-        }
-      }
+  /**
+   * Adds all events of a batch to the write buffer of the connected InfluxDB database
+   *
+   * @param events The events which should be saved
+   * @throws SpRuntimeException If the column name (key-value of the event map) is not allowed
+   */
+  public void onEvents(List<Event> events) throws SpRuntimeException {
+    List<Point> points = new ArrayList<>(events.size());
+    for (Event event : events) {
+      points.add(writePlan.toPoint(event, valueCollector));
     }
+    writeBuffer.addAll(points);
+    writeClosedRollups();
+  }
 
-    if (missingFields.size() > 0) {
-      LOG.debug("Ignored {} fields which were present in the schema, but not in the provided event: {}",
-          missingFields.size(),
-          String.join(", ", missingFields));
+  /**
+   * Blocks until all buffered events and the current state of all open rollup buckets have been written
+   */
+  public void flush() throws SpRuntimeException {
+    if (rollupAggregator != null) {
+      writeBuffer.addAll(rollupAggregator.snapshotOpenBuckets());
     }
+    writeBuffer.flush();
+  }
 
-    if (nullFields.size() > 0) {
-      LOG.warn("Ignored {} fields which had a value 'null': {}", nullFields.size(), String.join(", ", nullFields));
+  private void writeClosedRollups() {
+    if (rollupAggregator != null) {
+      List<Point> rollupPoints = rollupAggregator.pollClosedBuckets();
+      if (!rollupPoints.isEmpty()) {
+        writeBuffer.addAll(rollupPoints);
+      }
+      long now = System.currentTimeMillis();
+      if (now - lastRollupSnapshot >= ROLLUP_SNAPSHOT_INTERVAL_MS) {
+        lastRollupSnapshot = now;
+        writeBuffer.addAll(rollupAggregator.snapshotOpenBuckets());
+      }
     }
+  }
 
-    influxDb.write(point.build());
+  /**
+   * @return the statistics of all events added since the last call or null if no events were added
+   */
+  public DataLakeMeasureStatistics pollStatistics() {
+    return statisticsCollector.poll();
   }
 
-  private void handleMeasurementProperty(Point.Builder p,
-                                         @NotNull EventPropertyPrimitive ep,
-                                         String preparedRuntimeName,
-                                         PrimitiveField eventPropertyPrimitiveField) {
-    try {
-      // Store property according to property type
-      String runtimeType = ep.getRuntimeType();
-      if (XSD.INTEGER.toString().equals(runtimeType)) {
-        try {
-          p.addField(preparedRuntimeName, eventPropertyPrimitiveField.getAsInt());
-        } catch (NumberFormatException ef) {
-          p.addField(preparedRuntimeName, eventPropertyPrimitiveField.getAsFloat());
-        }
-      } else if (XSD.LONG.toString().equals(runtimeType)) {
-        try {
-          p.addField(preparedRuntimeName, eventPropertyPrimitiveField.getAsLong());
-        } catch (NumberFormatException ef) {
-          p.addField(preparedRuntimeName, eventPropertyPrimitiveField.getAsFloat());
-        }
-      } else if (XSD.FLOAT.toString().equals(runtimeType)) {
-        p.addField(preparedRuntimeName, eventPropertyPrimitiveField.getAsFloat());
-      } else if (XSD.DOUBLE.toString().equals(runtimeType)) {
-        p.addField(preparedRuntimeName, eventPropertyPrimitiveField.getAsDouble());
-      } else if (XSD.BOOLEAN.toString().equals(runtimeType)) {
-        p.addField(preparedRuntimeName, eventPropertyPrimitiveField.getAsBoolean());
-      } else if (SO.NUMBER.equals(runtimeType)) {
-        p.addField(preparedRuntimeName, eventPropertyPrimitiveField.getAsDouble());
-      } else {
-        p.addField(preparedRuntimeName, eventPropertyPrimitiveField.getAsString());
-      }
-    } catch (NumberFormatException e) {
-      LOG.warn("Wrong number format for field {}, ignoring.", preparedRuntimeName);
-    }
+  public InfluxWriteBuffer getWriteBuffer() {
+    return writeBuffer;
   }
 
   /**
    * Shuts down the connection to the InfluxDB server
    */
   public void close() throws SpRuntimeException {
-    influxDb.flush();
-    try {
-      Thread.sleep(1000);
-    } catch (InterruptedException e) {
-      throw new SpRuntimeException(e);
+    if (rollupAggregator != null) {
+      writeBuffer.addAll(rollupAggregator.snapshotOpenBuckets());
     }
+    writeBuffer.close();
     influxDb.close();
   }
 }
@@ -0,0 +1,312 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.dataexplorer.commons.influx;
+
+import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+
+import org.influxdb.InfluxDB;
+import org.influxdb.dto.BatchPoints;
+import org.influxdb.dto.Point;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded write buffer of a data lake measure. Points are collected by a writer thread into batches of the
+ * configured size (or whatever arrived within the linger time) and written with retries and jittered exponential
+ * backoff. If the buffer is full, callers are blocked until the writer catches up, unless a spill directory is
+ * configured, in which case points that do not fit into the buffer or could not be written after all retries are
+ * spilled to disk and replayed once the database accepts writes again.
+ */
+public class InfluxWriteBuffer {
+
+  private static final Logger LOG = LoggerFactory.getLogger(InfluxWriteBuffer.class);
+
+  private static final long IDLE_POLL_MS = 100;
+  private static final long INITIAL_BACKOFF_MS = 100;
+  private static final long MAX_BACKOFF_MS = 10000;
+  private static final long REPLAY_INTERVAL_MS = 5000;
+  private static final long CLOSE_TIMEOUT_MS = 10000;
+
+  private final InfluxDB influxDb;
+  private final String databaseName;
+  private final InfluxWriteSettings settings;
+  private final InfluxWriteListener listener;
+  private final BlockingQueue<Point> queue;
+  private final InfluxSpillFile spillFile;
+  private final Thread writer;
+
+  private final Object progressMonitor = new Object();
+  private final AtomicLong acceptedPoints = new AtomicLong();
+  private final AtomicLong droppedPoints = new AtomicLong();
+  private volatile long completedPoints;
+
+  private volatile boolean running;
+  private volatile boolean flushRequested;
+  private volatile boolean hasSpilledPoints;
+  private long nextReplayNanos;
+
+  public InfluxWriteBuffer(InfluxDB influxDb,
+                           String databaseName,
+                           String measureName,
+                           InfluxWriteSettings settings,
+                           InfluxWriteListener listener) throws SpRuntimeException {
+    this.influxDb = influxDb;
+    this.databaseName = databaseName;
+    this.settings = settings;
+    this.listener = listener;
+    this.queue = new ArrayBlockingQueue<>(settings.getBufferSize());
+    this.spillFile = makeSpillFile(settings, measureName);
+    this.running = true;
+    this.writer = new Thread(this::run, "sp-influx-writer-" + measureName);
+    this.writer.setDaemon(true);
+    this.writer.start();
+  }
+
+  /**
+   * Adds a point to the buffer, blocking while the buffer is full (unless spilling is enabled).
+   */
+  public void add(Point point) throws SpRuntimeException {
+    ensureRunning();
+    if (spillFile != null) {
+      if (queue.offer(point)) {
+        acceptedPoints.incrementAndGet();
+      } else {
+        spill(Collections.singletonList(point));
+      }
+    } else {
+      try {
+        queue.put(point);
+        acceptedPoints.incrementAndGet();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new SpRuntimeException(e);
+      }
+    }
+  }
+
+  public void addAll(List<Point> points) throws SpRuntimeException {
+    for (Point point : points) {
+      add(point);
+    }
+  }
+
+  /**
+   * Blocks until all points which were added before this call have been written (or spilled).
+   */
+  public void flush() throws SpRuntimeException {
+    long target = acceptedPoints.get();
+    flushRequested = true;
+    try {
+      synchronized (progressMonitor) {
+        while (completedPoints < target && writer.isAlive()) {
+          progressMonitor.wait(IDLE_POLL_MS);
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new SpRuntimeException(e);
+    } finally {
+      flushRequested = false;
+    }
+  }
+
+  /**
+   * Flushes the buffer and stops the writer.
+   */
+  public void close() throws SpRuntimeException {
+    flush();
+    running = false;
+    try {
+      writer.join(CLOSE_TIMEOUT_MS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new SpRuntimeException(e);
+    }
+    if (writer.isAlive()) {
+      LOG.warn("Writer of database {} did not stop within {} ms", databaseName, CLOSE_TIMEOUT_MS);
+      writer.interrupt();
+    }
+  }
+
+  public int getBufferedPoints() {
+    return queue.size();
+  }
+
+  public int getCapacity() {
+    return settings.getBufferSize();
+  }
+
+  /**
+   * @return the number of points which were spilled to disk and have not been replayed yet
+   */
+  public long getSpilledPoints() {
+    return spillFile != null ? spillFile.getPendingPoints() : 0;
+  }
+
+  public long getDroppedPoints() {
+    return droppedPoints.get();
+  }
+
+  private void run() {
+    List<Point> batch = new ArrayList<>(settings.getBatchSize());
+    while (running || !queue.isEmpty()) {
+      try {
+        collectBatch(batch);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        queue.drainTo(batch);
+        running = false;
+      }
+      if (!batch.isEmpty()) {
+        writeBatch(batch);
+        complete(batch.size());
+        batch = new ArrayList<>(settings.getBatchSize());
+      } else {
+        replaySpilledPoints();
+      }
+    }
+  }
+
+  private void collectBatch(List<Point> batch) throws InterruptedException {
+    Point first = queue.poll(IDLE_POLL_MS, TimeUnit.MILLISECONDS);
+    if (first == null) {
+      return;
+    }
+    batch.add(first);
+    long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(settings.getLingerMs());
+    while (batch.size() < settings.getBatchSize()) {
+      queue.drainTo(batch, settings.getBatchSize() - batch.size());
+      long remaining = deadline - System.nanoTime();
+      if (batch.size() >= settings.getBatchSize() || remaining <= 0 || flushRequested || !running) {
+        return;
+      }
+      Point next = queue.poll(Math.min(remaining, TimeUnit.MILLISECONDS.toNanos(IDLE_POLL_MS)), TimeUnit.NANOSECONDS);
+      if (next != null) {
+        batch.add(next);
+      }
+    }
+  }
+
+  private void writeBatch(List<Point> batch) {
+    BatchPoints batchPoints = BatchPoints.database(databaseName).points(batch).build();
+    long start = System.nanoTime();
+    if (writeWithRetries(() -> influxDb.write(batchPoints))) {
+      listener.onBatchWritten(batch.size(), System.nanoTime() - start);
+      replaySpilledPoints();
+    } else {
+      spill(batch);
+    }
+  }
+
+  private boolean writeWithRetries(Runnable write) {
+    for (int attempt = 0; ; attempt++) {
+      try {
+        write.run();
+        return true;
+      } catch (RuntimeException e) {
+        if (attempt >= settings.getMaxRetries()) {
+          LOG.error("Could not write to database {} after {} attempts", databaseName, attempt + 1, e);
+          return false;
+        }
+        LOG.warn("Write to database {} failed, retrying: {}", databaseName, e.getMessage());
+        try {
+          Thread.sleep(backoffMillis(attempt));
+        } catch (InterruptedException ie) {
+          Thread.currentThread().interrupt();
+          return false;
+        }
+      }
+    }
+  }
+
+  private long backoffMillis(int attempt) {
+    long delay = Math.min(MAX_BACKOFF_MS, INITIAL_BACKOFF_MS << Math.min(attempt, 16));
+    return ThreadLocalRandom.current().nextLong(delay / 2, delay + 1);
+  }
+
+  private void spill(List<Point> points) {
+    if (spillFile != null) {
+      try {
+        spillFile.append(points);
+        hasSpilledPoints = true;
+        return;
+      } catch (IOException e) {
+        LOG.error("Could not spill {} points of database {} to disk", points.size(), databaseName, e);
+      }
+    }
+    LOG.error("Dropped {} points which could not be written to database {}", points.size(), databaseName);
+    droppedPoints.addAndGet(points.size());
+    listener.onPointsDropped(points.size());
+  }
+
+  private void replaySpilledPoints() {
+    if (!hasSpilledPoints || System.nanoTime() - nextReplayNanos < 0) {
+      return;
+    }
+    hasSpilledPoints = false;
+    try {
+      spillFile.replay(settings.getBatchSize(), lines -> {
+        long start = System.nanoTime();
+        influxDb.write(databaseName, null, InfluxDB.ConsistencyLevel.ONE, InfluxSpillFile.PRECISION, lines);
+        listener.onBatchWritten(lines.size(), System.nanoTime() - start);
+      });
+    } catch (IOException | RuntimeException e) {
+      LOG.warn("Could not replay spilled points of database {}: {}", databaseName, e.getMessage());
+      hasSpilledPoints = true;
+      nextReplayNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(REPLAY_INTERVAL_MS);
+    }
+  }
+
+  private void complete(int points) {
+    synchronized (progressMonitor) {
+      completedPoints += points;
+      progressMonitor.notifyAll();
+    }
+  }
+
+  private void ensureRunning() throws SpRuntimeException {
+    if (!running) {
+      throw new SpRuntimeException("Write buffer of database " + databaseName + " is closed");
+    }
+  }
+
+  private InfluxSpillFile makeSpillFile(InfluxWriteSettings settings,
+                                        String measureName) throws SpRuntimeException {
+    if (settings.getSpillDirectory() == null) {
+      return null;
+    }
+    try {
+      InfluxSpillFile file = new InfluxSpillFile(settings.getSpillDirectory(), measureName);
+      this.hasSpilledPoints = file.hasPoints();
+      return file;
+    } catch (IOException e) {
+      throw new SpRuntimeException("Could not create spill directory " + settings.getSpillDirectory(), e);
+    }
+  }
+}
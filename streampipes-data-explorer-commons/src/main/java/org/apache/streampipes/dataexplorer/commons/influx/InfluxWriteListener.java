@@ -0,0 +1,44 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.dataexplorer.commons.influx;
+
+/**
+ * Receives statistics of the writes of an {@link InfluxWriteBuffer}, e.g., to export them as metrics.
+ */
+public interface InfluxWriteListener {
+
+  InfluxWriteListener NONE = new InfluxWriteListener() {
+  };
+
+  /**
+   * Called after a batch was written to the database.
+   *
+   * @param points       the number of points in the batch
+   * @param latencyNanos the duration of the write request (including retries)
+   */
+  default void onBatchWritten(int points,
+                              long latencyNanos) {
+  }
+
+  /**
+   * Called if points could neither be written nor spilled to disk and were discarded.
+   */
+  default void onPointsDropped(int points) {
+  }
+}
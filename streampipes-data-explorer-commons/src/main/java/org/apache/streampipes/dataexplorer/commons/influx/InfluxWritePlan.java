@@ -0,0 +1,304 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.dataexplorer.commons.influx;
+
+import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.apache.streampipes.model.datalake.DataLakeMeasure;
+import org.apache.streampipes.model.runtime.Event;
+import org.apache.streampipes.model.runtime.field.AbstractField;
+import org.apache.streampipes.model.runtime.field.PrimitiveField;
+import org.apache.streampipes.model.schema.EventProperty;
+import org.apache.streampipes.model.schema.EventPropertyPrimitive;
+import org.apache.streampipes.model.schema.PropertyScope;
+import org.apache.streampipes.vocabulary.SO;
+import org.apache.streampipes.vocabulary.XSD;
+
+import org.influxdb.dto.Point;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write plan of a data lake measure, compiled once from the measure's event schema.
+ * The plan holds one writer per primitive property (except the timestamp) in schema order,
+ * with the sanitized column name, the tag/field classification and a writer specialized for the
+ * runtime type, so that points can be built without inspecting the schema for each event.
+ */
+class InfluxWritePlan {
+
+  private static final Logger LOG = LoggerFactory.getLogger(InfluxWritePlan.class);
+
+  private final String measureName;
+  private final String timestampSelector;
+  private final PropertyWriter[] writers;
+  private final List<String> numericColumns;
+
+  private InfluxWritePlan(String measureName,
+                          String timestampSelector,
+                          List<PropertyWriter> writers,
+                          List<String> numericColumns) {
+    this.measureName = measureName;
+    this.timestampSelector = timestampSelector;
+    this.writers = writers.toArray(new PropertyWriter[0]);
+    this.numericColumns = numericColumns;
+  }
+
+  public static InfluxWritePlan compile(DataLakeMeasure measure) {
+    List<PropertyWriter> writers = new ArrayList<>();
+    List<String> numericColumns = new ArrayList<>();
+    for (EventProperty ep : measure.getEventSchema().getEventProperties()) {
+      // timestamp should not be added as a field
+      if (ep instanceof EventPropertyPrimitive && !measure.getTimestampField().endsWith(ep.getRuntimeName())) {
+        String runtimeType = ((EventPropertyPrimitive) ep).getRuntimeType();
+        String columnName = InfluxNameSanitizer.renameReservedKeywords(ep.getRuntimeName());
+        boolean tag = PropertyScope.DIMENSION_PROPERTY.name().equals(ep.getPropertyScope());
+        int numericIndex = -1;
+        if (!tag && InfluxRollups.isNumeric(runtimeType)) {
+          numericIndex = numericColumns.size();
+          numericColumns.add(columnName);
+        }
+        writers.add(new PropertyWriter(
+            ep.getRuntimeName(),
+            columnName,
+            tag,
+            numericIndex,
+            makeValueWriter(runtimeType)));
+      }
+    }
+    return new InfluxWritePlan(measure.getMeasureName(), measure.getTimestampField(), writers, numericColumns);
+  }
+
+  /**
+   * @return the column names of all numeric fields, in the order of the values passed to a rollup aggregator
+   */
+  public List<String> getNumericColumns() {
+    return numericColumns;
+  }
+
+  public Point toPoint(Event event) throws SpRuntimeException {
+    return toPoint(event, null);
+  }
+
+  /**
+   * Builds the point of the event and passes the tags and numeric values of the event to the given collector
+   *
+   * @param collector the collector of the values (e.g., rollups), can be null
+   */
+  public Point toPoint(Event event,
+                       InfluxValueCollector collector) throws SpRuntimeException {
+    if (event == null) {
+      throw new SpRuntimeException("event is null");
+    }
+
+    long timestampValue = event.getFieldBySelector(timestampSelector).getAsPrimitive().getAsLong();
+    Point.Builder point = Point.measurement(measureName).time(timestampValue, TimeUnit.MILLISECONDS);
+
+    Map<String, AbstractField> fields = event.getFields();
+    List<String> missingFields = null;
+    List<String> nullFields = null;
+    Map<String, String> tags = null;
+    double[] values = null;
+    if (collector != null) {
+      tags = new HashMap<>();
+      values = new double[numericColumns.size()];
+      Arrays.fill(values, Double.NaN);
+    }
+
+    for (PropertyWriter writer : writers) {
+      try {
+        AbstractField<?> field = writer.resolve(fields);
+        if (field == null) {
+          missingFields = addTo(missingFields, writer.runtimeName);
+        } else if (field.getRawValue() == null) {
+          nullFields = addTo(nullFields, writer.columnName);
+        } else {
+          writer.write(point, field.getAsPrimitive());
+          if (collector != null) {
+            writer.collect(tags, values, field.getAsPrimitive());
+          }
+        }
+      } catch (SpRuntimeException e) {
+        LOG.warn("Runtime exception while extracting field value of field {} - this field will be ignored",
+            writer.runtimeName, e);
+      }
+    }
+
+    if (missingFields != null) {
+      LOG.debug("Ignored {} fields which were present in the schema, but not in the provided event: {}",
+          missingFields.size(),
+          String.join(", ", missingFields));
+    }
+
+    if (nullFields != null) {
+      LOG.warn("Ignored {} fields which had a value 'null': {}", nullFields.size(), String.join(", ", nullFields));
+    }
+
+    if (collector != null) {
+      collector.collect(timestampValue, tags, values);
+    }
+
+    return point.build();
+  }
+
+  private static List<String> addTo(List<String> names,
+                                    String name) {
+    List<String> result = names != null ? names : new ArrayList<>();
+    result.add(name);
+    return result;
+  }
+
+  private static ValueWriter makeValueWriter(String runtimeType) {
+    if (XSD.INTEGER.toString().equals(runtimeType)) {
+      return (p, name, field) -> {
+        Object value = field.getRawValue();
+        if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+          p.addField(name, ((Number) value).intValue());
+        } else {
+          try {
+            p.addField(name, field.getAsInt());
+          } catch (NumberFormatException ef) {
+            p.addField(name, field.getAsFloat());
+          }
+        }
+      };
+    } else if (XSD.LONG.toString().equals(runtimeType)) {
+      return (p, name, field) -> {
+        Object value = field.getRawValue();
+        if (value instanceof Long || value instanceof Integer) {
+          p.addField(name, ((Number) value).longValue());
+        } else {
+          try {
+            p.addField(name, field.getAsLong());
+          } catch (NumberFormatException ef) {
+            p.addField(name, field.getAsFloat());
+          }
+        }
+      };
+    } else if (XSD.FLOAT.toString().equals(runtimeType)) {
+      return (p, name, field) -> {
+        Object value = field.getRawValue();
+        p.addField(name, value instanceof Number ? ((Number) value).floatValue() : field.getAsFloat());
+      };
+    } else if (XSD.DOUBLE.toString().equals(runtimeType) || SO.NUMBER.equals(runtimeType)) {
+      return (p, name, field) -> {
+        Object value = field.getRawValue();
+        p.addField(name, value instanceof Number ? ((Number) value).doubleValue() : field.getAsDouble());
+      };
+    } else if (XSD.BOOLEAN.toString().equals(runtimeType)) {
+      return (p, name, field) -> {
+        Object value = field.getRawValue();
+        p.addField(name, value instanceof Boolean ? (Boolean) value : field.getAsBoolean());
+      };
+    } else {
+      return (p, name, field) -> p.addField(name, field.getAsString());
+    }
+  }
+
+  @FunctionalInterface
+  private interface ValueWriter {
+    void write(Point.Builder point,
+               String columnName,
+               PrimitiveField field);
+  }
+
+  private static class PropertyWriter {
+
+    private final String runtimeName;
+    private final String columnName;
+    private final boolean tag;
+    private final int numericIndex;
+    private final ValueWriter valueWriter;
+
+    // selector of the property in the incoming events, resolved from the first event which contains the property
+    private volatile String selector;
+
+    // number of fields of the last event which did not contain the property, -1 if the property was found.
+    // Events of the same stream with the same number of fields are not scanned again for a missing property.
+    private volatile int missingFieldCount = -1;
+
+    PropertyWriter(String runtimeName,
+                   String columnName,
+                   boolean tag,
+                   int numericIndex,
+                   ValueWriter valueWriter) {
+      this.runtimeName = runtimeName;
+      this.columnName = columnName;
+      this.tag = tag;
+      this.numericIndex = numericIndex;
+      this.valueWriter = valueWriter;
+    }
+
+    AbstractField<?> resolve(Map<String, AbstractField> fields) {
+      String cachedSelector = selector;
+      if (cachedSelector != null) {
+        AbstractField<?> field = fields.get(cachedSelector);
+        if (field != null && runtimeName.equals(field.getFieldNameIn())) {
+          return field;
+        }
+      }
+      if (missingFieldCount == fields.size()) {
+        return null;
+      }
+      for (Map.Entry<String, AbstractField> entry : fields.entrySet()) {
+        if (runtimeName.equals(entry.getValue().getFieldNameIn())) {
+          selector = entry.getKey();
+          missingFieldCount = -1;
+          return entry.getValue();
+        }
+      }
+      missingFieldCount = fields.size();
+      return null;
+    }
+
+    void write(Point.Builder point,
+               PrimitiveField field) {
+      if (tag) {
+        // store property as tag when the field is a dimension property
+        point.tag(columnName, field.getAsString());
+      } else {
+        try {
+          valueWriter.write(point, columnName, field);
+        } catch (NumberFormatException e) {
+          LOG.warn("Wrong number format for field {}, ignoring.", columnName);
+        }
+      }
+    }
+
+    void collect(Map<String, String> tags,
+                 double[] values,
+                 PrimitiveField field) {
+      if (tag) {
+        tags.put(columnName, field.getAsString());
+      } else if (numericIndex >= 0) {
+        Object value = field.getRawValue();
+        try {
+          values[numericIndex] = value instanceof Number ? ((Number) value).doubleValue() : field.getAsDouble();
+        } catch (NumberFormatException e) {
+          // not added to the rollups, the raw value is handled by the value writer
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,97 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.dataexplorer.commons.influx;
+
+import org.apache.streampipes.commons.environment.Environment;
+import org.apache.streampipes.model.datalake.DataLakeMeasure;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Settings of the write buffer of a data lake measure. Batch size and linger time can be configured per measure,
+ * all other settings (and the defaults) are taken from the environment.
+ */
+public class InfluxWriteSettings {
+
+  private final int batchSize;
+  private final int lingerMs;
+  private final int bufferSize;
+  private final int maxRetries;
+  private final Path spillDirectory;
+  private final int rollupLatenessMs;
+
+  public InfluxWriteSettings(int batchSize,
+                             int lingerMs,
+                             int bufferSize,
+                             int maxRetries,
+                             Path spillDirectory,
+                             int rollupLatenessMs) {
+    this.batchSize = Math.max(1, batchSize);
+    this.lingerMs = Math.max(0, lingerMs);
+    this.bufferSize = Math.max(this.batchSize, bufferSize);
+    this.maxRetries = Math.max(0, maxRetries);
+    this.spillDirectory = spillDirectory;
+    this.rollupLatenessMs = Math.max(0, rollupLatenessMs);
+  }
+
+  public static InfluxWriteSettings from(DataLakeMeasure measure,
+                                         Environment environment) {
+    String spillDirectory = environment.getTsStorageWriteSpillDir().getValueOrDefault();
+    return new InfluxWriteSettings(
+        measure.getWriteBatchSize() != null
+            ? measure.getWriteBatchSize() : environment.getTsStorageWriteBatchSize().getValueOrDefault(),
+        measure.getWriteLingerMs() != null
+            ? measure.getWriteLingerMs() : environment.getTsStorageWriteLingerMs().getValueOrDefault(),
+        environment.getTsStorageWriteBufferSize().getValueOrDefault(),
+        environment.getTsStorageWriteMaxRetries().getValueOrDefault(),
+        spillDirectory == null || spillDirectory.isBlank() ? null : Paths.get(spillDirectory),
+        environment.getTsStorageRollupLatenessMs().getValueOrDefault());
+  }
+
+  public int getBatchSize() {
+    return batchSize;
+  }
+
+  public int getLingerMs() {
+    return lingerMs;
+  }
+
+  public int getBufferSize() {
+    return bufferSize;
+  }
+
+  public int getMaxRetries() {
+    return maxRetries;
+  }
+
+  /**
+   * @return the directory points are spilled to if they cannot be written or buffered, or null if spilling is disabled
+   */
+  public Path getSpillDirectory() {
+    return spillDirectory;
+  }
+
+  /**
+   * @return the time after the end of a rollup bucket until which late events are still added to the bucket
+   */
+  public int getRollupLatenessMs() {
+    return rollupLatenessMs;
+  }
+}
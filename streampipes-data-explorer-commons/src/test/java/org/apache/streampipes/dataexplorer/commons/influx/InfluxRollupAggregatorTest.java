@@ -0,0 +1,80 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.dataexplorer.commons.influx;
+
+import org.apache.streampipes.model.datalake.DataLakeMeasure;
+import org.apache.streampipes.model.datalake.DataLakeRollupTier;
+
+import org.influxdb.dto.Point;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+public class InfluxRollupAggregatorTest {
+
+  private static final long MINUTE = 60000;
+
+  @Test
+  public void testOpenBucketIsRewrittenWithSameTimestamp() {
+    var aggregator = makeAggregator();
+
+    aggregator.collect(1000, Map.of(), new double[]{1.0});
+    Point first = aggregator.snapshotOpenBuckets().get(0);
+    aggregator.collect(2000, Map.of(), new double[]{2.0});
+    Point second = aggregator.snapshotOpenBuckets().get(0);
+
+    assertEquals(timestamp(first), timestamp(second));
+    assertTrue(timestamp(first) < TimeUnit.MILLISECONDS.toNanos(1));
+    assertTrue(second.lineProtocol().contains("count_value=2i"));
+  }
+
+  @Test
+  public void testLateEventsAreWrittenAsSeparatePartialPoint() {
+    var aggregator = makeAggregator();
+
+    aggregator.collect(1000, Map.of(), new double[]{1.0});
+    aggregator.collect(2 * MINUTE, Map.of(), new double[]{2.0});
+    List<Point> closed = aggregator.pollClosedBuckets();
+    aggregator.collect(2000, Map.of(), new double[]{3.0});
+    List<Point> late = aggregator.pollClosedBuckets();
+
+    assertEquals(1, closed.size());
+    assertEquals(1, late.size());
+    assertTrue(late.get(0).lineProtocol().contains("sum_value=3.0"));
+    assertNotEquals(timestamp(closed.get(0)), timestamp(late.get(0)));
+    assertEquals(0, TimeUnit.NANOSECONDS.toMillis(timestamp(late.get(0))));
+  }
+
+  private InfluxRollupAggregator makeAggregator() {
+    var measure = new DataLakeMeasure("m", null);
+    measure.setRollupTiers(List.of(new DataLakeRollupTier("1m", List.of("MEAN"))));
+    return InfluxRollupAggregator.create(measure, List.of("value"), 0);
+  }
+
+  private long timestamp(Point point) {
+    String lineProtocol = point.lineProtocol(TimeUnit.NANOSECONDS);
+    return Long.parseLong(lineProtocol.substring(lineProtocol.lastIndexOf(' ') + 1));
+  }
+}
@@ -0,0 +1,86 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.dataexplorer.commons.influx;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.apache.streampipes.dataexplorer.commons.influx.InfluxWriteBufferTest.makePoints;
+import static org.apache.streampipes.dataexplorer.commons.influx.InfluxWriteBufferTest.toLines;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
+
+public class InfluxSpillFileTest {
+
+  @Rule
+  public TemporaryFolder spillDirectory = new TemporaryFolder();
+
+  @Test
+  public void testReplayWritesAllPointsInChunks() throws IOException {
+    var spillFile = new InfluxSpillFile(directory(), "m");
+    spillFile.append(makePoints(0, 5));
+
+    List<List<String>> chunks = new ArrayList<>();
+    spillFile.replay(2, chunks::add);
+
+    assertEquals(List.of(toLines(makePoints(0, 2)), toLines(makePoints(2, 4)), toLines(makePoints(4, 5))), chunks);
+    assertFalse(spillFile.hasPoints());
+    assertEquals(0, spillFile.getPendingPoints());
+  }
+
+  @Test
+  public void testFailedReplayContinuesAfterLastWrittenChunk() throws IOException {
+    var spillFile = new InfluxSpillFile(directory(), "m");
+    spillFile.append(makePoints(0, 5));
+
+    List<String> written = new ArrayList<>();
+    try {
+      spillFile.replay(2, chunk -> {
+        if (!written.isEmpty()) {
+          throw new RuntimeException("database unavailable");
+        }
+        written.addAll(chunk);
+      });
+      fail("Expected the replay to fail");
+    } catch (RuntimeException e) {
+      assertEquals(3, spillFile.getPendingPoints());
+    }
+    spillFile.append(makePoints(5, 6));
+
+    // a restarted service continues the replay from the checkpoint
+    var restartedSpillFile = new InfluxSpillFile(directory(), "m");
+    assertEquals(4, restartedSpillFile.getPendingPoints());
+    restartedSpillFile.replay(10, written::addAll);
+    restartedSpillFile.replay(10, written::addAll);
+
+    assertEquals(toLines(makePoints(0, 6)), written);
+    assertFalse(restartedSpillFile.hasPoints());
+  }
+
+  private Path directory() {
+    return spillDirectory.getRoot().toPath();
+  }
+}
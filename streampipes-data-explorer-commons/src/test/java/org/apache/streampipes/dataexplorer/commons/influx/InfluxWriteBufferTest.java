@@ -0,0 +1,149 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.dataexplorer.commons.influx;
+
+import org.influxdb.InfluxDB;
+import org.influxdb.dto.BatchPoints;
+import org.influxdb.dto.Point;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.ArgumentCaptor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+public class InfluxWriteBufferTest {
+
+  private static final String DATABASE = "sp";
+
+  @Rule
+  public TemporaryFolder spillDirectory = new TemporaryFolder();
+
+  @Test
+  public void testPointsAreWrittenInBatches() {
+    InfluxDB influxDb = mock(InfluxDB.class);
+    var buffer = new InfluxWriteBuffer(influxDb, DATABASE, "m", makeSettings(false), InfluxWriteListener.NONE);
+
+    buffer.addAll(makePoints(0, 25));
+    buffer.flush();
+    buffer.close();
+
+    ArgumentCaptor<BatchPoints> batches = ArgumentCaptor.forClass(BatchPoints.class);
+    verify(influxDb, atLeastOnce()).write(batches.capture());
+    List<Point> written = new ArrayList<>();
+    for (BatchPoints batch : batches.getAllValues()) {
+      assertTrue(batch.getPoints().size() <= 10);
+      written.addAll(batch.getPoints());
+    }
+    assertEquals(makePoints(0, 25), written);
+    assertEquals(0, buffer.getBufferedPoints());
+  }
+
+  @Test
+  public void testFailedBatchIsSpilledAndReplayed() {
+    InfluxDB influxDb = mock(InfluxDB.class);
+    doThrow(new RuntimeException("database unavailable")).doNothing().when(influxDb).write(any(BatchPoints.class));
+    var buffer = new InfluxWriteBuffer(influxDb, DATABASE, "m", makeSettings(true), InfluxWriteListener.NONE);
+
+    buffer.addAll(makePoints(0, 5));
+    buffer.flush();
+    assertEquals(5, buffer.getSpilledPoints());
+
+    buffer.add(makePoint(5));
+    buffer.flush();
+    buffer.close();
+
+    verify(influxDb).write(eq(DATABASE), isNull(), eq(InfluxDB.ConsistencyLevel.ONE), eq(InfluxSpillFile.PRECISION),
+        eq(toLines(makePoints(0, 5))));
+    assertEquals(0, buffer.getSpilledPoints());
+    assertEquals(0, buffer.getDroppedPoints());
+  }
+
+  @Test
+  public void testPointsAreDroppedWithoutSpillDirectory() {
+    InfluxDB influxDb = mock(InfluxDB.class);
+    doThrow(new RuntimeException("database unavailable")).when(influxDb).write(any(BatchPoints.class));
+    var buffer = new InfluxWriteBuffer(influxDb, DATABASE, "m", makeSettings(false), InfluxWriteListener.NONE);
+
+    buffer.addAll(makePoints(0, 5));
+    buffer.flush();
+    buffer.close();
+
+    assertEquals(5, buffer.getDroppedPoints());
+  }
+
+  @Test
+  public void testSpilledPointsAreReplayedAfterRestart() {
+    InfluxDB influxDb = mock(InfluxDB.class);
+    doThrow(new RuntimeException("database unavailable")).when(influxDb).write(any(BatchPoints.class));
+    doThrow(new RuntimeException("database unavailable")).when(influxDb)
+        .write(eq(DATABASE), isNull(), any(InfluxDB.ConsistencyLevel.class), any(TimeUnit.class), anyList());
+    var buffer = new InfluxWriteBuffer(influxDb, DATABASE, "m", makeSettings(true), InfluxWriteListener.NONE);
+    buffer.addAll(makePoints(0, 5));
+    buffer.close();
+
+    InfluxDB restartedInfluxDb = mock(InfluxDB.class);
+    doNothing().when(restartedInfluxDb).write(any(BatchPoints.class));
+    var restartedBuffer = new InfluxWriteBuffer(restartedInfluxDb, DATABASE, "m", makeSettings(true),
+        InfluxWriteListener.NONE);
+    restartedBuffer.add(makePoint(5));
+    restartedBuffer.close();
+
+    verify(restartedInfluxDb).write(eq(DATABASE), isNull(), eq(InfluxDB.ConsistencyLevel.ONE),
+        eq(InfluxSpillFile.PRECISION), eq(toLines(makePoints(0, 5))));
+    assertEquals(0, restartedBuffer.getSpilledPoints());
+  }
+
+  private InfluxWriteSettings makeSettings(boolean spill) {
+    return new InfluxWriteSettings(10, 10, 100, 0, spill ? spillDirectory.getRoot().toPath() : null, 0);
+  }
+
+  static List<Point> makePoints(int from,
+                                int to) {
+    List<Point> points = new ArrayList<>();
+    for (int i = from; i < to; i++) {
+      points.add(makePoint(i));
+    }
+    return points;
+  }
+
+  static Point makePoint(long timestamp) {
+    return Point.measurement("m").time(timestamp, TimeUnit.MILLISECONDS).addField("value", timestamp).build();
+  }
+
+  static List<String> toLines(List<Point> points) {
+    List<String> lines = new ArrayList<>();
+    points.forEach(point -> lines.add(point.lineProtocol(InfluxSpillFile.PRECISION)));
+    return lines;
+  }
+}
@@ -0,0 +1,146 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.dataexplorer.commons.influx;
+
+import org.apache.streampipes.model.datalake.DataLakeMeasure;
+import org.apache.streampipes.model.runtime.Event;
+import org.apache.streampipes.model.runtime.EventFactory;
+import org.apache.streampipes.model.runtime.field.AbstractField;
+import org.apache.streampipes.model.schema.EventProperty;
+import org.apache.streampipes.model.schema.EventPropertyPrimitive;
+import org.apache.streampipes.model.schema.EventSchema;
+import org.apache.streampipes.model.schema.PropertyScope;
+import org.apache.streampipes.vocabulary.XSD;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class InfluxWritePlanTest {
+
+  private final InfluxWritePlan plan = InfluxWritePlan.compile(makeMeasure());
+
+  @Test
+  public void testPointContainsTagsAndTypedFields() {
+    Event event = EventFactory.fromMap(makeEvent());
+
+    String lineProtocol = plan.toPoint(event).lineProtocol(TimeUnit.MILLISECONDS);
+
+    assertEquals("m,sensor=s1 count=3i,flag=true,select_=\"a\",value=2.5 1000", lineProtocol);
+  }
+
+  @Test
+  public void testMissingAndNullFieldsAreIgnored() {
+    Map<String, Object> values = makeEvent();
+    values.remove("count");
+    values.put("value", null);
+
+    String lineProtocol = plan.toPoint(EventFactory.fromMap(values)).lineProtocol(TimeUnit.MILLISECONDS);
+
+    assertEquals("m,sensor=s1 flag=true,select_=\"a\" 1000", lineProtocol);
+  }
+
+  @Test
+  public void testMissingFieldIsNotSearchedAgainInEventsOfSameLayout() {
+    plan.toPoint(EventFactory.fromMap(makeEvent()));
+    Map<String, Object> values = makeEvent();
+    values.remove("count");
+
+    ScanCountingFieldMap first = toScanCountingEvent(values);
+    plan.toPoint(new Event(first, null, null));
+    ScanCountingFieldMap second = toScanCountingEvent(values);
+    String lineProtocol = plan.toPoint(new Event(second, null, null)).lineProtocol(TimeUnit.MILLISECONDS);
+    ScanCountingFieldMap complete = toScanCountingEvent(makeEvent());
+    plan.toPoint(new Event(complete, null, null));
+
+    assertEquals(1, first.scans);
+    assertEquals(0, second.scans);
+    assertEquals(0, complete.scans);
+    assertEquals("m,sensor=s1 flag=true,select_=\"a\",value=2.5 1000", lineProtocol);
+  }
+
+  @Test
+  public void testNumericValuesAreCollected() {
+    List<Object[]> collected = new ArrayList<>();
+    plan.toPoint(EventFactory.fromMap(makeEvent()),
+        (timestamp, tags, values) -> collected.add(new Object[]{timestamp, tags, values}));
+
+    assertEquals(Arrays.asList("value", "count"), plan.getNumericColumns());
+    assertEquals(1, collected.size());
+    assertEquals(1000L, collected.get(0)[0]);
+    assertEquals(Map.of("sensor", "s1"), collected.get(0)[1]);
+    assertArrayEquals(new double[]{2.5, 3.0}, (double[]) collected.get(0)[2], 0.0);
+  }
+
+  private ScanCountingFieldMap toScanCountingEvent(Map<String, Object> values) {
+    ScanCountingFieldMap fields = new ScanCountingFieldMap();
+    fields.putAll(EventFactory.fromMap(values).getFields());
+    return fields;
+  }
+
+  private Map<String, Object> makeEvent() {
+    Map<String, Object> event = new HashMap<>();
+    event.put("timestamp", 1000L);
+    event.put("value", 2.5);
+    event.put("count", 3);
+    event.put("flag", true);
+    event.put("sensor", "s1");
+    event.put("select", "a");
+    return event;
+  }
+
+  private DataLakeMeasure makeMeasure() {
+    List<EventProperty> properties = new ArrayList<>();
+    properties.add(makeProperty(XSD.LONG.toString(), "timestamp", PropertyScope.HEADER_PROPERTY));
+    properties.add(makeProperty(XSD.DOUBLE.toString(), "value", PropertyScope.MEASUREMENT_PROPERTY));
+    properties.add(makeProperty(XSD.INTEGER.toString(), "count", PropertyScope.MEASUREMENT_PROPERTY));
+    properties.add(makeProperty(XSD.BOOLEAN.toString(), "flag", PropertyScope.MEASUREMENT_PROPERTY));
+    properties.add(makeProperty(XSD.STRING.toString(), "sensor", PropertyScope.DIMENSION_PROPERTY));
+    properties.add(makeProperty(XSD.STRING.toString(), "select", PropertyScope.MEASUREMENT_PROPERTY));
+    return new DataLakeMeasure("m", "o::timestamp", new EventSchema(properties));
+  }
+
+  private EventProperty makeProperty(String runtimeType,
+                                     String runtimeName,
+                                     PropertyScope scope) {
+    EventPropertyPrimitive property = new EventPropertyPrimitive(runtimeType, runtimeName, "", new ArrayList<>());
+    property.setPropertyScope(scope.name());
+    return property;
+  }
+
+  private static class ScanCountingFieldMap extends HashMap<String, AbstractField> {
+
+    private int scans;
+
+    @Override
+    public Set<Map.Entry<String, AbstractField>> entrySet() {
+      scans++;
+      return super.entrySet();
+    }
+  }
+}
@@ -21,16 +21,24 @@ package org.apache.streampipes.dataexplorer;
 import org.apache.streampipes.commons.environment.Environment;
 import org.apache.streampipes.commons.environment.Environments;
 import org.apache.streampipes.dataexplorer.commons.influx.InfluxClientProvider;
+import org.apache.streampipes.dataexplorer.commons.influx.InfluxDurations;
+import org.apache.streampipes.dataexplorer.commons.influx.InfluxRollups;
 import org.apache.streampipes.dataexplorer.query.DeleteDataQuery;
+import org.apache.streampipes.dataexplorer.query.MeasureStatisticsQuery;
 import org.apache.streampipes.dataexplorer.utils.DataExplorerUtils;
 import org.apache.streampipes.dataexplorer.v4.ProvidedQueryParams;
 import org.apache.streampipes.dataexplorer.v4.params.QueryParamsV4;
+import org.apache.streampipes.dataexplorer.v4.query.BatchQueryExecutor;
+import org.apache.streampipes.dataexplorer.v4.query.BatchQueryResultConsumer;
 import org.apache.streampipes.dataexplorer.v4.query.DataExplorerQueryV4;
 import org.apache.streampipes.dataexplorer.v4.query.QueryResultProvider;
 import org.apache.streampipes.dataexplorer.v4.query.StreamedQueryResultProvider;
+import org.apache.streampipes.dataexplorer.v4.query.cache.QueryResultCache;
 import org.apache.streampipes.dataexplorer.v4.query.writer.OutputFormat;
 import org.apache.streampipes.dataexplorer.v4.utils.DataLakeManagementUtils;
 import org.apache.streampipes.model.datalake.DataLakeMeasure;
+import org.apache.streampipes.model.datalake.DataLakeMeasureStatistics;
+import org.apache.streampipes.model.datalake.DataLakeRollupTier;
 import org.apache.streampipes.model.datalake.SpQueryResult;
 import org.apache.streampipes.model.schema.EventProperty;
 import org.apache.streampipes.model.schema.EventPropertyList;
@@ -58,6 +66,8 @@ import java.util.stream.Collectors;
 
 public class DataLakeManagementV4 {
 
+  private static final Object STATISTICS_LOCK = new Object();
+
   public List<DataLakeMeasure> getAllMeasurements() {
     return DataExplorerUtils.getInfos();
   }
@@ -71,6 +81,12 @@ public class DataLakeManagementV4 {
     return new QueryResultProvider(queryParams, ignoreMissingData).getData();
   }
 
+  public void getData(List<ProvidedQueryParams> queries,
+                      boolean ignoreMissingData,
+                      BatchQueryResultConsumer consumer) throws IOException {
+    BatchQueryExecutor.getInstance().execute(queries, ignoreMissingData, consumer);
+  }
+
   public void getDataAsStream(ProvidedQueryParams params,
                               OutputFormat format,
                               boolean ignoreMissingValues,
@@ -81,12 +97,15 @@ public class DataLakeManagementV4 {
 
   public boolean removeAllMeasurements() {
     List<DataLakeMeasure> allMeasurements = getAllMeasurements();
+    QueryResultCache.getInstance().invalidateAll();
 
     for (DataLakeMeasure measure : allMeasurements) {
       QueryResult queryResult = new DeleteDataQuery(measure).executeQuery();
       if (queryResult.hasError() || queryResult.getResults().get(0).getError() != null) {
         return false;
       }
+      removeRollups(measure);
+      resetStatistics(measure.getMeasureName());
     }
     return true;
   }
@@ -96,6 +115,9 @@ public class DataLakeManagementV4 {
     for (DataLakeMeasure measure : allMeasurements) {
       if (measure.getMeasureName().equals(measurementID)) {
         QueryResult queryResult = new DeleteDataQuery(new DataLakeMeasure(measurementID, null)).executeQuery();
+        removeRollups(measure);
+        resetStatistics(measurementID);
+        QueryResultCache.getInstance().invalidate(measurementID);
 
         return !queryResult.hasError();
       }
@@ -106,7 +128,73 @@ public class DataLakeManagementV4 {
   public SpQueryResult deleteData(String measurementID, Long startDate, Long endDate) {
     Map<String, QueryParamsV4> queryParts =
         DataLakeManagementUtils.getDeleteQueryParams(measurementID, startDate, endDate);
-    return new DataExplorerQueryV4(queryParts).executeQuery(true);
+    SpQueryResult result = new DataExplorerQueryV4(queryParts).executeQuery(true);
+    getAllMeasurements()
+        .stream()
+        .filter(measure -> measure.getMeasureName().equals(measurementID))
+        .forEach(measure -> deleteRollupData(measure, startDate, endDate));
+    QueryResultCache.getInstance().invalidate(measurementID);
+    resetStatistics(measurementID);
+    return result;
+  }
+
+  /**
+   * Deletes every rollup bucket which overlaps the given range, as rollup points are stored at the start of their
+   * bucket and cannot be split.
+   */
+  private void deleteRollupData(DataLakeMeasure measure,
+                                Long startDate,
+                                Long endDate) {
+    for (DataLakeRollupTier tier : InfluxRollups.getTiers(measure)) {
+      // the bounds of delete queries are exclusive
+      Long rollupStartDate = startDate != null ? InfluxRollups.bucketStart(tier, startDate) - 1 : null;
+      Long rollupEndDate = endDate != null
+          ? InfluxRollups.bucketStart(tier, endDate - 1) + InfluxDurations.toMillis(tier.getInterval())
+          : null;
+      new DataExplorerQueryV4(DataLakeManagementUtils.getDeleteQueryParams(
+          InfluxRollups.measureName(measure.getMeasureName(), tier), rollupStartDate, rollupEndDate))
+          .executeQuery(true);
+    }
+  }
+
+  /**
+   * Adds the statistics of newly written rows to the statistics of the measure. If the measure has no statistics
+   * yet, the statistics are initialized from the data which is already stored, which includes the newly written
+   * rows, so that these are not counted twice. Updates without rows are only stored if they initialize the
+   * statistics.
+   */
+  public void addStatistics(String measureName,
+                            DataLakeMeasureStatistics statistics) throws IllegalArgumentException {
+    synchronized (STATISTICS_LOCK) {
+      DataLakeMeasure measure = DataExplorerUtils.getInfo(measureName)
+          .orElseThrow(() -> new IllegalArgumentException("Could not find measure " + measureName));
+      if (measure.getStatistics() == null) {
+        measure.setStatistics(new MeasureStatisticsQuery(measure).executeQuery());
+      } else if (statistics.getRowCount() > 0) {
+        measure.getStatistics().merge(statistics);
+      } else {
+        return;
+      }
+      getDataLakeStorage().updateDataLakeMeasure(measure);
+    }
+  }
+
+  private void resetStatistics(String measureName) {
+    synchronized (STATISTICS_LOCK) {
+      DataExplorerUtils.getInfo(measureName)
+          .filter(measure -> measure.getStatistics() != null)
+          .ifPresent(measure -> {
+            measure.setStatistics(null);
+            getDataLakeStorage().updateDataLakeMeasure(measure);
+          });
+    }
+  }
+
+  private void removeRollups(DataLakeMeasure measure) {
+    for (DataLakeRollupTier tier : InfluxRollups.getTiers(measure)) {
+      new DeleteDataQuery(new DataLakeMeasure(InfluxRollups.measureName(measure.getMeasureName(), tier), null))
+          .executeQuery();
+    }
   }
 
   public boolean removeEventProperty(String measurementID) {
@@ -164,8 +252,12 @@ public class DataLakeManagementV4 {
     var existingMeasure = getDataLakeStorage().findOne(measure.getElementId());
     if (existingMeasure != null) {
       measure.setRev(existingMeasure.getRev());
+      // statistics are maintained by the data lake sink
+      measure.setStatistics(existingMeasure.getStatistics());
+      setRollupTierCreationTimes(measure, existingMeasure);
       getDataLakeStorage().updateDataLakeMeasure(measure);
     } else {
+      setRollupTierCreationTimes(measure, null);
       getDataLakeStorage().storeDataLakeMeasure(measure);
     }
   }
@@ -192,6 +284,7 @@ public class DataLakeManagementV4 {
       }
     } else {
       measure.setSchemaVersion(DataLakeMeasure.CURRENT_SCHEMA_VERSION);
+      setRollupTierCreationTimes(measure, null);
       getDataLakeStorage().storeDataLakeMeasure(measure);
       return measure;
     }
@@ -199,6 +292,34 @@ public class DataLakeManagementV4 {
     return measure;
   }
 
+  /**
+   * Keeps the creation time of unchanged rollup tiers and sets the current time for new or changed tiers, rollups
+   * are only queried for data written after the creation of the tier.
+   */
+  private void setRollupTierCreationTimes(DataLakeMeasure measure,
+                                          DataLakeMeasure existingMeasure) {
+    if (measure.getRollupTiers() == null) {
+      return;
+    }
+    List<DataLakeRollupTier> existingTiers = existingMeasure != null
+        ? InfluxRollups.getTiers(existingMeasure)
+        : List.of();
+    long now = System.currentTimeMillis();
+    for (DataLakeRollupTier tier : measure.getRollupTiers()) {
+      long createdAt = existingTiers
+          .stream()
+          .filter(existingTier -> tier.getInterval() != null
+              && existingTier.getInterval().trim().equals(tier.getInterval().trim()))
+          .filter(existingTier -> InfluxRollups.storedAggregates(existingTier)
+              .containsAll(InfluxRollups.storedAggregates(tier)))
+          .map(DataLakeRollupTier::getCreatedAt)
+          .filter(existingCreatedAt -> existingCreatedAt > 0)
+          .findFirst()
+          .orElse(now);
+      tier.setCreatedAt(createdAt);
+    }
+  }
+
   private boolean compareEventProperties(List<EventProperty> prop1, List<EventProperty> prop2) {
     if (prop1.size() != prop2.size()) {
       return false;
@@ -0,0 +1,132 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.dataexplorer.query;
+
+import org.apache.streampipes.commons.environment.Environments;
+import org.apache.streampipes.dataexplorer.commons.influx.InfluxClientProvider;
+import org.apache.streampipes.dataexplorer.commons.influx.InfluxNameSanitizer;
+import org.apache.streampipes.dataexplorer.commons.influx.InfluxRollups;
+import org.apache.streampipes.model.datalake.DataLakeFieldStatistics;
+import org.apache.streampipes.model.datalake.DataLakeMeasure;
+import org.apache.streampipes.model.datalake.DataLakeMeasureStatistics;
+import org.apache.streampipes.model.schema.EventProperty;
+import org.apache.streampipes.model.schema.EventPropertyPrimitive;
+import org.apache.streampipes.model.schema.PropertyScope;
+
+import org.influxdb.InfluxDB;
+import org.influxdb.dto.Query;
+import org.influxdb.dto.QueryResult;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Computes the statistics of all data which is currently stored for a measure. This is used once to initialize
+ * the statistics of a measure, afterwards the statistics are updated from the write path.
+ */
+public class MeasureStatisticsQuery {
+
+  private final DataLakeMeasure measure;
+
+  public MeasureStatisticsQuery(DataLakeMeasure measure) {
+    this.measure = measure;
+  }
+
+  public DataLakeMeasureStatistics executeQuery() {
+    List<String> fields = new ArrayList<>();
+    List<String> numericFields = new ArrayList<>();
+    for (EventProperty ep : measure.getEventSchema().getEventProperties()) {
+      if (ep instanceof EventPropertyPrimitive
+          && !PropertyScope.DIMENSION_PROPERTY.name().equals(ep.getPropertyScope())) {
+        String field = InfluxNameSanitizer.renameReservedKeywords(ep.getRuntimeName());
+        fields.add(field);
+        if (InfluxRollups.isNumeric(((EventPropertyPrimitive) ep).getRuntimeType())) {
+          numericFields.add(field);
+        }
+      }
+    }
+
+    DataLakeMeasureStatistics statistics = new DataLakeMeasureStatistics();
+    if (fields.isEmpty()) {
+      return statistics;
+    }
+
+    String from = " FROM \"" + measure.getMeasureName() + "\"";
+    StringJoiner aggregates = new StringJoiner(",");
+    fields.forEach(field -> aggregates.add("COUNT(\"" + field + "\")"));
+    numericFields.forEach(field -> aggregates.add("MIN(\"" + field + "\")").add("MAX(\"" + field + "\")"));
+    String statement = "SELECT " + aggregates + from + ";"
+        + "SELECT *" + from + " ORDER BY time ASC LIMIT 1;"
+        + "SELECT *" + from + " ORDER BY time DESC LIMIT 1";
+
+    try (InfluxDB influxDB = InfluxClientProvider.getInfluxDBClient()) {
+      String databaseName = Environments.getEnvironment().getTsStorageBucket().getValueOrDefault();
+      List<QueryResult.Result> results =
+          influxDB.query(new Query(statement, databaseName), TimeUnit.MILLISECONDS).getResults();
+
+      List<Object> aggregateRow = firstRow(results.get(0));
+      if (aggregateRow != null) {
+        long rowCount = 0;
+        Map<String, DataLakeFieldStatistics> fieldStatistics = new HashMap<>();
+        // the first column is the time column
+        for (int i = 0; i < fields.size(); i++) {
+          rowCount = Math.max(rowCount, asLong(aggregateRow.get(i + 1)));
+        }
+        for (int i = 0; i < numericFields.size(); i++) {
+          int index = fields.indexOf(numericFields.get(i)) + 1;
+          int minIndex = fields.size() + 2 * i + 1;
+          fieldStatistics.put(numericFields.get(i), new DataLakeFieldStatistics(
+              asDouble(aggregateRow.get(minIndex)),
+              asDouble(aggregateRow.get(minIndex + 1)),
+              asLong(aggregateRow.get(index))));
+        }
+        statistics.setRowCount(rowCount);
+        statistics.setFields(fieldStatistics);
+      }
+
+      List<Object> firstRow = firstRow(results.get(1));
+      List<Object> lastRow = firstRow(results.get(2));
+      if (firstRow != null && lastRow != null) {
+        statistics.setFirstTimestamp(asLong(firstRow.get(0)));
+        statistics.setLastTimestamp(asLong(lastRow.get(0)));
+      }
+    }
+    return statistics;
+  }
+
+  private List<Object> firstRow(QueryResult.Result result) {
+    if (result.getSeries() == null || result.getSeries().isEmpty()) {
+      return null;
+    }
+    List<List<Object>> values = result.getSeries().get(0).getValues();
+    return values == null || values.isEmpty() ? null : values.get(0);
+  }
+
+  private long asLong(Object value) {
+    return value instanceof Number ? ((Number) value).longValue() : 0;
+  }
+
+  private Double asDouble(Object value) {
+    return value instanceof Number ? ((Number) value).doubleValue() : null;
+  }
+}
@@ -21,6 +21,7 @@ import org.apache.streampipes.model.datalake.DataLakeMeasure;
 import org.apache.streampipes.storage.management.StorageDispatcher;
 
 import java.util.List;
+import java.util.Optional;
 
 public class DataExplorerUtils {
 
@@ -30,4 +31,11 @@ public class DataExplorerUtils {
         .getDataLakeStorage()
         .getAllDataLakeMeasures();
   }
+
+  public static Optional<DataLakeMeasure> getInfo(String measureName) {
+    return getInfos()
+        .stream()
+        .filter(measure -> measureName.equals(measure.getMeasureName()))
+        .findFirst();
+  }
 }
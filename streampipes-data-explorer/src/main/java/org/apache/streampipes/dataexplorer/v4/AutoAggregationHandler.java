@@ -19,25 +19,37 @@ package org.apache.streampipes.dataexplorer.v4;
 
 import org.apache.streampipes.dataexplorer.DataLakeManagementV4;
 import org.apache.streampipes.dataexplorer.sdk.DataLakeQueryOrdering;
+import org.apache.streampipes.dataexplorer.utils.DataExplorerUtils;
+import org.apache.streampipes.dataexplorer.v4.params.QueryParamsV4;
 import org.apache.streampipes.dataexplorer.v4.params.SelectColumn;
+import org.apache.streampipes.dataexplorer.v4.query.DataExplorerQueryV4;
+import org.apache.streampipes.dataexplorer.v4.query.RollupQueryPlanner;
+import org.apache.streampipes.dataexplorer.v4.utils.DataLakeManagementUtils;
+import org.apache.streampipes.dataexplorer.v4.utils.TimeParser;
+import org.apache.streampipes.model.datalake.DataLakeFieldStatistics;
+import org.apache.streampipes.model.datalake.DataLakeMeasure;
+import org.apache.streampipes.model.datalake.DataLakeMeasureStatistics;
 import org.apache.streampipes.model.datalake.SpQueryResult;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
 import java.util.Arrays;
-import java.util.Date;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.LongSupplier;
 import java.util.stream.Collectors;
 
 import static org.apache.streampipes.dataexplorer.v4.SupportedDataLakeQueryParameters.QP_AGGREGATION_FUNCTION;
 import static org.apache.streampipes.dataexplorer.v4.SupportedDataLakeQueryParameters.QP_AUTO_AGGREGATE;
 import static org.apache.streampipes.dataexplorer.v4.SupportedDataLakeQueryParameters.QP_COLUMNS;
 import static org.apache.streampipes.dataexplorer.v4.SupportedDataLakeQueryParameters.QP_COUNT_ONLY;
+import static org.apache.streampipes.dataexplorer.v4.SupportedDataLakeQueryParameters.QP_END_DATE;
+import static org.apache.streampipes.dataexplorer.v4.SupportedDataLakeQueryParameters.QP_FILTER;
 import static org.apache.streampipes.dataexplorer.v4.SupportedDataLakeQueryParameters.QP_LIMIT;
 import static org.apache.streampipes.dataexplorer.v4.SupportedDataLakeQueryParameters.QP_ORDER;
+import static org.apache.streampipes.dataexplorer.v4.SupportedDataLakeQueryParameters.QP_START_DATE;
 import static org.apache.streampipes.dataexplorer.v4.SupportedDataLakeQueryParameters.QP_TIME_INTERVAL;
 
 public class AutoAggregationHandler {
@@ -47,42 +59,107 @@ public class AutoAggregationHandler {
   private static final String TIMESTAMP_FIELD = "time";
   private static final String COMMA = ",";
 
-  private final SimpleDateFormat dateFormat1 = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'");
-  private final SimpleDateFormat dateFormat2 = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss'Z'");
-
   private final DataLakeManagementV4 dataLakeManagement;
   private final ProvidedQueryParams queryParams;
+  private final LongSupplier clock;
 
   public AutoAggregationHandler(ProvidedQueryParams params) {
+    this(params, System::currentTimeMillis);
+  }
+
+  AutoAggregationHandler(ProvidedQueryParams params,
+                         LongSupplier clock) {
     this.queryParams = params;
     this.dataLakeManagement = new DataLakeManagementV4();
+    this.clock = clock;
   }
 
   public ProvidedQueryParams makeAutoAggregationQueryParams() throws IllegalArgumentException {
-    try {
-      SpQueryResult newest = getSingleRecord(DataLakeQueryOrdering.DESC);
-      SpQueryResult oldest = getSingleRecord(DataLakeQueryOrdering.ASC);
-      if (newest.getTotal() > 0) {
-        String sampleField = getSampleField(newest);
-        Integer count = getCount(sampleField);
-        if (count <= MAX_RETURN_LIMIT) {
-          LOG.debug("Auto-Aggregation disabled as {} results <= max return limit {}", count, MAX_RETURN_LIMIT);
-          return disableAutoAgg(this.queryParams);
-        } else {
-          LOG.debug("Performing auto-aggregation");
-
-          int aggValue = getAggregationValue(newest, oldest);
-          LOG.debug("Setting auto-aggregation value to {} ms", aggValue);
-          queryParams.update(QP_TIME_INTERVAL, aggValue + "ms");
-          return disableAutoAgg(queryParams);
-        }
-      } else {
+    Optional<DataLakeMeasureStatistics> statistics = getStatistics();
+    if (statistics.isPresent() && canEstimateFromStatistics(statistics.get())) {
+      return makeAutoAggregationQueryParams(statistics.get());
+    }
+
+    SpQueryResult newest = getSingleRecord(DataLakeQueryOrdering.DESC);
+    SpQueryResult oldest = getSingleRecord(DataLakeQueryOrdering.ASC);
+    if (newest.getTotal() > 0) {
+      String sampleField = getSampleField(newest);
+      Integer count = getCount(sampleField);
+      if (count <= MAX_RETURN_LIMIT) {
+        LOG.debug("Auto-Aggregation disabled as {} results <= max return limit {}", count, MAX_RETURN_LIMIT);
         return disableAutoAgg(this.queryParams);
+      } else {
+        LOG.debug("Performing auto-aggregation");
+        return applyAggregation(getAggregationValue(newest, oldest));
+      }
+    } else {
+      return disableAutoAgg(this.queryParams);
+    }
+  }
+
+  /**
+   * Statistics are published periodically and do not cover the most recent events. They can only be used if
+   * the requested time range starts within the stored time range.
+   */
+  boolean canEstimateFromStatistics(DataLakeMeasureStatistics statistics) {
+    return statistics.getLastTimestamp() > statistics.getFirstTimestamp()
+        && getStart(statistics) < statistics.getLastTimestamp();
+  }
+
+  /**
+   * Estimates the number of results from the statistics of the measure, assuming that the events are evenly
+   * distributed over the stored time range and continue at the same rate after the last stored event.
+   */
+  ProvidedQueryParams makeAutoAggregationQueryParams(DataLakeMeasureStatistics statistics) {
+    long first = statistics.getFirstTimestamp();
+    long last = statistics.getLastTimestamp();
+    long start = getStart(statistics);
+    long end = queryParams.has(QP_END_DATE) ? queryParams.getAsLong(QP_END_DATE) : clock.getAsLong();
+    if (end <= start) {
+      return disableAutoAgg(this.queryParams);
+    }
+
+    double fraction = (double) (end - start) / (last - first);
+    long count = Math.round(getStoredCount(statistics) * fraction);
+    if (count <= MAX_RETURN_LIMIT) {
+      LOG.debug("Auto-Aggregation disabled as ~{} results <= max return limit {}", count, MAX_RETURN_LIMIT);
+      return disableAutoAgg(this.queryParams);
+    } else {
+      LOG.debug("Performing auto-aggregation based on measure statistics");
+      return applyAggregation(Double.valueOf((end - start) / MAX_RETURN_LIMIT).intValue());
+    }
+  }
+
+  private long getStart(DataLakeMeasureStatistics statistics) {
+    long first = statistics.getFirstTimestamp();
+    return queryParams.has(QP_START_DATE) ? Math.max(first, queryParams.getAsLong(QP_START_DATE)) : first;
+  }
+
+  private ProvidedQueryParams applyAggregation(int aggValue) {
+    LOG.debug("Setting auto-aggregation value to {} ms", aggValue);
+    queryParams.update(QP_TIME_INTERVAL, Math.max(1, aggValue) + "ms");
+    return disableAutoAgg(queryParams);
+  }
+
+  private Optional<DataLakeMeasureStatistics> getStatistics() {
+    // statistics cannot be used to estimate the number of results of filtered queries
+    if (queryParams.has(QP_FILTER)) {
+      return Optional.empty();
+    }
+    return DataExplorerUtils.getInfo(queryParams.getMeasurementId())
+        .map(DataLakeMeasure::getStatistics)
+        .filter(statistics -> statistics.getFirstTimestamp() != null && statistics.getLastTimestamp() != null);
+  }
+
+  private long getStoredCount(DataLakeMeasureStatistics statistics) {
+    if (queryParams.has(QP_COLUMNS) && statistics.getFields() != null) {
+      String sampleField = transformColumns(queryParams.getAsString(QP_COLUMNS)).split(COMMA)[0];
+      DataLakeFieldStatistics fieldStatistics = statistics.getFields().get(sampleField);
+      if (fieldStatistics != null) {
+        return fieldStatistics.getCount();
       }
-    } catch (ParseException e) {
-      e.printStackTrace();
     }
-    return null;
+    return statistics.getRowCount();
   }
 
   private ProvidedQueryParams disableAutoAgg(ProvidedQueryParams params) {
@@ -97,7 +174,11 @@ public class AutoAggregationHandler {
     countParams.update(QP_COUNT_ONLY, true);
     countParams.update(QP_COLUMNS, fieldName);
 
-    SpQueryResult result = new DataLakeManagementV4().getData(countParams, true);
+    Map<String, QueryParamsV4> queryParts = DataLakeManagementUtils.getSelectQueryParams(countParams);
+    Map<String, QueryParamsV4> rollupQueryParts = RollupQueryPlanner.planCount(countParams, queryParts);
+    SpQueryResult result = rollupQueryParts != queryParts
+        ? new DataExplorerQueryV4(rollupQueryParts).executeQuery(true)
+        : new DataLakeManagementV4().getData(countParams, true);
 
     return result.getTotal() > 0 ? ((Double) result.getAllDataSeries().get(0).getRows().get(0).get(1)).intValue() : 0;
   }
@@ -106,13 +187,13 @@ public class AutoAggregationHandler {
     return dataLakeManagement.getData(params, true);
   }
 
-  private int getAggregationValue(SpQueryResult newest, SpQueryResult oldest) throws ParseException {
+  private int getAggregationValue(SpQueryResult newest, SpQueryResult oldest) {
     long timerange = extractTimestamp(newest) - extractTimestamp(oldest);
     double v = timerange / MAX_RETURN_LIMIT;
     return Double.valueOf(v).intValue();
   }
 
-  private SpQueryResult getSingleRecord(DataLakeQueryOrdering order) throws ParseException {
+  private SpQueryResult getSingleRecord(DataLakeQueryOrdering order) {
     ProvidedQueryParams singleEvent = disableAutoAgg(new ProvidedQueryParams(queryParams));
     singleEvent.remove(QP_AGGREGATION_FUNCTION);
     singleEvent.update(QP_LIMIT, 1);
@@ -137,16 +218,8 @@ public class AutoAggregationHandler {
     throw new IllegalArgumentException("No columns present");
   }
 
-  private long extractTimestamp(SpQueryResult result) throws ParseException {
+  private long extractTimestamp(SpQueryResult result) {
     int timestampIndex = result.getHeaders().indexOf(TIMESTAMP_FIELD);
-    return tryParseDate(result.getAllDataSeries().get(0).getRows().get(0).get(timestampIndex).toString()).getTime();
-  }
-
-  private Date tryParseDate(String v) throws ParseException {
-    try {
-      return dateFormat1.parse(v);
-    } catch (ParseException e) {
-      return dateFormat2.parse(v);
-    }
+    return TimeParser.parseTime(result.getAllDataSeries().get(0).getRows().get(0).get(timestampIndex).toString());
   }
 }
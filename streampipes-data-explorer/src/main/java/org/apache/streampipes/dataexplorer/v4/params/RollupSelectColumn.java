@@ -0,0 +1,41 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.dataexplorer.v4.params;
+
+/**
+ * Column of a query on a rollup measurement, selecting an expression over the stored aggregates
+ * (e.g., {@code SUM("sum_x") / SUM("count_x")}) under the name of the requested column.
+ */
+public class RollupSelectColumn extends SelectColumn {
+
+  private final String expression;
+
+  public RollupSelectColumn(String originalField,
+                            ColumnFunction columnFunction,
+                            String targetField,
+                            String expression) {
+    super(originalField, columnFunction, targetField);
+    this.expression = expression;
+  }
+
+  @Override
+  public String toQueryString() {
+    return expression + " AS \"" + getTargetField() + "\"";
+  }
+}
@@ -90,4 +90,12 @@ public class SelectColumn {
   public String getOriginalField() {
     return originalField;
   }
+
+  public ColumnFunction getColumnFunction() {
+    return columnFunction;
+  }
+
+  public String getTargetField() {
+    return targetField;
+  }
 }
@@ -57,6 +57,17 @@ public class SelectFromStatementParams extends QueryParamsV4 {
     }
   }
 
+  private SelectFromStatementParams(String measurementId,
+                                    List<SelectColumn> selectedColumns) {
+    super(measurementId);
+    this.selectedColumns = selectedColumns;
+  }
+
+  public static SelectFromStatementParams from(String measurementId,
+                                               List<SelectColumn> selectedColumns) {
+    return new SelectFromStatementParams(measurementId, selectedColumns);
+  }
+
   public static SelectFromStatementParams from(String measurementID,
                                                @Nullable String columns,
                                                @Nullable String aggregationFunction) {
@@ -0,0 +1,126 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.dataexplorer.v4.query;
+
+import org.apache.streampipes.commons.environment.Environments;
+import org.apache.streampipes.dataexplorer.v4.ProvidedQueryParams;
+import org.apache.streampipes.model.datalake.SpQueryResult;
+import org.apache.streampipes.model.datalake.SpQueryStatus;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+
+/**
+ * Executes the queries of a batch (e.g., all widgets of a dashboard) concurrently on a bounded thread pool which is
+ * shared by all requests. Results are passed to the consumer in the order in which the queries complete, so clients
+ * need to match results by their forId. A failing query does not fail the batch but results in an
+ * {@link SpQueryStatus#ERROR} result.
+ */
+public class BatchQueryExecutor {
+
+  private static final Logger LOG = LoggerFactory.getLogger(BatchQueryExecutor.class);
+
+  private static final BatchQueryExecutor INSTANCE = new BatchQueryExecutor(
+      makeExecutor(Environments.getEnvironment().getDataExplorerQueryThreads().getValueOrDefault()),
+      (params, ignoreMissingData) -> new QueryResultProvider(params, ignoreMissingData).getData());
+
+  private final ExecutorService executor;
+  private final BiFunction<ProvidedQueryParams, Boolean, SpQueryResult> queryFunction;
+
+  BatchQueryExecutor(ExecutorService executor,
+                     BiFunction<ProvidedQueryParams, Boolean, SpQueryResult> queryFunction) {
+    this.executor = executor;
+    this.queryFunction = queryFunction;
+  }
+
+  public static BatchQueryExecutor getInstance() {
+    return INSTANCE;
+  }
+
+  public void execute(List<ProvidedQueryParams> queries,
+                      boolean ignoreMissingData,
+                      BatchQueryResultConsumer consumer) throws IOException {
+    CompletionService<SpQueryResult> completionService = new ExecutorCompletionService<>(executor);
+    List<Future<SpQueryResult>> futures = new ArrayList<>(queries.size());
+
+    try {
+      queries.forEach(params -> futures.add(
+          completionService.submit(() -> executeQuery(params, ignoreMissingData))));
+
+      for (int i = 0; i < futures.size(); i++) {
+        consumer.accept(completionService.take().get());
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted while waiting for query results", e);
+    } catch (ExecutionException e) {
+      // runtime exceptions are handled by executeQuery, so only errors end up here
+      throw new IOException("Could not execute query", e.getCause());
+    } finally {
+      // if the consumer fails (e.g., the client disconnected), remaining queries are not needed anymore
+      futures.forEach(future -> future.cancel(true));
+    }
+  }
+
+  private SpQueryResult executeQuery(ProvidedQueryParams params,
+                                     boolean ignoreMissingData) {
+    try {
+      return queryFunction.apply(params, ignoreMissingData);
+    } catch (RuntimeException e) {
+      LOG.error("Could not execute query for measure {}", params.getMeasurementId(), e);
+      SpQueryResult result = new SpQueryResult();
+      result.setSpQueryStatus(SpQueryStatus.ERROR);
+      if (params.has(QueryResultProvider.FOR_ID_KEY)) {
+        result.setForId(params.getAsString(QueryResultProvider.FOR_ID_KEY));
+      }
+      return result;
+    }
+  }
+
+  private static ExecutorService makeExecutor(int threads) {
+    AtomicInteger threadCount = new AtomicInteger();
+    ThreadPoolExecutor executor = new ThreadPoolExecutor(
+        threads,
+        threads,
+        60,
+        TimeUnit.SECONDS,
+        new LinkedBlockingQueue<>(),
+        runnable -> {
+          Thread thread = new Thread(runnable, "sp-data-explorer-query-" + threadCount.incrementAndGet());
+          thread.setDaemon(true);
+          return thread;
+        });
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
+  }
+}
@@ -20,6 +20,7 @@ package org.apache.streampipes.dataexplorer.v4.query;
 
 import org.apache.streampipes.commons.environment.Environment;
 import org.apache.streampipes.commons.environment.Environments;
+import org.apache.streampipes.commons.exceptions.SpRuntimeException;
 import org.apache.streampipes.dataexplorer.commons.influx.InfluxClientProvider;
 import org.apache.streampipes.dataexplorer.v4.params.DeleteFromStatementParams;
 import org.apache.streampipes.dataexplorer.v4.params.FillParams;
@@ -52,14 +53,24 @@ import org.influxdb.dto.QueryResult;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 
 public class DataExplorerQueryV4 {
 
   private static final Logger LOG = LoggerFactory.getLogger(DataExplorerQueryV4.class);
 
+  private static final int MAX_PENDING_CHUNKS = 2;
+  private static final long CHUNK_OFFER_TIMEOUT_MS = 100;
+  private static final Object END_OF_RESULT = new Object();
+
   protected Map<String, QueryParamsV4> params;
 
   protected int maximumAmountOfEvents;
@@ -92,35 +103,121 @@ public class DataExplorerQueryV4 {
   }
 
   public SpQueryResult executeQuery(boolean ignoreMissingValues) throws RuntimeException {
-    try (final InfluxDB influxDB = InfluxClientProvider.getInfluxDBClient()) {
-      List<QueryElement<?>> queryElements = getQueryElements();
-
-      if (this.maximumAmountOfEvents != -1) {
-        QueryBuilder countQueryBuilder = QueryBuilder.create(getDatabaseName());
-        Query countQuery = countQueryBuilder.build(queryElements, true);
-        QueryResult countQueryResult = influxDB.query(countQuery);
-        Double amountOfQueryResults = getAmountOfResults(countQueryResult);
-
-        if (amountOfQueryResults > this.maximumAmountOfEvents) {
-          SpQueryResult tooMuchData = new SpQueryResult();
-          tooMuchData.setSpQueryStatus(SpQueryStatus.TOO_MUCH_DATA);
-          tooMuchData.setTotal(amountOfQueryResults.intValue());
-          return tooMuchData;
-        }
+    final InfluxDB influxDB = InfluxClientProvider.getSharedInfluxDBClient();
+    List<QueryElement<?>> queryElements = getQueryElements();
+
+    if (this.maximumAmountOfEvents != -1) {
+      QueryBuilder countQueryBuilder = QueryBuilder.create(getDatabaseName());
+      Query countQuery = countQueryBuilder.build(queryElements, true);
+      QueryResult countQueryResult = influxDB.query(countQuery);
+      Double amountOfQueryResults = getAmountOfResults(countQueryResult);
+
+      if (amountOfQueryResults > this.maximumAmountOfEvents) {
+        SpQueryResult tooMuchData = new SpQueryResult();
+        tooMuchData.setSpQueryStatus(SpQueryStatus.TOO_MUCH_DATA);
+        tooMuchData.setTotal(amountOfQueryResults.intValue());
+        return tooMuchData;
       }
+    }
+
+    QueryBuilder queryBuilder = QueryBuilder.create(getDatabaseName());
+    Query query = queryBuilder.build(queryElements, false);
+    if (LOG.isDebugEnabled()) {
+      LOG.debug("Data Lake Query (database:" + query.getDatabase() + "): " + query.getCommand());
+    }
+
+    QueryResult result = influxDB.query(query);
+    if (LOG.isDebugEnabled()) {
+      LOG.debug("Data Lake Query Result: " + result.toString());
+    }
 
-      QueryBuilder queryBuilder = QueryBuilder.create(getDatabaseName());
-      Query query = queryBuilder.build(queryElements, false);
+    return postQuery(result, ignoreMissingValues);
+  }
+
+  /**
+   * Executes the query as chunked query and passes the rows to the given consumer while the chunks are received.
+   * At most {@link #MAX_PENDING_CHUNKS} chunks are buffered, so that results of any size can be consumed with
+   * constant memory. Rows of all series are passed in the order returned by the database.
+   *
+   * @param chunkSize           the number of rows per chunk
+   * @param ignoreMissingValues whether rows containing null values should be skipped
+   * @param consumer            the consumer of the rows, the query is cancelled if the consumer fails
+   */
+  public void executeStreamingQuery(int chunkSize,
+                                    boolean ignoreMissingValues,
+                                    QueryResultRowConsumer consumer) throws IOException {
+    try (final InfluxDB influxDB = InfluxClientProvider.getInfluxDBClient()) {
+      Query query = QueryBuilder.create(getDatabaseName()).build(getQueryElements(), false);
       if (LOG.isDebugEnabled()) {
-        LOG.debug("Data Lake Query (database:" + query.getDatabase() + "): " + query.getCommand());
+        LOG.debug("Streamed Data Lake Query (database:" + query.getDatabase() + "): " + query.getCommand());
       }
+      executeStreamingQuery(influxDB, query, chunkSize, ignoreMissingValues, consumer);
+    }
+  }
 
-      QueryResult result = influxDB.query(query);
-      if (LOG.isDebugEnabled()) {
-        LOG.debug("Data Lake Query Result: " + result.toString());
+  void executeStreamingQuery(InfluxDB influxDB,
+                             Query query,
+                             int chunkSize,
+                             boolean ignoreMissingValues,
+                             QueryResultRowConsumer consumer) throws IOException {
+    BlockingQueue<Object> chunks = new ArrayBlockingQueue<>(MAX_PENDING_CHUNKS);
+    AtomicReference<InfluxDB.Cancellable> cancellable = new AtomicReference<>();
+    AtomicBoolean aborted = new AtomicBoolean(false);
+
+    influxDB.query(query, chunkSize,
+        (c, chunk) -> {
+          cancellable.set(c);
+          offerChunk(chunks, chunk, aborted);
+        },
+        () -> offerChunk(chunks, END_OF_RESULT, aborted),
+        error -> offerChunk(chunks, error, aborted));
+
+    try {
+      Object chunk;
+      while ((chunk = chunks.take()) != END_OF_RESULT) {
+        if (chunk instanceof Throwable) {
+          throw new SpRuntimeException("Streamed query failed: " + ((Throwable) chunk).getMessage(),
+              (Throwable) chunk);
+        }
+        consumeChunk((QueryResult) chunk, ignoreMissingValues, consumer);
       }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new SpRuntimeException(e);
+    } finally {
+      if (aborted.compareAndSet(false, true) && cancellable.get() != null) {
+        cancellable.get().cancel();
+      }
+    }
+  }
+
+  private void offerChunk(BlockingQueue<Object> chunks,
+                          Object chunk,
+                          AtomicBoolean aborted) {
+    try {
+      // blocks the response reader of the client until the consumer catches up
+      while (!aborted.get() && !chunks.offer(chunk, CHUNK_OFFER_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+        LOG.trace("Waiting for the consumer of the streamed query");
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
 
-      return postQuery(result, ignoreMissingValues);
+  private void consumeChunk(QueryResult chunk,
+                            boolean ignoreMissingValues,
+                            QueryResultRowConsumer consumer) throws IOException {
+    if (!hasResult(chunk)) {
+      return;
+    }
+    for (QueryResult.Series series : chunk.getResults().get(0).getSeries()) {
+      if (series.getValues() != null) {
+        for (List<Object> row : series.getValues()) {
+          if (!ignoreMissingValues || !row.contains(null)) {
+            consumer.accept(series.getColumns(), row);
+          }
+        }
+      }
     }
   }
 
@@ -139,20 +236,14 @@ public class DataExplorerQueryV4 {
     List<String> columns = series.getColumns();
     List<List<Object>> values = series.getValues();
 
-    List<List<Object>> resultingValues = new ArrayList<>();
+    int total = values.size();
 
-    values.forEach(v -> {
-      if (ignoreMissingValues) {
-        if (!v.contains(null)) {
-          resultingValues.add(v);
-        }
-      } else {
-        resultingValues.add(v);
-      }
-
-    });
+    // the rows of the query result are not used elsewhere, so incomplete rows are removed in place
+    if (ignoreMissingValues) {
+      values.removeIf(row -> row.contains(null));
+    }
 
-    return new DataSeries(values.size(), resultingValues, columns, series.getTags());
+    return new DataSeries(total, values, columns, series.getTags());
   }
 
   protected SpQueryResult postQuery(QueryResult queryResult,
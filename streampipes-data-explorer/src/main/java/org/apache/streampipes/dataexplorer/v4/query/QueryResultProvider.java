@@ -21,6 +21,7 @@ package org.apache.streampipes.dataexplorer.v4.query;
 import org.apache.streampipes.dataexplorer.v4.AutoAggregationHandler;
 import org.apache.streampipes.dataexplorer.v4.ProvidedQueryParams;
 import org.apache.streampipes.dataexplorer.v4.params.QueryParamsV4;
+import org.apache.streampipes.dataexplorer.v4.query.cache.QueryResultCache;
 import org.apache.streampipes.dataexplorer.v4.utils.DataLakeManagementUtils;
 import org.apache.streampipes.model.datalake.SpQueryResult;
 
@@ -42,18 +43,34 @@ public class QueryResultProvider {
   }
 
   public SpQueryResult getData() {
-    if (queryParams.has(QP_AUTO_AGGREGATE)) {
-      queryParams = new AutoAggregationHandler(queryParams).makeAutoAggregationQueryParams();
+    // the cache is keyed by the requested parameters, so a hit also skips the auto aggregation count queries
+    return QueryResultCache.getInstance().getData(queryParams, ignoreMissingData, this::executeQuery);
+  }
+
+  protected Map<String, QueryParamsV4> getQueryParts() {
+    return DataLakeManagementUtils.getSelectQueryParams(withAutoAggregation(queryParams));
+  }
+
+  private ProvidedQueryParams withAutoAggregation(ProvidedQueryParams params) {
+    if (params.has(QP_AUTO_AGGREGATE)) {
+      return new AutoAggregationHandler(params).makeAutoAggregationQueryParams();
+    } else {
+      return params;
     }
-    Map<String, QueryParamsV4> queryParts = DataLakeManagementUtils.getSelectQueryParams(queryParams);
+  }
+
+  private SpQueryResult executeQuery(ProvidedQueryParams requestedParams) {
+    ProvidedQueryParams params = withAutoAggregation(requestedParams);
+    Map<String, QueryParamsV4> queryParts =
+        RollupQueryPlanner.plan(params, DataLakeManagementUtils.getSelectQueryParams(params));
 
-    if (queryParams.getProvidedParams().containsKey(QP_MAXIMUM_AMOUNT_OF_EVENTS)) {
-      int maximumAmountOfEvents = Integer.parseInt(queryParams.getProvidedParams().get(QP_MAXIMUM_AMOUNT_OF_EVENTS));
+    if (params.getProvidedParams().containsKey(QP_MAXIMUM_AMOUNT_OF_EVENTS)) {
+      int maximumAmountOfEvents = Integer.parseInt(params.getProvidedParams().get(QP_MAXIMUM_AMOUNT_OF_EVENTS));
       return new DataExplorerQueryV4(queryParts, maximumAmountOfEvents).executeQuery(ignoreMissingData);
     }
 
-    if (queryParams.getProvidedParams().containsKey(FOR_ID_KEY)) {
-      String forWidgetId = queryParams.getProvidedParams().get(FOR_ID_KEY);
+    if (params.getProvidedParams().containsKey(FOR_ID_KEY)) {
+      String forWidgetId = params.getProvidedParams().get(FOR_ID_KEY);
       return new DataExplorerQueryV4(queryParts, forWidgetId).executeQuery(ignoreMissingData);
     } else {
       return new DataExplorerQueryV4(queryParts).executeQuery(ignoreMissingData);
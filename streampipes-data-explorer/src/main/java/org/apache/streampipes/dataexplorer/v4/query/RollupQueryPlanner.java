@@ -0,0 +1,226 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.dataexplorer.v4.query;
+
+import org.apache.streampipes.dataexplorer.commons.influx.InfluxDurations;
+import org.apache.streampipes.dataexplorer.commons.influx.InfluxNameSanitizer;
+import org.apache.streampipes.dataexplorer.commons.influx.InfluxRollups;
+import org.apache.streampipes.dataexplorer.utils.DataExplorerUtils;
+import org.apache.streampipes.dataexplorer.v4.ProvidedQueryParams;
+import org.apache.streampipes.dataexplorer.v4.params.ColumnFunction;
+import org.apache.streampipes.dataexplorer.v4.params.QueryParamsV4;
+import org.apache.streampipes.dataexplorer.v4.params.RollupSelectColumn;
+import org.apache.streampipes.dataexplorer.v4.params.SelectColumn;
+import org.apache.streampipes.dataexplorer.v4.params.SelectFromStatementParams;
+import org.apache.streampipes.dataexplorer.v4.utils.DataLakeManagementUtils;
+import org.apache.streampipes.model.datalake.DataLakeMeasure;
+import org.apache.streampipes.model.datalake.DataLakeRollupTier;
+import org.apache.streampipes.model.schema.EventProperty;
+import org.apache.streampipes.model.schema.EventPropertyPrimitive;
+import org.apache.streampipes.model.schema.PropertyScope;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.apache.streampipes.dataexplorer.v4.SupportedDataLakeQueryParameters.QP_FILTER;
+import static org.apache.streampipes.dataexplorer.v4.SupportedDataLakeQueryParameters.QP_START_DATE;
+import static org.apache.streampipes.dataexplorer.v4.SupportedDataLakeQueryParameters.QP_TIME_INTERVAL;
+
+/**
+ * Rewrites aggregated queries which are grouped by time to the rollup measurement of the coarsest tier whose
+ * interval evenly divides the requested interval, so that each requested bucket consists of whole rollup buckets.
+ * Queries which select raw values, use aggregation functions which cannot be computed from rollups, filter by
+ * fields other than tags or start before the first complete bucket of the tier are executed on the raw
+ * measurement.
+ */
+public class RollupQueryPlanner {
+
+  // requested interval of count queries, which can be answered from any tier
+  private static final long ANY_INTERVAL = Long.MAX_VALUE;
+
+  private final List<DataLakeRollupTier> tiers;
+  private final String measureName;
+  private final Set<String> numericColumns = new HashSet<>();
+  private final Set<String> tagColumns = new HashSet<>();
+
+  public RollupQueryPlanner(DataLakeMeasure measure) {
+    this.measureName = measure.getMeasureName();
+    this.tiers = InfluxRollups.getTiers(measure);
+    if (!tiers.isEmpty() && measure.getEventSchema() != null) {
+      for (EventProperty ep : measure.getEventSchema().getEventProperties()) {
+        if (ep instanceof EventPropertyPrimitive) {
+          String column = InfluxNameSanitizer.renameReservedKeywords(ep.getRuntimeName());
+          if (PropertyScope.DIMENSION_PROPERTY.name().equals(ep.getPropertyScope())) {
+            tagColumns.add(column);
+          } else if (InfluxRollups.isNumeric(((EventPropertyPrimitive) ep).getRuntimeType())) {
+            numericColumns.add(column);
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Rewrites the query if the query can be answered from a rollup of the given measurement
+   *
+   * @return the rewritten query parts or the given query parts if no rollup can be used
+   */
+  public static Map<String, QueryParamsV4> plan(ProvidedQueryParams params,
+                                                Map<String, QueryParamsV4> queryParts) {
+    if (!params.has(QP_TIME_INTERVAL)) {
+      return queryParts;
+    }
+    long requestedInterval = InfluxDurations.toMillis(params.getAsString(QP_TIME_INTERVAL));
+    return forMeasure(params.getMeasurementId())
+        .map(planner -> planner.rewrite(params, queryParts, requestedInterval))
+        .orElse(queryParts);
+  }
+
+  /**
+   * Rewrites a count query to the coarsest rollup tier which stores counts. As rollup buckets are not aligned to
+   * the start and end date of the query, the count is an estimate which can be used for query planning.
+   *
+   * @return the rewritten query parts or the given query parts if no rollup can be used
+   */
+  public static Map<String, QueryParamsV4> planCount(ProvidedQueryParams params,
+                                                     Map<String, QueryParamsV4> queryParts) {
+    return forMeasure(params.getMeasurementId())
+        .map(planner -> planner.rewrite(params, queryParts, ANY_INTERVAL))
+        .orElse(queryParts);
+  }
+
+  private static Optional<RollupQueryPlanner> forMeasure(String measurementId) {
+    return DataExplorerUtils.getInfo(measurementId)
+        .filter(measure -> measure.getRollupTiers() != null && !measure.getRollupTiers().isEmpty())
+        .map(RollupQueryPlanner::new);
+  }
+
+  /**
+   * @param requestedInterval the requested resolution in milliseconds, which must be a multiple of the tier
+   *                          interval, or {@link Long#MAX_VALUE} if any tier can be used
+   */
+  public Map<String, QueryParamsV4> rewrite(ProvidedQueryParams params,
+                                            Map<String, QueryParamsV4> queryParts,
+                                            long requestedInterval) {
+    SelectFromStatementParams select =
+        (SelectFromStatementParams) queryParts.get(DataLakeManagementUtils.SELECT_FROM);
+    DataLakeRollupTier tier = findTier(params, select, requestedInterval);
+    if (tier == null) {
+      return queryParts;
+    }
+
+    List<SelectColumn> rollupColumns = new ArrayList<>();
+    for (SelectColumn column : select.getSelectedColumns()) {
+      rollupColumns.add(toRollupColumn(column));
+    }
+    Map<String, QueryParamsV4> rollupQueryParts = new HashMap<>(queryParts);
+    rollupQueryParts.put(DataLakeManagementUtils.SELECT_FROM,
+        SelectFromStatementParams.from(InfluxRollups.measureName(measureName, tier), rollupColumns));
+    return rollupQueryParts;
+  }
+
+  private DataLakeRollupTier findTier(ProvidedQueryParams params,
+                                      SelectFromStatementParams select,
+                                      long requestedInterval) {
+    if (tiers.isEmpty()
+        || requestedInterval <= 0
+        || !params.has(QP_START_DATE)
+        || select == null
+        || select.isSelectWildcard()
+        || !filtersOnlyTags(params.getAsString(QP_FILTER))) {
+      return null;
+    }
+
+    Set<String> requiredAggregates = new HashSet<>();
+    for (SelectColumn column : select.getSelectedColumns()) {
+      if (column.getColumnFunction() == null || !numericColumns.contains(column.getOriginalField())) {
+        return null;
+      }
+      List<String> aggregates = InfluxRollups.requiredAggregates(column.getColumnFunction().name());
+      if (aggregates.isEmpty()) {
+        return null;
+      }
+      requiredAggregates.addAll(aggregates);
+    }
+
+    // tiers are ordered from the finest to the coarsest interval
+    long startDate = params.getAsLong(QP_START_DATE);
+    DataLakeRollupTier selectedTier = null;
+    for (DataLakeRollupTier tier : tiers) {
+      if (isAligned(InfluxDurations.toMillis(tier.getInterval()), requestedInterval)
+          && startDate >= InfluxRollups.firstCompleteBucket(tier)
+          && InfluxRollups.storedAggregates(tier).containsAll(requiredAggregates)) {
+        selectedTier = tier;
+      }
+    }
+    return selectedTier;
+  }
+
+  private boolean isAligned(long tierInterval,
+                            long requestedInterval) {
+    return requestedInterval == ANY_INTERVAL || requestedInterval % tierInterval == 0;
+  }
+
+  private boolean filtersOnlyTags(String filter) {
+    if (filter == null) {
+      return true;
+    }
+    return DataLakeManagementUtils.buildConditions(filter)
+        .stream()
+        .allMatch(condition -> tagColumns.contains(condition[0]));
+  }
+
+  private SelectColumn toRollupColumn(SelectColumn column) {
+    ColumnFunction function = column.getColumnFunction();
+    String field = column.getOriginalField();
+    String expression;
+    switch (function) {
+      case MEAN:
+        expression = aggregate("SUM", InfluxRollups.SUM, field)
+            + " / " + aggregate("SUM", InfluxRollups.COUNT, field);
+        break;
+      case SUM:
+        expression = aggregate("SUM", InfluxRollups.SUM, field);
+        break;
+      case COUNT:
+        expression = aggregate("SUM", InfluxRollups.COUNT, field);
+        break;
+      case MIN:
+        expression = aggregate("MIN", InfluxRollups.MIN, field);
+        break;
+      case MAX:
+        expression = aggregate("MAX", InfluxRollups.MAX, field);
+        break;
+      default:
+        throw new IllegalArgumentException("Aggregation function " + function + " is not supported on rollups");
+    }
+    return new RollupSelectColumn(field, function, column.getTargetField(), expression);
+  }
+
+  private String aggregate(String function,
+                           String storedAggregate,
+                           String field) {
+    return function + "(\"" + InfluxRollups.fieldName(storedAggregate, field) + "\")";
+  }
+}
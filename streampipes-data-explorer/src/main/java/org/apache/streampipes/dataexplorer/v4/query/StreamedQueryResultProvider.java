@@ -20,23 +20,23 @@ package org.apache.streampipes.dataexplorer.v4.query;
 
 import org.apache.streampipes.dataexplorer.utils.DataExplorerUtils;
 import org.apache.streampipes.dataexplorer.v4.ProvidedQueryParams;
-import org.apache.streampipes.dataexplorer.v4.SupportedDataLakeQueryParameters;
 import org.apache.streampipes.dataexplorer.v4.query.writer.ConfiguredOutputWriter;
 import org.apache.streampipes.dataexplorer.v4.query.writer.OutputFormat;
 import org.apache.streampipes.model.datalake.DataLakeMeasure;
-import org.apache.streampipes.model.datalake.SpQueryResult;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
-import static org.apache.streampipes.dataexplorer.v4.SupportedDataLakeQueryParameters.QP_LIMIT;
-import static org.apache.streampipes.dataexplorer.v4.SupportedDataLakeQueryParameters.QP_PAGE;
-
+/**
+ * Streams the result of a data lake query to an output stream. The query is executed as chunked query and each row
+ * is written as soon as its chunk is received, so that exports of any size are written with constant memory.
+ */
 public class StreamedQueryResultProvider extends QueryResultProvider {
 
-  private static final int MAX_RESULTS_PER_QUERY = 500000;
+  private static final int CHUNK_SIZE = 10000;
   private static final String TIME_FIELD = "time";
 
   private final OutputFormat format;
@@ -49,50 +49,15 @@ public class StreamedQueryResultProvider extends QueryResultProvider {
   }
 
   public void getDataAsStream(OutputStream outputStream) throws IOException {
-    var usesLimit = queryParams.has(QP_LIMIT);
-    var configuredWriter = ConfiguredOutputWriter
-        .getConfiguredWriter(format, queryParams, ignoreMissingData);
-
-    if (!queryParams.has(QP_LIMIT)) {
-      queryParams.update(QP_LIMIT, MAX_RESULTS_PER_QUERY);
-    }
-
-    var limit = queryParams.getAsInt(QP_LIMIT);
     var measurement = findByMeasurementName(queryParams.getMeasurementId()).get();
 
-    SpQueryResult dataResult;
-    int page = 0;
-    if (queryParams.has(QP_PAGE)) {
-      page = queryParams.getAsInt(QP_PAGE);
-    }
-
-    boolean isFirstDataItem = true;
-    configuredWriter.beforeFirstItem(outputStream);
-    do {
-      queryParams.update(SupportedDataLakeQueryParameters.QP_PAGE, String.valueOf(page));
-      dataResult = getData();
-
-      if (dataResult.getTotal() > 0) {
-        changeTimestampHeader(measurement, dataResult);
-        var columns = dataResult.getHeaders();
-        for (List<Object> row : dataResult.getAllDataSeries().get(0).getRows()) {
-          configuredWriter.writeItem(outputStream, row, columns, isFirstDataItem);
-          isFirstDataItem = false;
-        }
-      }
-      page++;
-    } while (queryNextPage(dataResult.getTotal(), usesLimit, limit, page));
-    configuredWriter.afterLastItem(outputStream);
-  }
+    try (var configuredWriter = ConfiguredOutputWriter
+        .getConfiguredWriter(format, queryParams, measurement, ignoreMissingData)) {
+      var rowWriter = new RowWriter(configuredWriter, outputStream, measurement);
 
-  private boolean queryNextPage(int lastResultsCount,
-                                boolean usesLimit,
-                                int limit,
-                                int lastPage) {
-    if (usesLimit) {
-      return !(limit <= (lastPage) * MAX_RESULTS_PER_QUERY);
-    } else {
-      return lastResultsCount > 0;
+      configuredWriter.beforeFirstItem(outputStream);
+      new DataExplorerQueryV4(getQueryParts()).executeStreamingQuery(CHUNK_SIZE, ignoreMissingData, rowWriter);
+      configuredWriter.afterLastItem(outputStream);
     }
   }
 
@@ -103,17 +68,46 @@ public class StreamedQueryResultProvider extends QueryResultProvider {
         .findFirst();
   }
 
-  /**
-   * Replaces the field 'time' of the data result with the actual timestamp field name of the measurement
-   *
-   * @param measurement contains the actual timestamp name value
-   * @param dataResult  the query result of the database with 'time' as timestamp field name
-   */
-  private void changeTimestampHeader(DataLakeMeasure measurement,
-                                     SpQueryResult dataResult) {
-    var timeFieldIndex = dataResult.getHeaders().indexOf(TIME_FIELD);
-    if (timeFieldIndex > -1) {
-      dataResult.getHeaders().set(timeFieldIndex, measurement.getTimestampFieldName());
+  private static class RowWriter implements QueryResultRowConsumer {
+
+    private final ConfiguredOutputWriter writer;
+    private final OutputStream outputStream;
+    private final DataLakeMeasure measurement;
+
+    private boolean isFirstDataItem = true;
+    private List<String> lastColumns;
+    private List<String> lastRenamedColumns;
+
+    RowWriter(ConfiguredOutputWriter writer,
+              OutputStream outputStream,
+              DataLakeMeasure measurement) {
+      this.writer = writer;
+      this.outputStream = outputStream;
+      this.measurement = measurement;
+    }
+
+    @Override
+    public void accept(List<String> columns,
+                       List<Object> row) throws IOException {
+      writer.writeItem(outputStream, row, renameTimestampColumn(columns), isFirstDataItem);
+      isFirstDataItem = false;
+    }
+
+    /**
+     * Replaces the field 'time' of the data result with the actual timestamp field name of the measurement
+     *
+     * @param columns the columns of the database result with 'time' as timestamp field name
+     */
+    private List<String> renameTimestampColumn(List<String> columns) {
+      if (columns != lastColumns) {
+        lastColumns = columns;
+        lastRenamedColumns = new ArrayList<>(columns);
+        var timeFieldIndex = lastRenamedColumns.indexOf(TIME_FIELD);
+        if (timeFieldIndex > -1) {
+          lastRenamedColumns.set(timeFieldIndex, measurement.getTimestampFieldName());
+        }
+      }
+      return lastRenamedColumns;
     }
   }
 }
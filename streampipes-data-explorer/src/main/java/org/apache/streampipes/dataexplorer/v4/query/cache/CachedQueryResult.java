@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.dataexplorer.v4.query.cache;
+
+import org.apache.streampipes.dataexplorer.v4.ProvidedQueryParams;
+import org.apache.streampipes.model.datalake.SpQueryResult;
+
+class CachedQueryResult {
+
+  private final ProvidedQueryParams params;
+  private final long createdAt;
+  private final long intervalMillis;
+  private final boolean closed;
+
+  private volatile SpQueryResult result;
+  private volatile long refreshedAt;
+
+  CachedQueryResult(ProvidedQueryParams params,
+                    SpQueryResult result,
+                    long createdAt,
+                    long intervalMillis,
+                    boolean closed) {
+    this.params = params;
+    this.result = result;
+    this.createdAt = createdAt;
+    this.refreshedAt = createdAt;
+    this.intervalMillis = intervalMillis;
+    this.closed = closed;
+  }
+
+  ProvidedQueryParams getParams() {
+    return params;
+  }
+
+  String getMeasurementId() {
+    return params.getMeasurementId();
+  }
+
+  long getCreatedAt() {
+    return createdAt;
+  }
+
+  /**
+   * @return the bucket length of a query grouped by time, or -1 if the result cannot be refreshed bucket-wise
+   */
+  long getIntervalMillis() {
+    return intervalMillis;
+  }
+
+  boolean isBucketed() {
+    return intervalMillis > 0;
+  }
+
+  /**
+   * @return true if the queried time range was already closed when the result was cached
+   */
+  boolean isClosed() {
+    return closed;
+  }
+
+  SpQueryResult getResult() {
+    return result;
+  }
+
+  long getRefreshedAt() {
+    return refreshedAt;
+  }
+
+  void refreshed(SpQueryResult result,
+                 long refreshedAt) {
+    this.result = result;
+    this.refreshedAt = refreshedAt;
+  }
+}
@@ -0,0 +1,80 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.dataexplorer.v4.query.cache;
+
+public class QueryCacheStatistics {
+
+  private final int size;
+  private final int maxSize;
+  private final long hits;
+  private final long misses;
+  private final long coalescedRequests;
+  private final long headRefreshes;
+  private final long evictions;
+
+  public QueryCacheStatistics(int size,
+                              int maxSize,
+                              long hits,
+                              long misses,
+                              long coalescedRequests,
+                              long headRefreshes,
+                              long evictions) {
+    this.size = size;
+    this.maxSize = maxSize;
+    this.hits = hits;
+    this.misses = misses;
+    this.coalescedRequests = coalescedRequests;
+    this.headRefreshes = headRefreshes;
+    this.evictions = evictions;
+  }
+
+  public int getSize() {
+    return size;
+  }
+
+  public int getMaxSize() {
+    return maxSize;
+  }
+
+  public long getHits() {
+    return hits;
+  }
+
+  public long getMisses() {
+    return misses;
+  }
+
+  /**
+   * @return the number of requests which waited for an identical query that was already running
+   */
+  public long getCoalescedRequests() {
+    return coalescedRequests;
+  }
+
+  /**
+   * @return the number of hits for which only the open head bucket of a time-grouped query was re-queried
+   */
+  public long getHeadRefreshes() {
+    return headRefreshes;
+  }
+
+  public long getEvictions() {
+    return evictions;
+  }
+}
@@ -0,0 +1,396 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.dataexplorer.v4.query.cache;
+
+import org.apache.streampipes.commons.environment.Environment;
+import org.apache.streampipes.commons.environment.Environments;
+import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.apache.streampipes.dataexplorer.v4.ProvidedQueryParams;
+import org.apache.streampipes.dataexplorer.v4.query.QueryResultProvider;
+import org.apache.streampipes.model.datalake.DataSeries;
+import org.apache.streampipes.model.datalake.SpQueryResult;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+
+import static org.apache.streampipes.dataexplorer.v4.SupportedDataLakeQueryParameters.QP_AUTO_AGGREGATE;
+import static org.apache.streampipes.dataexplorer.v4.SupportedDataLakeQueryParameters.QP_COUNT_ONLY;
+import static org.apache.streampipes.dataexplorer.v4.SupportedDataLakeQueryParameters.QP_CSV_DELIMITER;
+import static org.apache.streampipes.dataexplorer.v4.SupportedDataLakeQueryParameters.QP_END_DATE;
+import static org.apache.streampipes.dataexplorer.v4.SupportedDataLakeQueryParameters.QP_FORMAT;
+import static org.apache.streampipes.dataexplorer.v4.SupportedDataLakeQueryParameters.QP_LIMIT;
+import static org.apache.streampipes.dataexplorer.v4.SupportedDataLakeQueryParameters.QP_MAXIMUM_AMOUNT_OF_EVENTS;
+import static org.apache.streampipes.dataexplorer.v4.SupportedDataLakeQueryParameters.QP_OFFSET;
+import static org.apache.streampipes.dataexplorer.v4.SupportedDataLakeQueryParameters.QP_ORDER;
+import static org.apache.streampipes.dataexplorer.v4.SupportedDataLakeQueryParameters.QP_PAGE;
+import static org.apache.streampipes.dataexplorer.v4.SupportedDataLakeQueryParameters.QP_START_DATE;
+import static org.apache.streampipes.dataexplorer.v4.SupportedDataLakeQueryParameters.QP_TIME_INTERVAL;
+
+/**
+ * Size- and TTL-bounded cache of data explorer query results, keyed by the normalized query parameters.
+ *
+ * <p>For queries grouped by time, all buckets which ended before {@code now - ALLOWED_LATENESS_MS} are considered
+ * immutable. On a cache hit, only the open head bucket(s) are re-queried and merged into the cached result, at most
+ * once per open range TTL. Queries over a time range which is already closed are valid for the full TTL, all
+ * other queries (e.g., the latest n events) only for the open range TTL. Identical queries which are requested
+ * concurrently are executed only once.</p>
+ */
+public class QueryResultCache {
+
+  static final long ALLOWED_LATENESS_MS = 5000;
+
+  private static final String TIME_FIELD = "time";
+
+  // parameters which do not influence the query result
+  private static final List<String> IGNORED_PARAMS = List.of(
+      QueryResultProvider.FOR_ID_KEY,
+      QP_FORMAT,
+      QP_CSV_DELIMITER);
+
+  // parameters for which the result cannot be refreshed bucket-wise
+  private static final List<String> NON_BUCKETED_PARAMS = List.of(
+      QP_LIMIT,
+      QP_OFFSET,
+      QP_PAGE,
+      QP_ORDER,
+      QP_COUNT_ONLY,
+      QP_AUTO_AGGREGATE,
+      QP_MAXIMUM_AMOUNT_OF_EVENTS);
+
+  private static final QueryResultCache INSTANCE = new QueryResultCache(Environments.getEnvironment());
+
+  private final int maxSize;
+  private final long ttlMillis;
+  private final long openRangeTtlMillis;
+  private final LongSupplier clock;
+
+  private final Map<String, CachedQueryResult> entries;
+  private final Map<String, CompletableFuture<SpQueryResult>> runningQueries;
+
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder coalescedRequests = new LongAdder();
+  private final LongAdder headRefreshes = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+
+  private QueryResultCache(Environment environment) {
+    this(environment.getDataExplorerCacheSize().getValueOrDefault(),
+        environment.getDataExplorerCacheTtlSeconds().getValueOrDefault() * 1000L,
+        environment.getDataExplorerCacheOpenRangeTtlMs().getValueOrDefault(),
+        System::currentTimeMillis);
+  }
+
+  QueryResultCache(int maxSize,
+                   long ttlMillis,
+                   long openRangeTtlMillis,
+                   LongSupplier clock) {
+    this.maxSize = maxSize;
+    this.ttlMillis = ttlMillis;
+    this.openRangeTtlMillis = openRangeTtlMillis;
+    this.clock = clock;
+    this.runningQueries = new ConcurrentHashMap<>();
+    this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, CachedQueryResult> eldest) {
+        if (size() > QueryResultCache.this.maxSize) {
+          evictions.increment();
+          return true;
+        }
+        return false;
+      }
+    };
+  }
+
+  public static QueryResultCache getInstance() {
+    return INSTANCE;
+  }
+
+  /**
+   * Returns the cached result of the given query or executes the query if no valid result is cached.
+   *
+   * @param params            the query parameters
+   * @param ignoreMissingData whether rows with missing values are removed from the result
+   * @param query             executes the query for the given parameters
+   * @return a copy of the (cached) result, which can be modified by the caller
+   */
+  public SpQueryResult getData(ProvidedQueryParams params,
+                               boolean ignoreMissingData,
+                               Function<ProvidedQueryParams, SpQueryResult> query) {
+    if (maxSize <= 0) {
+      return query.apply(params);
+    }
+
+    String key = makeKey(params, ignoreMissingData);
+    long now = clock.getAsLong();
+    CachedQueryResult entry;
+    synchronized (entries) {
+      entry = entries.get(key);
+    }
+
+    SpQueryResult result;
+    if (entry != null && isValid(entry, now)) {
+      hits.increment();
+      result = refreshHeadIfRequired(entry, query, now);
+    } else {
+      result = load(key, params, query, now);
+    }
+    return copy(result, params.getAsString(QueryResultProvider.FOR_ID_KEY));
+  }
+
+  public void invalidate(String measurementId) {
+    synchronized (entries) {
+      entries.values().removeIf(entry -> entry.getMeasurementId().equals(measurementId));
+    }
+  }
+
+  public void invalidateAll() {
+    synchronized (entries) {
+      entries.clear();
+    }
+  }
+
+  public QueryCacheStatistics getStatistics() {
+    int size;
+    synchronized (entries) {
+      size = entries.size();
+    }
+    return new QueryCacheStatistics(size,
+        maxSize,
+        hits.sum(),
+        misses.sum(),
+        coalescedRequests.sum(),
+        headRefreshes.sum(),
+        evictions.sum());
+  }
+
+  private SpQueryResult load(String key,
+                             ProvidedQueryParams params,
+                             Function<ProvidedQueryParams, SpQueryResult> query,
+                             long now) {
+    CompletableFuture<SpQueryResult> future = new CompletableFuture<>();
+    CompletableFuture<SpQueryResult> runningQuery = runningQueries.putIfAbsent(key, future);
+    if (runningQuery != null) {
+      coalescedRequests.increment();
+      return await(runningQuery);
+    }
+
+    misses.increment();
+    try {
+      ProvidedQueryParams cachedParams = new ProvidedQueryParams(params);
+      SpQueryResult result = query.apply(new ProvidedQueryParams(params));
+      CachedQueryResult entry = new CachedQueryResult(cachedParams,
+          result,
+          now,
+          getBucketInterval(cachedParams),
+          isClosedRange(cachedParams, now));
+      synchronized (entries) {
+        entries.put(key, entry);
+      }
+      future.complete(result);
+      return result;
+    } catch (RuntimeException e) {
+      future.completeExceptionally(e);
+      throw e;
+    } finally {
+      runningQueries.remove(key, future);
+    }
+  }
+
+  private SpQueryResult refreshHeadIfRequired(CachedQueryResult entry,
+                                              Function<ProvidedQueryParams, SpQueryResult> query,
+                                              long now) {
+    if (!entry.isBucketed() || entry.isClosed()) {
+      return entry.getResult();
+    }
+
+    synchronized (entry) {
+      if (now - entry.getRefreshedAt() < openRangeTtlMillis) {
+        return entry.getResult();
+      }
+      long headStart = TimeBuckets.bucketStart(now - ALLOWED_LATENESS_MS, entry.getIntervalMillis());
+      ProvidedQueryParams headParams = new ProvidedQueryParams(entry.getParams());
+      Long startDate = headParams.getAsLong(QP_START_DATE);
+      if (startDate == null || startDate < headStart - 1) {
+        // the start date is exclusive
+        headParams.update(QP_START_DATE, String.valueOf(headStart - 1));
+      }
+
+      SpQueryResult merged = mergeHead(entry.getResult(), query.apply(headParams), headStart);
+      if (merged == null) {
+        merged = query.apply(new ProvidedQueryParams(entry.getParams()));
+      }
+      entry.refreshed(merged, now);
+      headRefreshes.increment();
+      return merged;
+    }
+  }
+
+  /**
+   * Replaces all rows of the cached result starting at the given head bucket with the rows of the head result.
+   *
+   * @return the merged result or null if the results cannot be merged
+   */
+  static SpQueryResult mergeHead(SpQueryResult cached,
+                                 SpQueryResult head,
+                                 long headStart) {
+    List<String> headers = cached.getHeaders() != null ? cached.getHeaders() : head.getHeaders();
+    if (headers == null) {
+      return cached;
+    }
+    int timeIndex = headers.indexOf(TIME_FIELD);
+    if (timeIndex < 0) {
+      return null;
+    }
+
+    Map<Map<String, String>, DataSeries> headSeries = new HashMap<>();
+    for (DataSeries series : head.getAllDataSeries()) {
+      headSeries.put(series.getTags(), series);
+    }
+
+    List<DataSeries> mergedSeries = new ArrayList<>();
+    for (DataSeries series : cached.getAllDataSeries()) {
+      List<List<Object>> rows = new ArrayList<>(series.getRows());
+      int removed = 0;
+      while (!rows.isEmpty()) {
+        long timestamp = TimeBuckets.toEpochMillis(rows.get(rows.size() - 1).get(timeIndex));
+        if (timestamp == TimeBuckets.UNKNOWN) {
+          return null;
+        } else if (timestamp < headStart) {
+          break;
+        }
+        rows.remove(rows.size() - 1);
+        removed++;
+      }
+      int added = addHeadRows(rows, headSeries.remove(series.getTags()), timeIndex, headStart);
+      if (added < 0) {
+        return null;
+      }
+      mergedSeries.add(new DataSeries(series.getTotal() - removed + added, rows, series.getHeaders(),
+          series.getTags()));
+    }
+
+    for (DataSeries series : headSeries.values()) {
+      List<List<Object>> rows = new ArrayList<>();
+      int added = addHeadRows(rows, series, timeIndex, headStart);
+      if (added < 0) {
+        return null;
+      } else if (added > 0) {
+        mergedSeries.add(new DataSeries(added, rows, series.getHeaders(), series.getTags()));
+      }
+    }
+
+    SpQueryResult merged = new SpQueryResult(mergedSeries.size(), headers, mergedSeries);
+    merged.setSpQueryStatus(cached.getSpQueryStatus());
+    merged.setSourceIndex(cached.getSourceIndex());
+    return merged;
+  }
+
+  private static int addHeadRows(List<List<Object>> rows,
+                                 DataSeries headSeries,
+                                 int timeIndex,
+                                 long headStart) {
+    int added = 0;
+    if (headSeries != null) {
+      for (List<Object> row : headSeries.getRows()) {
+        long timestamp = TimeBuckets.toEpochMillis(row.get(timeIndex));
+        if (timestamp == TimeBuckets.UNKNOWN) {
+          return -1;
+        } else if (timestamp >= headStart) {
+          rows.add(row);
+          added++;
+        }
+      }
+    }
+    return added;
+  }
+
+  private boolean isValid(CachedQueryResult entry,
+                          long now) {
+    long age = now - entry.getCreatedAt();
+    if (age >= ttlMillis) {
+      return false;
+    }
+    return entry.isBucketed() || entry.isClosed() || age < openRangeTtlMillis;
+  }
+
+  private long getBucketInterval(ProvidedQueryParams params) {
+    for (String param : NON_BUCKETED_PARAMS) {
+      if (params.has(param)) {
+        return -1;
+      }
+    }
+    return TimeBuckets.parseIntervalMillis(params.getAsString(QP_TIME_INTERVAL));
+  }
+
+  private boolean isClosedRange(ProvidedQueryParams params,
+                                long now) {
+    Long endDate = params.getAsLong(QP_END_DATE);
+    return endDate != null && endDate <= now - ALLOWED_LATENESS_MS;
+  }
+
+  private String makeKey(ProvidedQueryParams params,
+                         boolean ignoreMissingData) {
+    Map<String, String> normalizedParams = new TreeMap<>(params.getProvidedParams());
+    IGNORED_PARAMS.forEach(normalizedParams::remove);
+    return params.getMeasurementId() + "|" + ignoreMissingData + "|" + normalizedParams;
+  }
+
+  private SpQueryResult copy(SpQueryResult result,
+                             String forId) {
+    SpQueryResult copy = new SpQueryResult(result.getTotal(),
+        result.getHeaders() != null ? new ArrayList<>(result.getHeaders()) : null,
+        result.getAllDataSeries().stream().map(this::copy).collect(Collectors.toList()));
+    copy.setSpQueryStatus(result.getSpQueryStatus());
+    copy.setSourceIndex(result.getSourceIndex());
+    copy.setForId(forId);
+    return copy;
+  }
+
+  private DataSeries copy(DataSeries series) {
+    List<List<Object>> rows = series.getRows().stream()
+        .map(ArrayList::new)
+        .collect(Collectors.toList());
+    return new DataSeries(series.getTotal(),
+        rows,
+        series.getHeaders() != null ? new ArrayList<>(series.getHeaders()) : null,
+        series.getTags() != null ? new HashMap<>(series.getTags()) : null);
+  }
+
+  private SpQueryResult await(CompletableFuture<SpQueryResult> runningQuery) {
+    try {
+      return runningQuery.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw new SpRuntimeException(e.getCause());
+    }
+  }
+}
@@ -0,0 +1,64 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.dataexplorer.v4.query.cache;
+
+import org.apache.streampipes.dataexplorer.commons.influx.InfluxDurations;
+
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Helpers for the time buckets of queries grouped by time. Buckets are aligned to the epoch, as done by InfluxDB
+ * for GROUP BY time() clauses without offset.
+ */
+final class TimeBuckets {
+
+  static final long UNKNOWN = Long.MIN_VALUE;
+
+  private TimeBuckets() {
+  }
+
+  /**
+   * @return the length of the given InfluxDB duration in milliseconds or -1 if it cannot be used as bucket length
+   */
+  static long parseIntervalMillis(String interval) {
+    return InfluxDurations.toMillis(interval);
+  }
+
+  static long bucketStart(long timestamp,
+                          long intervalMillis) {
+    return Math.floorDiv(timestamp, intervalMillis) * intervalMillis;
+  }
+
+  /**
+   * @return the timestamp of a time column value (RFC3339 or epoch milliseconds) or {@link #UNKNOWN}
+   */
+  static long toEpochMillis(Object timeValue) {
+    if (timeValue instanceof Number) {
+      return ((Number) timeValue).longValue();
+    } else if (timeValue instanceof String) {
+      try {
+        return Instant.parse((String) timeValue).toEpochMilli();
+      } catch (DateTimeParseException e) {
+        return UNKNOWN;
+      }
+    }
+    return UNKNOWN;
+  }
+}
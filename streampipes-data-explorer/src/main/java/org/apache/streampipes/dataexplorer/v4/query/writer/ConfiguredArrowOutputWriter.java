@@ -0,0 +1,54 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.dataexplorer.v4.query.writer;
+
+import org.apache.streampipes.dataexplorer.v4.query.writer.columnar.ArrowBatchWriter;
+import org.apache.streampipes.dataexplorer.v4.query.writer.columnar.ExportColumn;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+public class ConfiguredArrowOutputWriter extends ConfiguredColumnarOutputWriter {
+
+  private ArrowBatchWriter writer;
+
+  @Override
+  protected void startWriting(OutputStream outputStream,
+                              List<ExportColumn> columns) throws IOException {
+    this.writer = new ArrowBatchWriter(outputStream, columns);
+  }
+
+  @Override
+  protected void writeRow(Object[] values) throws IOException {
+    writer.write(values);
+  }
+
+  @Override
+  protected void finishWriting() throws IOException {
+    writer.close();
+  }
+
+  @Override
+  public void close() {
+    if (writer != null) {
+      writer.abort();
+    }
+  }
+}
@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.dataexplorer.v4.query.writer;
+
+import org.apache.streampipes.dataexplorer.v4.ProvidedQueryParams;
+import org.apache.streampipes.dataexplorer.v4.query.writer.columnar.ExportColumn;
+import org.apache.streampipes.dataexplorer.v4.query.writer.columnar.ExportSchemaResolver;
+import org.apache.streampipes.model.datalake.DataLakeMeasure;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * Base class of binary output formats which write typed columns instead of text rows. The columns are resolved from
+ * the first result row and the event schema of the measurement; values of subsequent rows are matched to these
+ * columns by name, so that rows with a different column order (e.g., of other series) are written correctly.
+ */
+public abstract class ConfiguredColumnarOutputWriter extends ConfiguredOutputWriter {
+
+  private ExportSchemaResolver schemaResolver;
+  private List<ExportColumn> columns;
+
+  private List<String> lastColumnNames;
+  private int[] columnIndices;
+  private Object[] values;
+
+  @Override
+  public void configure(ProvidedQueryParams params,
+                        DataLakeMeasure measure,
+                        boolean ignoreMissingValues) {
+    this.schemaResolver = new ExportSchemaResolver(measure);
+  }
+
+  @Override
+  public void beforeFirstItem(OutputStream outputStream) {
+    // the columns are only known with the first row
+  }
+
+  @Override
+  public void writeItem(OutputStream outputStream,
+                        List<Object> row,
+                        List<String> columnNames,
+                        boolean firstObject) throws IOException {
+    if (columns == null) {
+      start(outputStream, schemaResolver.resolve(columnNames, row));
+    }
+
+    updateColumnIndices(columnNames);
+    for (int i = 0; i < columns.size(); i++) {
+      values[i] = columnIndices[i] > -1 ? columns.get(i).getType().convert(row.get(columnIndices[i])) : null;
+    }
+    writeRow(values);
+  }
+
+  @Override
+  public void afterLastItem(OutputStream outputStream) throws IOException {
+    if (columns == null) {
+      start(outputStream, schemaResolver.resolve());
+    }
+    finishWriting();
+  }
+
+  protected abstract void startWriting(OutputStream outputStream,
+                                       List<ExportColumn> columns) throws IOException;
+
+  protected abstract void writeRow(Object[] values) throws IOException;
+
+  protected abstract void finishWriting() throws IOException;
+
+  private void start(OutputStream outputStream,
+                     List<ExportColumn> columns) throws IOException {
+    this.columns = columns;
+    this.values = new Object[columns.size()];
+    startWriting(outputStream, columns);
+  }
+
+  private void updateColumnIndices(List<String> columnNames) {
+    if (columnNames != lastColumnNames) {
+      lastColumnNames = columnNames;
+      columnIndices = new int[columns.size()];
+      for (int i = 0; i < columns.size(); i++) {
+        columnIndices[i] = columnNames.indexOf(columns.get(i).getName());
+      }
+    }
+  }
+}
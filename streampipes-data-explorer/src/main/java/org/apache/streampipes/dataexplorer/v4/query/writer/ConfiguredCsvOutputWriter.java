@@ -20,6 +20,7 @@ package org.apache.streampipes.dataexplorer.v4.query.writer;
 
 import org.apache.streampipes.dataexplorer.v4.ProvidedQueryParams;
 import org.apache.streampipes.dataexplorer.v4.query.writer.item.CsvItemWriter;
+import org.apache.streampipes.model.datalake.DataLakeMeasure;
 
 import java.io.IOException;
 import java.io.OutputStream;
@@ -39,6 +40,7 @@ public class ConfiguredCsvOutputWriter extends ConfiguredOutputWriter {
 
   @Override
   public void configure(ProvidedQueryParams params,
+                        DataLakeMeasure measure,
                         boolean ignoreMissingValues) {
     if (params.has(QP_CSV_DELIMITER)) {
       delimiter = params.getAsString(QP_CSV_DELIMITER).equals("comma") ? COMMA : SEMICOLON;
@@ -21,6 +21,7 @@ package org.apache.streampipes.dataexplorer.v4.query.writer;
 import org.apache.streampipes.dataexplorer.v4.ProvidedQueryParams;
 import org.apache.streampipes.dataexplorer.v4.query.writer.item.ItemGenerator;
 import org.apache.streampipes.dataexplorer.v4.query.writer.item.JsonItemWriter;
+import org.apache.streampipes.model.datalake.DataLakeMeasure;
 
 import com.google.gson.Gson;
 
@@ -42,6 +43,7 @@ public class ConfiguredJsonOutputWriter extends ConfiguredOutputWriter {
 
   @Override
   public void configure(ProvidedQueryParams params,
+                        DataLakeMeasure measure,
                         boolean ignoreMissingValues) {
     // do nothing
   }
@@ -19,23 +19,27 @@
 package org.apache.streampipes.dataexplorer.v4.query.writer;
 
 import org.apache.streampipes.dataexplorer.v4.ProvidedQueryParams;
+import org.apache.streampipes.model.datalake.DataLakeMeasure;
 
+import java.io.Closeable;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.util.List;
 
-public abstract class ConfiguredOutputWriter {
+public abstract class ConfiguredOutputWriter implements Closeable {
 
   public static ConfiguredOutputWriter getConfiguredWriter(OutputFormat format,
                                                            ProvidedQueryParams params,
+                                                           DataLakeMeasure measure,
                                                            boolean ignoreMissingValues) {
     var writer = format.getWriter();
-    writer.configure(params, ignoreMissingValues);
+    writer.configure(params, measure, ignoreMissingValues);
 
     return writer;
   }
 
   public abstract void configure(ProvidedQueryParams params,
+                                 DataLakeMeasure measure,
                                  boolean ignoreMissingValues);
 
   public abstract void beforeFirstItem(OutputStream outputStream) throws IOException;
@@ -47,6 +51,14 @@ public abstract class ConfiguredOutputWriter {
                                  List<String> columnNames,
                                  boolean firstObject) throws IOException;
 
+  /**
+   * Releases the resources of the writer, also if the export was aborted before {@link #afterLastItem(OutputStream)}
+   */
+  @Override
+  public void close() throws IOException {
+    // do nothing
+  }
+
   protected byte[] toBytes(String value) {
     return value.getBytes();
   }
@@ -21,16 +21,37 @@ package org.apache.streampipes.dataexplorer.v4.query.writer;
 import java.util.function.Supplier;
 
 public enum OutputFormat {
-  JSON(ConfiguredJsonOutputWriter::new),
-  CSV(ConfiguredCsvOutputWriter::new);
+  JSON("json", ConfiguredJsonOutputWriter::new),
+  CSV("csv", ConfiguredCsvOutputWriter::new),
+  PARQUET("parquet", ConfiguredParquetOutputWriter::new),
+  ARROW("arrows", ConfiguredArrowOutputWriter::new);
 
+  private final String fileExtension;
   private final Supplier<ConfiguredOutputWriter> writerSupplier;
 
-  OutputFormat(Supplier<ConfiguredOutputWriter> writerSupplier) {
+  OutputFormat(String fileExtension,
+               Supplier<ConfiguredOutputWriter> writerSupplier) {
+    this.fileExtension = fileExtension;
     this.writerSupplier = writerSupplier;
   }
 
+  /**
+   * @param format the format query parameter (csv, json, parquet or arrow), JSON is used for unknown formats
+   */
+  public static OutputFormat fromQueryParameter(String format) {
+    for (OutputFormat outputFormat : values()) {
+      if (outputFormat.name().equalsIgnoreCase(format)) {
+        return outputFormat;
+      }
+    }
+    return JSON;
+  }
+
   public ConfiguredOutputWriter getWriter() {
     return writerSupplier.get();
   }
+
+  public String getFileExtension() {
+    return fileExtension;
+  }
 }
@@ -0,0 +1,188 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.dataexplorer.v4.query.writer.columnar;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.util.AutoCloseables;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.BitVector;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.Float8Vector;
+import org.apache.arrow.vector.TimeStampMilliTZVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.ipc.ArrowStreamWriter;
+import org.apache.arrow.vector.types.TimeUnit;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.FieldType;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes rows in the Arrow IPC streaming format to an output stream.
+ *
+ * <p>Rows are collected in typed vectors which are written as record batch once the batch size is reached, so that
+ * at most one batch is kept in (off-heap) memory at any time.</p>
+ */
+public class ArrowBatchWriter implements AutoCloseable {
+
+  private static final int DEFAULT_BATCH_SIZE = 10000;
+  private static final String TIMEZONE = "UTC";
+
+  private final BufferAllocator allocator;
+  private final List<ExportColumn> columns;
+  private final List<FieldVector> vectors;
+  private final VectorSchemaRoot root;
+  private final ArrowStreamWriter writer;
+  private final int batchSize;
+
+  private int rowCount;
+  private boolean closed;
+
+  public ArrowBatchWriter(OutputStream outputStream,
+                          List<ExportColumn> columns) throws IOException {
+    this(outputStream, columns, DEFAULT_BATCH_SIZE);
+  }
+
+  public ArrowBatchWriter(OutputStream outputStream,
+                          List<ExportColumn> columns,
+                          int batchSize) throws IOException {
+    this.allocator = new RootAllocator();
+    this.columns = columns;
+    this.vectors = new ArrayList<>();
+    for (ExportColumn column : columns) {
+      vectors.add(makeVector(column));
+    }
+    this.root = new VectorSchemaRoot(vectors);
+    this.writer = new ArrowStreamWriter(root, null, Channels.newChannel(outputStream));
+    this.batchSize = batchSize;
+
+    this.root.allocateNew();
+    this.writer.start();
+  }
+
+  /**
+   * @param values the values of a single row in the order of the columns as returned by
+   *     {@link ExportColumnType#convert(Object)}
+   */
+  public void write(Object[] values) throws IOException {
+    for (int i = 0; i < values.length; i++) {
+      setValue(columns.get(i).getType(), vectors.get(i), values[i]);
+    }
+    rowCount++;
+
+    if (rowCount == batchSize) {
+      writeBatch();
+    }
+  }
+
+  /**
+   * Writes the pending rows and the end of the stream and releases all vectors.
+   */
+  @Override
+  public void close() throws IOException {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    try {
+      if (rowCount > 0) {
+        writeBatch();
+      }
+      writer.end();
+    } finally {
+      release();
+    }
+  }
+
+  /**
+   * Releases all vectors without completing the stream, e.g., after a failed query.
+   */
+  public void abort() {
+    if (!closed) {
+      closed = true;
+      release();
+    }
+  }
+
+  private void writeBatch() throws IOException {
+    root.setRowCount(rowCount);
+    writer.writeBatch();
+    vectors.forEach(FieldVector::reset);
+    rowCount = 0;
+  }
+
+  private void release() {
+    try {
+      AutoCloseables.close(writer, root, allocator);
+    } catch (Exception e) {
+      throw new IllegalStateException("Could not release arrow buffers", e);
+    }
+  }
+
+  private void setValue(ExportColumnType type,
+                        FieldVector vector,
+                        Object value) {
+    if (value == null) {
+      vector.setNull(rowCount);
+      return;
+    }
+    switch (type) {
+      case TIMESTAMP:
+        ((TimeStampMilliTZVector) vector).setSafe(rowCount, (Long) value);
+        break;
+      case LONG:
+        ((BigIntVector) vector).setSafe(rowCount, (Long) value);
+        break;
+      case DOUBLE:
+        ((Float8Vector) vector).setSafe(rowCount, (Double) value);
+        break;
+      case BOOLEAN:
+        ((BitVector) vector).setSafe(rowCount, (Boolean) value ? 1 : 0);
+        break;
+      default:
+        ((VarCharVector) vector).setSafe(rowCount, ((String) value).getBytes(StandardCharsets.UTF_8));
+    }
+  }
+
+  private FieldVector makeVector(ExportColumn column) {
+    var name = column.getName();
+    switch (column.getType()) {
+      case TIMESTAMP:
+        return new TimeStampMilliTZVector(
+            name,
+            FieldType.nullable(new ArrowType.Timestamp(TimeUnit.MILLISECOND, TIMEZONE)),
+            allocator);
+      case LONG:
+        return new BigIntVector(name, allocator);
+      case DOUBLE:
+        return new Float8Vector(name, allocator);
+      case BOOLEAN:
+        return new BitVector(name, allocator);
+      default:
+        return new VarCharVector(name, allocator);
+    }
+  }
+}
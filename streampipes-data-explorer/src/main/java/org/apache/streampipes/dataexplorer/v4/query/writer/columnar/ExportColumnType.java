@@ -0,0 +1,75 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.dataexplorer.v4.query.writer.columnar;
+
+import org.apache.streampipes.dataexplorer.v4.utils.TimeParser;
+
+/**
+ * The physical type of a column of a columnar export. Each type converts the values returned by the query, e.g.,
+ * numbers of any type or timestamps as date strings, to its value type or null if a value does not match.
+ */
+public enum ExportColumnType {
+
+  TIMESTAMP {
+    @Override
+    public Object convert(Object value) {
+      if (value instanceof Number) {
+        return ((Number) value).longValue();
+      } else if (value != null) {
+        return TimeParser.parseTime(value.toString());
+      } else {
+        return null;
+      }
+    }
+  },
+
+  LONG {
+    @Override
+    public Object convert(Object value) {
+      return value instanceof Number ? ((Number) value).longValue() : null;
+    }
+  },
+
+  DOUBLE {
+    @Override
+    public Object convert(Object value) {
+      return value instanceof Number ? ((Number) value).doubleValue() : null;
+    }
+  },
+
+  BOOLEAN {
+    @Override
+    public Object convert(Object value) {
+      return value instanceof Boolean ? value : null;
+    }
+  },
+
+  STRING {
+    @Override
+    public Object convert(Object value) {
+      return value != null ? value.toString() : null;
+    }
+  };
+
+  /**
+   * @return the value as {@link Long} (timestamps in milliseconds), {@link Double}, {@link Boolean} or
+   *     {@link String} depending on the column type, or null
+   */
+  public abstract Object convert(Object value);
+}
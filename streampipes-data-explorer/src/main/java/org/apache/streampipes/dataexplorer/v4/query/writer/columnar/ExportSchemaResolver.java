@@ -0,0 +1,114 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.dataexplorer.v4.query.writer.columnar;
+
+import org.apache.streampipes.model.datalake.DataLakeMeasure;
+import org.apache.streampipes.model.schema.EventProperty;
+import org.apache.streampipes.model.schema.EventPropertyPrimitive;
+import org.apache.streampipes.vocabulary.SO;
+import org.apache.streampipes.vocabulary.XSD;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Derives the typed columns of a columnar export from the event schema of the measurement. Columns which are not
+ * part of the schema, e.g., the results of aggregation functions, are typed by their first value.
+ */
+public class ExportSchemaResolver {
+
+  private final DataLakeMeasure measure;
+
+  public ExportSchemaResolver(DataLakeMeasure measure) {
+    this.measure = measure;
+  }
+
+  /**
+   * @param columnNames the columns of the query result with the timestamp column already renamed
+   * @param firstRow    the first row of the query result
+   */
+  public List<ExportColumn> resolve(List<String> columnNames,
+                                    List<Object> firstRow) {
+    List<ExportColumn> columns = new ArrayList<>();
+    for (int i = 0; i < columnNames.size(); i++) {
+      var name = columnNames.get(i);
+      var firstValue = firstRow.get(i);
+      var type = isTimestampColumn(name)
+          ? ExportColumnType.TIMESTAMP
+          : findProperty(name).map(this::toColumnType).orElseGet(() -> inferColumnType(firstValue));
+      columns.add(new ExportColumn(name, type));
+    }
+    return columns;
+  }
+
+  /**
+   * @return the columns of all properties of the measurement, used for exports without any result row
+   */
+  public List<ExportColumn> resolve() {
+    List<ExportColumn> columns = new ArrayList<>();
+    columns.add(new ExportColumn(measure.getTimestampFieldName(), ExportColumnType.TIMESTAMP));
+    getProperties()
+        .stream()
+        .filter(property -> !isTimestampColumn(property.getRuntimeName()))
+        .forEach(property -> columns.add(new ExportColumn(property.getRuntimeName(), toColumnType(property))));
+    return columns;
+  }
+
+  private boolean isTimestampColumn(String name) {
+    return name.equals(measure.getTimestampFieldName());
+  }
+
+  private Optional<EventProperty> findProperty(String name) {
+    return getProperties()
+        .stream()
+        .filter(property -> name.equals(property.getRuntimeName()))
+        .findFirst();
+  }
+
+  private List<EventProperty> getProperties() {
+    return measure.getEventSchema() != null ? measure.getEventSchema().getEventProperties() : List.of();
+  }
+
+  private ExportColumnType toColumnType(EventProperty property) {
+    if (property instanceof EventPropertyPrimitive) {
+      var runtimeType = ((EventPropertyPrimitive) property).getRuntimeType();
+      if (XSD.INTEGER.toString().equals(runtimeType) || XSD.LONG.toString().equals(runtimeType)) {
+        return ExportColumnType.LONG;
+      } else if (XSD.FLOAT.toString().equals(runtimeType)
+          || XSD.DOUBLE.toString().equals(runtimeType)
+          || SO.NUMBER.equals(runtimeType)) {
+        return ExportColumnType.DOUBLE;
+      } else if (XSD.BOOLEAN.toString().equals(runtimeType)) {
+        return ExportColumnType.BOOLEAN;
+      }
+    }
+    return ExportColumnType.STRING;
+  }
+
+  private ExportColumnType inferColumnType(Object value) {
+    if (value instanceof Boolean) {
+      return ExportColumnType.BOOLEAN;
+    } else if (value instanceof String) {
+      return ExportColumnType.STRING;
+    } else {
+      return ExportColumnType.DOUBLE;
+    }
+  }
+}
@@ -0,0 +1,207 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.dataexplorer.v4.query.writer.columnar;
+
+import org.apache.commons.io.output.CountingOutputStream;
+import org.apache.parquet.bytes.BytesInput;
+import org.apache.parquet.column.Encoding;
+import org.apache.parquet.column.page.DictionaryPage;
+import org.apache.parquet.column.page.PageWriter;
+import org.apache.parquet.column.statistics.SizeStatistics;
+import org.apache.parquet.column.statistics.Statistics;
+import org.apache.parquet.format.ColumnChunk;
+import org.apache.parquet.format.ColumnMetaData;
+import org.apache.parquet.format.CompressionCodec;
+import org.apache.parquet.format.DataPageHeader;
+import org.apache.parquet.format.DictionaryPageHeader;
+import org.apache.parquet.format.PageHeader;
+import org.apache.parquet.format.PageType;
+import org.apache.parquet.format.Type;
+import org.apache.parquet.format.Util;
+import org.xerial.snappy.Snappy;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Buffers the snappy-compressed pages of a single column of the current row group until the row group is written.
+ */
+class ParquetColumnChunk implements PageWriter {
+
+  private final String name;
+  private final Type type;
+
+  private final ByteArrayOutputStream dataPages = new ByteArrayOutputStream();
+  private final Set<org.apache.parquet.format.Encoding> encodings = new LinkedHashSet<>();
+
+  private byte[] dictionaryPage;
+  private long valueCount;
+  private long uncompressedSize;
+  private long compressedSize;
+
+  ParquetColumnChunk(String name,
+                     Type type) {
+    this.name = name;
+    this.type = type;
+  }
+
+  @Override
+  public void writePage(BytesInput bytesInput,
+                        int valueCount,
+                        Statistics<?> statistics,
+                        Encoding rlEncoding,
+                        Encoding dlEncoding,
+                        Encoding valuesEncoding) throws IOException {
+    writePage(bytesInput, valueCount, -1, statistics, rlEncoding, dlEncoding, valuesEncoding);
+  }
+
+  @Override
+  public void writePage(BytesInput bytesInput,
+                        int valueCount,
+                        int rowCount,
+                        Statistics<?> statistics,
+                        Encoding rlEncoding,
+                        Encoding dlEncoding,
+                        Encoding valuesEncoding) throws IOException {
+    var uncompressed = bytesInput.toByteArray();
+    var compressed = Snappy.compress(uncompressed);
+    var header = new PageHeader(PageType.DATA_PAGE, uncompressed.length, compressed.length);
+    header.setData_page_header(new DataPageHeader(
+        valueCount,
+        toFormat(valuesEncoding),
+        toFormat(dlEncoding),
+        toFormat(rlEncoding)));
+
+    writePage(header, uncompressed.length, compressed, dataPages);
+    this.valueCount += valueCount;
+    this.encodings.add(toFormat(rlEncoding));
+    this.encodings.add(toFormat(dlEncoding));
+    this.encodings.add(toFormat(valuesEncoding));
+  }
+
+  @Override
+  public void writePage(BytesInput bytesInput,
+                        int valueCount,
+                        int rowCount,
+                        Statistics<?> statistics,
+                        SizeStatistics sizeStatistics,
+                        Encoding rlEncoding,
+                        Encoding dlEncoding,
+                        Encoding valuesEncoding) throws IOException {
+    writePage(bytesInput, valueCount, rowCount, statistics, rlEncoding, dlEncoding, valuesEncoding);
+  }
+
+  @Override
+  public void writePageV2(int rowCount,
+                          int nullCount,
+                          int valueCount,
+                          BytesInput repetitionLevels,
+                          BytesInput definitionLevels,
+                          Encoding dataEncoding,
+                          BytesInput data,
+                          Statistics<?> statistics) {
+    throw new UnsupportedOperationException("Only data pages of version 1 are written");
+  }
+
+  @Override
+  public void writeDictionaryPage(DictionaryPage page) throws IOException {
+    var uncompressed = page.getBytes().toByteArray();
+    var compressed = Snappy.compress(uncompressed);
+    var header = new PageHeader(PageType.DICTIONARY_PAGE, uncompressed.length, compressed.length);
+    header.setDictionary_page_header(new DictionaryPageHeader(
+        page.getDictionarySize(),
+        toFormat(page.getEncoding())));
+
+    var buffer = new ByteArrayOutputStream();
+    writePage(header, uncompressed.length, compressed, buffer);
+    this.dictionaryPage = buffer.toByteArray();
+    this.encodings.add(toFormat(page.getEncoding()));
+  }
+
+  @Override
+  public long getMemSize() {
+    return dataPages.size() + (dictionaryPage != null ? dictionaryPage.length : 0);
+  }
+
+  @Override
+  public long allocatedSize() {
+    return getMemSize();
+  }
+
+  @Override
+  public String memUsageString(String prefix) {
+    return prefix + " " + name + " " + getMemSize() + " bytes";
+  }
+
+  /**
+   * Writes the dictionary page (if any) followed by all data pages to the stream.
+   *
+   * @return the column chunk metadata with the absolute offsets of the written pages
+   */
+  ColumnChunk writeTo(CountingOutputStream outputStream) throws IOException {
+    long dictionaryPageOffset = outputStream.getByteCount();
+    if (dictionaryPage != null) {
+      outputStream.write(dictionaryPage);
+    }
+    long dataPageOffset = outputStream.getByteCount();
+    dataPages.writeTo(outputStream);
+
+    var metaData = new ColumnMetaData(
+        type,
+        new ArrayList<>(encodings),
+        List.of(name),
+        CompressionCodec.SNAPPY,
+        valueCount,
+        uncompressedSize,
+        compressedSize,
+        dataPageOffset);
+    if (dictionaryPage != null) {
+      metaData.setDictionary_page_offset(dictionaryPageOffset);
+    }
+
+    var chunk = new ColumnChunk(dataPageOffset);
+    chunk.setMeta_data(metaData);
+    return chunk;
+  }
+
+  long getUncompressedSize() {
+    return uncompressedSize;
+  }
+
+  private void writePage(PageHeader header,
+                         int uncompressedLength,
+                         byte[] compressed,
+                         ByteArrayOutputStream target) throws IOException {
+    int start = target.size();
+    Util.writePageHeader(header, target);
+    int headerLength = target.size() - start;
+    target.write(compressed);
+
+    this.uncompressedSize += headerLength + uncompressedLength;
+    this.compressedSize += headerLength + compressed.length;
+  }
+
+  private org.apache.parquet.format.Encoding toFormat(Encoding encoding) {
+    return org.apache.parquet.format.Encoding.valueOf(encoding.name());
+  }
+}
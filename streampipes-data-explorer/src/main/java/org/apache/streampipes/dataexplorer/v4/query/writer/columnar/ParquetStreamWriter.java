@@ -0,0 +1,258 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.dataexplorer.v4.query.writer.columnar;
+
+import org.apache.commons.io.output.CountingOutputStream;
+import org.apache.parquet.column.ColumnDescriptor;
+import org.apache.parquet.column.ColumnWriteStore;
+import org.apache.parquet.column.ColumnWriter;
+import org.apache.parquet.column.ParquetProperties;
+import org.apache.parquet.format.ColumnChunk;
+import org.apache.parquet.format.ConvertedType;
+import org.apache.parquet.format.FieldRepetitionType;
+import org.apache.parquet.format.FileMetaData;
+import org.apache.parquet.format.LogicalType;
+import org.apache.parquet.format.MilliSeconds;
+import org.apache.parquet.format.RowGroup;
+import org.apache.parquet.format.SchemaElement;
+import org.apache.parquet.format.StringType;
+import org.apache.parquet.format.TimeUnit;
+import org.apache.parquet.format.TimestampType;
+import org.apache.parquet.format.Type;
+import org.apache.parquet.format.Util;
+import org.apache.parquet.io.api.Binary;
+import org.apache.parquet.schema.LogicalTypeAnnotation;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName;
+import org.apache.parquet.schema.Types;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes rows as Parquet file to a (non-seekable) output stream.
+ *
+ * <p>Rows are encoded column-wise into the pages of the current row group, which is written to the stream as soon
+ * as its buffered size exceeds the row group size. The memory usage is therefore bounded by the row group size
+ * independent of the number of exported rows. The file metadata is written as footer on {@link #close()}.</p>
+ */
+public class ParquetStreamWriter implements AutoCloseable {
+
+  private static final byte[] MAGIC = "PAR1".getBytes(StandardCharsets.US_ASCII);
+  private static final String SCHEMA_NAME = "schema";
+  private static final String CREATED_BY = "Apache StreamPipes";
+  private static final long DEFAULT_ROW_GROUP_SIZE = 32L * 1024 * 1024;
+
+  private final CountingOutputStream outputStream;
+  private final List<ExportColumn> columns;
+  private final MessageType schema;
+  private final ParquetProperties properties;
+  private final long rowGroupSize;
+
+  private final List<RowGroup> rowGroups = new ArrayList<>();
+  private List<ParquetColumnChunk> chunks;
+  private ColumnWriteStore columnStore;
+  private List<ColumnWriter> columnWriters;
+  private long rowGroupRowCount;
+  private long totalRowCount;
+
+  public ParquetStreamWriter(OutputStream outputStream,
+                             List<ExportColumn> columns) throws IOException {
+    this(outputStream, columns, DEFAULT_ROW_GROUP_SIZE);
+  }
+
+  public ParquetStreamWriter(OutputStream outputStream,
+                             List<ExportColumn> columns,
+                             long rowGroupSize) throws IOException {
+    this.outputStream = new CountingOutputStream(outputStream);
+    this.columns = columns;
+    this.schema = makeSchema(columns);
+    this.properties = ParquetProperties.builder().withDictionaryEncoding(true).build();
+    this.rowGroupSize = rowGroupSize;
+
+    this.outputStream.write(MAGIC);
+    startRowGroup();
+  }
+
+  /**
+   * @param values the values of a single row in the order of the columns as returned by
+   *     {@link ExportColumnType#convert(Object)}, null values are skipped
+   */
+  public void write(Object[] values) throws IOException {
+    for (int i = 0; i < values.length; i++) {
+      if (values[i] != null) {
+        writeValue(columnWriters.get(i), columns.get(i).getType(), values[i]);
+      } else {
+        columnWriters.get(i).writeNull(0, 0);
+      }
+    }
+    columnStore.endRecord();
+    rowGroupRowCount++;
+
+    if (columnStore.getBufferedSize() >= rowGroupSize) {
+      writeRowGroup();
+      startRowGroup();
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (rowGroupRowCount > 0) {
+      writeRowGroup();
+    } else {
+      columnStore.close();
+    }
+
+    var fileMetaData = new FileMetaData(1, makeSchemaElements(), totalRowCount, rowGroups);
+    fileMetaData.setCreated_by(CREATED_BY);
+
+    long footerStart = outputStream.getByteCount();
+    Util.writeFileMetaData(fileMetaData, outputStream);
+    int footerLength = (int) (outputStream.getByteCount() - footerStart);
+
+    outputStream.write(ByteBuffer.allocate(Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN).putInt(footerLength).array());
+    outputStream.write(MAGIC);
+    outputStream.flush();
+  }
+
+  /**
+   * All columns are optional top-level fields, so that present values have the definition level 1 and the
+   * repetition level is always 0.
+   */
+  private void writeValue(ColumnWriter writer,
+                          ExportColumnType type,
+                          Object value) {
+    switch (type) {
+      case TIMESTAMP:
+      case LONG:
+        writer.write((Long) value, 0, 1);
+        break;
+      case DOUBLE:
+        writer.write((Double) value, 0, 1);
+        break;
+      case BOOLEAN:
+        writer.write((Boolean) value, 0, 1);
+        break;
+      default:
+        writer.write(Binary.fromString((String) value), 0, 1);
+    }
+  }
+
+  private void startRowGroup() {
+    this.chunks = new ArrayList<>();
+    for (ExportColumn column : columns) {
+      chunks.add(new ParquetColumnChunk(column.getName(), toPhysicalType(column.getType())));
+    }
+
+    var columnDescriptors = schema.getColumns();
+    this.columnStore = properties.newColumnWriteStore(schema,
+        descriptor -> chunks.get(columnDescriptors.indexOf(descriptor)));
+    this.columnWriters = new ArrayList<>();
+    for (ColumnDescriptor descriptor : columnDescriptors) {
+      columnWriters.add(columnStore.getColumnWriter(descriptor));
+    }
+    this.rowGroupRowCount = 0;
+  }
+
+  private void writeRowGroup() throws IOException {
+    columnStore.flush();
+
+    long rowGroupStart = outputStream.getByteCount();
+    long totalByteSize = 0;
+    List<ColumnChunk> columnChunks = new ArrayList<>();
+    for (ParquetColumnChunk chunk : chunks) {
+      columnChunks.add(chunk.writeTo(outputStream));
+      totalByteSize += chunk.getUncompressedSize();
+    }
+
+    var rowGroup = new RowGroup(columnChunks, totalByteSize, rowGroupRowCount);
+    rowGroup.setFile_offset(rowGroupStart);
+    rowGroup.setTotal_compressed_size(outputStream.getByteCount() - rowGroupStart);
+    rowGroups.add(rowGroup);
+
+    totalRowCount += rowGroupRowCount;
+    columnStore.close();
+  }
+
+  private List<SchemaElement> makeSchemaElements() {
+    List<SchemaElement> elements = new ArrayList<>();
+    elements.add(new SchemaElement(SCHEMA_NAME).setNum_children(columns.size()));
+
+    for (ExportColumn column : columns) {
+      var element = new SchemaElement(column.getName())
+          .setType(toPhysicalType(column.getType()))
+          .setRepetition_type(FieldRepetitionType.OPTIONAL);
+      if (column.getType() == ExportColumnType.TIMESTAMP) {
+        element.setConverted_type(ConvertedType.TIMESTAMP_MILLIS);
+        element.setLogicalType(LogicalType.TIMESTAMP(new TimestampType(true, TimeUnit.MILLIS(new MilliSeconds()))));
+      } else if (column.getType() == ExportColumnType.STRING) {
+        element.setConverted_type(ConvertedType.UTF8);
+        element.setLogicalType(LogicalType.STRING(new StringType()));
+      }
+      elements.add(element);
+    }
+    return elements;
+  }
+
+  private static MessageType makeSchema(List<ExportColumn> columns) {
+    var builder = Types.buildMessage();
+    for (ExportColumn column : columns) {
+      switch (column.getType()) {
+        case TIMESTAMP:
+          builder.optional(PrimitiveTypeName.INT64)
+              .as(LogicalTypeAnnotation.timestampType(true, LogicalTypeAnnotation.TimeUnit.MILLIS))
+              .named(column.getName());
+          break;
+        case LONG:
+          builder.optional(PrimitiveTypeName.INT64).named(column.getName());
+          break;
+        case DOUBLE:
+          builder.optional(PrimitiveTypeName.DOUBLE).named(column.getName());
+          break;
+        case BOOLEAN:
+          builder.optional(PrimitiveTypeName.BOOLEAN).named(column.getName());
+          break;
+        default:
+          builder.optional(PrimitiveTypeName.BINARY)
+              .as(LogicalTypeAnnotation.stringType())
+              .named(column.getName());
+      }
+    }
+    return builder.named(SCHEMA_NAME);
+  }
+
+  private static Type toPhysicalType(ExportColumnType type) {
+    switch (type) {
+      case TIMESTAMP:
+      case LONG:
+        return Type.INT64;
+      case DOUBLE:
+        return Type.DOUBLE;
+      case BOOLEAN:
+        return Type.BOOLEAN;
+      default:
+        return Type.BYTE_ARRAY;
+    }
+  }
+}
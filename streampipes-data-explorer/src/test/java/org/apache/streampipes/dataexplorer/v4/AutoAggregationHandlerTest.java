@@ -0,0 +1,86 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package org.apache.streampipes.dataexplorer.v4;
+
+import org.apache.streampipes.model.datalake.DataLakeMeasureStatistics;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.apache.streampipes.dataexplorer.v4.SupportedDataLakeQueryParameters.QP_AUTO_AGGREGATE;
+import static org.apache.streampipes.dataexplorer.v4.SupportedDataLakeQueryParameters.QP_END_DATE;
+import static org.apache.streampipes.dataexplorer.v4.SupportedDataLakeQueryParameters.QP_START_DATE;
+import static org.apache.streampipes.dataexplorer.v4.SupportedDataLakeQueryParameters.QP_TIME_INTERVAL;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class AutoAggregationHandlerTest {
+
+  private static final long FIRST = 1_000_000L;
+  private static final long LAST = 2_000_000L;
+  // one event per millisecond, the statistics were last published 60 seconds ago
+  private static final long NOW = LAST + 60_000L;
+
+  private final DataLakeMeasureStatistics statistics =
+      new DataLakeMeasureStatistics(FIRST, LAST, LAST - FIRST, new HashMap<>());
+
+  @Test
+  public void testRecentWindowIsEstimatedUpToNow() {
+    var params = makeParams(Map.of(QP_START_DATE, String.valueOf(LAST - 1000L)));
+    var handler = new AutoAggregationHandler(params, () -> NOW);
+
+    assertTrue(handler.canEstimateFromStatistics(statistics));
+    handler.makeAutoAggregationQueryParams(statistics);
+
+    // ~61000 events in the window
+    assertEquals("30ms", params.getAsString(QP_TIME_INTERVAL));
+    assertFalse(params.has(QP_AUTO_AGGREGATE));
+  }
+
+  @Test
+  public void testWindowAfterStatisticsIsNotEstimated() {
+    var params = makeParams(Map.of(QP_START_DATE, String.valueOf(LAST + 1000L)));
+    var handler = new AutoAggregationHandler(params, () -> NOW);
+
+    assertFalse(handler.canEstimateFromStatistics(statistics));
+  }
+
+  @Test
+  public void testSmallWindowIsNotAggregated() {
+    var params = makeParams(Map.of(
+        QP_START_DATE, String.valueOf(FIRST),
+        QP_END_DATE, String.valueOf(FIRST + 1000L)));
+    var handler = new AutoAggregationHandler(params, () -> NOW);
+
+    handler.makeAutoAggregationQueryParams(statistics);
+
+    assertFalse(params.has(QP_TIME_INTERVAL));
+    assertFalse(params.has(QP_AUTO_AGGREGATE));
+  }
+
+  private ProvidedQueryParams makeParams(Map<String, String> params) {
+    Map<String, String> providedParams = new HashMap<>(params);
+    providedParams.put(QP_AUTO_AGGREGATE, "true");
+    return new ProvidedQueryParams("measure", providedParams);
+  }
+}
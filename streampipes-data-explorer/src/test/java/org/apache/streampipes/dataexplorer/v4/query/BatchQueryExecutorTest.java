@@ -0,0 +1,127 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.dataexplorer.v4.query;
+
+import org.apache.streampipes.dataexplorer.v4.ProvidedQueryParams;
+import org.apache.streampipes.model.datalake.SpQueryResult;
+import org.apache.streampipes.model.datalake.SpQueryStatus;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class BatchQueryExecutorTest {
+
+  private ExecutorService executor;
+
+  @Before
+  public void setUp() {
+    executor = Executors.newFixedThreadPool(4);
+  }
+
+  @After
+  public void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void testResultsInCompletionOrder() throws Exception {
+    CountDownLatch fastResultReceived = new CountDownLatch(1);
+    var batchExecutor = new BatchQueryExecutor(executor, (params, ignoreMissing) -> {
+      String forId = params.getAsString(QueryResultProvider.FOR_ID_KEY);
+      if ("slow".equals(forId)) {
+        await(fastResultReceived);
+      }
+      return makeResult(forId);
+    });
+
+    List<String> received = new ArrayList<>();
+    batchExecutor.execute(List.of(makeParams("slow"), makeParams("fast")), true, result -> {
+      received.add(result.getForId());
+      fastResultReceived.countDown();
+    });
+
+    assertEquals(List.of("fast", "slow"), received);
+  }
+
+  @Test
+  public void testFailingQueryResultsInErrorStatus() throws Exception {
+    var batchExecutor = new BatchQueryExecutor(executor, (params, ignoreMissing) -> {
+      String forId = params.getAsString(QueryResultProvider.FOR_ID_KEY);
+      if ("failing".equals(forId)) {
+        throw new IllegalStateException("database not available");
+      }
+      return makeResult(forId);
+    });
+
+    Map<String, SpQueryStatus> received = new HashMap<>();
+    batchExecutor.execute(List.of(makeParams("failing"), makeParams("ok")), true,
+        result -> received.put(result.getForId(), result.getSpQueryStatus()));
+
+    assertEquals(SpQueryStatus.ERROR, received.get("failing"));
+    assertEquals(SpQueryStatus.OK, received.get("ok"));
+  }
+
+  @Test
+  public void testQueriesRunConcurrently() throws Exception {
+    CountDownLatch allStarted = new CountDownLatch(3);
+    var batchExecutor = new BatchQueryExecutor(executor, (params, ignoreMissing) -> {
+      allStarted.countDown();
+      // only returns if all queries are executed at the same time
+      assertTrue(await(allStarted));
+      return makeResult(params.getAsString(QueryResultProvider.FOR_ID_KEY));
+    });
+
+    List<SpQueryResult> received = new ArrayList<>();
+    batchExecutor.execute(List.of(makeParams("a"), makeParams("b"), makeParams("c")), true, received::add);
+
+    assertEquals(3, received.size());
+    received.forEach(result -> assertEquals(SpQueryStatus.OK, result.getSpQueryStatus()));
+  }
+
+  private boolean await(CountDownLatch latch) {
+    try {
+      return latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private ProvidedQueryParams makeParams(String forId) {
+    return new ProvidedQueryParams("measurement", new HashMap<>(Map.of(QueryResultProvider.FOR_ID_KEY, forId)));
+  }
+
+  private SpQueryResult makeResult(String forId) {
+    var result = new SpQueryResult();
+    result.setForId(forId);
+    return result;
+  }
+}
@@ -0,0 +1,171 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.dataexplorer.v4.query;
+
+import org.apache.streampipes.dataexplorer.v4.ProvidedQueryParams;
+import org.apache.streampipes.dataexplorer.v4.params.QueryParamsV4;
+import org.apache.streampipes.dataexplorer.v4.params.SelectColumn;
+import org.apache.streampipes.dataexplorer.v4.params.SelectFromStatementParams;
+import org.apache.streampipes.dataexplorer.v4.utils.DataLakeManagementUtils;
+import org.apache.streampipes.model.datalake.DataLakeMeasure;
+import org.apache.streampipes.model.datalake.DataLakeRollupTier;
+import org.apache.streampipes.model.schema.EventProperty;
+import org.apache.streampipes.model.schema.EventPropertyPrimitive;
+import org.apache.streampipes.model.schema.EventSchema;
+import org.apache.streampipes.model.schema.PropertyScope;
+import org.apache.streampipes.vocabulary.XSD;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.apache.streampipes.dataexplorer.v4.SupportedDataLakeQueryParameters.QP_AGGREGATION_FUNCTION;
+import static org.apache.streampipes.dataexplorer.v4.SupportedDataLakeQueryParameters.QP_COLUMNS;
+import static org.apache.streampipes.dataexplorer.v4.SupportedDataLakeQueryParameters.QP_FILTER;
+import static org.apache.streampipes.dataexplorer.v4.SupportedDataLakeQueryParameters.QP_START_DATE;
+import static org.apache.streampipes.dataexplorer.v4.SupportedDataLakeQueryParameters.QP_TIME_INTERVAL;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class RollupQueryPlannerTest {
+
+  private static final String MEASUREMENT = "measurement";
+  private static final long DAY = 86400000L;
+  // all tiers were created at noon of the first day
+  private static final long TIERS_CREATED_AT = DAY / 2;
+
+  private final RollupQueryPlanner planner = new RollupQueryPlanner(makeMeasure());
+
+  @Test
+  public void testCoarsestMatchingTier() {
+    var params = makeParams(Map.of(QP_COLUMNS, "value", QP_AGGREGATION_FUNCTION, "MEAN", QP_TIME_INTERVAL, "2h"));
+
+    var select = rewrite(params, 7200000);
+
+    assertEquals("measurement_rollup_1h", select.getIndex());
+    assertEquals(List.of("SUM(\"sum_value\") / SUM(\"count_value\") AS \"mean_value\""), toQueryStrings(select));
+  }
+
+  @Test
+  public void testFinerTierForMissingAggregate() {
+    var params = makeParams(Map.of(QP_COLUMNS, "value", QP_AGGREGATION_FUNCTION, "MAX", QP_TIME_INTERVAL, "2d"));
+
+    var select = rewrite(params, 2 * 86400000L);
+
+    assertEquals("measurement_rollup_1h", select.getIndex());
+    assertEquals(List.of("MAX(\"max_value\") AS \"max_value\""), toQueryStrings(select));
+  }
+
+  @Test
+  public void testTierMustDivideInterval() {
+    var params = makeParams(Map.of(QP_COLUMNS, "value", QP_AGGREGATION_FUNCTION, "MEAN", QP_TIME_INTERVAL, "90m"));
+
+    var select = rewrite(params, 5400000);
+
+    assertEquals("measurement_rollup_1m", select.getIndex());
+  }
+
+  @Test
+  public void testRawQueryBeforeTierCreation() {
+    var params = makeParams(Map.of(QP_COLUMNS, "value", QP_AGGREGATION_FUNCTION, "MEAN", QP_TIME_INTERVAL, "1h",
+        QP_START_DATE, String.valueOf(TIERS_CREATED_AT - 1)));
+    var queryParts = DataLakeManagementUtils.getSelectQueryParams(params);
+
+    assertSame(queryParts, planner.rewrite(params, queryParts, 3600000));
+  }
+
+  @Test
+  public void testRawQueryForFinerInterval() {
+    var params = makeParams(Map.of(QP_COLUMNS, "value", QP_AGGREGATION_FUNCTION, "MEAN", QP_TIME_INTERVAL, "30s"));
+    var queryParts = DataLakeManagementUtils.getSelectQueryParams(params);
+
+    assertSame(queryParts, planner.rewrite(params, queryParts, 30000));
+  }
+
+  @Test
+  public void testRawQueryForUnsupportedFunctionAndFilter() {
+    var firstParams = makeParams(Map.of(QP_COLUMNS, "value", QP_AGGREGATION_FUNCTION, "FIRST", QP_TIME_INTERVAL, "1d"));
+    var firstQueryParts = DataLakeManagementUtils.getSelectQueryParams(firstParams);
+    assertSame(firstQueryParts, planner.rewrite(firstParams, firstQueryParts, 86400000));
+
+    var filterParams = makeParams(Map.of(QP_COLUMNS, "value", QP_AGGREGATION_FUNCTION, "MEAN", QP_TIME_INTERVAL, "1d",
+        QP_FILTER, "[value;>;10]"));
+    var filterQueryParts = DataLakeManagementUtils.getSelectQueryParams(filterParams);
+    assertSame(filterQueryParts, planner.rewrite(filterParams, filterQueryParts, 86400000));
+  }
+
+  @Test
+  public void testTagFilter() {
+    var params = makeParams(Map.of(QP_COLUMNS, "value", QP_AGGREGATION_FUNCTION, "COUNT", QP_TIME_INTERVAL, "1d",
+        QP_FILTER, "[sensor;=;a]"));
+
+    var select = rewrite(params, 86400000);
+
+    assertEquals("measurement_rollup_1d", select.getIndex());
+    assertEquals(List.of("SUM(\"count_value\") AS \"count_value\""), toQueryStrings(select));
+  }
+
+  @Test
+  public void testFirstCompleteBucketOfTier() {
+    var params = makeParams(Map.of(QP_COLUMNS, "value", QP_AGGREGATION_FUNCTION, "COUNT", QP_TIME_INTERVAL, "2d",
+        QP_START_DATE, String.valueOf(DAY)));
+
+    // the daily bucket of the creation day is incomplete, but the hourly buckets after noon are complete
+    assertEquals("measurement_rollup_1d", rewrite(params, 2 * DAY).getIndex());
+    params.getProvidedParams().put(QP_START_DATE, String.valueOf(DAY - 1));
+    assertEquals("measurement_rollup_1h", rewrite(params, 2 * DAY).getIndex());
+  }
+
+  private SelectFromStatementParams rewrite(ProvidedQueryParams params,
+                                            long maxInterval) {
+    Map<String, QueryParamsV4> queryParts =
+        planner.rewrite(params, DataLakeManagementUtils.getSelectQueryParams(params), maxInterval);
+    return (SelectFromStatementParams) queryParts.get(DataLakeManagementUtils.SELECT_FROM);
+  }
+
+  private List<String> toQueryStrings(SelectFromStatementParams select) {
+    return select.getSelectedColumns().stream().map(SelectColumn::toQueryString).collect(Collectors.toList());
+  }
+
+  private ProvidedQueryParams makeParams(Map<String, String> params) {
+    var providedParams = new HashMap<>(params);
+    providedParams.putIfAbsent(QP_START_DATE, String.valueOf(2 * DAY));
+    return new ProvidedQueryParams(MEASUREMENT, providedParams);
+  }
+
+  private static DataLakeMeasure makeMeasure() {
+    EventProperty timestamp = new EventPropertyPrimitive(XSD.LONG.toString(), "timestamp", "", List.of());
+    EventProperty value = new EventPropertyPrimitive(XSD.DOUBLE.toString(), "value", "", List.of());
+    EventProperty sensor = new EventPropertyPrimitive(XSD.STRING.toString(), "sensor", "", List.of());
+    sensor.setPropertyScope(PropertyScope.DIMENSION_PROPERTY.name());
+
+    var measure = new DataLakeMeasure(MEASUREMENT, "s0::timestamp",
+        new EventSchema(List.of(timestamp, value, sensor)));
+    var tiers = List.of(
+        new DataLakeRollupTier("1d", List.of("MEAN", "COUNT")),
+        new DataLakeRollupTier("1m", List.of("MEAN", "MIN", "MAX")),
+        new DataLakeRollupTier("1h", List.of("MEAN", "MAX")));
+    tiers.forEach(tier -> tier.setCreatedAt(TIERS_CREATED_AT));
+    measure.setRollupTiers(tiers);
+    return measure;
+  }
+}
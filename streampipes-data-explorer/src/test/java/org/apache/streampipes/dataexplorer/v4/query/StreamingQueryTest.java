@@ -0,0 +1,173 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.dataexplorer.v4.query;
+
+import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+
+import org.influxdb.InfluxDB;
+import org.influxdb.dto.Query;
+import org.influxdb.dto.QueryResult;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+public class StreamingQueryTest {
+
+  private static final List<String> COLUMNS = Arrays.asList("time", "value");
+
+  @Test
+  public void testRowsOfAllChunksAndSeriesAreConsumed() throws IOException {
+    var database = new ChunkedDatabase(List.of(
+        makeChunk(makeSeries(row(1, 1.0), row(2, null)), makeSeries(row(3, 3.0))),
+        makeChunk(makeSeries(row(4, 4.0)))), null);
+
+    List<List<Object>> rows = new ArrayList<>();
+    new DataExplorerQueryV4().executeStreamingQuery(database.influxDb, new Query("select"), 2, false,
+        (columns, row) -> rows.add(row));
+
+    assertEquals(List.of(row(1, 1.0), row(2, null), row(3, 3.0), row(4, 4.0)), rows);
+  }
+
+  @Test
+  public void testRowsWithMissingValuesAreIgnored() throws IOException {
+    var database = new ChunkedDatabase(List.of(makeChunk(makeSeries(row(1, 1.0), row(2, null)))), null);
+
+    List<List<Object>> rows = new ArrayList<>();
+    new DataExplorerQueryV4().executeStreamingQuery(database.influxDb, new Query("select"), 2, true,
+        (columns, row) -> rows.add(row));
+
+    assertEquals(List.of(row(1, 1.0)), rows);
+  }
+
+  @Test
+  public void testQueryIsCancelledIfConsumerFails() throws Exception {
+    List<QueryResult> chunks = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      chunks.add(makeChunk(makeSeries(row(i, (double) i))));
+    }
+    var database = new ChunkedDatabase(chunks, null);
+
+    try {
+      new DataExplorerQueryV4().executeStreamingQuery(database.influxDb, new Query("select"), 1, false,
+          (columns, row) -> {
+            throw new IOException("client disconnected");
+          });
+      fail("Expected the consumer failure to be rethrown");
+    } catch (IOException e) {
+      assertEquals("client disconnected", e.getMessage());
+    }
+    database.reader.join(5000);
+    assertTrue(database.cancelled.get());
+    assertTrue(database.deliveredChunks < chunks.size());
+  }
+
+  @Test(expected = SpRuntimeException.class)
+  public void testQueryErrorIsRethrown() throws IOException {
+    var database = new ChunkedDatabase(List.of(makeChunk(makeSeries(row(1, 1.0)))),
+        new RuntimeException("query failed"));
+
+    new DataExplorerQueryV4().executeStreamingQuery(database.influxDb, new Query("select"), 1, false,
+        (columns, row) -> {
+        });
+  }
+
+  private static List<Object> row(long time,
+                                  Double value) {
+    return Arrays.asList(time, value);
+  }
+
+  @SafeVarargs
+  private static QueryResult.Series makeSeries(List<Object>... rows) {
+    QueryResult.Series series = new QueryResult.Series();
+    series.setColumns(COLUMNS);
+    series.setValues(Arrays.asList(rows));
+    return series;
+  }
+
+  private static QueryResult makeChunk(QueryResult.Series... series) {
+    QueryResult.Result result = new QueryResult.Result();
+    result.setSeries(Arrays.asList(series));
+    QueryResult chunk = new QueryResult();
+    chunk.setResults(List.of(result));
+    return chunk;
+  }
+
+  /**
+   * Delivers the chunks of a query from a separate thread, like the response reader of the InfluxDB client.
+   */
+  private static class ChunkedDatabase {
+
+    private final InfluxDB influxDb = mock(InfluxDB.class);
+    private final AtomicBoolean cancelled = new AtomicBoolean();
+    private volatile int deliveredChunks;
+    private Thread reader;
+
+    @SuppressWarnings("unchecked")
+    ChunkedDatabase(List<QueryResult> chunks,
+                    Throwable error) {
+      doAnswer(invocation -> {
+        BiConsumer<InfluxDB.Cancellable, QueryResult> onNext = invocation.getArgument(2);
+        Runnable onComplete = invocation.getArgument(3);
+        Consumer<Throwable> onFailure = invocation.getArgument(4);
+        var cancellable = new InfluxDB.Cancellable() {
+          @Override
+          public void cancel() {
+            cancelled.set(true);
+          }
+
+          @Override
+          public boolean isCanceled() {
+            return cancelled.get();
+          }
+        };
+        reader = new Thread(() -> {
+          for (QueryResult chunk : chunks) {
+            if (cancelled.get()) {
+              return;
+            }
+            onNext.accept(cancellable, chunk);
+            deliveredChunks++;
+          }
+          if (error != null) {
+            onFailure.accept(error);
+          } else {
+            onComplete.run();
+          }
+        });
+        reader.start();
+        return null;
+      }).when(influxDb).query(any(Query.class), anyInt(), any(BiConsumer.class), any(Runnable.class),
+          any(Consumer.class));
+    }
+  }
+}
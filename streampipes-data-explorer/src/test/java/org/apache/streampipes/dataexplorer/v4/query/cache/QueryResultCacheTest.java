@@ -0,0 +1,210 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.dataexplorer.v4.query.cache;
+
+import org.apache.streampipes.dataexplorer.v4.ProvidedQueryParams;
+import org.apache.streampipes.model.datalake.DataSeries;
+import org.apache.streampipes.model.datalake.SpQueryResult;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.apache.streampipes.dataexplorer.v4.SupportedDataLakeQueryParameters.QP_AUTO_AGGREGATE;
+import static org.apache.streampipes.dataexplorer.v4.SupportedDataLakeQueryParameters.QP_END_DATE;
+import static org.apache.streampipes.dataexplorer.v4.SupportedDataLakeQueryParameters.QP_LIMIT;
+import static org.apache.streampipes.dataexplorer.v4.SupportedDataLakeQueryParameters.QP_START_DATE;
+import static org.apache.streampipes.dataexplorer.v4.SupportedDataLakeQueryParameters.QP_TIME_INTERVAL;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class QueryResultCacheTest {
+
+  private static final String MEASUREMENT = "measurement";
+  private static final long TTL = 60000;
+  private static final long OPEN_RANGE_TTL = 2000;
+
+  private AtomicLong clock;
+  private List<ProvidedQueryParams> executedQueries;
+  private QueryResultCache cache;
+
+  @Before
+  public void setUp() {
+    clock = new AtomicLong(100000);
+    executedQueries = new ArrayList<>();
+    cache = new QueryResultCache(10, TTL, OPEN_RANGE_TTL, clock::get);
+  }
+
+  @Test
+  public void testHitAndMiss() {
+    var params = makeParams(Map.of(QP_START_DATE, "0", QP_END_DATE, "50000"));
+
+    cache.getData(params, false, this::query);
+    cache.getData(params, false, this::query);
+    cache.getData(params, true, this::query);
+
+    assertEquals(2, executedQueries.size());
+    assertEquals(1, cache.getStatistics().getHits());
+    assertEquals(2, cache.getStatistics().getMisses());
+  }
+
+  @Test
+  public void testForIdIsNotPartOfKey() {
+    var first = makeParams(Map.of(QP_START_DATE, "0", QP_END_DATE, "50000", "forId", "a"));
+    var second = makeParams(Map.of(QP_START_DATE, "0", QP_END_DATE, "50000", "forId", "b"));
+
+    cache.getData(first, false, this::query);
+    SpQueryResult result = cache.getData(second, false, this::query);
+
+    assertEquals(1, executedQueries.size());
+    assertEquals("b", result.getForId());
+  }
+
+  @Test
+  public void testTtl() {
+    var params = makeParams(Map.of(QP_START_DATE, "0", QP_END_DATE, "50000"));
+
+    cache.getData(params, false, this::query);
+    clock.addAndGet(TTL);
+    cache.getData(params, false, this::query);
+
+    assertEquals(2, executedQueries.size());
+  }
+
+  @Test
+  public void testOpenRangeTtl() {
+    var params = makeParams(Map.of(QP_START_DATE, "0", QP_LIMIT, "10"));
+
+    cache.getData(params, false, this::query);
+    clock.addAndGet(OPEN_RANGE_TTL - 1);
+    cache.getData(params, false, this::query);
+    clock.addAndGet(1);
+    cache.getData(params, false, this::query);
+
+    assertEquals(2, executedQueries.size());
+  }
+
+  @Test
+  public void testHeadBucketRefresh() {
+    var params = makeParams(Map.of(QP_START_DATE, "0", QP_TIME_INTERVAL, "10s"));
+
+    SpQueryResult initial = cache.getData(params, false, this::query);
+    assertEquals(11, initial.getAllDataSeries().get(0).getTotal());
+
+    clock.set(103000);
+    SpQueryResult refreshed = cache.getData(params, false, this::query);
+
+    assertEquals(2, executedQueries.size());
+    assertEquals(Long.valueOf(89999), executedQueries.get(1).getAsLong(QP_START_DATE));
+
+    DataSeries series = refreshed.getAllDataSeries().get(0);
+    assertEquals(11, series.getTotal());
+    assertEquals(11, series.getRows().size());
+    assertEquals(80000L, series.getRows().get(8).get(0));
+    assertEquals(90000L, series.getRows().get(9).get(0));
+    assertEquals(103000L, series.getRows().get(9).get(1));
+    assertEquals(100000L, series.getRows().get(10).get(0));
+    assertEquals(1, cache.getStatistics().getHeadRefreshes());
+  }
+
+  @Test
+  public void testInvalidate() {
+    var params = makeParams(Map.of(QP_START_DATE, "0", QP_END_DATE, "50000"));
+
+    cache.getData(params, false, this::query);
+    cache.invalidate(MEASUREMENT);
+    SpQueryResult result = cache.getData(params, false, this::query);
+
+    assertEquals(2, executedQueries.size());
+    assertNull(result.getForId());
+  }
+
+  @Test
+  public void testEviction() {
+    var smallCache = new QueryResultCache(1, TTL, OPEN_RANGE_TTL, clock::get);
+
+    smallCache.getData(makeParams(Map.of(QP_START_DATE, "0")), false, this::query);
+    smallCache.getData(makeParams(Map.of(QP_START_DATE, "1")), false, this::query);
+
+    assertEquals(1, smallCache.getStatistics().getSize());
+    assertEquals(1, smallCache.getStatistics().getEvictions());
+  }
+
+  @Test
+  public void testReturnedRowsDoNotAffectCache() {
+    var params = makeParams(Map.of(QP_START_DATE, "0", QP_END_DATE, "50000"));
+
+    SpQueryResult first = cache.getData(params, false, this::query);
+    int rowCount = first.getAllDataSeries().get(0).getRows().size();
+    first.getAllDataSeries().get(0).getRows().get(0).set(1, -1L);
+    first.getAllDataSeries().get(0).getRows().clear();
+    SpQueryResult second = cache.getData(params, false, this::query);
+
+    assertEquals(1, executedQueries.size());
+    assertEquals(rowCount, second.getAllDataSeries().get(0).getRows().size());
+    assertEquals(100000L, second.getAllDataSeries().get(0).getRows().get(0).get(1));
+  }
+
+  @Test
+  public void testKeyIsBuiltFromRequestedParams() {
+    var params = makeParams(Map.of(QP_START_DATE, "0", QP_END_DATE, "50000", QP_AUTO_AGGREGATE, "true"));
+
+    cache.getData(params, false, this::autoAggregatingQuery);
+    cache.getData(params, false, this::autoAggregatingQuery);
+
+    assertEquals(1, executedQueries.size());
+    assertEquals(1, cache.getStatistics().getSize());
+  }
+
+  /**
+   * Simulates the query provider, which resolves the auto aggregation only after the cache lookup.
+   */
+  private SpQueryResult autoAggregatingQuery(ProvidedQueryParams params) {
+    var aggregated = new ProvidedQueryParams(params);
+    aggregated.getProvidedParams().remove(QP_AUTO_AGGREGATE);
+    aggregated.getProvidedParams().put(QP_TIME_INTERVAL, "10000ms");
+    return query(aggregated);
+  }
+
+  /**
+   * Returns one row per 10s bucket between the start date and the current time, with the current time as value.
+   */
+  private SpQueryResult query(ProvidedQueryParams params) {
+    executedQueries.add(params);
+    long start = params.getAsLong(QP_START_DATE);
+    List<List<Object>> rows = new ArrayList<>();
+    for (long time = TimeBuckets.bucketStart(start + 9999, 10000); time <= clock.get(); time += 10000) {
+      if (time > start || time == 0) {
+        rows.add(List.of(time, clock.get()));
+      }
+    }
+    var headers = List.of("time", "value");
+    var series = new DataSeries(rows.size(), rows, headers, new HashMap<>());
+    return new SpQueryResult(1, headers, new ArrayList<>(List.of(series)));
+  }
+
+  private ProvidedQueryParams makeParams(Map<String, String> params) {
+    return new ProvidedQueryParams(MEASUREMENT, new HashMap<>(params));
+  }
+}
@@ -0,0 +1,346 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.dataexplorer.v4.query.writer;
+
+import org.apache.streampipes.dataexplorer.v4.query.writer.columnar.ExportColumn;
+import org.apache.streampipes.dataexplorer.v4.query.writer.columnar.ExportColumnType;
+import org.apache.streampipes.dataexplorer.v4.query.writer.columnar.ParquetStreamWriter;
+import org.apache.streampipes.model.datalake.DataLakeMeasure;
+import org.apache.streampipes.model.schema.EventProperty;
+import org.apache.streampipes.model.schema.EventPropertyPrimitive;
+import org.apache.streampipes.model.schema.EventSchema;
+import org.apache.streampipes.vocabulary.XSD;
+
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.Float8Vector;
+import org.apache.arrow.vector.TimeStampMilliTZVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.ipc.ArrowStreamReader;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.parquet.bytes.BytesInput;
+import org.apache.parquet.column.ColumnDescriptor;
+import org.apache.parquet.column.Encoding;
+import org.apache.parquet.column.impl.ColumnReaderImpl;
+import org.apache.parquet.column.page.DataPage;
+import org.apache.parquet.column.page.DataPageV1;
+import org.apache.parquet.column.page.DictionaryPage;
+import org.apache.parquet.column.page.PageReader;
+import org.apache.parquet.column.statistics.Statistics;
+import org.apache.parquet.format.ColumnChunk;
+import org.apache.parquet.format.ColumnMetaData;
+import org.apache.parquet.format.ConvertedType;
+import org.apache.parquet.format.FileMetaData;
+import org.apache.parquet.format.PageHeader;
+import org.apache.parquet.format.PageType;
+import org.apache.parquet.format.RowGroup;
+import org.apache.parquet.format.SchemaElement;
+import org.apache.parquet.format.Type;
+import org.apache.parquet.format.Util;
+import org.apache.parquet.io.api.PrimitiveConverter;
+import org.apache.parquet.schema.PrimitiveType;
+import org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName;
+import org.apache.parquet.schema.Type.Repetition;
+import org.junit.Test;
+import org.xerial.snappy.Snappy;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ConfiguredColumnarOutputWriterTest {
+
+  private static final List<String> COLUMNS = List.of("timestamp", "count", "value", "sensor", "mean_value");
+  private static final List<String> REVERSED_COLUMNS = reverse(COLUMNS);
+  private static final int ROWS = 12000;
+
+  @Test
+  public void testArrowBatches() throws IOException {
+    var output = write(OutputFormat.ARROW, ROWS);
+
+    try (var allocator = new RootAllocator();
+         var reader = new ArrowStreamReader(new ByteArrayInputStream(output), allocator)) {
+      var root = reader.getVectorSchemaRoot();
+      assertEquals(COLUMNS, root.getSchema().getFields().stream().map(Field::getName).collect(Collectors.toList()));
+
+      int batches = 0;
+      int rows = 0;
+      while (reader.loadNextBatch()) {
+        var timestamps = (TimeStampMilliTZVector) root.getVector("timestamp");
+        var counts = (BigIntVector) root.getVector("count");
+        var values = (Float8Vector) root.getVector("value");
+        var sensors = (VarCharVector) root.getVector("sensor");
+        var means = (Float8Vector) root.getVector("mean_value");
+        for (int i = 0; i < root.getRowCount(); i++) {
+          int row = rows + i;
+          assertEquals(1000L * row, timestamps.get(i));
+          assertEquals(row, counts.get(i));
+          if (row % 10 == 0) {
+            assertTrue(values.isNull(i));
+          } else {
+            assertEquals(row * 0.5, values.get(i), 0.0);
+          }
+          assertEquals("s" + (row % 3), new String(sensors.get(i), StandardCharsets.UTF_8));
+          assertEquals(row * 0.25, means.get(i), 0.0);
+        }
+        rows += root.getRowCount();
+        batches++;
+      }
+      assertEquals(ROWS, rows);
+      assertEquals(2, batches);
+    }
+  }
+
+  @Test
+  public void testParquetFile() throws IOException {
+    var output = write(OutputFormat.PARQUET, ROWS);
+
+    var magic = "PAR1".getBytes(StandardCharsets.US_ASCII);
+    assertArrayEquals(magic, Arrays.copyOfRange(output, 0, 4));
+    assertArrayEquals(magic, Arrays.copyOfRange(output, output.length - 4, output.length));
+
+    var metaData = readFooter(output);
+    assertEquals(ROWS, metaData.getNum_rows());
+    assertEquals(ROWS, metaData.getRow_groups().stream().mapToLong(RowGroup::getNum_rows).sum());
+
+    List<SchemaElement> schema = metaData.getSchema();
+    assertEquals(COLUMNS.size(), schema.get(0).getNum_children());
+    assertEquals(Type.INT64, schema.get(1).getType());
+    assertEquals(ConvertedType.TIMESTAMP_MILLIS, schema.get(1).getConverted_type());
+    assertEquals(Type.INT64, schema.get(2).getType());
+    assertEquals(Type.DOUBLE, schema.get(3).getType());
+    assertEquals(Type.BYTE_ARRAY, schema.get(4).getType());
+    assertEquals(ConvertedType.UTF8, schema.get(4).getConverted_type());
+    assertEquals(Type.DOUBLE, schema.get(5).getType());
+
+    var firstChunk = metaData.getRow_groups().get(0).getColumns().get(0).getMeta_data();
+    assertEquals(4, firstChunk.getData_page_offset());
+  }
+
+  @Test
+  public void testParquetRoundTrip() throws IOException {
+    var output = write(OutputFormat.PARQUET, ROWS);
+
+    var columns = readParquetColumns(output);
+
+    assertEquals(COLUMNS, new ArrayList<>(columns.keySet()));
+    for (int row = 0; row < ROWS; row++) {
+      assertEquals(1000L * row, columns.get("timestamp").get(row));
+      assertEquals((long) row, columns.get("count").get(row));
+      assertEquals(row % 10 == 0 ? null : row * 0.5, columns.get("value").get(row));
+      assertEquals("s" + (row % 3), columns.get("sensor").get(row));
+      assertEquals(row * 0.25, columns.get("mean_value").get(row));
+    }
+  }
+
+  @Test
+  public void testParquetRowGroups() throws IOException {
+    var columns = List.of(
+        new ExportColumn("timestamp", ExportColumnType.TIMESTAMP),
+        new ExportColumn("value", ExportColumnType.DOUBLE));
+    var outputStream = new ByteArrayOutputStream();
+    try (var writer = new ParquetStreamWriter(outputStream, columns, 64 * 1024)) {
+      for (int row = 0; row < ROWS; row++) {
+        writer.write(new Object[]{1000L * row, Math.random()});
+      }
+    }
+
+    var metaData = readFooter(outputStream.toByteArray());
+    var rowGroups = metaData.getRow_groups();
+    assertTrue(rowGroups.size() > 1);
+    assertEquals(ROWS, rowGroups.stream().mapToLong(RowGroup::getNum_rows).sum());
+
+    long expectedOffset = 4;
+    for (RowGroup rowGroup : rowGroups) {
+      assertEquals(expectedOffset, rowGroup.getFile_offset());
+      expectedOffset += rowGroup.getTotal_compressed_size();
+    }
+  }
+
+  @Test
+  public void testEmptyResultUsesMeasureSchema() throws IOException {
+    var output = write(OutputFormat.PARQUET, 0);
+
+    var metaData = readFooter(output);
+    assertEquals(0, metaData.getNum_rows());
+    assertEquals(0, metaData.getRow_groups().size());
+    assertEquals(List.of("schema", "timestamp", "count", "value", "sensor"),
+        metaData.getSchema().stream().map(SchemaElement::getName).collect(Collectors.toList()));
+  }
+
+  private byte[] write(OutputFormat format,
+                       int rows) throws IOException {
+    var outputStream = new ByteArrayOutputStream();
+    try (var writer = ConfiguredOutputWriter.getConfiguredWriter(format, null, makeMeasure(), false)) {
+      writer.beforeFirstItem(outputStream);
+      for (int row = 0; row < rows; row++) {
+        // the second half of the rows is returned with a different column order
+        var reversed = row >= rows / 2;
+        var values = Arrays.<Object>asList(
+            Instant.ofEpochMilli(1000L * row).toString(),
+            (double) row,
+            row % 10 == 0 ? null : row * 0.5,
+            "s" + (row % 3),
+            row * 0.25);
+        writer.writeItem(outputStream, reversed ? reverse(values) : values,
+            reversed ? REVERSED_COLUMNS : COLUMNS, row == 0);
+      }
+      writer.afterLastItem(outputStream);
+    }
+    return outputStream.toByteArray();
+  }
+
+  private static <T> List<T> reverse(List<T> list) {
+    var reversed = new ArrayList<>(list);
+    Collections.reverse(reversed);
+    return reversed;
+  }
+
+  /**
+   * Decodes all values of the (flat, optional) columns of a Parquet file with the column readers of parquet-column
+   *
+   * @return the values of each column by column name, null for missing values
+   */
+  private Map<String, List<Object>> readParquetColumns(byte[] output) throws IOException {
+    var metaData = readFooter(output);
+    Map<String, List<Object>> columns = new LinkedHashMap<>();
+    for (RowGroup rowGroup : metaData.getRow_groups()) {
+      for (ColumnChunk chunk : rowGroup.getColumns()) {
+        var chunkMetaData = chunk.getMeta_data();
+        var name = chunkMetaData.getPath_in_schema().get(0);
+        var type = toPrimitiveType(chunkMetaData.getType(), name);
+        var descriptor = new ColumnDescriptor(new String[]{name}, type, 0, 1);
+        var reader = new ColumnReaderImpl(descriptor, readPages(output, chunkMetaData, type),
+            new PrimitiveConverter() {
+            }, null);
+        var values = columns.computeIfAbsent(name, key -> new ArrayList<>());
+        for (long i = 0; i < reader.getTotalValueCount(); i++) {
+          values.add(reader.getCurrentDefinitionLevel() == 1 ? readValue(reader, type) : null);
+          reader.consume();
+        }
+      }
+    }
+    return columns;
+  }
+
+  private PageReader readPages(byte[] output,
+                               ColumnMetaData chunkMetaData,
+                               PrimitiveType type) throws IOException {
+    long start = chunkMetaData.isSetDictionary_page_offset()
+        ? chunkMetaData.getDictionary_page_offset()
+        : chunkMetaData.getData_page_offset();
+    var input = new ByteArrayInputStream(output, (int) start, (int) chunkMetaData.getTotal_compressed_size());
+    DictionaryPage dictionaryPage = null;
+    Queue<DataPage> dataPages = new ArrayDeque<>();
+    while (input.available() > 0) {
+      PageHeader header = Util.readPageHeader(input);
+      var bytes = BytesInput.from(Snappy.uncompress(input.readNBytes(header.getCompressed_page_size())));
+      if (header.getType() == PageType.DICTIONARY_PAGE) {
+        dictionaryPage = new DictionaryPage(bytes, header.getDictionary_page_header().getNum_values(),
+            Encoding.valueOf(header.getDictionary_page_header().getEncoding().name()));
+      } else {
+        var pageHeader = header.getData_page_header();
+        dataPages.add(new DataPageV1(bytes, pageHeader.getNum_values(), header.getUncompressed_page_size(),
+            Statistics.getBuilderForReading(type).build(),
+            Encoding.valueOf(pageHeader.getRepetition_level_encoding().name()),
+            Encoding.valueOf(pageHeader.getDefinition_level_encoding().name()),
+            Encoding.valueOf(pageHeader.getEncoding().name())));
+      }
+    }
+    var dictionary = dictionaryPage;
+    long valueCount = chunkMetaData.getNum_values();
+    return new PageReader() {
+      @Override
+      public DictionaryPage readDictionaryPage() {
+        return dictionary;
+      }
+
+      @Override
+      public long getTotalValueCount() {
+        return valueCount;
+      }
+
+      @Override
+      public DataPage readPage() {
+        return dataPages.poll();
+      }
+    };
+  }
+
+  private PrimitiveType toPrimitiveType(Type type,
+                                        String name) {
+    switch (type) {
+      case INT64:
+        return new PrimitiveType(Repetition.OPTIONAL, PrimitiveTypeName.INT64, name);
+      case DOUBLE:
+        return new PrimitiveType(Repetition.OPTIONAL, PrimitiveTypeName.DOUBLE, name);
+      case BOOLEAN:
+        return new PrimitiveType(Repetition.OPTIONAL, PrimitiveTypeName.BOOLEAN, name);
+      default:
+        return new PrimitiveType(Repetition.OPTIONAL, PrimitiveTypeName.BINARY, name);
+    }
+  }
+
+  private Object readValue(ColumnReaderImpl reader,
+                           PrimitiveType type) {
+    switch (type.getPrimitiveTypeName()) {
+      case INT64:
+        return reader.getLong();
+      case DOUBLE:
+        return reader.getDouble();
+      case BOOLEAN:
+        return reader.getBoolean();
+      default:
+        return reader.getBinary().toStringUsingUTF8();
+    }
+  }
+
+  private FileMetaData readFooter(byte[] output) throws IOException {
+    int footerLength = ByteBuffer.wrap(output, output.length - 8, 4).order(ByteOrder.LITTLE_ENDIAN).getInt();
+    int footerStart = output.length - 8 - footerLength;
+    return Util.readFileMetaData(new ByteArrayInputStream(output, footerStart, footerLength));
+  }
+
+  private static DataLakeMeasure makeMeasure() {
+    EventProperty timestamp = new EventPropertyPrimitive(XSD.LONG.toString(), "timestamp", "", List.of());
+    EventProperty count = new EventPropertyPrimitive(XSD.INTEGER.toString(), "count", "", List.of());
+    EventProperty value = new EventPropertyPrimitive(XSD.DOUBLE.toString(), "value", "", List.of());
+    EventProperty sensor = new EventPropertyPrimitive(XSD.STRING.toString(), "sensor", "", List.of());
+
+    return new DataLakeMeasure("measurement", "s0::timestamp",
+        new EventSchema(List.of(timestamp, count, value, sensor)));
+  }
+}
@@ -0,0 +1,92 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package org.apache.streampipes.dataformat.cbor;
+
+import org.apache.streampipes.model.runtime.Event;
+import org.apache.streampipes.model.runtime.SchemaInfo;
+import org.apache.streampipes.model.runtime.SourceInfo;
+import org.apache.streampipes.model.schema.EventProperty;
+import org.apache.streampipes.model.schema.EventPropertyNested;
+import org.apache.streampipes.model.schema.EventPropertyPrimitive;
+import org.apache.streampipes.model.schema.EventSchema;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class TestCborEventCodec {
+
+  private final CborDataFormatDefinition dataFormatDefinition = new CborDataFormatDefinition();
+
+  @Test
+  public void testRoundTripWithSchema() {
+    assertRoundTrip(new SchemaInfo(makeSchema(), Collections.emptyList(), "s0"));
+  }
+
+  @Test
+  public void testRoundTripWithoutSchema() {
+    assertRoundTrip(new SchemaInfo(null, Collections.emptyList()));
+  }
+
+  private void assertRoundTrip(SchemaInfo schemaInfo) {
+    Map<String, Object> input = makeEvent();
+    Event event = dataFormatDefinition.toEvent(dataFormatDefinition.fromMap(input), schemaInfo,
+        new SourceInfo("topic", "s0"));
+
+    assertEquals(Integer.valueOf(1), event.getFieldBySelector("s0::timestamp").getAsPrimitive().getAsInt());
+    assertEquals(Double.valueOf(2.5), event.getFieldBySelector("s0::value").getAsPrimitive().getAsDouble());
+    assertEquals(true, event.getFieldBySelector("s0::nested::flag").getAsPrimitive().getAsBoolean());
+    assertEquals(2, event.getFieldBySelector("s0::list").getAsList().getRawValue().size());
+    assertNull(event.getFieldBySelector("s0::extra").getRawValue());
+
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    dataFormatDefinition.writeEvent(event, outputStream);
+
+    assertEquals(input, dataFormatDefinition.toMap(outputStream.toByteArray()));
+  }
+
+  private Map<String, Object> makeEvent() {
+    Map<String, Object> event = new HashMap<>();
+    event.put("timestamp", 1);
+    event.put("value", 2.5);
+    event.put("nested", Map.of("flag", true));
+    event.put("list", List.of("a", "b"));
+    event.put("extra", null);
+    return event;
+  }
+
+  private EventSchema makeSchema() {
+    List<EventProperty> nestedProperties = Collections.singletonList(primitive("flag"));
+    return new EventSchema(Arrays.asList(primitive("timestamp"), primitive("value"),
+        new EventPropertyNested("nested", nestedProperties)));
+  }
+
+  private EventPropertyPrimitive primitive(String runtimeName) {
+    return new EventPropertyPrimitive(null, runtimeName, null, Collections.emptyList());
+  }
+}
@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.dataformat.json;
+
+import org.apache.streampipes.model.output.PropertyRenameRule;
+import org.apache.streampipes.model.runtime.Event;
+import org.apache.streampipes.model.runtime.EventTrace;
+import org.apache.streampipes.model.runtime.SchemaInfo;
+import org.apache.streampipes.model.runtime.SourceInfo;
+import org.apache.streampipes.model.schema.EventProperty;
+import org.apache.streampipes.model.schema.EventPropertyNested;
+import org.apache.streampipes.model.schema.EventPropertyPrimitive;
+import org.apache.streampipes.model.schema.EventSchema;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+public class TestJsonEventCodec {
+
+  private static final String EVENT =
+      "{\"timestamp\":1,\"value\":2.5,\"nested\":{\"flag\":true},\"list\":[\"a\",\"b\"],\"extra\":null}";
+
+  private final JsonDataFormatDefinition dataFormatDefinition = new JsonDataFormatDefinition();
+
+  @Test
+  public void testDecodeWithSchema() {
+    Event event = decode(new SchemaInfo(makeSchema(), Collections.emptyList(), "s0"));
+    assertDecodedValues(event);
+  }
+
+  @Test
+  public void testDecodeWithoutSchema() {
+    Event event = decode(new SchemaInfo(null, Collections.emptyList()));
+    assertDecodedValues(event);
+  }
+
+  @Test
+  public void testEncodeWithRenaming() {
+    PropertyRenameRule rule = new PropertyRenameRule("s0::nested::flag", "f");
+    Event event = decode(new SchemaInfo(makeSchema(), Collections.singletonList(rule), "s0"));
+
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    dataFormatDefinition.writeEvent(event, outputStream);
+    Map<String, Object> result = dataFormatDefinition.toMap(outputStream.toByteArray());
+
+    assertEquals(dataFormatDefinition.toMap(EVENT.replace("flag", "f").getBytes(StandardCharsets.UTF_8)),
+        result);
+  }
+
+  @Test
+  public void testTraceIsNotWrittenToPayload() {
+    Event event = decode(new SchemaInfo(makeSchema(), Collections.emptyList(), "s0"));
+    event.setTrace(EventTrace.start("adapter", 10));
+
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    dataFormatDefinition.writeEvent(event, outputStream);
+    Map<String, Object> result = dataFormatDefinition.toMap(outputStream.toByteArray());
+
+    assertFalse(result.containsKey(EventTrace.TRACE_FIELD));
+    assertEquals(dataFormatDefinition.toMap(EVENT.getBytes(StandardCharsets.UTF_8)), result);
+  }
+
+  private void assertDecodedValues(Event event) {
+    assertEquals(5, event.getFields().size());
+    assertEquals(Integer.valueOf(1), event.getFieldBySelector("s0::timestamp").getAsPrimitive().getAsInt());
+    assertEquals(Double.valueOf(2.5), event.getFieldBySelector("s0::value").getAsPrimitive().getAsDouble());
+    assertEquals(true, event.getFieldBySelector("s0::nested::flag").getAsPrimitive().getAsBoolean());
+    assertEquals(2, event.getFieldBySelector("s0::list").getAsList().getRawValue().size());
+    assertNull(event.getFieldBySelector("s0::extra").getRawValue());
+  }
+
+  private Event decode(SchemaInfo schemaInfo) {
+    return dataFormatDefinition.toEvent(EVENT.getBytes(StandardCharsets.UTF_8), schemaInfo,
+        new SourceInfo("topic", "s0"));
+  }
+
+  private EventSchema makeSchema() {
+    List<EventProperty> nestedProperties = Collections.singletonList(primitive("flag"));
+    return new EventSchema(Arrays.asList(primitive("timestamp"), primitive("value"),
+        new EventPropertyNested("nested", nestedProperties)));
+  }
+
+  private EventPropertyPrimitive primitive(String runtimeName) {
+    return new EventPropertyPrimitive(null, runtimeName, null, Collections.emptyList());
+  }
+}
@@ -19,21 +19,28 @@ package org.apache.streampipes.dataformat.smile;
 
 import org.apache.streampipes.commons.exceptions.SpRuntimeException;
 import org.apache.streampipes.dataformat.SpDataFormatDefinition;
+import org.apache.streampipes.dataformat.jackson.JacksonEventCodec;
+import org.apache.streampipes.model.runtime.Event;
+import org.apache.streampipes.model.runtime.SchemaInfo;
+import org.apache.streampipes.model.runtime.SourceInfo;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.util.HashMap;
 import java.util.Map;
 
 public class SmileDataFormatDefinition implements SpDataFormatDefinition {
 
   private ObjectMapper objectMapper;
+  private JacksonEventCodec eventCodec;
 
   public SmileDataFormatDefinition() {
     this.objectMapper = new ObjectMapper(new SmileFactory());
+    this.eventCodec = new JacksonEventCodec(objectMapper);
   }
 
   @Override
@@ -53,4 +60,17 @@ public class SmileDataFormatDefinition implements SpDataFormatDefinition {
       throw new SpRuntimeException("Could not convert map data structure to JSON string");
     }
   }
+
+  @Override
+  public Event toEvent(byte[] event,
+                       SchemaInfo schemaInfo,
+                       SourceInfo sourceInfo) throws SpRuntimeException {
+    return eventCodec.toEvent(event, schemaInfo, sourceInfo);
+  }
+
+  @Override
+  public void writeEvent(Event event,
+                         OutputStream outputStream) throws SpRuntimeException {
+    eventCodec.writeEvent(event, outputStream);
+  }
 }
@@ -19,7 +19,14 @@
 package org.apache.streampipes.dataformat;
 
 import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.apache.streampipes.model.runtime.Event;
+import org.apache.streampipes.model.runtime.EventConverter;
+import org.apache.streampipes.model.runtime.EventFactory;
+import org.apache.streampipes.model.runtime.SchemaInfo;
+import org.apache.streampipes.model.runtime.SourceInfo;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.io.Serializable;
 import java.util.Map;
 
@@ -28,4 +35,27 @@ public interface SpDataFormatDefinition extends Serializable {
   Map<String, Object> toMap(byte[] event) throws SpRuntimeException;
 
   byte[] fromMap(Map<String, Object> event) throws SpRuntimeException;
+
+  /**
+   * Decodes a message directly into an event. Formats which support streaming decoding override this method
+   * to skip the intermediate map representation.
+   */
+  default Event toEvent(byte[] event,
+                        SchemaInfo schemaInfo,
+                        SourceInfo sourceInfo) throws SpRuntimeException {
+    return EventFactory.fromMap(toMap(event), sourceInfo, schemaInfo);
+  }
+
+  /**
+   * Encodes an event (using the renamed output field names) to the given output stream.
+   * Formats which support streaming encoding override this method to skip the intermediate map representation.
+   */
+  default void writeEvent(Event event,
+                          OutputStream outputStream) throws SpRuntimeException {
+    try {
+      outputStream.write(fromMap(new EventConverter(event).toMap()));
+    } catch (IOException e) {
+      throw new SpRuntimeException("Could not write event to output stream", e);
+    }
+  }
 }
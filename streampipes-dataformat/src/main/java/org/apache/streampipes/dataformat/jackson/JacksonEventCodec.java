@@ -0,0 +1,205 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.dataformat.jackson;
+
+import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.apache.streampipes.model.constants.PropertySelectorConstants;
+import org.apache.streampipes.model.runtime.Event;
+import org.apache.streampipes.model.runtime.EventFactory;
+import org.apache.streampipes.model.runtime.EventSchemaLayout;
+import org.apache.streampipes.model.runtime.SchemaInfo;
+import org.apache.streampipes.model.runtime.SourceInfo;
+import org.apache.streampipes.model.runtime.field.AbstractField;
+import org.apache.streampipes.model.runtime.field.ListField;
+import org.apache.streampipes.model.runtime.field.NestedField;
+import org.apache.streampipes.model.runtime.field.PrimitiveField;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Streaming event codec for all Jackson-based data formats (JSON, CBOR, Smile).
+ * Events are decoded from a {@link JsonParser} directly into event fields (using the compiled schema layout if
+ * available) and encoded with a {@link JsonGenerator}, without an intermediate map representation.
+ */
+public class JacksonEventCodec implements Serializable {
+
+  private final ObjectMapper objectMapper;
+
+  public JacksonEventCodec(ObjectMapper objectMapper) {
+    this.objectMapper = objectMapper;
+  }
+
+  public Event toEvent(byte[] event,
+                       SchemaInfo schemaInfo,
+                       SourceInfo sourceInfo) throws SpRuntimeException {
+    try (JsonParser parser = objectMapper.getFactory().createParser(event)) {
+      if (parser.nextToken() != JsonToken.START_OBJECT) {
+        throw new SpRuntimeException("Could not convert event: expected an object");
+      }
+      EventSchemaLayout layout = EventFactory.findLayout(sourceInfo, schemaInfo);
+      Map<String, AbstractField> fields = readObject(parser, sourceInfo.getSelectorPrefix(), layout, schemaInfo);
+      return new Event(fields, sourceInfo, schemaInfo);
+    } catch (IOException e) {
+      throw new SpRuntimeException("Could not convert event to event data structure", e);
+    }
+  }
+
+  public void writeEvent(Event event,
+                         OutputStream outputStream) throws SpRuntimeException {
+    try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+      generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+      writeObject(generator, event.getFields());
+    } catch (IOException e) {
+      throw new SpRuntimeException("Could not write event to output stream", e);
+    }
+  }
+
+  private Map<String, AbstractField> readObject(JsonParser parser,
+                                                String selectorPrefix,
+                                                EventSchemaLayout layout,
+                                                SchemaInfo schemaInfo) throws IOException {
+    Map<String, AbstractField> fields = EventFactory.newFieldMap(layout);
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String runtimeName = parser.getCurrentName();
+      parser.nextToken();
+      int index = layout != null ? layout.indexOfRuntimeName(runtimeName) : -1;
+      if (index >= 0) {
+        fields.put(layout.getSelector(index), readField(parser, runtimeName, layout.getSelector(index),
+            layout.getOutputName(index), layout.getNestedLayout(index), schemaInfo));
+      } else {
+        String selector = makeSelector(selectorPrefix, runtimeName);
+        fields.put(selector, readField(parser, runtimeName, selector,
+            schemaInfo.getNewRuntimeName(selector, runtimeName), null, schemaInfo));
+      }
+    }
+    return fields;
+  }
+
+  private AbstractField readField(JsonParser parser,
+                                  String runtimeName,
+                                  String selector,
+                                  String newRuntimeName,
+                                  EventSchemaLayout nestedLayout,
+                                  SchemaInfo schemaInfo) throws IOException {
+    JsonToken token = parser.currentToken();
+    if (token == JsonToken.START_OBJECT) {
+      return new NestedField(runtimeName, newRuntimeName, readObject(parser, selector, nestedLayout, schemaInfo));
+    } else if (token == JsonToken.START_ARRAY) {
+      List<AbstractField> items = new ArrayList<>();
+      int i = 0;
+      while (parser.nextToken() != JsonToken.END_ARRAY) {
+        String itemSelector = makeSelector(selector, String.valueOf(i++));
+        items.add(readField(parser, "", itemSelector, schemaInfo.getNewRuntimeName(itemSelector, ""), null,
+            schemaInfo));
+      }
+      return new ListField(runtimeName, newRuntimeName, items);
+    } else {
+      return new PrimitiveField(runtimeName, newRuntimeName, readScalar(parser, token));
+    }
+  }
+
+  private Object readScalar(JsonParser parser,
+                            JsonToken token) throws IOException {
+    switch (token) {
+      case VALUE_STRING:
+        return parser.getText();
+      case VALUE_NUMBER_INT:
+        return parser.getNumberValue();
+      case VALUE_NUMBER_FLOAT:
+        return parser.getDoubleValue();
+      case VALUE_TRUE:
+        return Boolean.TRUE;
+      case VALUE_FALSE:
+        return Boolean.FALSE;
+      case VALUE_EMBEDDED_OBJECT:
+        return parser.getEmbeddedObject();
+      case VALUE_NULL:
+        return null;
+      default:
+        throw new SpRuntimeException("Unexpected token " + token + " while decoding event");
+    }
+  }
+
+  private void writeObject(JsonGenerator generator,
+                           Map<String, AbstractField> fields) throws IOException {
+    generator.writeStartObject();
+    for (AbstractField field : fields.values()) {
+      generator.writeFieldName(field.getFieldNameOut());
+      writeField(generator, field);
+    }
+    generator.writeEndObject();
+  }
+
+  private void writeField(JsonGenerator generator,
+                          AbstractField field) throws IOException {
+    if (field instanceof PrimitiveField) {
+      writeScalar(generator, field.getRawValue());
+    } else if (field instanceof ListField) {
+      generator.writeStartArray();
+      for (AbstractField item : ((ListField) field).getRawValue()) {
+        writeField(generator, item);
+      }
+      generator.writeEndArray();
+    } else {
+      writeObject(generator, ((NestedField) field).getRawValue());
+    }
+  }
+
+  private void writeScalar(JsonGenerator generator,
+                           Object value) throws IOException {
+    if (value == null) {
+      generator.writeNull();
+    } else if (value instanceof String) {
+      generator.writeString((String) value);
+    } else if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+      generator.writeNumber(((Number) value).intValue());
+    } else if (value instanceof Long) {
+      generator.writeNumber((Long) value);
+    } else if (value instanceof Double) {
+      generator.writeNumber((Double) value);
+    } else if (value instanceof Float) {
+      generator.writeNumber((Float) value);
+    } else if (value instanceof Boolean) {
+      generator.writeBoolean((Boolean) value);
+    } else if (value instanceof BigInteger) {
+      generator.writeNumber((BigInteger) value);
+    } else if (value instanceof BigDecimal) {
+      generator.writeNumber((BigDecimal) value);
+    } else {
+      generator.writeObject(value);
+    }
+  }
+
+  private String makeSelector(String prefix,
+                              String key) {
+    return prefix + PropertySelectorConstants.PROPERTY_DELIMITER + key;
+  }
+}
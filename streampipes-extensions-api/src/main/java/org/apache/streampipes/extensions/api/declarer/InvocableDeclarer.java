@@ -28,4 +28,11 @@ public interface InvocableDeclarer<T extends NamedStreamPipesEntity,
   Response invokeRuntime(K invocationGraph, String serviceId);
 
   Response detachRuntime(String pipelineId, String serviceId);
+
+  /**
+   * Indicates whether the runtime of this element can exchange events with co-located elements in memory.
+   */
+  default boolean supportsInMemoryTransport() {
+    return false;
+  }
 }
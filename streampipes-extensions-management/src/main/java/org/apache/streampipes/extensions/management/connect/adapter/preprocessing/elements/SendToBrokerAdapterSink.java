@@ -30,8 +30,10 @@ import org.apache.streampipes.model.connect.adapter.AdapterDescription;
 import org.apache.streampipes.model.grounding.TransportFormat;
 import org.apache.streampipes.model.grounding.TransportProtocol;
 import org.apache.streampipes.model.monitoring.SpLogEntry;
+import org.apache.streampipes.model.runtime.EventTrace;
 
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Supplier;
 
 public abstract class SendToBrokerAdapterSink<T extends TransportProtocol> implements IAdapterPipelineElement {
@@ -40,12 +42,16 @@ public abstract class SendToBrokerAdapterSink<T extends TransportProtocol> imple
   protected SpDataFormatDefinition dataFormatDefinition;
   protected T protocol;
   private EventProducer<T> producer;
+  private final int traceSamplingInterval;
+  private final AtomicLong eventCounter;
 
   public SendToBrokerAdapterSink(AdapterDescription adapterDescription,
                                  Supplier<EventProducer<T>> producerSupplier,
                                  Class<T> protocolClass) {
     this.adapterDescription = adapterDescription;
     this.producer = producerSupplier.get();
+    this.traceSamplingInterval = getEnvironment().getEventTraceSamplingInterval().getValueOrDefault();
+    this.eventCounter = new AtomicLong();
     this.protocol = protocolClass.cast(adapterDescription
         .getEventGrounding()
         .getTransportProtocol());
@@ -73,7 +79,13 @@ public abstract class SendToBrokerAdapterSink<T extends TransportProtocol> imple
   public Map<String, Object> process(Map<String, Object> event) {
     try {
       if (event != null) {
-        sendToBroker(dataFormatDefinition.fromMap(event));
+        if (isSampledForTracing()) {
+          var trace = EventTrace.start(adapterDescription.getElementId(), System.currentTimeMillis());
+          producer.publish(null, dataFormatDefinition.fromMap(event),
+              Map.of(EventTrace.TRACE_HEADER, trace.toHeader()));
+        } else {
+          sendToBroker(dataFormatDefinition.fromMap(event));
+        }
         SpMonitoringManager.INSTANCE.increaseOutCounter(
             adapterDescription.getElementId(),
             System.currentTimeMillis());
@@ -86,6 +98,13 @@ public abstract class SendToBrokerAdapterSink<T extends TransportProtocol> imple
     return null;
   }
 
+  /**
+   * Selects every n-th event for a latency trace, if trace sampling is enabled.
+   */
+  private boolean isSampledForTracing() {
+    return traceSamplingInterval > 0 && eventCounter.getAndIncrement() % traceSamplingInterval == 0;
+  }
+
   protected void sendToBroker(byte[] event) throws RuntimeException {
     producer.publish(event);
   }
@@ -23,18 +23,25 @@ import org.apache.streampipes.extensions.management.util.ElementInfo;
 import org.apache.streampipes.model.base.NamedStreamPipesEntity;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 public enum RunningInstances {
   INSTANCE;
 
-  private final Map<String, ElementInfo<NamedStreamPipesEntity, InvocableDeclarer>> runningInstances = new HashMap<>();
+  private final Map<String, ElementInfo<NamedStreamPipesEntity, InvocableDeclarer>> runningInstances =
+      new ConcurrentHashMap<>();
 
+  // latest change per instance id since the last heartbeat: true if the instance was started, false if stopped
+  private final Map<String, Boolean> pendingChanges = new LinkedHashMap<>();
 
-  public void add(String id, NamedStreamPipesEntity description, InvocableDeclarer invocation) {
+  public synchronized void add(String id, NamedStreamPipesEntity description, InvocableDeclarer invocation) {
     runningInstances.put(id, new ElementInfo<>(description, invocation));
+    pendingChanges.put(id, true);
   }
 
   public boolean exists(String runningInstanceId) {
@@ -54,8 +61,10 @@ public enum RunningInstances {
     return runningInstances.get(id).getDescription();
   }
 
-  public void remove(String id) {
-    runningInstances.remove(id);
+  public synchronized void remove(String id) {
+    if (runningInstances.remove(id) != null) {
+      pendingChanges.put(id, false);
+    }
   }
 
   public Integer getRunningInstancesCount() {
@@ -73,4 +82,21 @@ public enum RunningInstances {
 
     return instanceIds;
   }
+
+  /**
+   * Returns the instances started (true) or stopped (false) since the previous call and resets the changes.
+   */
+  public synchronized Map<String, Boolean> drainChanges() {
+    Map<String, Boolean> changes = new LinkedHashMap<>(pendingChanges);
+    pendingChanges.clear();
+    return changes;
+  }
+
+  /**
+   * Returns the ids of all running instances and resets the pending changes, which are covered by the snapshot.
+   */
+  public synchronized Set<String> snapshotAndResetChanges() {
+    pendingChanges.clear();
+    return new HashSet<>(runningInstances.keySet());
+  }
 }
@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.extensions.management.monitoring;
+
+import org.apache.streampipes.model.monitoring.LatencyInfo;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histogram with exponentially growing buckets in microseconds. Bucket {@code i} counts latencies
+ * below {@code 2^i} microseconds, percentiles are reported as the upper bound of the matching bucket.
+ */
+class LatencyHistogram {
+
+  private static final int BUCKET_COUNT = 40;
+
+  private final LongAdder[] buckets;
+  private final LongAdder count;
+  private final LongAdder totalMicros;
+  private final LongAccumulator maxMicros;
+
+  LatencyHistogram() {
+    this.buckets = new LongAdder[BUCKET_COUNT];
+    for (int i = 0; i < BUCKET_COUNT; i++) {
+      this.buckets[i] = new LongAdder();
+    }
+    this.count = new LongAdder();
+    this.totalMicros = new LongAdder();
+    this.maxMicros = new LongAccumulator(Math::max, 0);
+  }
+
+  void record(long latencyNanos,
+              long events) {
+    long micros = Math.max(0, latencyNanos / 1000);
+    int bucket = Math.min(BUCKET_COUNT - 1, 64 - Long.numberOfLeadingZeros(micros));
+    buckets[bucket].add(events);
+    count.add(events);
+    totalMicros.add(micros * events);
+    maxMicros.accumulate(micros);
+  }
+
+  LatencyInfo toLatencyInfo() {
+    long[] bucketCounts = new long[BUCKET_COUNT];
+    long total = 0;
+    for (int i = 0; i < BUCKET_COUNT; i++) {
+      bucketCounts[i] = buckets[i].sum();
+      total += bucketCounts[i];
+    }
+
+    var latencyInfo = new LatencyInfo();
+    if (total > 0) {
+      long max = maxMicros.get();
+      latencyInfo.setCount(total);
+      latencyInfo.setMean(toMillis(totalMicros.sum() / (double) count.sum()));
+      latencyInfo.setP50(toMillis(percentile(bucketCounts, total, 0.5, max)));
+      latencyInfo.setP95(toMillis(percentile(bucketCounts, total, 0.95, max)));
+      latencyInfo.setP99(toMillis(percentile(bucketCounts, total, 0.99, max)));
+      latencyInfo.setMax(toMillis(max));
+    }
+    return latencyInfo;
+  }
+
+  private double percentile(long[] bucketCounts,
+                            long total,
+                            double quantile,
+                            long max) {
+    long threshold = (long) Math.ceil(total * quantile);
+    long cumulated = 0;
+    for (int i = 0; i < BUCKET_COUNT; i++) {
+      cumulated += bucketCounts[i];
+      if (cumulated >= threshold) {
+        return Math.min(i == 0 ? 0 : (1L << i) - 1, max);
+      }
+    }
+    return max;
+  }
+
+  private double toMillis(double micros) {
+    return micros / 1000.0;
+  }
+}
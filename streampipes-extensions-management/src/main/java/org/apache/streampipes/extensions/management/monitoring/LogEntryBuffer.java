@@ -0,0 +1,63 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.extensions.management.monitoring;
+
+import org.apache.streampipes.model.monitoring.SpLogEntry;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fixed-capacity ring buffer of log entries, the oldest entry is overwritten once the buffer is full.
+ */
+class LogEntryBuffer {
+
+  private final SpLogEntry[] entries;
+  private int next;
+  private int size;
+
+  LogEntryBuffer(int capacity) {
+    this.entries = new SpLogEntry[capacity];
+  }
+
+  synchronized void add(SpLogEntry entry) {
+    entries[next] = entry;
+    next = (next + 1) % entries.length;
+    size = Math.min(size + 1, entries.length);
+  }
+
+  /**
+   * @return the buffered entries, newest first
+   */
+  synchronized List<SpLogEntry> toList() {
+    List<SpLogEntry> result = new ArrayList<>(size);
+    for (int i = 1; i <= size; i++) {
+      result.add(entries[Math.floorMod(next - i, entries.length)]);
+    }
+    return result;
+  }
+
+  synchronized void clear() {
+    for (int i = 0; i < entries.length; i++) {
+      entries[i] = null;
+    }
+    next = 0;
+    size = 0;
+  }
+}
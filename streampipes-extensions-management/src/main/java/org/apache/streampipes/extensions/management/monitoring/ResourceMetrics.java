@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.extensions.management.monitoring;
+
+import org.apache.streampipes.model.monitoring.MessageCounter;
+import org.apache.streampipes.model.monitoring.SpMetricsEntry;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Live metrics of a single resource, updated concurrently by consumer threads and converted into a
+ * {@link SpMetricsEntry} snapshot on request.
+ */
+class ResourceMetrics {
+
+  private final Map<String, StripedMessageCounter> messagesIn;
+  private final StripedMessageCounter messagesOut;
+  private final ThroughputWindow throughput;
+  private final LatencyHistogram processingLatency;
+  private final LatencyHistogram transportLatency;
+  private final LatencyHistogram endToEndLatency;
+  private final LatencyHistogram outputLatency;
+
+  private volatile long lastTimestamp;
+
+  ResourceMetrics() {
+    this.messagesIn = new ConcurrentHashMap<>();
+    this.messagesOut = new StripedMessageCounter();
+    this.throughput = new ThroughputWindow();
+    this.processingLatency = new LatencyHistogram();
+    this.transportLatency = new LatencyHistogram();
+    this.endToEndLatency = new LatencyHistogram();
+    this.outputLatency = new LatencyHistogram();
+  }
+
+  void addInMetrics(String sourceInfo,
+                    long timestamp,
+                    long count) {
+    var counter = messagesIn.get(sourceInfo);
+    if (counter == null) {
+      counter = messagesIn.computeIfAbsent(sourceInfo, key -> new StripedMessageCounter());
+    }
+    counter.add(timestamp, count);
+    throughput.add(timestamp, count);
+    this.lastTimestamp = timestamp;
+  }
+
+  void addOutMetrics(long timestamp) {
+    messagesOut.add(timestamp, 1);
+    this.lastTimestamp = timestamp;
+  }
+
+  void recordLatency(long latencyNanos,
+                     long events) {
+    processingLatency.record(latencyNanos, events);
+  }
+
+  void recordTraceLatency(long transportLatencyMs,
+                          long endToEndLatencyMs) {
+    transportLatency.record(TimeUnit.MILLISECONDS.toNanos(transportLatencyMs), 1);
+    endToEndLatency.record(TimeUnit.MILLISECONDS.toNanos(endToEndLatencyMs), 1);
+  }
+
+  void recordOutputLatency(long latencyNanos,
+                           long events) {
+    outputLatency.record(latencyNanos, events);
+  }
+
+  SpMetricsEntry toMetricsEntry(long now) {
+    var entry = new SpMetricsEntry();
+    Map<String, MessageCounter> in = new HashMap<>();
+    messagesIn.forEach((sourceInfo, counter) -> in.put(sourceInfo, counter.toMessageCounter()));
+    entry.setLastTimestamp(lastTimestamp);
+    entry.setMessagesIn(in);
+    entry.setMessagesOut(messagesOut.toMessageCounter());
+    entry.setThroughput(throughput.toSamples(now));
+    entry.setProcessingLatency(processingLatency.toLatencyInfo());
+    entry.setTransportLatency(transportLatency.toLatencyInfo());
+    entry.setEndToEndLatency(endToEndLatency.toLatencyInfo());
+    entry.setOutputLatency(outputLatency.toLatencyInfo());
+    return entry;
+  }
+}
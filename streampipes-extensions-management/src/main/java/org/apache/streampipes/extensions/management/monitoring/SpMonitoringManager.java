@@ -18,58 +18,163 @@
 
 package org.apache.streampipes.extensions.management.monitoring;
 
+import org.apache.streampipes.model.monitoring.InputQueueInfo;
+import org.apache.streampipes.model.monitoring.OutputBufferInfo;
+import org.apache.streampipes.model.monitoring.SharedCollectorInfo;
 import org.apache.streampipes.model.monitoring.SpEndpointMonitoringInfo;
 import org.apache.streampipes.model.monitoring.SpLogEntry;
 import org.apache.streampipes.model.monitoring.SpMetricsEntry;
 
-import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 
+/**
+ * Collects metrics and logs of all resources (pipeline elements, adapters and functions) of an extensions service.
+ * Counters are updated without locking from the consumer threads, logs are kept in a bounded buffer per resource.
+ * The getters return snapshots which can be serialized while the resources keep running.
+ */
 public enum SpMonitoringManager {
 
   INSTANCE;
 
-  private final Map<String, List<SpLogEntry>> logInfos;
-  private final Map<String, SpMetricsEntry> metricsInfos;
+  private static final int MAX_LOG_ENTRIES = 100;
+
+  private final Map<String, LogEntryBuffer> logInfos;
+  private final Map<String, ResourceMetrics> metricsInfos;
+  private final Map<String, Map<String, Supplier<InputQueueInfo>>> inputQueues;
+  private final Map<String, Map<String, Supplier<OutputBufferInfo>>> outputBuffers;
+  private volatile Supplier<SharedCollectorInfo> sharedCollectors;
 
   SpMonitoringManager() {
-    this.logInfos = new HashMap<>();
-    this.metricsInfos = new HashMap<>();
+    this.logInfos = new ConcurrentHashMap<>();
+    this.metricsInfos = new ConcurrentHashMap<>();
+    this.inputQueues = new ConcurrentHashMap<>();
+    this.outputBuffers = new ConcurrentHashMap<>();
+    this.sharedCollectors = SharedCollectorInfo::new;
   }
 
   public void addErrorMessage(String resourceId,
                               SpLogEntry errorMessageEntry) {
-    if (!logInfos.containsKey(resourceId)) {
-      logInfos.put(resourceId, new ArrayList<>());
-    }
-    this.logInfos.get(resourceId).add(0, errorMessageEntry);
+    this.logInfos
+        .computeIfAbsent(resourceId, key -> new LogEntryBuffer(MAX_LOG_ENTRIES))
+        .add(errorMessageEntry);
   }
 
   public void increaseInCounter(String resourceId,
                                 String sourceInfo,
                                 long timestamp) {
-    var currentEntry = getMetricsEntry(resourceId, timestamp);
-    currentEntry.addInMetrics(sourceInfo, timestamp);
-    this.metricsInfos.put(resourceId, currentEntry);
+    increaseInCounter(resourceId, sourceInfo, timestamp, 1);
   }
 
+  public void increaseInCounter(String resourceId,
+                                String sourceInfo,
+                                long timestamp,
+                                long count) {
+    getResourceMetrics(resourceId).addInMetrics(sourceInfo, timestamp, count);
+  }
 
   public void increaseOutCounter(String resourceId,
                                  long timestamp) {
-    var currentEntry = getMetricsEntry(resourceId, timestamp);
-    currentEntry.addOutMetrics(timestamp);
-    this.metricsInfos.put(resourceId, currentEntry);
+    getResourceMetrics(resourceId).addOutMetrics(timestamp);
+  }
+
+  public void recordLatency(String resourceId,
+                            long latencyNanos) {
+    recordLatency(resourceId, latencyNanos, 1);
+  }
+
+  /**
+   * Records the processing latency of the given number of events, each taking {@code latencyNanos}.
+   */
+  public void recordLatency(String resourceId,
+                            long latencyNanos,
+                            long events) {
+    getResourceMetrics(resourceId).recordLatency(latencyNanos, events);
+  }
+
+  /**
+   * Records the latencies of a sampled event received by a resource: the time since the previous hop published
+   * the event and the time since the event was ingested by the adapter.
+   */
+  public void recordTraceLatency(String resourceId,
+                                 long transportLatencyMs,
+                                 long endToEndLatencyMs) {
+    getResourceMetrics(resourceId).recordTraceLatency(transportLatencyMs, endToEndLatencyMs);
+  }
+
+  /**
+   * Records the latency of a write of the given number of events to an external system
+   * (e.g., the data lake or the message broker).
+   */
+  public void recordOutputLatency(String resourceId,
+                                  long latencyNanos,
+                                  long events) {
+    getResourceMetrics(resourceId).recordOutputLatency(latencyNanos, events);
+  }
+
+  /**
+   * Registers the input queue of a resource. The queue statistics are only read when metrics are requested.
+   */
+  public void registerInputQueue(String resourceId,
+                                 String sourceInfo,
+                                 Supplier<InputQueueInfo> queueInfo) {
+    this.inputQueues.computeIfAbsent(resourceId, key -> new ConcurrentHashMap<>()).put(sourceInfo, queueInfo);
+  }
+
+  public void unregisterInputQueue(String resourceId,
+                                   String sourceInfo) {
+    var queues = this.inputQueues.get(resourceId);
+    if (queues != null) {
+      queues.remove(sourceInfo);
+      if (queues.isEmpty()) {
+        this.inputQueues.remove(resourceId);
+      }
+    }
+  }
+
+  /**
+   * Registers an output buffer of a resource, e.g., the write buffer of a sink. The buffer statistics are only read
+   * when metrics are requested.
+   */
+  public void registerOutputBuffer(String resourceId,
+                                   String bufferName,
+                                   Supplier<OutputBufferInfo> bufferInfo) {
+    this.outputBuffers.computeIfAbsent(resourceId, key -> new ConcurrentHashMap<>()).put(bufferName, bufferInfo);
+  }
+
+  public void unregisterOutputBuffer(String resourceId,
+                                     String bufferName) {
+    var buffers = this.outputBuffers.get(resourceId);
+    if (buffers != null) {
+      buffers.remove(bufferName);
+      if (buffers.isEmpty()) {
+        this.outputBuffers.remove(resourceId);
+      }
+    }
+  }
+
+  /**
+   * Registers the registry of the collectors which are shared by the pipeline elements of this service.
+   */
+  public void registerSharedCollectors(Supplier<SharedCollectorInfo> sharedCollectors) {
+    this.sharedCollectors = sharedCollectors;
+  }
+
+  public SharedCollectorInfo getSharedCollectorInfo() {
+    return sharedCollectors.get();
   }
 
   public void resetCounter(String resourceId) {
-    this.metricsInfos.put(resourceId, new SpMetricsEntry());
+    this.metricsInfos.put(resourceId, new ResourceMetrics());
   }
 
   public void resetLogs(String resourceId) {
-    if (this.logInfos.containsKey(resourceId)) {
-      this.logInfos.get(resourceId).clear();
+    var logs = this.logInfos.get(resourceId);
+    if (logs != null) {
+      logs.clear();
     }
   }
 
@@ -78,39 +183,61 @@ public enum SpMonitoringManager {
     this.resetLogs(resourceId);
   }
 
-  public SpMetricsEntry getMetricsEntry(String resourceId,
-                                        long timestamp) {
-    checkAndPrepareMetrics(resourceId);
-    var currentEntry = this.metricsInfos.get(resourceId);
-    currentEntry.setLastTimestamp(timestamp);
-
-    return currentEntry;
+  public SpMetricsEntry getMetricsEntry(String resourceId) {
+    var metrics = this.metricsInfos.get(resourceId);
+    var entry = metrics != null ? metrics.toMetricsEntry(System.currentTimeMillis()) : new SpMetricsEntry();
+    addInputQueueInfos(resourceId, entry);
+    addOutputBufferInfos(resourceId, entry);
+    return entry;
   }
 
   public Map<String, List<SpLogEntry>> getAllLogs() {
-    return logInfos;
+    Map<String, List<SpLogEntry>> logs = new HashMap<>();
+    this.logInfos.forEach((resourceId, buffer) -> logs.put(resourceId, buffer.toList()));
+    return logs;
   }
 
   public Map<String, SpMetricsEntry> getAllMetrics() {
-    return this.metricsInfos;
+    long now = System.currentTimeMillis();
+    Map<String, SpMetricsEntry> metrics = new HashMap<>();
+    this.metricsInfos.forEach((resourceId, resourceMetrics) ->
+        metrics.put(resourceId, resourceMetrics.toMetricsEntry(now)));
+    this.inputQueues.keySet().forEach(resourceId ->
+        addInputQueueInfos(resourceId, metrics.computeIfAbsent(resourceId, key -> new SpMetricsEntry())));
+    this.outputBuffers.keySet().forEach(resourceId ->
+        addOutputBufferInfos(resourceId, metrics.computeIfAbsent(resourceId, key -> new SpMetricsEntry())));
+    return metrics;
   }
 
   public SpEndpointMonitoringInfo getMonitoringInfo() {
-    return new SpEndpointMonitoringInfo(logInfos, metricsInfos);
+    return new SpEndpointMonitoringInfo(getAllLogs(), getAllMetrics());
   }
 
-  private void checkAndPrepareMetrics(String resourceId) {
-    if (!metricsInfos.containsKey(resourceId)) {
-      addMetricsObject(resourceId);
-    }
+  public void clearAllLogs() {
+    logInfos.forEach((key, value) -> value.clear());
   }
 
-  private void addMetricsObject(String resourceId) {
-    this.metricsInfos.put(resourceId, new SpMetricsEntry());
+  private ResourceMetrics getResourceMetrics(String resourceId) {
+    var metrics = this.metricsInfos.get(resourceId);
+    if (metrics == null) {
+      metrics = this.metricsInfos.computeIfAbsent(resourceId, key -> new ResourceMetrics());
+    }
+    return metrics;
   }
 
+  private void addInputQueueInfos(String resourceId,
+                                  SpMetricsEntry entry) {
+    var queues = this.inputQueues.get(resourceId);
+    if (queues != null) {
+      queues.forEach((sourceInfo, queueInfo) -> entry.getInputQueues().put(sourceInfo, queueInfo.get()));
+    }
+  }
 
-  public void clearAllLogs() {
-    logInfos.forEach((key, value) -> value.clear());
+  private void addOutputBufferInfos(String resourceId,
+                                    SpMetricsEntry entry) {
+    var buffers = this.outputBuffers.get(resourceId);
+    if (buffers != null) {
+      buffers.forEach((bufferName, bufferInfo) -> entry.getOutputBuffers().put(bufferName, bufferInfo.get()));
+    }
   }
 }
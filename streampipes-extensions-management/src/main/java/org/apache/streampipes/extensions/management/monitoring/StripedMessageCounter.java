@@ -0,0 +1,45 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.extensions.management.monitoring;
+
+import org.apache.streampipes.model.monitoring.MessageCounter;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Message counter which can be increased concurrently from several consumer threads without contention.
+ */
+class StripedMessageCounter {
+
+  private final LongAdder counter = new LongAdder();
+  private volatile long lastTimestamp;
+
+  void add(long timestamp,
+           long count) {
+    this.counter.add(count);
+    this.lastTimestamp = timestamp;
+  }
+
+  MessageCounter toMessageCounter() {
+    var messageCounter = new MessageCounter();
+    messageCounter.setCounter(counter.sum());
+    messageCounter.setLastTimestamp(lastTimestamp);
+    return messageCounter;
+  }
+}
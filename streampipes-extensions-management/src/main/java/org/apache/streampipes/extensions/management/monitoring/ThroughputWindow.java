@@ -0,0 +1,65 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.extensions.management.monitoring;
+
+import org.apache.streampipes.model.monitoring.ThroughputSample;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Counts messages per one-second interval over the last minute in a fixed ring of slots.
+ * Slots are recycled without locking when a new interval starts, so counts at interval boundaries are approximate.
+ */
+class ThroughputWindow {
+
+  static final int WINDOW_SIZE = 60;
+  static final long INTERVAL_MS = 1000;
+
+  private final AtomicLongArray intervals = new AtomicLongArray(WINDOW_SIZE);
+  private final AtomicLongArray counts = new AtomicLongArray(WINDOW_SIZE);
+
+  void add(long timestamp,
+           long count) {
+    long interval = timestamp / INTERVAL_MS;
+    int slot = (int) (interval % WINDOW_SIZE);
+    long slotInterval = intervals.get(slot);
+    if (slotInterval < interval && intervals.compareAndSet(slot, slotInterval, interval)) {
+      counts.set(slot, 0);
+    }
+    if (intervals.get(slot) == interval) {
+      counts.addAndGet(slot, count);
+    }
+  }
+
+  List<ThroughputSample> toSamples(long now) {
+    long currentInterval = now / INTERVAL_MS;
+    List<ThroughputSample> samples = new ArrayList<>(WINDOW_SIZE);
+    for (int slot = 0; slot < WINDOW_SIZE; slot++) {
+      long interval = intervals.get(slot);
+      if (interval > currentInterval - WINDOW_SIZE && interval <= currentInterval) {
+        samples.add(new ThroughputSample(interval * INTERVAL_MS, counts.get(slot)));
+      }
+    }
+    samples.sort(Comparator.comparingLong(ThroughputSample::getTimestamp));
+    return samples;
+  }
+}
@@ -0,0 +1,108 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.extensions.management.monitoring;
+
+import org.apache.streampipes.model.StreamPipesErrorMessage;
+import org.apache.streampipes.model.monitoring.SpLogEntry;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class SpMonitoringManagerTest {
+
+  private static final SpMonitoringManager MANAGER = SpMonitoringManager.INSTANCE;
+
+  @Test
+  public void testConcurrentCounterUpdates() throws InterruptedException {
+    var resourceId = "concurrent-counter";
+    int threadCount = 8;
+    int eventsPerThread = 10000;
+    List<Thread> threads = new ArrayList<>();
+    for (int i = 0; i < threadCount; i++) {
+      var sourceInfo = "topic-" + (i % 2);
+      threads.add(new Thread(() -> {
+        for (int j = 0; j < eventsPerThread; j++) {
+          MANAGER.increaseInCounter(resourceId, sourceInfo, System.currentTimeMillis());
+          MANAGER.increaseOutCounter(resourceId, System.currentTimeMillis());
+        }
+      }));
+    }
+    threads.forEach(Thread::start);
+    for (Thread thread : threads) {
+      thread.join();
+    }
+
+    var entry = MANAGER.getMetricsEntry(resourceId);
+    long totalIn = entry.getMessagesIn().values().stream().mapToLong(c -> c.getCounter()).sum();
+    assertEquals(threadCount * eventsPerThread, totalIn);
+    assertEquals(threadCount * eventsPerThread, entry.getMessagesOut().getCounter());
+    assertEquals(2, entry.getMessagesIn().size());
+    long throughput = entry.getThroughput().stream().mapToLong(s -> s.getMessages()).sum();
+    assertTrue(throughput > 0 && throughput <= totalIn);
+  }
+
+  @Test
+  public void testLogsAreBoundedAndNewestFirst() {
+    var resourceId = "bounded-logs";
+    for (int i = 0; i < 250; i++) {
+      MANAGER.addErrorMessage(resourceId, SpLogEntry.from(i, new StreamPipesErrorMessage()));
+    }
+
+    var logs = MANAGER.getAllLogs().get(resourceId);
+    assertEquals(100, logs.size());
+    assertEquals(249, logs.get(0).getTimestamp());
+    assertEquals(150, logs.get(99).getTimestamp());
+
+    MANAGER.resetLogs(resourceId);
+    assertTrue(MANAGER.getAllLogs().get(resourceId).isEmpty());
+  }
+
+  @Test
+  public void testLatencyPercentiles() {
+    var resourceId = "latency";
+    for (int i = 0; i < 99; i++) {
+      MANAGER.recordLatency(resourceId, TimeUnit.MICROSECONDS.toNanos(100));
+    }
+    MANAGER.recordLatency(resourceId, TimeUnit.MILLISECONDS.toNanos(50));
+
+    var latency = MANAGER.getMetricsEntry(resourceId).getProcessingLatency();
+    assertEquals(100, latency.getCount());
+    assertEquals(50.0, latency.getMax(), 0.001);
+    assertTrue(latency.getP50() >= 0.1 && latency.getP50() < 0.2);
+    assertTrue(latency.getP99() < 0.2);
+    assertTrue(latency.getMean() > 0.5 && latency.getMean() < 0.7);
+  }
+
+  @Test
+  public void testResetCounter() {
+    var resourceId = "reset";
+    MANAGER.increaseInCounter(resourceId, "topic", System.currentTimeMillis(), 5);
+    MANAGER.resetCounter(resourceId);
+
+    var entry = MANAGER.getMetricsEntry(resourceId);
+    assertTrue(entry.getMessagesIn().isEmpty());
+    assertEquals(0, entry.getProcessingLatency().getCount());
+  }
+}
@@ -40,6 +40,7 @@ import org.apache.streampipes.sinks.brokers.jvm.BrokersJvmInit;
 import org.apache.streampipes.sinks.databases.jvm.DatabasesJvmInit;
 import org.apache.streampipes.sinks.internal.jvm.SinksInternalJvmInit;
 import org.apache.streampipes.sinks.notifications.jvm.SinksNotificationsJvmInit;
+import org.apache.streampipes.wrapper.standalone.protocol.SpInMemoryProtocolFactory;
 
 public class AllExtensionsIIoTInit extends ExtensionsModelSubmitter {
 
@@ -72,7 +73,8 @@ public class AllExtensionsIIoTInit extends ExtensionsModelSubmitter {
             new SpKafkaProtocolFactory(),
             new SpJmsProtocolFactory(),
             new SpMqttProtocolFactory(),
-            new SpNatsProtocolFactory())
+            new SpNatsProtocolFactory(),
+            new SpInMemoryProtocolFactory())
         .build();
   }
 }
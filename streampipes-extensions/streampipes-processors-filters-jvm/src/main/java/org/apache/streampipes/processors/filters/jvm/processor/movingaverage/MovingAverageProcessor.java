@@ -39,10 +39,12 @@ import org.apache.streampipes.sdk.utils.Assets;
 import org.apache.streampipes.vocabulary.SO;
 import org.apache.streampipes.wrapper.context.EventProcessorRuntimeContext;
 import org.apache.streampipes.wrapper.routing.SpOutputCollector;
+import org.apache.streampipes.wrapper.standalone.ParallelExecution;
 import org.apache.streampipes.wrapper.standalone.ProcessorParams;
 import org.apache.streampipes.wrapper.standalone.StreamPipesDataProcessor;
 
-;
+import java.util.HashMap;
+import java.util.Map;
 
 public class MovingAverageProcessor extends StreamPipesDataProcessor {
 
@@ -55,7 +57,12 @@ public class MovingAverageProcessor extends StreamPipesDataProcessor {
 
 
   private String numberName;
-  private MovingFilter filter;
+  private int n;
+  private String method;
+  private ParallelExecution parallelExecution;
+
+  // filter state per partition key, a single filter with key null if the execution is not partitioned
+  private Map<Object, MovingFilter> filters;
 
   @Override
   public DataProcessorDescription declareModel() {
@@ -73,6 +80,7 @@ public class MovingAverageProcessor extends StreamPipesDataProcessor {
         .requiredSingleValueSelection(Labels.withId(METHOD_KEY),
             Options.from(new Tuple2<>("mean", MEAN_INTERNAL_NAME),
                 new Tuple2<>("median", MEDIAN_INTERNAL_NAME)))
+        .requiredStaticProperty(ParallelExecution.declare())
         .outputStrategy(
             OutputStrategies.append(
                 EpProperties.numberEp(Labels.empty(), RESULT_FIELD, SO.NUMBER)))
@@ -83,17 +91,23 @@ public class MovingAverageProcessor extends StreamPipesDataProcessor {
   public void onInvocation(ProcessorParams parameters, SpOutputCollector spOutputCollector,
                            EventProcessorRuntimeContext runtimeContext) throws SpRuntimeException {
     this.numberName = parameters.extractor().mappingPropertyValue(NUMBER_VALUE);
-    int n = parameters.extractor().singleValueParameter(N_VALUE, Integer.class);
-    String methode = parameters.extractor().selectedSingleValueInternalName(METHOD_KEY, String.class);
-    if (methode.equals(MEDIAN_INTERNAL_NAME)) {
-      filter = new MovingMedianFilter(n);
+    this.n = parameters.extractor().singleValueParameter(N_VALUE, Integer.class);
+    this.method = parameters.extractor().selectedSingleValueInternalName(METHOD_KEY, String.class);
+    this.parallelExecution = ParallelExecution.from(parameters.getGraph());
+    this.filters = new HashMap<>();
+  }
+
+  private MovingFilter makeFilter(Object partitionKey) {
+    if (method.equals(MEDIAN_INTERNAL_NAME)) {
+      return new MovingMedianFilter(n);
     } else {
-      filter = new MovingAverageFilter(n);
+      return new MovingAverageFilter(n);
     }
   }
 
   @Override
   public void onEvent(Event event, SpOutputCollector collector) throws SpRuntimeException {
+    MovingFilter filter = filters.computeIfAbsent(parallelExecution.partitionKeyOf(event), this::makeFilter);
     Double result = filter.update(event.getFieldBySelector(numberName).getAsPrimitive().getAsDouble());
     event.addField(RESULT_FIELD, result);
     collector.collect(event);
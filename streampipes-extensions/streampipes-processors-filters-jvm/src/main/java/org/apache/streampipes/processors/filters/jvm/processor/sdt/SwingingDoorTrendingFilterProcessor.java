@@ -32,9 +32,13 @@ import org.apache.streampipes.sdk.helpers.OutputStrategies;
 import org.apache.streampipes.sdk.utils.Assets;
 import org.apache.streampipes.wrapper.context.EventProcessorRuntimeContext;
 import org.apache.streampipes.wrapper.routing.SpOutputCollector;
+import org.apache.streampipes.wrapper.standalone.ParallelExecution;
 import org.apache.streampipes.wrapper.standalone.ProcessorParams;
 import org.apache.streampipes.wrapper.standalone.StreamPipesDataProcessor;
 
+import java.util.HashMap;
+import java.util.Map;
+
 public class SwingingDoorTrendingFilterProcessor extends StreamPipesDataProcessor {
 
   private static final String SDT_TIMESTAMP_FIELD_KEY = "sdt-timestamp-field";
@@ -50,7 +54,10 @@ public class SwingingDoorTrendingFilterProcessor extends StreamPipesDataProcesso
   private long sdtCompressionMinTimeInterval = 0L;
   private long sdtCompressionMaxTimeInterval = Long.MAX_VALUE;
 
-  private SwingingDoorTrendingFilter sdtFilter;
+  private ParallelExecution parallelExecution;
+
+  // filter state per partition key, a single filter with key null if the execution is not partitioned
+  private Map<Object, SwingingDoorTrendingFilter> sdtFilters;
 
   @Override
   public DataProcessorDescription declareModel() {
@@ -67,6 +74,7 @@ public class SwingingDoorTrendingFilterProcessor extends StreamPipesDataProcesso
         .requiredFloatParameter(Labels.withId(SDT_COMPRESSION_DEVIATION_KEY))
         .requiredLongParameter(Labels.withId(SDT_COMPRESSION_MIN_INTERVAL_KEY), 0L)
         .requiredLongParameter(Labels.withId(SDT_COMPRESSION_MAX_INTERVAL_KEY), Long.MAX_VALUE)
+        .requiredStaticProperty(ParallelExecution.declare())
         .outputStrategy(OutputStrategies.keep())
         .build();
   }
@@ -86,7 +94,12 @@ public class SwingingDoorTrendingFilterProcessor extends StreamPipesDataProcesso
         parameters.extractor().singleValueParameter(SDT_COMPRESSION_MAX_INTERVAL_KEY, Long.class);
     checkSdtCompressionParams();
 
-    sdtFilter = new SwingingDoorTrendingFilter(sdtCompressionDeviation, sdtCompressionMinTimeInterval,
+    parallelExecution = ParallelExecution.from(parameters.getGraph());
+    sdtFilters = new HashMap<>();
+  }
+
+  private SwingingDoorTrendingFilter makeSdtFilter(Object partitionKey) {
+    return new SwingingDoorTrendingFilter(sdtCompressionDeviation, sdtCompressionMinTimeInterval,
         sdtCompressionMaxTimeInterval);
   }
 
@@ -121,6 +134,8 @@ public class SwingingDoorTrendingFilterProcessor extends StreamPipesDataProcesso
     final long timestamp = event.getFieldBySelector(sdtTimestampField).getAsPrimitive().getAsLong();
     final double value = event.getFieldBySelector(sdtValueField).getAsPrimitive().getAsDouble();
 
+    final SwingingDoorTrendingFilter sdtFilter =
+        sdtFilters.computeIfAbsent(parallelExecution.partitionKeyOf(event), this::makeSdtFilter);
     if (sdtFilter.filter(timestamp, value, event)) {
       sdtFilter.forward(collector);
     }
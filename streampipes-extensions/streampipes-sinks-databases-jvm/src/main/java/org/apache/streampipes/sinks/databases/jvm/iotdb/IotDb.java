@@ -22,7 +22,7 @@ import org.apache.streampipes.logging.api.Logger;
 import org.apache.streampipes.model.runtime.Event;
 import org.apache.streampipes.model.runtime.field.AbstractField;
 import org.apache.streampipes.wrapper.context.EventSinkRuntimeContext;
-import org.apache.streampipes.wrapper.runtime.EventSink;
+import org.apache.streampipes.wrapper.runtime.BatchEventSink;
 
 import org.apache.iotdb.rpc.IoTDBConnectionException;
 import org.apache.iotdb.rpc.StatementExecutionException;
@@ -34,7 +34,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
-public class IotDb implements EventSink<IotDbParameters> {
+public class IotDb implements BatchEventSink<IotDbParameters> {
 
   private static Logger logger;
 
@@ -64,27 +64,81 @@ public class IotDb implements EventSink<IotDbParameters> {
 
   @Override
   public void onEvent(Event event) {
-    if (event == null) {
+    final List<String> measurements = new ArrayList<>();
+    final List<TSDataType> types = new ArrayList<>();
+    final List<Object> values = new ArrayList<>();
+
+    final Long timestamp = extractRecord(event, measurements, types, values);
+    if (timestamp == null) {
+      return;
+    }
+
+    try {
+      sessionPool.insertRecord(deviceId, timestamp, measurements, types, values);
+    } catch (IoTDBConnectionException | StatementExecutionException e) {
+      logger.error("Failed to save event to IoTDB, because: " + e.getMessage());
+    }
+  }
+
+  @Override
+  public void onEvents(List<Event> events) {
+    final List<String> deviceIds = new ArrayList<>(events.size());
+    final List<Long> timestamps = new ArrayList<>(events.size());
+    final List<List<String>> measurementsList = new ArrayList<>(events.size());
+    final List<List<TSDataType>> typesList = new ArrayList<>(events.size());
+    final List<List<Object>> valuesList = new ArrayList<>(events.size());
+
+    for (Event event : events) {
+      final List<String> measurements = new ArrayList<>();
+      final List<TSDataType> types = new ArrayList<>();
+      final List<Object> values = new ArrayList<>();
+
+      final Long timestamp = extractRecord(event, measurements, types, values);
+      if (timestamp != null) {
+        deviceIds.add(deviceId);
+        timestamps.add(timestamp);
+        measurementsList.add(measurements);
+        typesList.add(types);
+        valuesList.add(values);
+      }
+    }
+
+    if (deviceIds.isEmpty()) {
       return;
     }
 
+    try {
+      sessionPool.insertRecords(deviceIds, timestamps, measurementsList, typesList, valuesList);
+    } catch (IoTDBConnectionException | StatementExecutionException e) {
+      logger.error("Failed to save events to IoTDB, because: " + e.getMessage());
+    }
+  }
+
+  /**
+   * Extracts the measurements, types and values of an event.
+   *
+   * @return the timestamp of the record or null if the event should not be stored
+   */
+  private Long extractRecord(Event event,
+                             List<String> measurements,
+                             List<TSDataType> types,
+                             List<Object> values) {
+    if (event == null) {
+      return null;
+    }
+
     final AbstractField timestampAbstractField = event.getFieldBySelector(timestampFieldId);
     final Long timestamp = timestampAbstractField.getAsPrimitive().getAsLong();
     if (timestamp == null) {
-      return;
+      return null;
     }
 
     final Map<String, Object> measurementValuePairs = event.getRaw();
     // should be at least a timestamp field and a measurement field
     if (measurementValuePairs.size() <= 1) {
-      return;
+      return null;
     }
 
-    final int measurementFieldCount = measurementValuePairs.size() - 1;
-    final List<String> measurements = new ArrayList<>(measurementFieldCount);
-    final List<TSDataType> types = new ArrayList<>(measurementFieldCount);
-    final List<Object> values = new ArrayList<>(measurementFieldCount);
-
     for (Map.Entry<String, Object> measurementValuePair : measurementValuePairs.entrySet()) {
       if (timestampAbstractField.getFieldNameIn().equals(measurementValuePair.getKey())) {
         continue;
@@ -114,12 +168,7 @@ public class IotDb implements EventSink<IotDbParameters> {
       }
     }
 
-    try {
-      sessionPool.insertRecord(deviceId, timestamp, measurements, types, values);
-    } catch (IoTDBConnectionException | StatementExecutionException e) {
-      logger.error("Failed to save event to IoTDB, because: " + e.getMessage());
-      e.printStackTrace();
-    }
+    return timestamp;
   }
 
   @Override
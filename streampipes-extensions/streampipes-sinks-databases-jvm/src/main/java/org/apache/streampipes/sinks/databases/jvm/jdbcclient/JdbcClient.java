@@ -33,7 +33,9 @@ import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 
 public class JdbcClient {
@@ -194,12 +196,31 @@ public class JdbcClient {
    * @throws SpRuntimeException When there was an error in the saving process
    */
   protected void save(final Event event) throws SpRuntimeException {
-    //TODO: Add batch support (https://stackoverflow.com/questions/3784197/efficient-way-to-do-batch-inserts-with-jdbc)
     checkConnected();
-    Map<String, Object> eventMap = event.getRaw();
     if (event == null) {
       throw new SpRuntimeException("event is null");
     }
+    Map<String, Object> eventMap = event.getRaw();
+    execute(() -> this.statementHandler.executePreparedStatement(
+        this.dbDescription, this.tableDescription,
+        connection, eventMap));
+  }
+
+  /**
+   * Saves all events using a single batch of the prepared statement
+   *
+   * @param events The events which should be saved to the table
+   * @throws SpRuntimeException When there was an error in the saving process
+   */
+  protected void saveBatch(final List<Event> events) throws SpRuntimeException {
+    checkConnected();
+    List<Map<String, Object>> eventMaps = events.stream().map(Event::getRaw).collect(Collectors.toList());
+    execute(() -> this.statementHandler.executePreparedStatementBatch(
+        this.dbDescription, this.tableDescription,
+        connection, eventMaps));
+  }
+
+  private void execute(StatementExecution execution) throws SpRuntimeException {
     if (!this.tableDescription.tableExists()) {
       // Creates the table
       createTable();
@@ -207,9 +228,7 @@ public class JdbcClient {
     }
     try {
       checkConnected();
-      this.statementHandler.executePreparedStatement(
-          this.dbDescription, this.tableDescription,
-          connection, eventMap);
+      execution.execute();
     } catch (SQLException e) {
       if (e.getSQLState().substring(0, 2).equals("42")) {
         // If the table does not exists (because it got deleted or something, will cause the error
@@ -221,9 +240,7 @@ public class JdbcClient {
 
         try {
           checkConnected();
-          this.statementHandler.executePreparedStatement(
-              this.dbDescription, this.tableDescription,
-              connection, eventMap);
+          execution.execute();
         } catch (SQLException e1) {
           throw new SpRuntimeException(e1.getMessage());
         }
@@ -296,4 +313,8 @@ public class JdbcClient {
       throw new SpRuntimeException("Connection is not established.");
     }
   }
+
+  private interface StatementExecution {
+    void execute() throws SQLException, SpRuntimeException;
+  }
 }
@@ -27,6 +27,7 @@ import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 public class StatementHandler {
@@ -92,10 +93,10 @@ public class StatementHandler {
     for (Map.Entry<String, Object> pair : event.entrySet()) {
       if (pair.getValue() instanceof Map) {
         index = extendPreparedStatement(dbDescription, (Map<String, Object>) pair.getValue(), s1, s2, index,
-            pair.getKey() + "_", prefix);
+            preProperty + pair.getKey() + "_", prefix);
       } else {
         SQLStatementUtils.checkRegEx(pair.getKey(), "Columnname", dbDescription);
-        eventParameterMap.put(pair.getKey(), new ParameterInformation(index,
+        eventParameterMap.put(preProperty + pair.getKey(), new ParameterInformation(index,
             DbDataTypeFactory.getFromObject(pair.getValue(), dbDescription.getEngine())));
         if (dbDescription.isColumnNameQuoted()) {
           s1.append(prefix).append("\"").append(preProperty).append(pair.getKey()).append("\"");
@@ -165,6 +166,52 @@ public class StatementHandler {
     this.preparedStatement.executeUpdate();
   }
 
+  /**
+   * Adds all events to the batch of the saved prepared statement {@code ps} and executes it, so that all events
+   * are written in a single round trip. If the prepared statement needs to be regenerated for an event, the events
+   * collected so far are executed first, so that each event is filled into the statement only once.
+   *
+   * @param events Data to be saved in the SQL table
+   * @throws SQLException       When the statement cannot be executed
+   * @throws SpRuntimeException When the table name is not allowed
+   */
+  public void executePreparedStatementBatch(DbDescription dbDescription, TableDescription tableDescription,
+                                            Connection connection, final List<Map<String, Object>> events)
+      throws SQLException, SpRuntimeException {
+    boolean hasPendingBatch = false;
+    for (Map<String, Object> event : events) {
+      if (this.preparedStatement == null || !coversAllParameters(event, "")) {
+        if (hasPendingBatch) {
+          this.preparedStatement.executeBatch();
+          hasPendingBatch = false;
+        }
+        generatePreparedStatement(dbDescription, tableDescription, connection, event);
+      } else {
+        this.preparedStatement.clearParameters();
+      }
+      fillPreparedStatement(dbDescription, tableDescription, connection, event, "");
+      this.preparedStatement.addBatch();
+      hasPendingBatch = true;
+    }
+    if (hasPendingBatch) {
+      this.preparedStatement.executeBatch();
+    }
+  }
+
+  private boolean coversAllParameters(final Map<String, Object> event, String pre) {
+    for (Map.Entry<String, Object> pair : event.entrySet()) {
+      String newKey = pre + pair.getKey();
+      if (pair.getValue() instanceof Map) {
+        if (!coversAllParameters((Map<String, Object>) pair.getValue(), newKey + "_")) {
+          return false;
+        }
+      } else if (!eventParameterMap.containsKey(newKey)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
   public PreparedStatement getPreparedStatement() {
     return preparedStatement;
   }
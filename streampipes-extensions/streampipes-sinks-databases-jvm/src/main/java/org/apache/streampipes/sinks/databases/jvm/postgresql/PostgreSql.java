@@ -24,9 +24,11 @@ import org.apache.streampipes.model.runtime.Event;
 import org.apache.streampipes.sinks.databases.jvm.jdbcclient.JdbcClient;
 import org.apache.streampipes.sinks.databases.jvm.jdbcclient.model.SupportedDbEngines;
 import org.apache.streampipes.wrapper.context.EventSinkRuntimeContext;
-import org.apache.streampipes.wrapper.runtime.EventSink;
+import org.apache.streampipes.wrapper.runtime.BatchEventSink;
 
-public class PostgreSql extends JdbcClient implements EventSink<PostgreSqlParameters> {
+import java.util.List;
+
+public class PostgreSql extends JdbcClient implements BatchEventSink<PostgreSqlParameters> {
 
   private PostgreSqlParameters params;
 
@@ -71,6 +73,15 @@ public class PostgreSql extends JdbcClient implements EventSink<PostgreSqlParame
     }
   }
 
+  @Override
+  public void onEvents(List<Event> events) {
+    try {
+      saveBatch(events);
+    } catch (SpRuntimeException e) {
+      log.error(e.getMessage());
+    }
+  }
+
   @Override
   public void onDetach() throws SpRuntimeException {
     closeAll();
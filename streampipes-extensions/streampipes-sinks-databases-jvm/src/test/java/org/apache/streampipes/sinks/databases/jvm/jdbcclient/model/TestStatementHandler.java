@@ -0,0 +1,80 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package org.apache.streampipes.sinks.databases.jvm.jdbcclient.model;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class TestStatementHandler {
+
+  private DbDescription dbDescription;
+  private Connection connection;
+  private PreparedStatement preparedStatement;
+
+  @Before
+  public void setUp() throws SQLException {
+    dbDescription = mock(DbDescription.class);
+    when(dbDescription.getEngine()).thenReturn(SupportedDbEngines.POSTGRESQL);
+    when(dbDescription.getAllowedRegEx()).thenReturn(SupportedDbEngines.POSTGRESQL.getAllowedRegex());
+    connection = mock(Connection.class);
+    preparedStatement = mock(PreparedStatement.class);
+    when(connection.prepareStatement(anyString())).thenReturn(preparedStatement);
+  }
+
+  @Test
+  public void testNestedEventsAreWrittenInOneBatch() throws SQLException {
+    var handler = new StatementHandler(null, null);
+
+    handler.executePreparedStatementBatch(dbDescription, new TableDescription("test", null), connection,
+        List.of(makeEvent(1, 1.0), makeEvent(2, 2.0), makeEvent(3, 3.0)));
+
+    verify(connection, times(1))
+        .prepareStatement("INSERT INTO test ( id, position_lat, position_sensor_value ) VALUES ( ?, ?, ? );");
+    verify(preparedStatement, times(3)).addBatch();
+    verify(preparedStatement, times(1)).executeBatch();
+    verify(preparedStatement).setDouble(3, 3.0);
+  }
+
+  private Map<String, Object> makeEvent(int id,
+                                        double value) {
+    Map<String, Object> sensor = new LinkedHashMap<>();
+    sensor.put("value", value);
+    Map<String, Object> position = new LinkedHashMap<>();
+    position.put("lat", value);
+    position.put("sensor", sensor);
+    Map<String, Object> event = new LinkedHashMap<>();
+    event.put("id", id);
+    event.put("position", position);
+    return event;
+  }
+}
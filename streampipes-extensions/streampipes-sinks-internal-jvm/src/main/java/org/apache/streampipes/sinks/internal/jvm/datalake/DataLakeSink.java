@@ -21,9 +21,13 @@ package org.apache.streampipes.sinks.internal.jvm.datalake;
 import org.apache.streampipes.commons.environment.Environments;
 import org.apache.streampipes.commons.exceptions.SpRuntimeException;
 import org.apache.streampipes.dataexplorer.commons.TimeSeriesStore;
+import org.apache.streampipes.dataexplorer.commons.influx.InfluxWriteBuffer;
+import org.apache.streampipes.dataexplorer.commons.influx.InfluxWriteListener;
+import org.apache.streampipes.extensions.management.monitoring.SpMonitoringManager;
 import org.apache.streampipes.model.DataSinkType;
 import org.apache.streampipes.model.datalake.DataLakeMeasure;
 import org.apache.streampipes.model.graph.DataSinkDescription;
+import org.apache.streampipes.model.monitoring.OutputBufferInfo;
 import org.apache.streampipes.model.runtime.Event;
 import org.apache.streampipes.model.schema.EventSchema;
 import org.apache.streampipes.model.schema.PropertyScope;
@@ -34,16 +38,22 @@ import org.apache.streampipes.sdk.helpers.Labels;
 import org.apache.streampipes.sdk.helpers.Locales;
 import org.apache.streampipes.sdk.utils.Assets;
 import org.apache.streampipes.wrapper.context.EventSinkRuntimeContext;
+import org.apache.streampipes.wrapper.runtime.BatchEventSink;
 import org.apache.streampipes.wrapper.standalone.SinkParams;
 import org.apache.streampipes.wrapper.standalone.StreamPipesDataSink;
 
+import java.util.List;
 
-public class DataLakeSink extends StreamPipesDataSink {
+
+public class DataLakeSink extends StreamPipesDataSink implements BatchEventSink<SinkParams> {
 
   private static final String DATABASE_MEASUREMENT_KEY = "db_measurement";
   private static final String TIMESTAMP_MAPPING_KEY = "timestamp_mapping";
+  private static final String WRITE_BUFFER_NAME = "data-lake-write-buffer";
 
   private TimeSeriesStore timeSeriesStore;
+  private SpMonitoringManager monitoringManager;
+  private String resourceId;
 
 
   @Override
@@ -70,11 +80,20 @@ public class DataLakeSink extends StreamPipesDataSink {
 
     DataLakeMeasure measure = new DataLakeMeasure(measureName, timestampField, eventSchema);
 
+    this.monitoringManager = runtimeContext.getLogger();
+    this.resourceId = parameters.getGraph().getElementId();
     this.timeSeriesStore = new TimeSeriesStore(Environments.getEnvironment(),
         runtimeContext.getStreamPipesClient(),
         measure,
-        true);
+        true,
+        new MonitoringWriteListener());
 
+    InfluxWriteBuffer writeBuffer = timeSeriesStore.getWriteBuffer();
+    this.monitoringManager.registerOutputBuffer(resourceId, WRITE_BUFFER_NAME, () -> new OutputBufferInfo(
+        writeBuffer.getCapacity(),
+        writeBuffer.getBufferedPoints(),
+        writeBuffer.getSpilledPoints(),
+        writeBuffer.getDroppedPoints()));
   }
 
   @Override
@@ -82,8 +101,26 @@ public class DataLakeSink extends StreamPipesDataSink {
     this.timeSeriesStore.onEvent(event);
   }
 
+  @Override
+  public void onEvents(List<Event> events) throws SpRuntimeException {
+    this.timeSeriesStore.onEvents(events);
+  }
+
   @Override
   public void onDetach() throws SpRuntimeException {
+    this.monitoringManager.unregisterOutputBuffer(resourceId, WRITE_BUFFER_NAME);
     this.timeSeriesStore.close();
   }
+
+  /**
+   * Exports the write latency of the data lake as output latency of this sink.
+   */
+  private class MonitoringWriteListener implements InfluxWriteListener {
+
+    @Override
+    public void onBatchWritten(int points,
+                               long latencyNanos) {
+      monitoringManager.recordOutputLatency(resourceId, latencyNanos, points);
+    }
+  }
 }
@@ -28,10 +28,14 @@ import org.apache.activemq.util.ByteSequence;
 
 import javax.jms.BytesMessage;
 import javax.jms.JMSException;
+import javax.jms.Message;
 import javax.jms.MessageConsumer;
 import javax.jms.Session;
 
 import java.io.Serializable;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Map;
 
 public class ActiveMQConsumer extends ActiveMQConnectionProvider implements
     EventConsumer<JmsTransportProtocol>,
@@ -48,7 +52,12 @@ public class ActiveMQConsumer extends ActiveMQConnectionProvider implements
       consumer.setMessageListener(message -> {
         if (message instanceof BytesMessage) {
           ByteSequence bs = ((ActiveMQBytesMessage) message).getContent();
-          eventProcessor.onEvent(bs.getData());
+          Map<String, String> headers = readHeaders(message);
+          if (headers.isEmpty()) {
+            eventProcessor.onEvent(bs.getData());
+          } else {
+            eventProcessor.onEvent(bs.getData(), headers);
+          }
         }
 
       });
@@ -57,6 +66,20 @@ public class ActiveMQConsumer extends ActiveMQConnectionProvider implements
     }
   }
 
+  private Map<String, String> readHeaders(Message message) {
+    Map<String, String> headers = new HashMap<>();
+    try {
+      Enumeration<?> propertyNames = message.getPropertyNames();
+      while (propertyNames.hasMoreElements()) {
+        String name = (String) propertyNames.nextElement();
+        headers.put(name, message.getStringProperty(name));
+      }
+    } catch (JMSException e) {
+      e.printStackTrace();
+    }
+    return headers;
+  }
+
   @Override
   public void connect(JmsTransportProtocol protocolSettings, InternalEventProcessor<byte[]>
       eventProcessor) throws SpRuntimeException {
@@ -35,6 +35,8 @@ import javax.jms.JMSException;
 import javax.jms.MessageProducer;
 import javax.jms.Session;
 
+import java.util.Map;
+
 
 public class ActiveMQPublisher implements EventProducer<JmsTransportProtocol> {
 
@@ -123,6 +125,21 @@ public class ActiveMQPublisher implements EventProducer<JmsTransportProtocol> {
     }
   }
 
+  @Override
+  public void publish(String key, byte[] event, Map<String, String> headers) {
+    BytesMessage message;
+    try {
+      message = session.createBytesMessage();
+      message.writeBytes(event);
+      for (Map.Entry<String, String> header : headers.entrySet()) {
+        message.setStringProperty(header.getKey(), header.getValue());
+      }
+      producer.send(message);
+    } catch (JMSException e) {
+      e.printStackTrace();
+    }
+  }
+
   @Override
   public void disconnect() throws SpRuntimeException {
     try {
@@ -25,22 +25,27 @@ import org.apache.streampipes.messaging.kafka.config.ConsumerConfigFactory;
 import org.apache.streampipes.messaging.kafka.config.KafkaConfigAppender;
 import org.apache.streampipes.model.grounding.KafkaTransportProtocol;
 import org.apache.streampipes.model.grounding.WildcardTopicDefinition;
+import org.apache.streampipes.model.runtime.EventTrace;
 
-import org.apache.kafka.clients.consumer.ConsumerRebalanceListener;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.clients.consumer.ConsumerRecords;
 import org.apache.kafka.clients.consumer.KafkaConsumer;
-import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.header.Header;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Properties;
+import java.util.UUID;
 import java.util.regex.Pattern;
 
 public class SpKafkaConsumer implements EventConsumer<KafkaTransportProtocol>, Runnable,
@@ -83,31 +88,50 @@ public class SpKafkaConsumer implements EventConsumer<KafkaTransportProtocol>, R
     Properties props = makeProperties(protocol, appenders);
 
     KafkaConsumer<byte[], byte[]> consumer = new KafkaConsumer<>(props);
+    var rebalanceListener = new SpKafkaRebalanceListener(consumer, topic);
     if (!patternTopic) {
-      consumer.subscribe(Collections.singletonList(topic));
+      consumer.subscribe(Collections.singletonList(topic), rebalanceListener);
     } else {
-      topic = replaceWildcardWithPatternFormat(topic);
-      consumer.subscribe(Pattern.compile(topic), new ConsumerRebalanceListener() {
-        @Override
-        public void onPartitionsRevoked(Collection<TopicPartition> partitions) {
-          // TODO
-        }
-
-        @Override
-        public void onPartitionsAssigned(Collection<TopicPartition> partitions) {
-          // TODO
-        }
-      });
+      consumer.subscribe(Pattern.compile(replaceWildcardWithPatternFormat(topic)), rebalanceListener);
     }
     Duration duration = Duration.of(100, ChronoUnit.MILLIS);
     while (isRunning) {
       ConsumerRecords<byte[], byte[]> records = consumer.poll(duration);
-      records.forEach(record -> eventProcessor.onEvent(record.value()));
+      if (!records.isEmpty()) {
+        dispatch(records, eventProcessor);
+      }
     }
     LOG.info("Closing Kafka Consumer.");
     consumer.close();
   }
 
+  /**
+   * Hands the records of a poll over as batches. Only records of sampled events, which carry a trace header,
+   * are handed over individually together with their headers.
+   */
+  static void dispatch(ConsumerRecords<byte[], byte[]> records,
+                       InternalEventProcessor<byte[]> eventProcessor) {
+    List<byte[]> events = new ArrayList<>(records.count());
+    for (ConsumerRecord<byte[], byte[]> record : records) {
+      if (record.headers().lastHeader(EventTrace.TRACE_HEADER) == null) {
+        events.add(record.value());
+      } else {
+        if (!events.isEmpty()) {
+          eventProcessor.onEvents(events);
+          events = new ArrayList<>();
+        }
+        Map<String, String> headerMap = new HashMap<>();
+        for (Header header : record.headers()) {
+          headerMap.put(header.key(), new String(header.value(), StandardCharsets.UTF_8));
+        }
+        eventProcessor.onEvent(record.value(), headerMap);
+      }
+    }
+    if (!events.isEmpty()) {
+      eventProcessor.onEvents(events);
+    }
+  }
+
   private String replaceWildcardWithPatternFormat(String topic) {
     topic = topic.replaceAll("\\.", "\\\\.");
     return topic.replaceAll("\\*", ".*");
@@ -126,13 +150,33 @@ public class SpKafkaConsumer implements EventConsumer<KafkaTransportProtocol>, R
     if (protocol.getTopicDefinition() instanceof WildcardTopicDefinition) {
       this.patternTopic = true;
     }
+    int consumerThreads = getConsumerThreads(protocol);
+    if (consumerThreads > 1 && protocol.getGroupId() == null) {
+      // all consumers need to join the same group to split the partitions among them
+      protocol = new KafkaTransportProtocol(protocol);
+      protocol.setGroupId(UUID.randomUUID().toString());
+    }
     this.eventProcessor = eventProcessor;
     this.protocol = protocol;
     this.topic = protocol.getTopicDefinition().getActualTopicName();
     this.isRunning = true;
 
-    Thread thread = new Thread(this);
-    thread.start();
+    for (int i = 0; i < consumerThreads; i++) {
+      Thread thread = new Thread(this, "sp-kafka-consumer-" + topic + "-" + i);
+      thread.start();
+    }
+  }
+
+  /**
+   * Consumers started for the same protocol share a consumer group, so the broker assigns each of them
+   * a disjoint set of partitions. More consumers than partitions would stay idle.
+   */
+  private int getConsumerThreads(KafkaTransportProtocol protocol) {
+    int consumerThreads = Math.max(1, Optional.ofNullable(protocol.getConsumerThreads()).orElse(1));
+    if (protocol.getPartitions() != null && !patternTopic) {
+      consumerThreads = Math.min(consumerThreads, Math.max(1, protocol.getPartitions()));
+    }
+    return consumerThreads;
   }
 
   @Override
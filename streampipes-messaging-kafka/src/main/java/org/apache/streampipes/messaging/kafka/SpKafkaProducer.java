@@ -19,6 +19,8 @@
 package org.apache.streampipes.messaging.kafka;
 
 import org.apache.streampipes.commons.environment.Environments;
+import org.apache.streampipes.messaging.DeliveryFailureAggregator;
+import org.apache.streampipes.messaging.DeliveryListener;
 import org.apache.streampipes.messaging.EventProducer;
 import org.apache.streampipes.messaging.kafka.config.KafkaConfigAppender;
 import org.apache.streampipes.messaging.kafka.config.ProducerConfigFactory;
@@ -28,20 +30,26 @@ import org.apache.kafka.clients.admin.AdminClient;
 import org.apache.kafka.clients.admin.CreateTopicsResult;
 import org.apache.kafka.clients.admin.KafkaAdminClient;
 import org.apache.kafka.clients.admin.ListTopicsResult;
+import org.apache.kafka.clients.admin.NewPartitions;
 import org.apache.kafka.clients.admin.NewTopic;
 import org.apache.kafka.clients.producer.KafkaProducer;
 import org.apache.kafka.clients.producer.Producer;
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.clients.producer.ProducerRecord;
 import org.apache.kafka.common.config.TopicConfig;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.internals.RecordHeader;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Properties;
 import java.util.concurrent.ExecutionException;
 
@@ -55,6 +63,8 @@ public class SpKafkaProducer implements EventProducer<KafkaTransportProtocol>, S
   private Producer<String, byte[]> producer;
 
   private boolean connected = false;
+  private transient volatile DeliveryListener deliveryListener;
+  private final DeliveryFailureAggregator deliveryFailures = new DeliveryFailureAggregator();
 
   private static final Logger LOG = LoggerFactory.getLogger(SpKafkaProducer.class);
 
@@ -80,7 +90,51 @@ public class SpKafkaProducer implements EventProducer<KafkaTransportProtocol>, S
 
   public void publish(byte[] message) {
     if (connected) {
-      producer.send(new ProducerRecord<>(topic, message));
+      send(new ProducerRecord<>(topic, message));
+    }
+  }
+
+  @Override
+  public void publish(String key, byte[] message) {
+    if (connected) {
+      send(new ProducerRecord<>(topic, key, message));
+    }
+  }
+
+  @Override
+  public void publish(String key, byte[] message, Map<String, String> headers) {
+    if (connected) {
+      List<Header> recordHeaders = new ArrayList<>(headers.size());
+      headers.forEach((name, value) -> recordHeaders.add(
+          new RecordHeader(name, value.getBytes(StandardCharsets.UTF_8))));
+      send(new ProducerRecord<>(topic, null, key, message, recordHeaders));
+    }
+  }
+
+  @Override
+  public void setDeliveryListener(DeliveryListener deliveryListener) {
+    this.deliveryListener = deliveryListener;
+  }
+
+  private void send(ProducerRecord<String, byte[]> record) {
+    long start = System.nanoTime();
+    producer.send(record, (metadata, exception) -> onCompletion(start, exception));
+  }
+
+  private void onCompletion(long start,
+                            Exception exception) {
+    var listener = deliveryListener;
+    if (exception != null) {
+      if (listener != null) {
+        listener.onDeliveryFailed(exception);
+      } else {
+        long failedDeliveries = deliveryFailures.recordFailure();
+        if (failedDeliveries > 0) {
+          LOG.warn("Could not deliver {} event(s) to topic {}", failedDeliveries, topic, exception);
+        }
+      }
+    } else if (listener != null) {
+      listener.onDelivered(System.nanoTime() - start);
     }
   }
 
@@ -109,7 +163,8 @@ public class SpKafkaProducer implements EventProducer<KafkaTransportProtocol>, S
   }
 
   /**
-   * Create a new topic and define number partitions, replicas, and retention time
+   * Create a new topic and define number partitions, replicas, and retention time.
+   * If the topic already exists with fewer partitions than configured, partitions are added.
    *
    * @param settings The settings to connect to a Kafka broker
    */
@@ -118,24 +173,47 @@ public class SpKafkaProducer implements EventProducer<KafkaTransportProtocol>, S
     Properties props = new Properties();
     props.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, brokerUrl);
 
-    AdminClient adminClient = KafkaAdminClient.create(props);
+    var env = Environments.getEnvironment();
+    int partitions = Math.max(1, Optional.ofNullable(settings.getPartitions())
+        .orElse(env.getKafkaDefaultPartitions().getValueOrDefault()));
+    short replicationFactor = (short) Math.max(1, Optional.ofNullable(settings.getReplicationFactor())
+        .orElse(env.getKafkaDefaultReplicationFactor().getValueOrDefault()));
+
+    try (AdminClient adminClient = KafkaAdminClient.create(props)) {
+      ListTopicsResult topics = adminClient.listTopics();
 
-    ListTopicsResult topics = adminClient.listTopics();
+      if (!topicExists(topics)) {
+        Map<String, String> topicConfig = new HashMap<>();
+        String retentionTime = env.getKafkaRetentionTimeMs().getValueOrDefault();
+        topicConfig.put(TopicConfig.RETENTION_MS_CONFIG, retentionTime);
 
-    if (!topicExists(topics)) {
-      Map<String, String> topicConfig = new HashMap<>();
-      String retentionTime = Environments.getEnvironment().getKafkaRetentionTimeMs().getValueOrDefault();
-      topicConfig.put(TopicConfig.RETENTION_MS_CONFIG, retentionTime);
+        final NewTopic newTopic = new NewTopic(topic, partitions, replicationFactor);
+        newTopic.configs(topicConfig);
 
-      final NewTopic newTopic = new NewTopic(topic, 1, (short) 1);
-      newTopic.configs(topicConfig);
+        final CreateTopicsResult createTopicsResult = adminClient.createTopics(Collections.singleton(newTopic));
+        createTopicsResult.values().get(topic).get();
+        LOG.info("Successfully created Kafka topic {} with {} partitions", topic, partitions);
 
-      final CreateTopicsResult createTopicsResult = adminClient.createTopics(Collections.singleton(newTopic));
-      createTopicsResult.values().get(topic).get();
-      LOG.info("Successfully created Kafka topic " + topic);
+      } else {
+        LOG.info("Topic " + topic + " already exists in the broker, skipping topic creation");
+        ensurePartitions(adminClient, partitions);
+      }
+    }
+  }
 
-    } else {
-      LOG.info("Topic " + topic + "already exists in the broker, skipping topic creation");
+  private void ensurePartitions(AdminClient adminClient,
+                                int partitions) throws ExecutionException, InterruptedException {
+    int existingPartitions = adminClient.describeTopics(Collections.singleton(topic))
+        .topicNameValues()
+        .get(topic)
+        .get()
+        .partitions()
+        .size();
+    if (existingPartitions < partitions) {
+      adminClient.createPartitions(Collections.singletonMap(topic, NewPartitions.increaseTo(partitions)))
+          .all()
+          .get();
+      LOG.info("Increased partitions of Kafka topic {} from {} to {}", topic, existingPartitions, partitions);
     }
   }
 
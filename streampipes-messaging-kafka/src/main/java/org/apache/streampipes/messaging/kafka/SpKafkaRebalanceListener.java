@@ -0,0 +1,73 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.messaging.kafka;
+
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRebalanceListener;
+import org.apache.kafka.common.KafkaException;
+import org.apache.kafka.common.TopicPartition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collection;
+
+/**
+ * Commits the offsets of all processed records before partitions are handed over to another consumer of the
+ * group, so that they are not delivered twice.
+ */
+public class SpKafkaRebalanceListener implements ConsumerRebalanceListener {
+
+  private static final Logger LOG = LoggerFactory.getLogger(SpKafkaRebalanceListener.class);
+
+  private final Consumer<?, ?> consumer;
+  private final String topic;
+
+  public SpKafkaRebalanceListener(Consumer<?, ?> consumer,
+                                  String topic) {
+    this.consumer = consumer;
+    this.topic = topic;
+  }
+
+  @Override
+  public void onPartitionsRevoked(Collection<TopicPartition> partitions) {
+    if (!partitions.isEmpty()) {
+      commitProcessedOffsets();
+    }
+    LOG.info("Kafka consumer for topic {}: revoked partitions {}", topic, partitions);
+  }
+
+  @Override
+  public void onPartitionsAssigned(Collection<TopicPartition> partitions) {
+    LOG.info("Kafka consumer for topic {}: assigned partitions {}", topic, partitions);
+  }
+
+  @Override
+  public void onPartitionsLost(Collection<TopicPartition> partitions) {
+    // the partitions already belong to another consumer, so offsets must not be committed anymore
+    LOG.warn("Kafka consumer for topic {}: lost partitions {}", topic, partitions);
+  }
+
+  private void commitProcessedOffsets() {
+    try {
+      consumer.commitSync();
+    } catch (KafkaException e) {
+      LOG.warn("Kafka consumer for topic {}: could not commit offsets before rebalance", topic, e);
+    }
+  }
+}
@@ -44,10 +44,37 @@ public abstract class AbstractConfigFactory {
     return protocol.getBrokerHostname() + COLON + protocol.getKafkaPort();
   }
 
+  /**
+   * @return the settings which are explicitly set in the grounding
+   */
+  protected Properties makeExplicitProperties() {
+    return new Properties();
+  }
+
+  protected void putIfPresent(Properties props,
+                              String key,
+                              Object value) {
+    if (value != null) {
+      props.put(key, value);
+    }
+  }
+
+  /**
+   * Builds the client properties. Producer profiles passed as appenders are applied before all other appenders,
+   * settings which are explicitly set in the grounding are applied last and always take precedence.
+   */
   public Properties buildProperties(List<KafkaConfigAppender> appenders) {
     Properties props = makeDefaultProperties();
-    appenders.forEach(appender -> appender.appendConfig(props));
+    appenders
+        .stream()
+        .filter(KafkaProducerProfile.class::isInstance)
+        .forEach(appender -> appender.appendConfig(props));
+    appenders
+        .stream()
+        .filter(appender -> !(appender instanceof KafkaProducerProfile))
+        .forEach(appender -> appender.appendConfig(props));
+    props.putAll(makeExplicitProperties());
 
-    return  props;
+    return props;
   }
 }
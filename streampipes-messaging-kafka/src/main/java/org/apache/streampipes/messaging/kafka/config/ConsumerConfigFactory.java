@@ -58,4 +58,13 @@ public class ConsumerConfigFactory extends AbstractConfigFactory {
 
     return props;
   }
+
+  @Override
+  protected Properties makeExplicitProperties() {
+    Properties props = new Properties();
+    putIfPresent(props, ConsumerConfig.GROUP_ID_CONFIG, protocol.getGroupId());
+    putIfPresent(props, ConsumerConfig.FETCH_MAX_BYTES_CONFIG, protocol.getMessageMaxBytes());
+
+    return props;
+  }
 }
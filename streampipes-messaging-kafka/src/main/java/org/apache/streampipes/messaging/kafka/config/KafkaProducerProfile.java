@@ -0,0 +1,93 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.messaging.kafka.config;
+
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Properties;
+
+/**
+ * Predefined producer settings for batching, linger time and compression.
+ * A profile can be selected in the grounding of a stream or be passed as a {@link KafkaConfigAppender}.
+ */
+public enum KafkaProducerProfile implements KafkaConfigAppender {
+
+  DEFAULT(1638400, 20, "none", "all"),
+  LOW_LATENCY(16384, 0, "none", "1"),
+  HIGH_THROUGHPUT(1048576, 50, "lz4", "all"),
+  HIGH_COMPRESSION(1048576, 100, "zstd", "all");
+
+  private static final Logger LOG = LoggerFactory.getLogger(KafkaProducerProfile.class);
+
+  private final int batchSize;
+  private final int lingerMs;
+  private final String compressionType;
+  private final String acks;
+
+  KafkaProducerProfile(int batchSize,
+                       int lingerMs,
+                       String compressionType,
+                       String acks) {
+    this.batchSize = batchSize;
+    this.lingerMs = lingerMs;
+    this.compressionType = compressionType;
+    this.acks = acks;
+  }
+
+  /**
+   * Returns the profile with the given name or the default profile if the name is empty or unknown.
+   */
+  public static KafkaProducerProfile from(String name) {
+    if (name == null || name.isBlank()) {
+      return DEFAULT;
+    }
+    try {
+      return valueOf(name.trim().toUpperCase());
+    } catch (IllegalArgumentException e) {
+      LOG.warn("Unknown Kafka producer profile {}, using default profile", name);
+      return DEFAULT;
+    }
+  }
+
+  @Override
+  public void appendConfig(Properties props) {
+    props.put(ProducerConfig.BATCH_SIZE_CONFIG, batchSize);
+    props.put(ProducerConfig.LINGER_MS_CONFIG, lingerMs);
+    props.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, compressionType);
+    props.put(ProducerConfig.ACKS_CONFIG, acks);
+  }
+
+  public int getBatchSize() {
+    return batchSize;
+  }
+
+  public int getLingerMs() {
+    return lingerMs;
+  }
+
+  public String getCompressionType() {
+    return compressionType;
+  }
+
+  public String getAcks() {
+    return acks;
+  }
+}
@@ -17,6 +17,7 @@
  */
 package org.apache.streampipes.messaging.kafka.config;
 
+import org.apache.streampipes.commons.environment.Environments;
 import org.apache.streampipes.model.grounding.KafkaTransportProtocol;
 
 import org.apache.kafka.clients.producer.ProducerConfig;
@@ -27,10 +28,7 @@ import java.util.Properties;
 
 public class ProducerConfigFactory extends AbstractConfigFactory {
 
-  private static final String ACKS_CONFIG_DEFAULT = "all";
   private static final Integer RETRIES_CONFIG_DEFAULT = 0;
-  private static final Integer BATCH_SIZE_CONFIG_DEFAULT = 1638400;
-  private static final Integer LINGER_MS_DEFAULT = 20;
   private static final Integer BUFFER_MEMORY_CONFIG_DEFAULT = 33554432;
   private static final Integer MAX_REQUEST_SIZE_CONFIG_DEFAULT = 5000012;
 
@@ -46,13 +44,17 @@ public class ProducerConfigFactory extends AbstractConfigFactory {
   public Properties makeDefaultProperties() {
     Properties props = new Properties();
     props.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, getBrokerUrl());
+    var profile = KafkaProducerProfile.from(getConfigOrDefault(protocol::getProducerProfile,
+        Environments.getEnvironment().getKafkaProducerProfile().getValueOrDefault()));
     props.put(ProducerConfig.ACKS_CONFIG, getConfigOrDefault(protocol::getAcks,
-        ACKS_CONFIG_DEFAULT));
+        profile.getAcks()));
     props.put(ProducerConfig.RETRIES_CONFIG, RETRIES_CONFIG_DEFAULT);
     props.put(ProducerConfig.BATCH_SIZE_CONFIG,
-        getConfigOrDefault(protocol::getBatchSize, BATCH_SIZE_CONFIG_DEFAULT));
+        getConfigOrDefault(protocol::getBatchSize, String.valueOf(profile.getBatchSize())));
     props.put(ProducerConfig.LINGER_MS_CONFIG,
-        getConfigOrDefault(protocol::getLingerMs, LINGER_MS_DEFAULT));
+        getConfigOrDefault(protocol::getLingerMs, profile.getLingerMs()));
+    props.put(ProducerConfig.COMPRESSION_TYPE_CONFIG,
+        getConfigOrDefault(protocol::getCompressionType, profile.getCompressionType()));
     props.put(ProducerConfig.MAX_REQUEST_SIZE_CONFIG, getConfigOrDefault(protocol::getMaxRequestSize,
         MAX_REQUEST_SIZE_CONFIG_DEFAULT));
     props.put(ProducerConfig.BUFFER_MEMORY_CONFIG, BUFFER_MEMORY_CONFIG_DEFAULT);
@@ -63,4 +65,15 @@ public class ProducerConfigFactory extends AbstractConfigFactory {
     return props;
   }
 
+  @Override
+  protected Properties makeExplicitProperties() {
+    Properties props = new Properties();
+    putIfPresent(props, ProducerConfig.ACKS_CONFIG, protocol.getAcks());
+    putIfPresent(props, ProducerConfig.BATCH_SIZE_CONFIG, protocol.getBatchSize());
+    putIfPresent(props, ProducerConfig.LINGER_MS_CONFIG, protocol.getLingerMs());
+    putIfPresent(props, ProducerConfig.COMPRESSION_TYPE_CONFIG, protocol.getCompressionType());
+    putIfPresent(props, ProducerConfig.MAX_REQUEST_SIZE_CONFIG, protocol.getMaxRequestSize());
+
+    return props;
+  }
 }
@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package org.apache.streampipes.messaging.kafka;
+
+import org.apache.streampipes.messaging.InternalEventProcessor;
+import org.apache.streampipes.model.runtime.EventTrace;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+
+public class SpKafkaConsumerTest {
+
+  private static final String TOPIC = "test-topic";
+
+  @Test
+  public void testRecordsWithoutTraceHeaderAreHandedOverAsBatch() {
+    var records = List.of(
+        makeRecord(0, "a", null),
+        makeRecord(1, "b", Map.of("content-type", "json")),
+        makeRecord(2, "c", null));
+    var processor = new RecordingProcessor();
+
+    SpKafkaConsumer.dispatch(makeRecords(records), processor);
+
+    assertEquals(List.of("batch:a,b,c"), processor.calls);
+  }
+
+  @Test
+  public void testTracedRecordsAreHandedOverWithHeaders() {
+    var records = List.of(
+        makeRecord(0, "a", null),
+        makeRecord(1, "b", Map.of(EventTrace.TRACE_HEADER, "trace")),
+        makeRecord(2, "c", null),
+        makeRecord(3, "d", null));
+    var processor = new RecordingProcessor();
+
+    SpKafkaConsumer.dispatch(makeRecords(records), processor);
+
+    assertEquals(List.of("batch:a", "event:b:trace", "batch:c,d"), processor.calls);
+  }
+
+  private ConsumerRecords<byte[], byte[]> makeRecords(List<ConsumerRecord<byte[], byte[]>> records) {
+    return new ConsumerRecords<>(Map.of(new TopicPartition(TOPIC, 0), records));
+  }
+
+  private ConsumerRecord<byte[], byte[]> makeRecord(long offset,
+                                                    String value,
+                                                    Map<String, String> headers) {
+    var record = new ConsumerRecord<byte[], byte[]>(TOPIC, 0, offset, null, value.getBytes(StandardCharsets.UTF_8));
+    if (headers != null) {
+      headers.forEach((key, headerValue) -> record.headers().add(key, headerValue.getBytes(StandardCharsets.UTF_8)));
+    }
+    return record;
+  }
+
+  private static class RecordingProcessor implements InternalEventProcessor<byte[]> {
+
+    private final List<String> calls = new ArrayList<>();
+
+    @Override
+    public void onEvent(byte[] event) {
+      calls.add("event:" + new String(event, StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public void onEvent(byte[] event, Map<String, String> headers) {
+      calls.add("event:" + new String(event, StandardCharsets.UTF_8) + ":" + headers.get(EventTrace.TRACE_HEADER));
+    }
+
+    @Override
+    public void onEvents(List<byte[]> events) {
+      var values = new ArrayList<String>();
+      events.forEach(event -> values.add(new String(event, StandardCharsets.UTF_8)));
+      calls.add("batch:" + String.join(",", values));
+    }
+  }
+}
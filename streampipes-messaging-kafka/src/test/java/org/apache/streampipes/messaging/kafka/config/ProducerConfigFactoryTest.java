@@ -0,0 +1,73 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.messaging.kafka.config;
+
+import org.apache.streampipes.model.grounding.KafkaTransportProtocol;
+
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Properties;
+
+import static org.junit.Assert.assertEquals;
+
+public class ProducerConfigFactoryTest {
+
+  @Test
+  public void testProfileOfGroundingIsApplied() {
+    var protocol = makeProtocol();
+    protocol.setProducerProfile(KafkaProducerProfile.HIGH_THROUGHPUT.name());
+
+    Properties props = new ProducerConfigFactory(protocol).buildProperties(List.of());
+
+    assertEquals("lz4", props.get(ProducerConfig.COMPRESSION_TYPE_CONFIG));
+    assertEquals(50, props.get(ProducerConfig.LINGER_MS_CONFIG));
+  }
+
+  @Test
+  public void testExplicitGroundingValuesOverrideProfileAppender() {
+    var protocol = makeProtocol();
+    protocol.setLingerMs(5);
+    protocol.setCompressionType("gzip");
+
+    Properties props = new ProducerConfigFactory(protocol)
+        .buildProperties(List.of(KafkaProducerProfile.HIGH_COMPRESSION));
+
+    assertEquals(5, props.get(ProducerConfig.LINGER_MS_CONFIG));
+    assertEquals("gzip", props.get(ProducerConfig.COMPRESSION_TYPE_CONFIG));
+    assertEquals(1048576, props.get(ProducerConfig.BATCH_SIZE_CONFIG));
+  }
+
+  @Test
+  public void testProfileIsAppliedBeforeOtherAppenders() {
+    var protocol = makeProtocol();
+    KafkaConfigAppender lingerAppender = props -> props.put(ProducerConfig.LINGER_MS_CONFIG, 1);
+
+    Properties props = new ProducerConfigFactory(protocol)
+        .buildProperties(List.of(lingerAppender, KafkaProducerProfile.HIGH_THROUGHPUT));
+
+    assertEquals(1, props.get(ProducerConfig.LINGER_MS_CONFIG));
+    assertEquals("lz4", props.get(ProducerConfig.COMPRESSION_TYPE_CONFIG));
+  }
+
+  private KafkaTransportProtocol makeProtocol() {
+    return new KafkaTransportProtocol("localhost", 9092, "test-topic");
+  }
+}
@@ -15,29 +15,29 @@
  * limitations under the License.
  *
  */
+
 package org.apache.streampipes.messaging.mqtt;
 
+import org.apache.streampipes.commons.exceptions.SpRuntimeException;
 import org.apache.streampipes.model.grounding.MqttTransportProtocol;
 
-import org.fusesource.mqtt.client.BlockingConnection;
-import org.fusesource.mqtt.client.MQTT;
-
 public class AbstractMqttConnector {
 
-  protected MQTT mqtt;
-  protected BlockingConnection connection;
-  protected boolean connected = false;
+  protected transient MqttSharedConnection connection;
+  protected String topic;
+  protected volatile boolean connected = false;
 
-  protected void createBrokerConnection(MqttTransportProtocol protocolSettings) throws Exception {
-    this.mqtt = new MQTT();
-    this.mqtt.setHost(makeBrokerUrl(protocolSettings));
-    this.connection = mqtt.blockingConnection();
-    this.connection.connect();
+  protected void createBrokerConnection(MqttTransportProtocol protocolSettings) throws SpRuntimeException {
+    this.connection = MqttConnectionPool.INSTANCE.acquire(protocolSettings);
+    this.topic = protocolSettings.getTopicDefinition().getActualTopicName();
     this.connected = true;
   }
 
-  private String makeBrokerUrl(MqttTransportProtocol protocolSettings) {
-    return "tcp://" + protocolSettings.getBrokerHostname() + ":" + protocolSettings.getPort();
+  protected void releaseBrokerConnection() {
+    this.connected = false;
+    if (this.connection != null) {
+      MqttConnectionPool.INSTANCE.release(this.connection);
+      this.connection = null;
+    }
   }
-
 }
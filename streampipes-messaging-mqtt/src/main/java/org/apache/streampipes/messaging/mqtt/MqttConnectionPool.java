@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.messaging.mqtt;
+
+import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.apache.streampipes.model.grounding.MqttTransportProtocol;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Pool of MQTT connections, holding a single reference-counted connection per broker.
+ * Connections are established outside the pool's lock, so that connecting to one broker does not block
+ * acquiring connections to other brokers. Concurrent requests for the same broker wait for the same connection.
+ */
+public enum MqttConnectionPool {
+
+  INSTANCE;
+
+  private final Map<String, PooledConnection> connections = new HashMap<>();
+  private MqttSettings settings;
+
+  public MqttSharedConnection acquire(MqttTransportProtocol protocolSettings) throws SpRuntimeException {
+    var brokerUrl = makeBrokerUrl(protocolSettings);
+    PooledConnection pooledConnection;
+    boolean created;
+    synchronized (this) {
+      pooledConnection = connections.get(brokerUrl);
+      created = pooledConnection == null;
+      if (created) {
+        pooledConnection = new PooledConnection();
+        connections.put(brokerUrl, pooledConnection);
+      }
+      pooledConnection.references++;
+    }
+    if (created) {
+      connect(brokerUrl, pooledConnection);
+    }
+    try {
+      return pooledConnection.connection.join();
+    } catch (CompletionException e) {
+      throw new SpRuntimeException("Could not connect to MQTT broker " + brokerUrl, e.getCause());
+    }
+  }
+
+  public void release(MqttSharedConnection connection) {
+    boolean disconnect = false;
+    synchronized (this) {
+      var pooledConnection = connections.get(connection.getBrokerUrl());
+      if (pooledConnection != null && pooledConnection.connection.getNow(null) == connection) {
+        pooledConnection.references--;
+        if (pooledConnection.references <= 0) {
+          connections.remove(connection.getBrokerUrl());
+          disconnect = true;
+        }
+      }
+    }
+    if (disconnect) {
+      connection.disconnect();
+    }
+  }
+
+  public synchronized int getConnectionCount() {
+    return connections.size();
+  }
+
+  private void connect(String brokerUrl,
+                       PooledConnection pooledConnection) {
+    try {
+      pooledConnection.connection.complete(new MqttSharedConnection(brokerUrl, getSettings()));
+    } catch (RuntimeException e) {
+      synchronized (this) {
+        connections.remove(brokerUrl, pooledConnection);
+      }
+      pooledConnection.connection.completeExceptionally(e);
+    }
+  }
+
+  private synchronized MqttSettings getSettings() {
+    if (settings == null) {
+      settings = MqttSettings.fromEnvironment();
+    }
+    return settings;
+  }
+
+  private String makeBrokerUrl(MqttTransportProtocol protocolSettings) {
+    return "tcp://" + protocolSettings.getBrokerHostname() + ":" + protocolSettings.getPort();
+  }
+
+  private static class PooledConnection {
+
+    private final CompletableFuture<MqttSharedConnection> connection = new CompletableFuture<>();
+
+    // guarded by the pool
+    private int references;
+  }
+}
@@ -15,6 +15,7 @@
  * limitations under the License.
  *
  */
+
 package org.apache.streampipes.messaging.mqtt;
 
 import org.apache.streampipes.commons.exceptions.SpRuntimeException;
@@ -22,62 +23,40 @@ import org.apache.streampipes.messaging.EventConsumer;
 import org.apache.streampipes.messaging.InternalEventProcessor;
 import org.apache.streampipes.model.grounding.MqttTransportProtocol;
 
-import org.fusesource.mqtt.client.Message;
-import org.fusesource.mqtt.client.QoS;
-import org.fusesource.mqtt.client.Topic;
-
 import java.io.Serializable;
 
 public class MqttConsumer extends AbstractMqttConnector implements
     EventConsumer<MqttTransportProtocol>,
     AutoCloseable, Serializable {
 
+  private transient MqttSubscription subscription;
+
   @Override
   public void connect(MqttTransportProtocol protocolSettings, InternalEventProcessor<byte[]> eventProcessor)
       throws SpRuntimeException {
-
+    this.createBrokerConnection(protocolSettings);
+    this.subscription = new MqttSubscription(topic, connection, eventProcessor);
     try {
-      this.createBrokerConnection(protocolSettings);
-      Topic[] topics = {new Topic(protocolSettings.getTopicDefinition().getActualTopicName(), QoS.AT_LEAST_ONCE)};
-      connection.subscribe(topics);
-      new Thread(new ConsumerThread(eventProcessor)).start();
-
-    } catch (Exception e) {
-      throw new SpRuntimeException(e);
-    }
-  }
-
-  private class ConsumerThread implements Runnable {
-
-    private final InternalEventProcessor<byte[]> eventProcessor;
-
-    public ConsumerThread(InternalEventProcessor<byte[]> eventProcessor) {
-      this.eventProcessor = eventProcessor;
-    }
-
-    @Override
-    public void run() {
-      try {
-        while (connected) {
-          Message message = connection.receive();
-          byte[] payload = message.getPayload();
-          eventProcessor.onEvent(payload);
-          message.ack();
-        }
-      } catch (Exception e) {
-        e.printStackTrace();
-      }
+      this.subscription.start();
+      this.connection.subscribe(topic, subscription);
+    } catch (SpRuntimeException e) {
+      this.subscription.stop();
+      this.releaseBrokerConnection();
+      throw e;
     }
   }
 
   @Override
   public void disconnect() throws SpRuntimeException {
     try {
-      this.connection.disconnect();
-    } catch (Exception e) {
-      throw new SpRuntimeException(e);
+      if (connected) {
+        this.connection.unsubscribe(topic, subscription);
+      }
     } finally {
-      this.connected = false;
+      if (subscription != null) {
+        subscription.stop();
+      }
+      this.releaseBrokerConnection();
     }
   }
 
@@ -15,53 +15,38 @@
  * limitations under the License.
  *
  */
+
 package org.apache.streampipes.messaging.mqtt;
 
 import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.apache.streampipes.messaging.DeliveryListener;
 import org.apache.streampipes.messaging.EventProducer;
 import org.apache.streampipes.model.grounding.MqttTransportProtocol;
 
-import org.fusesource.mqtt.client.QoS;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-
 public class MqttPublisher extends AbstractMqttConnector implements EventProducer<MqttTransportProtocol> {
 
-  private static final Logger LOG = LoggerFactory.getLogger(MqttPublisher.class);
-
-  private String currentTopic;
+  private transient volatile DeliveryListener deliveryListener;
 
   @Override
   public void connect(MqttTransportProtocol protocolSettings) throws SpRuntimeException {
-    try {
-      this.createBrokerConnection(protocolSettings);
-      this.currentTopic = protocolSettings.getTopicDefinition().getActualTopicName();
-    } catch (Exception e) {
-      throw new SpRuntimeException(e);
-    }
+    this.createBrokerConnection(protocolSettings);
   }
 
   @Override
   public void publish(byte[] event) {
-    if (connected && currentTopic != null) {
-      try {
-        this.connection.publish(currentTopic, event, QoS.AT_LEAST_ONCE, false);
-      } catch (Exception e) {
-        // TODO exception handling once system-wide logging is implemented
-        LOG.error(e.getMessage());
-      }
+    if (connected) {
+      this.connection.publish(topic, event, deliveryListener);
     }
   }
 
+  @Override
+  public void setDeliveryListener(DeliveryListener deliveryListener) {
+    this.deliveryListener = deliveryListener;
+  }
+
   @Override
   public void disconnect() throws SpRuntimeException {
-    try {
-      this.connection.disconnect();
-    } catch (Exception e) {
-      e.printStackTrace();
-    } finally {
-      this.connected = false;
-    }
+    this.releaseBrokerConnection();
   }
 
   @Override
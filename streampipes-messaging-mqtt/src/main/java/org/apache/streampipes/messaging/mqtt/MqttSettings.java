@@ -0,0 +1,82 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.messaging.mqtt;
+
+import org.apache.streampipes.commons.environment.Environment;
+import org.apache.streampipes.commons.environment.Environments;
+
+import org.fusesource.mqtt.client.QoS;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Settings shared by all MQTT connections of this service.
+ */
+public class MqttSettings {
+
+  private static final Logger LOG = LoggerFactory.getLogger(MqttSettings.class);
+
+  private final QoS qos;
+  private final int maxInflight;
+  private final int ackBatchSize;
+
+  MqttSettings(QoS qos,
+               int maxInflight,
+               int ackBatchSize) {
+    this.qos = qos;
+    this.maxInflight = maxInflight;
+    this.ackBatchSize = ackBatchSize;
+  }
+
+  public static MqttSettings fromEnvironment() {
+    Environment env = Environments.getEnvironment();
+    return new MqttSettings(
+        toQos(env.getMqttQos().getValueOrDefault()),
+        Math.max(1, env.getMqttMaxInflight().getValueOrDefault()),
+        Math.max(1, env.getMqttAckBatchSize().getValueOrDefault()));
+  }
+
+  private static QoS toQos(String qos) {
+    try {
+      return QoS.valueOf(qos.trim().toUpperCase());
+    } catch (IllegalArgumentException e) {
+      LOG.warn("Unknown MQTT QoS {}, using {}", qos, QoS.AT_LEAST_ONCE);
+      return QoS.AT_LEAST_ONCE;
+    }
+  }
+
+  public QoS getQos() {
+    return qos;
+  }
+
+  /**
+   * The maximum number of unacknowledged messages published over a connection, which is also the number of
+   * received messages a subscription buffers before backpressure is applied to it.
+   */
+  public int getMaxInflight() {
+    return maxInflight;
+  }
+
+  /**
+   * The maximum number of received messages which are processed and acknowledged together.
+   */
+  public int getAckBatchSize() {
+    return ackBatchSize;
+  }
+}
@@ -0,0 +1,276 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.messaging.mqtt;
+
+import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.apache.streampipes.messaging.DeliveryFailureAggregator;
+import org.apache.streampipes.messaging.DeliveryListener;
+
+import org.fusesource.hawtbuf.Buffer;
+import org.fusesource.hawtbuf.UTF8Buffer;
+import org.fusesource.mqtt.client.Callback;
+import org.fusesource.mqtt.client.CallbackConnection;
+import org.fusesource.mqtt.client.Listener;
+import org.fusesource.mqtt.client.MQTT;
+import org.fusesource.mqtt.client.Topic;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.URISyntaxException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A connection to an MQTT broker which is shared by all consumers and publishers of this service.
+ * Received messages are dispatched to all subscriptions whose topic filter matches the topic of the message and
+ * acknowledged once all of them have processed it. Several subscriptions may use the same topic filter, the
+ * filter is only subscribed at the broker once. All operations on the underlying callback connection are
+ * executed on its dispatch queue.
+ */
+public class MqttSharedConnection {
+
+  private static final Logger LOG = LoggerFactory.getLogger(MqttSharedConnection.class);
+  private static final long OPERATION_TIMEOUT_SECONDS = 10;
+
+  private final String brokerUrl;
+  private final MqttSettings settings;
+  private final CallbackConnection connection;
+  private final TopicFilterIndex<MqttSubscription> subscriptions;
+  private final Semaphore inflightPublishes;
+  private final DeliveryFailureAggregator deliveryFailures;
+  private final Object subscriptionLock = new Object();
+
+  MqttSharedConnection(String brokerUrl,
+                       MqttSettings settings) throws SpRuntimeException {
+    this.brokerUrl = brokerUrl;
+    this.settings = settings;
+    this.subscriptions = new TopicFilterIndex<>();
+    this.inflightPublishes = new Semaphore(settings.getMaxInflight());
+    this.deliveryFailures = new DeliveryFailureAggregator();
+    this.connection = makeConnection(brokerUrl);
+    this.connection.listener(new SubscriptionDispatcher());
+
+    CompletableFuture<Void> connected = new CompletableFuture<>();
+    execute(() -> connection.connect(toCallback(connected)));
+    await(connected, "connect to " + brokerUrl);
+    LOG.info("Connected to MQTT broker {}", brokerUrl);
+  }
+
+  private CallbackConnection makeConnection(String brokerUrl) throws SpRuntimeException {
+    try {
+      MQTT mqtt = new MQTT();
+      mqtt.setHost(brokerUrl);
+      return mqtt.callbackConnection();
+    } catch (URISyntaxException e) {
+      throw new SpRuntimeException(e);
+    }
+  }
+
+  public MqttSettings getSettings() {
+    return settings;
+  }
+
+  /**
+   * Adds a subscription to the given topic filter. The filter is subscribed at the broker for the first
+   * subscription only.
+   */
+  public void subscribe(String topic,
+                        MqttSubscription subscription) throws SpRuntimeException {
+    synchronized (subscriptionLock) {
+      if (!subscriptions.add(topic, subscription)) {
+        return;
+      }
+      CompletableFuture<byte[]> subscribed = new CompletableFuture<>();
+      Topic[] topics = {new Topic(topic, settings.getQos())};
+      execute(() -> connection.subscribe(topics, toCallback(subscribed)));
+      try {
+        await(subscribed, "subscribe to " + topic);
+      } catch (SpRuntimeException e) {
+        subscriptions.remove(topic, subscription);
+        throw e;
+      }
+    }
+  }
+
+  /**
+   * Removes a subscription from the given topic filter. The filter is unsubscribed at the broker once its last
+   * subscription has been removed.
+   */
+  public void unsubscribe(String topic,
+                          MqttSubscription subscription) throws SpRuntimeException {
+    synchronized (subscriptionLock) {
+      if (!subscriptions.remove(topic, subscription)) {
+        return;
+      }
+      CompletableFuture<Void> unsubscribed = new CompletableFuture<>();
+      UTF8Buffer[] topics = {new UTF8Buffer(topic)};
+      execute(() -> connection.unsubscribe(topics, toCallback(unsubscribed)));
+      await(unsubscribed, "unsubscribe from " + topic);
+    }
+  }
+
+  /**
+   * Publishes a message asynchronously. Blocks while the maximum number of unacknowledged messages is in flight,
+   * the message is reported as failed if no acknowledgement arrives within the operation timeout.
+   */
+  public void publish(String topic,
+                      byte[] payload,
+                      DeliveryListener deliveryListener) {
+    try {
+      if (!inflightPublishes.tryAcquire(OPERATION_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+        onDeliveryFailed(topic, deliveryListener, new SpRuntimeException(
+            "Timed out waiting for acknowledgements of messages in flight to " + brokerUrl));
+        return;
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return;
+    }
+    long start = System.nanoTime();
+    execute(() -> connection.publish(topic, payload, settings.getQos(), false, new Callback<>() {
+      @Override
+      public void onSuccess(Void value) {
+        inflightPublishes.release();
+        if (deliveryListener != null) {
+          deliveryListener.onDelivered(System.nanoTime() - start);
+        }
+      }
+
+      @Override
+      public void onFailure(Throwable value) {
+        inflightPublishes.release();
+        var cause = value instanceof Exception ? (Exception) value : new Exception(value);
+        onDeliveryFailed(topic, deliveryListener, cause);
+      }
+    }));
+  }
+
+  private void onDeliveryFailed(String topic,
+                                DeliveryListener deliveryListener,
+                                Exception cause) {
+    if (deliveryListener != null) {
+      deliveryListener.onDeliveryFailed(cause);
+    } else {
+      long failedDeliveries = deliveryFailures.recordFailure();
+      if (failedDeliveries > 0) {
+        LOG.warn("Could not publish {} message(s) to topic {}", failedDeliveries, topic, cause);
+      }
+    }
+  }
+
+  void acknowledge(List<Runnable> acks) {
+    execute(() -> acks.forEach(Runnable::run));
+  }
+
+  void disconnect() {
+    CompletableFuture<Void> disconnected = new CompletableFuture<>();
+    execute(() -> connection.disconnect(toCallback(disconnected)));
+    try {
+      await(disconnected, "disconnect from " + brokerUrl);
+      LOG.info("Disconnected from MQTT broker {}", brokerUrl);
+    } catch (SpRuntimeException e) {
+      LOG.warn("Could not cleanly disconnect from MQTT broker {}", brokerUrl, e);
+    }
+  }
+
+  String getBrokerUrl() {
+    return brokerUrl;
+  }
+
+  private void execute(Runnable task) {
+    connection.getDispatchQueue().execute(task);
+  }
+
+  private <T> void await(CompletableFuture<T> future,
+                         String operation) throws SpRuntimeException {
+    try {
+      future.get(OPERATION_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new SpRuntimeException("Interrupted while trying to " + operation);
+    } catch (ExecutionException | TimeoutException e) {
+      throw new SpRuntimeException("Could not " + operation + ": " + e.getMessage());
+    }
+  }
+
+  private static <T> Callback<T> toCallback(CompletableFuture<T> future) {
+    return new Callback<>() {
+      @Override
+      public void onSuccess(T value) {
+        future.complete(value);
+      }
+
+      @Override
+      public void onFailure(Throwable value) {
+        future.completeExceptionally(value);
+      }
+    };
+  }
+
+  /**
+   * Acknowledges a message once all subscriptions it was dispatched to have acknowledged it.
+   */
+  private static Runnable sharedAck(Runnable ack,
+                                    int subscriptionCount) {
+    var pending = new AtomicInteger(subscriptionCount);
+    return () -> {
+      if (pending.decrementAndGet() == 0) {
+        ack.run();
+      }
+    };
+  }
+
+  private class SubscriptionDispatcher implements Listener {
+
+    @Override
+    public void onConnected() {
+      LOG.info("Connection to MQTT broker {} established", brokerUrl);
+    }
+
+    @Override
+    public void onDisconnected() {
+      LOG.info("Connection to MQTT broker {} lost", brokerUrl);
+    }
+
+    @Override
+    public void onPublish(UTF8Buffer topic,
+                          Buffer body,
+                          Runnable ack) {
+      var matchingSubscriptions = subscriptions.find(topic.toString());
+      if (matchingSubscriptions.isEmpty()) {
+        ack.run();
+      } else if (matchingSubscriptions.size() == 1) {
+        matchingSubscriptions.get(0).enqueue(body.toByteArray(), ack);
+      } else {
+        var subscriptionAck = sharedAck(ack, matchingSubscriptions.size());
+        matchingSubscriptions.forEach(subscription -> subscription.enqueue(body.toByteArray(), subscriptionAck));
+      }
+    }
+
+    @Override
+    public void onFailure(Throwable value) {
+      LOG.error("Connection to MQTT broker {} failed", brokerUrl, value);
+    }
+  }
+}
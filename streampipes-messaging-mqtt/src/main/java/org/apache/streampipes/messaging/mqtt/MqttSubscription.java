@@ -0,0 +1,185 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.messaging.mqtt;
+
+import org.apache.streampipes.messaging.InternalEventProcessor;
+
+import org.fusesource.mqtt.client.QoS;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Delivers the messages received for a topic to an event processor on a dedicated thread.
+ * Messages are handed over in batches and acknowledged once the whole batch has been processed. If more than
+ * the configured number of messages is buffered, backpressure is applied to this subscription only, other
+ * subscriptions of the shared connection keep receiving messages: with QoS 1 or 2, the buffered messages remain
+ * unacknowledged, so the broker stops sending further messages once its window of unacknowledged messages is
+ * exhausted. With QoS 0, which the broker does not throttle, further messages are dropped until the buffer has
+ * been drained to half of its capacity.
+ */
+public class MqttSubscription {
+
+  private static final Logger LOG = LoggerFactory.getLogger(MqttSubscription.class);
+  private static final long POLL_TIMEOUT_MS = 100;
+
+  private final String topic;
+  private final Consumer<List<Runnable>> acknowledger;
+  private final InternalEventProcessor<byte[]> eventProcessor;
+  private final BlockingQueue<Delivery> queue;
+  private final int capacity;
+  private final int ackBatchSize;
+  private final boolean dropOnFullBuffer;
+  private final AtomicBoolean full;
+  private final AtomicLong droppedMessages;
+  private final Thread worker;
+
+  private volatile boolean running;
+
+  public MqttSubscription(String topic,
+                          MqttSharedConnection connection,
+                          InternalEventProcessor<byte[]> eventProcessor) {
+    this(topic, connection.getSettings(), connection::acknowledge, eventProcessor);
+  }
+
+  MqttSubscription(String topic,
+                   MqttSettings settings,
+                   Consumer<List<Runnable>> acknowledger,
+                   InternalEventProcessor<byte[]> eventProcessor) {
+    this.topic = topic;
+    this.acknowledger = acknowledger;
+    this.eventProcessor = eventProcessor;
+    this.queue = new LinkedBlockingQueue<>();
+    this.capacity = settings.getMaxInflight();
+    this.ackBatchSize = settings.getAckBatchSize();
+    this.dropOnFullBuffer = settings.getQos() == QoS.AT_MOST_ONCE;
+    this.full = new AtomicBoolean(false);
+    this.droppedMessages = new AtomicLong();
+    this.worker = new Thread(this::processQueue, "sp-mqtt-consumer-" + topic);
+    this.worker.setDaemon(true);
+  }
+
+  public void start() {
+    this.running = true;
+    this.worker.start();
+  }
+
+  public void stop() {
+    this.running = false;
+    // the event processor may stop the subscription from within the worker thread
+    if (Thread.currentThread() != worker) {
+      try {
+        this.worker.join(TimeUnit.SECONDS.toMillis(5));
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+    // acknowledge messages which will not be processed anymore, as they might be shared with other subscriptions
+    List<Delivery> remaining = new ArrayList<>();
+    queue.drainTo(remaining);
+    if (!remaining.isEmpty()) {
+      acknowledge(remaining);
+    }
+  }
+
+  /**
+   * Called from the dispatch queue of the shared connection, must not block.
+   */
+  void enqueue(byte[] payload,
+               Runnable ack) {
+    if (full.get() && dropOnFullBuffer) {
+      droppedMessages.incrementAndGet();
+      ack.run();
+      return;
+    }
+    queue.add(new Delivery(payload, ack));
+    if (queue.size() >= capacity && full.compareAndSet(false, true)) {
+      LOG.debug("Buffer of MQTT subscription {} is full", topic);
+    }
+  }
+
+  long getDroppedMessages() {
+    return droppedMessages.get();
+  }
+
+  private void processQueue() {
+    List<Delivery> batch = new ArrayList<>(ackBatchSize);
+    List<byte[]> events = new ArrayList<>(ackBatchSize);
+    while (running) {
+      try {
+        var delivery = queue.poll(POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        if (delivery == null) {
+          continue;
+        }
+        batch.add(delivery);
+        queue.drainTo(batch, ackBatchSize - 1);
+        batch.forEach(d -> events.add(d.payload));
+        process(events);
+        acknowledge(batch);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      } finally {
+        batch.clear();
+        events.clear();
+      }
+      if (queue.size() <= capacity / 2 && full.compareAndSet(true, false) && droppedMessages.get() > 0) {
+        LOG.warn("Dropped {} message(s) of MQTT topic {} in total due to a full buffer", droppedMessages.get(), topic);
+      }
+    }
+  }
+
+  private void process(List<byte[]> events) {
+    try {
+      if (events.size() == 1) {
+        eventProcessor.onEvent(events.get(0));
+      } else {
+        eventProcessor.onEvents(new ArrayList<>(events));
+      }
+    } catch (RuntimeException e) {
+      LOG.error("Could not process messages of MQTT topic {}", topic, e);
+    }
+  }
+
+  private void acknowledge(List<Delivery> batch) {
+    List<Runnable> acks = new ArrayList<>(batch.size());
+    batch.forEach(d -> acks.add(d.ack));
+    acknowledger.accept(acks);
+  }
+
+  private static class Delivery {
+
+    private final byte[] payload;
+    private final Runnable ack;
+
+    Delivery(byte[] payload,
+             Runnable ack) {
+      this.payload = payload;
+      this.ack = ack;
+    }
+  }
+}
@@ -0,0 +1,67 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.messaging.mqtt;
+
+/**
+ * Matching of MQTT topic names against topic filters with the wildcards {@code +} and {@code #}.
+ * As defined by the MQTT specification, topics starting with {@code $} are not matched by filters starting
+ * with a wildcard.
+ */
+public class MqttTopics {
+
+  private static final String LEVEL_SEPARATOR = "/";
+  private static final String SINGLE_LEVEL_WILDCARD = "+";
+  private static final String MULTI_LEVEL_WILDCARD = "#";
+  private static final String SYSTEM_TOPIC_PREFIX = "$";
+
+  private MqttTopics() {
+  }
+
+  public static boolean matches(String filter,
+                                String topic) {
+    String[] filterLevels = filter.split(LEVEL_SEPARATOR, -1);
+    String[] topicLevels = topic.split(LEVEL_SEPARATOR, -1);
+    if (topic.startsWith(SYSTEM_TOPIC_PREFIX) && isWildcard(filterLevels[0])) {
+      return false;
+    }
+    for (int i = 0; i < filterLevels.length; i++) {
+      if (MULTI_LEVEL_WILDCARD.equals(filterLevels[i])) {
+        return true;
+      }
+      if (i >= topicLevels.length) {
+        return false;
+      }
+      if (!SINGLE_LEVEL_WILDCARD.equals(filterLevels[i]) && !filterLevels[i].equals(topicLevels[i])) {
+        return false;
+      }
+    }
+    return filterLevels.length == topicLevels.length;
+  }
+
+  /**
+   * @return true if the topic filter contains a wildcard and may thus match other topics than itself
+   */
+  public static boolean isWildcardFilter(String filter) {
+    return filter.contains(SINGLE_LEVEL_WILDCARD) || filter.contains(MULTI_LEVEL_WILDCARD);
+  }
+
+  private static boolean isWildcard(String level) {
+    return SINGLE_LEVEL_WILDCARD.equals(level) || MULTI_LEVEL_WILDCARD.equals(level);
+  }
+}
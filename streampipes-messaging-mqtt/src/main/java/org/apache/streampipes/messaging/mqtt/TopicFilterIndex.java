@@ -0,0 +1,87 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.messaging.mqtt;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Finds the subscriptions whose topic filter matches the topic of a received message. Filters without
+ * wildcards are looked up directly, only filters with wildcards are matched one by one. Lookups may run
+ * concurrently to modifications, modifications must be synchronized by the caller.
+ */
+class TopicFilterIndex<T> {
+
+  private final Map<String, List<T>> exactFilters;
+  private final Map<String, List<T>> wildcardFilters;
+
+  TopicFilterIndex() {
+    this.exactFilters = new ConcurrentHashMap<>();
+    this.wildcardFilters = new ConcurrentHashMap<>();
+  }
+
+  /**
+   * @return true if the added subscriber is the first subscriber of the topic filter
+   */
+  boolean add(String filter,
+              T subscriber) {
+    var subscribers = filtersOf(filter).computeIfAbsent(filter, key -> new CopyOnWriteArrayList<>());
+    subscribers.add(subscriber);
+    return subscribers.size() == 1;
+  }
+
+  /**
+   * @return true if the removed subscriber was the last subscriber of the topic filter
+   */
+  boolean remove(String filter,
+                 T subscriber) {
+    var filters = filtersOf(filter);
+    var subscribers = filters.get(filter);
+    if (subscribers == null || !subscribers.remove(subscriber)) {
+      return false;
+    }
+    if (subscribers.isEmpty()) {
+      filters.remove(filter);
+      return true;
+    }
+    return false;
+  }
+
+  List<T> find(String topic) {
+    var exactSubscribers = exactFilters.getOrDefault(topic, Collections.emptyList());
+    if (wildcardFilters.isEmpty()) {
+      return exactSubscribers;
+    }
+    List<T> subscribers = new ArrayList<>(exactSubscribers);
+    wildcardFilters.forEach((filter, filterSubscribers) -> {
+      if (MqttTopics.matches(filter, topic)) {
+        subscribers.addAll(filterSubscribers);
+      }
+    });
+    return subscribers;
+  }
+
+  private Map<String, List<T>> filtersOf(String filter) {
+    return MqttTopics.isWildcardFilter(filter) ? wildcardFilters : exactFilters;
+  }
+}
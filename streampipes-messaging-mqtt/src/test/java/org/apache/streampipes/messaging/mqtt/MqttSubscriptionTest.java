@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.messaging.mqtt;
+
+import org.fusesource.mqtt.client.QoS;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+
+public class MqttSubscriptionTest {
+
+  private static final int CAPACITY = 2;
+
+  private final List<byte[]> processed = new CopyOnWriteArrayList<>();
+  private final AtomicInteger acknowledged = new AtomicInteger();
+
+  @Test
+  public void testFullBufferDropsMessagesWithQosZero() throws InterruptedException {
+    var subscription = makeSubscription(QoS.AT_MOST_ONCE);
+    for (int i = 0; i < 4; i++) {
+      subscription.enqueue(new byte[]{(byte) i}, acknowledged::incrementAndGet);
+    }
+
+    assertEquals(2, acknowledged.get());
+    assertEquals(2, subscription.getDroppedMessages());
+
+    awaitAcknowledged(subscription, 4);
+    assertEquals(2, processed.size());
+  }
+
+  @Test
+  public void testFullBufferKeepsMessagesUnacknowledgedWithQosOne() throws InterruptedException {
+    var subscription = makeSubscription(QoS.AT_LEAST_ONCE);
+    for (int i = 0; i < 4; i++) {
+      subscription.enqueue(new byte[]{(byte) i}, acknowledged::incrementAndGet);
+    }
+
+    assertEquals(0, acknowledged.get());
+    assertEquals(0, subscription.getDroppedMessages());
+
+    awaitAcknowledged(subscription, 4);
+    assertEquals(4, processed.size());
+  }
+
+  private MqttSubscription makeSubscription(QoS qos) {
+    return new MqttSubscription(
+        "sensors/temperature",
+        new MqttSettings(qos, CAPACITY, 10),
+        acks -> acks.forEach(Runnable::run),
+        processed::add);
+  }
+
+  private void awaitAcknowledged(MqttSubscription subscription,
+                                 int expected) throws InterruptedException {
+    subscription.start();
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (acknowledged.get() < expected && System.nanoTime() < deadline) {
+      Thread.sleep(10);
+    }
+    subscription.stop();
+    assertEquals(expected, acknowledged.get());
+  }
+}
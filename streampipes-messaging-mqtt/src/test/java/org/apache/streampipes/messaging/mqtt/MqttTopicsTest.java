@@ -0,0 +1,60 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.messaging.mqtt;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class MqttTopicsTest {
+
+  @Test
+  public void testExactMatch() {
+    assertTrue(MqttTopics.matches("sensors/temperature", "sensors/temperature"));
+    assertFalse(MqttTopics.matches("sensors/temperature", "sensors/humidity"));
+    assertFalse(MqttTopics.matches("sensors/temperature", "sensors/temperature/1"));
+    assertFalse(MqttTopics.matches("sensors/temperature/1", "sensors/temperature"));
+  }
+
+  @Test
+  public void testSingleLevelWildcard() {
+    assertTrue(MqttTopics.matches("sensors/+/value", "sensors/temperature/value"));
+    assertTrue(MqttTopics.matches("sensors/+", "sensors/"));
+    assertTrue(MqttTopics.matches("+/+", "/sensors"));
+    assertFalse(MqttTopics.matches("sensors/+", "sensors"));
+    assertFalse(MqttTopics.matches("sensors/+", "sensors/temperature/value"));
+  }
+
+  @Test
+  public void testMultiLevelWildcard() {
+    assertTrue(MqttTopics.matches("#", "sensors/temperature"));
+    assertTrue(MqttTopics.matches("sensors/#", "sensors/temperature/value"));
+    assertTrue(MqttTopics.matches("sensors/#", "sensors"));
+    assertTrue(MqttTopics.matches("sensors/+/#", "sensors/temperature"));
+    assertFalse(MqttTopics.matches("sensors/#", "devices/temperature"));
+  }
+
+  @Test
+  public void testSystemTopicsAreNotMatchedByLeadingWildcards() {
+    assertFalse(MqttTopics.matches("#", "$SYS/broker/uptime"));
+    assertFalse(MqttTopics.matches("+/broker/uptime", "$SYS/broker/uptime"));
+    assertTrue(MqttTopics.matches("$SYS/#", "$SYS/broker/uptime"));
+  }
+}
@@ -0,0 +1,58 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.messaging.mqtt;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TopicFilterIndexTest {
+
+  @Test
+  public void testExactAndWildcardFilters() {
+    var index = new TopicFilterIndex<String>();
+    index.add("sensors/temperature", "exact");
+    index.add("sensors/+", "single");
+    index.add("sensors/#", "multi");
+    index.add("devices/temperature", "other");
+
+    assertEquals(3, index.find("sensors/temperature").size());
+    assertTrue(index.find("sensors/temperature").containsAll(List.of("exact", "single", "multi")));
+    assertEquals(List.of("multi"), index.find("sensors/temperature/1"));
+    assertEquals(List.of("other"), index.find("devices/temperature"));
+    assertTrue(index.find("devices/humidity").isEmpty());
+  }
+
+  @Test
+  public void testFirstAndLastSubscriberOfFilter() {
+    var index = new TopicFilterIndex<String>();
+    assertTrue(index.add("sensors/+", "a"));
+    assertFalse(index.add("sensors/+", "b"));
+
+    assertFalse(index.remove("sensors/+", "a"));
+    assertFalse(index.remove("sensors/+", "a"));
+    assertEquals(List.of("b"), index.find("sensors/temperature"));
+    assertTrue(index.remove("sensors/+", "b"));
+    assertTrue(index.find("sensors/temperature").isEmpty());
+  }
+}
@@ -29,6 +29,8 @@ import io.nats.client.Dispatcher;
 import io.nats.client.Subscription;
 
 import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.concurrent.TimeoutException;
 
 public class NatsConsumer extends AbstractNatsConnector implements EventConsumer<NatsTransportProtocol> {
@@ -71,7 +73,14 @@ public class NatsConsumer extends AbstractNatsConnector implements EventConsumer
   private void createSubscription(InternalEventProcessor<byte[]> eventProcessor) {
     dispatcher = natsConnection.createDispatcher((message) -> {});
 
-    this.subscription = dispatcher.subscribe(subject, (message) ->
-        eventProcessor.onEvent(message.getData()));
+    this.subscription = dispatcher.subscribe(subject, (message) -> {
+      if (message.hasHeaders()) {
+        Map<String, String> headers = new HashMap<>();
+        message.getHeaders().forEach((name, values) -> headers.put(name, values.get(0)));
+        eventProcessor.onEvent(message.getData(), headers);
+      } else {
+        eventProcessor.onEvent(message.getData());
+      }
+    });
   }
 }
@@ -0,0 +1,58 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.messaging;
+
+import java.io.Serializable;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counts failed deliveries of a producer, so that failures are reported at most once per interval instead of
+ * once per event, e.g., while a broker is unavailable.
+ */
+public class DeliveryFailureAggregator implements Serializable {
+
+  public static final long DEFAULT_REPORT_INTERVAL_MS = 10000;
+
+  private final long reportIntervalMs;
+  private final AtomicLong failedDeliveries = new AtomicLong();
+  private final AtomicLong lastReport = new AtomicLong(Long.MIN_VALUE);
+
+  public DeliveryFailureAggregator() {
+    this(DEFAULT_REPORT_INTERVAL_MS);
+  }
+
+  public DeliveryFailureAggregator(long reportIntervalMs) {
+    this.reportIntervalMs = reportIntervalMs;
+  }
+
+  /**
+   * Records a failed delivery.
+   *
+   * @return the number of failed deliveries since the last report if a report is due, 0 otherwise
+   */
+  public long recordFailure() {
+    long now = System.currentTimeMillis();
+    failedDeliveries.incrementAndGet();
+    long previousReport = lastReport.get();
+    if (previousReport != Long.MIN_VALUE && now - previousReport < reportIntervalMs) {
+      return 0;
+    }
+    return lastReport.compareAndSet(previousReport, now) ? failedDeliveries.getAndSet(0) : 0;
+  }
+}
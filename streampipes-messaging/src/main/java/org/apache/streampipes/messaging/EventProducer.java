@@ -22,6 +22,7 @@ import org.apache.streampipes.commons.exceptions.SpRuntimeException;
 import org.apache.streampipes.model.grounding.TransportProtocol;
 
 import java.io.Serializable;
+import java.util.Map;
 
 public interface EventProducer<T extends TransportProtocol> extends Serializable {
 
@@ -29,6 +30,33 @@ public interface EventProducer<T extends TransportProtocol> extends Serializable
 
   void publish(byte[] event);
 
+  /**
+   * Publishes an event together with a key that determines its partition.
+   * Producers of protocols without partitions ignore the key.
+   */
+  default void publish(String key, byte[] event) {
+    publish(event);
+  }
+
+  /**
+   * Publishes an event together with an optional partition key and message headers. Producers of protocols
+   * without message headers drop the headers.
+   */
+  default void publish(String key, byte[] event, Map<String, String> headers) {
+    if (key != null) {
+      publish(key, event);
+    } else {
+      publish(event);
+    }
+  }
+
+  /**
+   * Registers a listener which is notified about the outcome of each publish operation.
+   * Producers which do not report deliveries ignore the listener.
+   */
+  default void setDeliveryListener(DeliveryListener deliveryListener) {
+  }
+
   void disconnect() throws SpRuntimeException;
 
   boolean isConnected();
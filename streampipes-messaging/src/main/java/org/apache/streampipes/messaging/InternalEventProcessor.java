@@ -18,7 +18,26 @@
 
 package org.apache.streampipes.messaging;
 
+import java.util.List;
+import java.util.Map;
+
 public interface InternalEventProcessor<T> {
 
   void onEvent(T event);
+
+  /**
+   * Receives an event together with the message headers it was published with. Consumers call this method only
+   * for messages which carry headers.
+   */
+  default void onEvent(T event, Map<String, String> headers) {
+    onEvent(event);
+  }
+
+  /**
+   * Receives all events of a single poll at once. Consumers which receive events in batches call this method,
+   * processors which do not support batches fall back to processing the events one by one.
+   */
+  default void onEvents(List<T> events) {
+    events.forEach(this::onEvent);
+  }
 }
@@ -0,0 +1,73 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.model.datalake;
+
+import org.apache.streampipes.model.shared.annotation.TsModel;
+
+/**
+ * Value range and number of values of a numeric field of a data lake measure.
+ */
+@TsModel
+public class DataLakeFieldStatistics {
+
+  private Double min;
+  private Double max;
+  private long count;
+
+  public DataLakeFieldStatistics() {
+  }
+
+  public DataLakeFieldStatistics(Double min,
+                                 Double max,
+                                 long count) {
+    this.min = min;
+    this.max = max;
+    this.count = count;
+  }
+
+  public void merge(DataLakeFieldStatistics other) {
+    this.min = min == null ? other.getMin() : (other.getMin() == null ? min : Math.min(min, other.getMin()));
+    this.max = max == null ? other.getMax() : (other.getMax() == null ? max : Math.max(max, other.getMax()));
+    this.count += other.getCount();
+  }
+
+  public Double getMin() {
+    return min;
+  }
+
+  public void setMin(Double min) {
+    this.min = min;
+  }
+
+  public Double getMax() {
+    return max;
+  }
+
+  public void setMax(Double max) {
+    this.max = max;
+  }
+
+  public long getCount() {
+    return count;
+  }
+
+  public void setCount(long count) {
+    this.count = count;
+  }
+}
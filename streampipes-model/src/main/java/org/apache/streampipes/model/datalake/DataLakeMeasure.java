@@ -27,6 +27,8 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import com.google.gson.annotations.SerializedName;
 
+import java.util.List;
+
 @JsonTypeInfo(use = JsonTypeInfo.Id.CLASS, property = "@class")
 @TsModel
 public class DataLakeMeasure {
@@ -49,6 +51,16 @@ public class DataLakeMeasure {
 
   private String schemaVersion;
 
+  // optional write buffer settings, the environment defaults are used if not set
+  private Integer writeBatchSize;
+  private Integer writeLingerMs;
+
+  // optional downsampling tiers, maintained while writing and used by the query planner
+  private List<DataLakeRollupTier> rollupTiers;
+
+  // maintained by the data lake sink, null if no statistics are available (yet)
+  private DataLakeMeasureStatistics statistics;
+
   public DataLakeMeasure() {
     super();
   }
@@ -118,6 +130,38 @@ public class DataLakeMeasure {
     this.schemaVersion = schemaVersion;
   }
 
+  public Integer getWriteBatchSize() {
+    return writeBatchSize;
+  }
+
+  public void setWriteBatchSize(Integer writeBatchSize) {
+    this.writeBatchSize = writeBatchSize;
+  }
+
+  public Integer getWriteLingerMs() {
+    return writeLingerMs;
+  }
+
+  public void setWriteLingerMs(Integer writeLingerMs) {
+    this.writeLingerMs = writeLingerMs;
+  }
+
+  public List<DataLakeRollupTier> getRollupTiers() {
+    return rollupTiers;
+  }
+
+  public void setRollupTiers(List<DataLakeRollupTier> rollupTiers) {
+    this.rollupTiers = rollupTiers;
+  }
+
+  public DataLakeMeasureStatistics getStatistics() {
+    return statistics;
+  }
+
+  public void setStatistics(DataLakeMeasureStatistics statistics) {
+    this.statistics = statistics;
+  }
+
   public String getTimestampField() {
     return timestampField;
   }
@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.model.datalake;
+
+import org.apache.streampipes.model.shared.annotation.TsModel;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Statistics of a data lake measure which are maintained while writing, so that queries can be planned
+ * without probing the time series storage. The row count is approximate, e.g., events which are dropped by the
+ * write buffer are still counted.
+ */
+@TsModel
+public class DataLakeMeasureStatistics {
+
+  private Long firstTimestamp;
+  private Long lastTimestamp;
+  private long rowCount;
+  private Map<String, DataLakeFieldStatistics> fields;
+
+  public DataLakeMeasureStatistics() {
+    this.fields = new HashMap<>();
+  }
+
+  public DataLakeMeasureStatistics(Long firstTimestamp,
+                                   Long lastTimestamp,
+                                   long rowCount,
+                                   Map<String, DataLakeFieldStatistics> fields) {
+    this.firstTimestamp = firstTimestamp;
+    this.lastTimestamp = lastTimestamp;
+    this.rowCount = rowCount;
+    this.fields = fields;
+  }
+
+  /**
+   * Adds the statistics of other rows of the same measure, e.g., the rows written since the last update.
+   */
+  public void merge(DataLakeMeasureStatistics other) {
+    if (other.getFirstTimestamp() != null) {
+      this.firstTimestamp = firstTimestamp == null
+          ? other.getFirstTimestamp() : Math.min(firstTimestamp, other.getFirstTimestamp());
+    }
+    if (other.getLastTimestamp() != null) {
+      this.lastTimestamp = lastTimestamp == null
+          ? other.getLastTimestamp() : Math.max(lastTimestamp, other.getLastTimestamp());
+    }
+    this.rowCount += other.getRowCount();
+    if (other.getFields() != null) {
+      if (fields == null) {
+        fields = new HashMap<>();
+      }
+      other.getFields().forEach((field, statistics) -> fields.merge(field,
+          new DataLakeFieldStatistics(statistics.getMin(), statistics.getMax(), statistics.getCount()),
+          (existing, added) -> {
+            existing.merge(added);
+            return existing;
+          }));
+    }
+  }
+
+  public Long getFirstTimestamp() {
+    return firstTimestamp;
+  }
+
+  public void setFirstTimestamp(Long firstTimestamp) {
+    this.firstTimestamp = firstTimestamp;
+  }
+
+  public Long getLastTimestamp() {
+    return lastTimestamp;
+  }
+
+  public void setLastTimestamp(Long lastTimestamp) {
+    this.lastTimestamp = lastTimestamp;
+  }
+
+  public long getRowCount() {
+    return rowCount;
+  }
+
+  public void setRowCount(long rowCount) {
+    this.rowCount = rowCount;
+  }
+
+  public Map<String, DataLakeFieldStatistics> getFields() {
+    return fields;
+  }
+
+  public void setFields(Map<String, DataLakeFieldStatistics> fields) {
+    this.fields = fields;
+  }
+}
@@ -0,0 +1,74 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.model.datalake;
+
+import org.apache.streampipes.model.shared.annotation.TsModel;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Downsampling tier of a data lake measure. For each bucket of the given interval (an InfluxDB duration such as
+ * 1m, 1h or 1d), the configured aggregations (MEAN, MIN, MAX, COUNT, SUM) of all numeric fields are stored in a
+ * separate rollup measurement. Rollups only contain the events which were written after the tier was created, older
+ * data is always queried from the raw measurement.
+ */
+@TsModel
+public class DataLakeRollupTier {
+
+  private String interval;
+  private List<String> aggregations;
+
+  // creation time of the tier in epoch milliseconds, 0 if unknown
+  private long createdAt;
+
+  public DataLakeRollupTier() {
+    this.aggregations = new ArrayList<>();
+  }
+
+  public DataLakeRollupTier(String interval,
+                            List<String> aggregations) {
+    this.interval = interval;
+    this.aggregations = aggregations;
+  }
+
+  public String getInterval() {
+    return interval;
+  }
+
+  public void setInterval(String interval) {
+    this.interval = interval;
+  }
+
+  public List<String> getAggregations() {
+    return aggregations;
+  }
+
+  public void setAggregations(List<String> aggregations) {
+    this.aggregations = aggregations;
+  }
+
+  public long getCreatedAt() {
+    return createdAt;
+  }
+
+  public void setCreatedAt(long createdAt) {
+    this.createdAt = createdAt;
+  }
+}
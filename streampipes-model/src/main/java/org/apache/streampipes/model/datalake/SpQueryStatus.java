@@ -20,5 +20,6 @@ package org.apache.streampipes.model.datalake;
 
 public enum SpQueryStatus {
   OK,
-  TOO_MUCH_DATA
+  TOO_MUCH_DATA,
+  ERROR
 }
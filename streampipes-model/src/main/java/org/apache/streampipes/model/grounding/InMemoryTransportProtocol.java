@@ -0,0 +1,73 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.model.grounding;
+
+import org.apache.streampipes.model.util.Cloner;
+
+/**
+ * Transport protocol for pipeline elements which run in the same extensions service instance. Events are handed
+ * over in memory without serialization. The broker protocol which was originally selected for the connection is
+ * kept, so that the connection can fall back to it and, if enabled, events are mirrored to the broker (e.g., for
+ * live previews).
+ */
+public class InMemoryTransportProtocol extends TransportProtocol {
+
+  private TransportProtocol brokerProtocol;
+  private boolean mirrorToBroker;
+
+  public InMemoryTransportProtocol(TransportProtocol brokerProtocol,
+                                   boolean mirrorToBroker) {
+    super(null, new SimpleTopicDefinition(brokerProtocol.getTopicDefinition().getActualTopicName()));
+    this.brokerProtocol = brokerProtocol;
+    this.mirrorToBroker = mirrorToBroker;
+  }
+
+  public InMemoryTransportProtocol(InMemoryTransportProtocol other) {
+    super(other);
+    if (other.getBrokerProtocol() != null) {
+      this.brokerProtocol = new Cloner().protocol(other.getBrokerProtocol());
+    }
+    this.mirrorToBroker = other.isMirrorToBroker();
+  }
+
+  public InMemoryTransportProtocol() {
+    super();
+  }
+
+  public TransportProtocol getBrokerProtocol() {
+    return brokerProtocol;
+  }
+
+  public void setBrokerProtocol(TransportProtocol brokerProtocol) {
+    this.brokerProtocol = brokerProtocol;
+  }
+
+  public boolean isMirrorToBroker() {
+    return mirrorToBroker;
+  }
+
+  public void setMirrorToBroker(boolean mirrorToBroker) {
+    this.mirrorToBroker = mirrorToBroker;
+  }
+
+  @Override
+  public String toString() {
+    return "in-memory:" + getTopicDefinition().getActualTopicName();
+  }
+}
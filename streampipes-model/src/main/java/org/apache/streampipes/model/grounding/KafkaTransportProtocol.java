@@ -42,6 +42,18 @@ public class KafkaTransportProtocol extends TransportProtocol {
 
   private String groupId;
 
+  private Integer partitions;
+
+  private Integer replicationFactor;
+
+  private String partitionKey;
+
+  private Integer consumerThreads;
+
+  private String producerProfile;
+
+  private String compressionType;
+
   public KafkaTransportProtocol(String kafkaHost, int kafkaPort, String topic) {
     super(kafkaHost, new SimpleTopicDefinition(topic));
     this.zookeeperHost = kafkaHost;
@@ -69,6 +81,12 @@ public class KafkaTransportProtocol extends TransportProtocol {
     this.maxRequestSize = other.getMaxRequestSize();
     this.messageMaxBytes = other.getMessageMaxBytes();
     this.offset = other.getOffset();
+    this.partitions = other.getPartitions();
+    this.replicationFactor = other.getReplicationFactor();
+    this.partitionKey = other.getPartitionKey();
+    this.consumerThreads = other.getConsumerThreads();
+    this.producerProfile = other.getProducerProfile();
+    this.compressionType = other.getCompressionType();
   }
 
   public KafkaTransportProtocol(String kafkaHost, Integer kafkaPort, WildcardTopicDefinition wildcardTopicDefinition) {
@@ -165,4 +183,64 @@ public class KafkaTransportProtocol extends TransportProtocol {
   public void setMaxRequestSize(String maxRequestSize) {
     this.maxRequestSize = maxRequestSize;
   }
+
+  public Integer getPartitions() {
+    return partitions;
+  }
+
+  public void setPartitions(Integer partitions) {
+    this.partitions = partitions;
+  }
+
+  public Integer getReplicationFactor() {
+    return replicationFactor;
+  }
+
+  public void setReplicationFactor(Integer replicationFactor) {
+    this.replicationFactor = replicationFactor;
+  }
+
+  /**
+   * The runtime name of the event property whose value is used as the record key.
+   * Events with the same key are written to the same partition and are consumed in order.
+   */
+  public String getPartitionKey() {
+    return partitionKey;
+  }
+
+  public void setPartitionKey(String partitionKey) {
+    this.partitionKey = partitionKey;
+  }
+
+  /**
+   * The number of consumers started in the same consumer group, each of which is assigned
+   * a share of the topic's partitions.
+   */
+  public Integer getConsumerThreads() {
+    return consumerThreads;
+  }
+
+  public void setConsumerThreads(Integer consumerThreads) {
+    this.consumerThreads = consumerThreads;
+  }
+
+  /**
+   * The name of the producer profile (e.g., LOW_LATENCY or HIGH_THROUGHPUT) which provides the defaults
+   * for batching, linger time and compression. Explicitly set values take precedence over the profile.
+   */
+  public String getProducerProfile() {
+    return producerProfile;
+  }
+
+  public void setProducerProfile(String producerProfile) {
+    this.producerProfile = producerProfile;
+  }
+
+  public String getCompressionType() {
+    return compressionType;
+  }
+
+  public void setCompressionType(String compressionType) {
+    this.compressionType = compressionType;
+  }
 }
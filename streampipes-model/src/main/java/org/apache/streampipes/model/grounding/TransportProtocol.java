@@ -25,6 +25,7 @@ import com.fasterxml.jackson.annotation.JsonSubTypes;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
 
 @JsonSubTypes({
+    @JsonSubTypes.Type(InMemoryTransportProtocol.class),
     @JsonSubTypes.Type(JmsTransportProtocol.class),
     @JsonSubTypes.Type(KafkaTransportProtocol.class),
     @JsonSubTypes.Type(MqttTransportProtocol.class),
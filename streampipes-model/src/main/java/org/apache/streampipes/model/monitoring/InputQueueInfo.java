@@ -0,0 +1,61 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.model.monitoring;
+
+public class InputQueueInfo {
+
+  private long capacity;
+  private long size;
+  private long droppedMessages;
+
+  public InputQueueInfo() {
+  }
+
+  public InputQueueInfo(long capacity,
+                        long size,
+                        long droppedMessages) {
+    this.capacity = capacity;
+    this.size = size;
+    this.droppedMessages = droppedMessages;
+  }
+
+  public long getCapacity() {
+    return capacity;
+  }
+
+  public void setCapacity(long capacity) {
+    this.capacity = capacity;
+  }
+
+  public long getSize() {
+    return size;
+  }
+
+  public void setSize(long size) {
+    this.size = size;
+  }
+
+  public long getDroppedMessages() {
+    return droppedMessages;
+  }
+
+  public void setDroppedMessages(long droppedMessages) {
+    this.droppedMessages = droppedMessages;
+  }
+}
@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.model.monitoring;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Periodically sent by an extensions service to the core to report changes of its running pipeline element
+ * instances. A snapshot heartbeat contains all running instances, while subsequent heartbeats only contain the
+ * instances added or removed since the previous heartbeat with the preceding sequence number.
+ */
+public class RunningInstancesHeartbeat {
+
+  private String serviceId;
+  private String serviceUrl;
+  private long sequence;
+  private boolean snapshot;
+  private List<String> addedInstances;
+  private List<String> removedInstances;
+
+  public RunningInstancesHeartbeat() {
+    this.addedInstances = new ArrayList<>();
+    this.removedInstances = new ArrayList<>();
+  }
+
+  public RunningInstancesHeartbeat(String serviceId,
+                                   String serviceUrl,
+                                   long sequence,
+                                   boolean snapshot,
+                                   List<String> addedInstances,
+                                   List<String> removedInstances) {
+    this.serviceId = serviceId;
+    this.serviceUrl = serviceUrl;
+    this.sequence = sequence;
+    this.snapshot = snapshot;
+    this.addedInstances = addedInstances;
+    this.removedInstances = removedInstances;
+  }
+
+  public String getServiceId() {
+    return serviceId;
+  }
+
+  public void setServiceId(String serviceId) {
+    this.serviceId = serviceId;
+  }
+
+  public String getServiceUrl() {
+    return serviceUrl;
+  }
+
+  public void setServiceUrl(String serviceUrl) {
+    this.serviceUrl = serviceUrl;
+  }
+
+  public long getSequence() {
+    return sequence;
+  }
+
+  public void setSequence(long sequence) {
+    this.sequence = sequence;
+  }
+
+  public boolean isSnapshot() {
+    return snapshot;
+  }
+
+  public void setSnapshot(boolean snapshot) {
+    this.snapshot = snapshot;
+  }
+
+  public List<String> getAddedInstances() {
+    return addedInstances;
+  }
+
+  public void setAddedInstances(List<String> addedInstances) {
+    this.addedInstances = addedInstances;
+  }
+
+  public List<String> getRemovedInstances() {
+    return removedInstances;
+  }
+
+  public void setRemovedInstances(List<String> removedInstances) {
+    this.removedInstances = removedInstances;
+  }
+}
@@ -0,0 +1,58 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.model.monitoring;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The number of pipeline elements which share each input and output collector of an extensions service.
+ */
+public class SharedCollectorInfo {
+
+  private Map<String, Integer> inputCollectors;
+  private Map<String, Integer> outputCollectors;
+
+  public SharedCollectorInfo() {
+    this.inputCollectors = new HashMap<>();
+    this.outputCollectors = new HashMap<>();
+  }
+
+  public SharedCollectorInfo(Map<String, Integer> inputCollectors,
+                             Map<String, Integer> outputCollectors) {
+    this.inputCollectors = inputCollectors;
+    this.outputCollectors = outputCollectors;
+  }
+
+  public Map<String, Integer> getInputCollectors() {
+    return inputCollectors;
+  }
+
+  public void setInputCollectors(Map<String, Integer> inputCollectors) {
+    this.inputCollectors = inputCollectors;
+  }
+
+  public Map<String, Integer> getOutputCollectors() {
+    return outputCollectors;
+  }
+
+  public void setOutputCollectors(Map<String, Integer> outputCollectors) {
+    this.outputCollectors = outputCollectors;
+  }
+}
@@ -20,7 +20,9 @@ package org.apache.streampipes.model.monitoring;
 
 import org.apache.streampipes.model.shared.annotation.TsModel;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @TsModel
@@ -29,10 +31,24 @@ public class SpMetricsEntry {
   private long lastTimestamp;
   private Map<String, MessageCounter> messagesIn;
   private MessageCounter messagesOut;
+  private Map<String, InputQueueInfo> inputQueues;
+  private Map<String, OutputBufferInfo> outputBuffers;
+  private List<ThroughputSample> throughput;
+  private LatencyInfo processingLatency;
+  private LatencyInfo transportLatency;
+  private LatencyInfo endToEndLatency;
+  private LatencyInfo outputLatency;
 
   public SpMetricsEntry() {
     this.messagesIn = new HashMap<>();
     this.messagesOut = new MessageCounter();
+    this.inputQueues = new HashMap<>();
+    this.outputBuffers = new HashMap<>();
+    this.throughput = new ArrayList<>();
+    this.processingLatency = new LatencyInfo();
+    this.transportLatency = new LatencyInfo();
+    this.endToEndLatency = new LatencyInfo();
+    this.outputLatency = new LatencyInfo();
   }
 
   public long getLastTimestamp() {
@@ -59,6 +75,62 @@ public class SpMetricsEntry {
     this.messagesOut = messagesOut;
   }
 
+  public Map<String, InputQueueInfo> getInputQueues() {
+    return inputQueues;
+  }
+
+  public void setInputQueues(Map<String, InputQueueInfo> inputQueues) {
+    this.inputQueues = inputQueues;
+  }
+
+  public Map<String, OutputBufferInfo> getOutputBuffers() {
+    return outputBuffers;
+  }
+
+  public void setOutputBuffers(Map<String, OutputBufferInfo> outputBuffers) {
+    this.outputBuffers = outputBuffers;
+  }
+
+  public List<ThroughputSample> getThroughput() {
+    return throughput;
+  }
+
+  public void setThroughput(List<ThroughputSample> throughput) {
+    this.throughput = throughput;
+  }
+
+  public LatencyInfo getProcessingLatency() {
+    return processingLatency;
+  }
+
+  public void setProcessingLatency(LatencyInfo processingLatency) {
+    this.processingLatency = processingLatency;
+  }
+
+  public LatencyInfo getTransportLatency() {
+    return transportLatency;
+  }
+
+  public void setTransportLatency(LatencyInfo transportLatency) {
+    this.transportLatency = transportLatency;
+  }
+
+  public LatencyInfo getEndToEndLatency() {
+    return endToEndLatency;
+  }
+
+  public void setEndToEndLatency(LatencyInfo endToEndLatency) {
+    this.endToEndLatency = endToEndLatency;
+  }
+
+  public LatencyInfo getOutputLatency() {
+    return outputLatency;
+  }
+
+  public void setOutputLatency(LatencyInfo outputLatency) {
+    this.outputLatency = outputLatency;
+  }
+
   public void addOutMetrics(long lastTimestamp) {
     this.messagesOut.setLastTimestamp(lastTimestamp);
     this.messagesOut.setCounter(this.messagesOut.getCounter() + 1);
@@ -78,6 +150,13 @@ public class SpMetricsEntry {
   public void reset() {
     this.lastTimestamp = 0;
     this.messagesIn.clear();
+    this.inputQueues.clear();
+    this.outputBuffers.clear();
+    this.throughput.clear();
+    this.processingLatency = new LatencyInfo();
+    this.transportLatency = new LatencyInfo();
+    this.endToEndLatency = new LatencyInfo();
+    this.outputLatency = new LatencyInfo();
     this.messagesOut.setCounter(0);
     this.messagesOut.setLastTimestamp(0);
   }
@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.model.pipeline;
+
+import org.apache.streampipes.model.shared.annotation.TsModel;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@TsModel
+public class BulkPipelineOperationStatus {
+
+  private String operationId;
+  private String operationType;
+  private int totalPipelines;
+  private int completedPipelines;
+  private int failedPipelines;
+  private boolean finished;
+  private long startedAt;
+  private long finishedAt;
+
+  private List<PipelineOperationStatus> pipelineStatus;
+
+  public BulkPipelineOperationStatus() {
+    this.pipelineStatus = new ArrayList<>();
+  }
+
+  public String getOperationId() {
+    return operationId;
+  }
+
+  public void setOperationId(String operationId) {
+    this.operationId = operationId;
+  }
+
+  public String getOperationType() {
+    return operationType;
+  }
+
+  public void setOperationType(String operationType) {
+    this.operationType = operationType;
+  }
+
+  public int getTotalPipelines() {
+    return totalPipelines;
+  }
+
+  public void setTotalPipelines(int totalPipelines) {
+    this.totalPipelines = totalPipelines;
+  }
+
+  public int getCompletedPipelines() {
+    return completedPipelines;
+  }
+
+  public void setCompletedPipelines(int completedPipelines) {
+    this.completedPipelines = completedPipelines;
+  }
+
+  public int getFailedPipelines() {
+    return failedPipelines;
+  }
+
+  public void setFailedPipelines(int failedPipelines) {
+    this.failedPipelines = failedPipelines;
+  }
+
+  public boolean isFinished() {
+    return finished;
+  }
+
+  public void setFinished(boolean finished) {
+    this.finished = finished;
+  }
+
+  public long getStartedAt() {
+    return startedAt;
+  }
+
+  public void setStartedAt(long startedAt) {
+    this.startedAt = startedAt;
+  }
+
+  public long getFinishedAt() {
+    return finishedAt;
+  }
+
+  public void setFinishedAt(long finishedAt) {
+    this.finishedAt = finishedAt;
+  }
+
+  public List<PipelineOperationStatus> getPipelineStatus() {
+    return pipelineStatus;
+  }
+
+  public void setPipelineStatus(List<PipelineOperationStatus> pipelineStatus) {
+    this.pipelineStatus = pipelineStatus;
+  }
+}
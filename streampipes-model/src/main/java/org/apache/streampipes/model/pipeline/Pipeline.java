@@ -47,6 +47,8 @@ public class Pipeline extends ElementComposition {
 
   private PipelineHealthStatus healthStatus;
 
+  private PipelineKafkaSettings kafkaSettings;
+
   @JsonProperty("_id")
   private @SerializedName("_id")
   String pipelineId;
@@ -159,6 +161,14 @@ public class Pipeline extends ElementComposition {
     this.healthStatus = healthStatus;
   }
 
+  public PipelineKafkaSettings getKafkaSettings() {
+    return kafkaSettings;
+  }
+
+  public void setKafkaSettings(PipelineKafkaSettings kafkaSettings) {
+    this.kafkaSettings = kafkaSettings;
+  }
+
   public Pipeline clone() {
     Pipeline pipeline = new Pipeline();
     pipeline.setName(name);
@@ -171,6 +181,7 @@ public class Pipeline extends ElementComposition {
     pipeline.setCreatedAt(createdAt);
     pipeline.setPipelineId(pipelineId);
     pipeline.setHealthStatus(healthStatus);
+    pipeline.setKafkaSettings(kafkaSettings != null ? new PipelineKafkaSettings(kafkaSettings) : null);
     pipeline.setPipelineNotifications(pipelineNotifications);
     pipeline.setRev(rev);
     return pipeline;
@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package org.apache.streampipes.model.pipeline;
+
+/**
+ * Kafka settings of the topics of a pipeline. Settings which are not set fall back to the defaults of the
+ * Kafka producer and consumer.
+ */
+public class PipelineKafkaSettings {
+
+  private Integer partitions;
+  private Integer replicationFactor;
+  private Integer consumerThreads;
+  private String partitionKey;
+
+  public PipelineKafkaSettings() {
+  }
+
+  public PipelineKafkaSettings(PipelineKafkaSettings other) {
+    this.partitions = other.getPartitions();
+    this.replicationFactor = other.getReplicationFactor();
+    this.consumerThreads = other.getConsumerThreads();
+    this.partitionKey = other.getPartitionKey();
+  }
+
+  /**
+   * The number of partitions of the topics created for the pipeline.
+   */
+  public Integer getPartitions() {
+    return partitions;
+  }
+
+  public void setPartitions(Integer partitions) {
+    this.partitions = partitions;
+  }
+
+  public Integer getReplicationFactor() {
+    return replicationFactor;
+  }
+
+  public void setReplicationFactor(Integer replicationFactor) {
+    this.replicationFactor = replicationFactor;
+  }
+
+  /**
+   * The number of consumers each pipeline element starts for each of its input topics.
+   */
+  public Integer getConsumerThreads() {
+    return consumerThreads;
+  }
+
+  public void setConsumerThreads(Integer consumerThreads) {
+    this.consumerThreads = consumerThreads;
+  }
+
+  /**
+   * The runtime name of the event property whose value is used as record key, so that events with the same
+   * key are written to the same partition. Events without this property are published without key.
+   */
+  public String getPartitionKey() {
+    return partitionKey;
+  }
+
+  public void setPartitionKey(String partitionKey) {
+    this.partitionKey = partitionKey;
+  }
+}
@@ -33,6 +33,7 @@ public class Event {
   private final Map<String, AbstractField> fieldMap;
   private SourceInfo sourceInfo;
   private SchemaInfo schemaInfo;
+  private EventTrace trace;
 
   public Event(Map<String, AbstractField> fieldMap, SourceInfo
       sourceInfo, SchemaInfo schemaInfo) {
@@ -66,11 +67,32 @@ public class Event {
     return schemaInfo;
   }
 
+  /**
+   * @return the latency trace of this event if the event was sampled for tracing, null otherwise
+   */
+  public EventTrace getTrace() {
+    return trace;
+  }
+
+  public void setTrace(EventTrace trace) {
+    this.trace = trace;
+  }
+
   public Event merge(Event otherEvent, EventSchema outputSchema) {
     return EventFactory.fromEvents(this, otherEvent, outputSchema);
   }
 
   public Optional<AbstractField> getOptionalFieldByRuntimeName(String runtimeName) {
+    if (fieldMap instanceof SlotFieldMap) {
+      SlotFieldMap slotFieldMap = (SlotFieldMap) fieldMap;
+      int index = slotFieldMap.getLayout().indexOfRuntimeName(runtimeName);
+      if (index >= 0) {
+        AbstractField field = slotFieldMap.getSlot(index);
+        if (field != null && field.getFieldNameIn().equals(runtimeName)) {
+          return Optional.of(field);
+        }
+      }
+    }
     return fieldMap
         .entrySet()
         .stream()
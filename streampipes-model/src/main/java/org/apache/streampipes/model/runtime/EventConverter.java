@@ -35,7 +35,7 @@ public class EventConverter {
   }
 
   public Map<String, Object> toMap(Boolean renameProperties) {
-    Map<String, Object> outMap = new HashMap<>();
+    Map<String, Object> outMap = makeMap(event.getFields().size());
 
     event.getFields()
         .forEach((key, value) -> outMap.put(getValue(value, renameProperties), makeEntry(value, renameProperties)));
@@ -61,7 +61,7 @@ public class EventConverter {
       }
       return objects;
     } else {
-      Map<String, Object> outMap = new HashMap<>();
+      Map<String, Object> outMap = makeMap(value.getAsComposite().getRawValue().size());
       value.getAsComposite()
           .getRawValue()
           .forEach(
@@ -70,6 +70,10 @@ public class EventConverter {
     }
   }
 
+  private Map<String, Object> makeMap(int size) {
+    return new HashMap<>((int) (size / 0.75f) + 1);
+  }
+
   private String getValue(AbstractField field, Boolean renameProperties) {
     return renameProperties ? field.getFieldNameOut() : field.getFieldNameIn();
   }
@@ -66,20 +66,67 @@ public class EventFactory {
                               SourceInfo sourceInfo,
                               SchemaInfo schemaInfo) {
 
-    Map<String, AbstractField> fields = new LinkedTreeMap<>();
-    String selectorPrefix = sourceInfo.getSelectorPrefix();
+    EventSchemaLayout layout = findLayout(sourceInfo, schemaInfo);
+    Map<String, AbstractField> fields;
 
-    event.keySet().forEach(key -> {
-      String currentSelector = makeSelector(key, selectorPrefix);
-      fields.put(currentSelector, makeField(key, event.get(key), currentSelector, schemaInfo));
-    });
+    if (layout != null) {
+      fields = makeSlotFieldMap(event, layout, schemaInfo);
+    } else {
+      fields = new LinkedTreeMap<>();
+      String selectorPrefix = sourceInfo.getSelectorPrefix();
+
+      event.keySet().forEach(key -> {
+        String currentSelector = makeSelector(key, selectorPrefix);
+        fields.put(currentSelector, makeField(key, event.get(key), currentSelector, schemaInfo));
+      });
+    }
+
+    Event result = new Event(fields, sourceInfo, schemaInfo);
+    Object trace = event.get(EventTrace.TRACE_FIELD);
+    if (trace instanceof Map) {
+      fields.remove(makeSelector(EventTrace.TRACE_FIELD, sourceInfo.getSelectorPrefix()));
+      result.setTrace(EventTrace.fromMap((Map<String, Object>) trace));
+    }
+    return result;
+  }
+
+  /**
+   * @return the compiled layout of the schema info if it matches the selector prefix of the source, null otherwise
+   */
+  public static EventSchemaLayout findLayout(SourceInfo sourceInfo, SchemaInfo schemaInfo) {
+    EventSchemaLayout layout = schemaInfo.getLayout();
+    return layout != null && layout.getSelectorPrefix().equals(sourceInfo.getSelectorPrefix()) ? layout : null;
+  }
+
+  /**
+   * Creates an empty field map for one level of an event, backed by the given layout if present.
+   */
+  public static Map<String, AbstractField> newFieldMap(EventSchemaLayout layout) {
+    return layout != null ? new SlotFieldMap(layout) : new LinkedTreeMap<>();
+  }
 
-    return new Event(fields, sourceInfo, schemaInfo);
+  private static Map<String, AbstractField> makeSlotFieldMap(Map<String, Object> items,
+                                                             EventSchemaLayout layout,
+                                                             SchemaInfo schemaInfo) {
+    SlotFieldMap fieldMap = new SlotFieldMap(layout);
+    items.forEach((key, value) -> {
+      int index = layout.indexOfRuntimeName(key);
+      if (index >= 0) {
+        fieldMap.putSlot(index, makeField(key, value, layout.getSelector(index), layout.getOutputName(index),
+            layout.getNestedLayout(index), schemaInfo));
+      } else {
+        String selector = makeSelector(key, layout.getSelectorPrefix());
+        fieldMap.put(selector, makeField(key, value, selector, schemaInfo));
+      }
+    });
+    return fieldMap;
   }
 
   public static Event makeSubset(Event event, List<String> fieldSelectors) {
     Map<String, AbstractField> fieldMap = makeFieldMap(event.getFields(), fieldSelectors);
-    return new Event(fieldMap, event.getSourceInfo(), event.getSchemaInfo());
+    Event subset = new Event(fieldMap, event.getSourceInfo(), event.getSchemaInfo());
+    subset.setTrace(event.getTrace());
+    return subset;
   }
 
   private static Map<String, Object> makeRuntimeMapSubset(Map<String, Object> event, List<String>
@@ -124,39 +171,37 @@ public class EventFactory {
 
   private static AbstractField makeField(String runtimeName, Object o, String currentSelector,
                                          SchemaInfo schemaInfo) {
+    return makeField(runtimeName, o, currentSelector, schemaInfo.getNewRuntimeName(currentSelector,
+        runtimeName), null, schemaInfo);
+  }
+
+  private static AbstractField makeField(String runtimeName, Object o, String currentSelector,
+                                         String newRuntimeName, EventSchemaLayout nestedLayout,
+                                         SchemaInfo schemaInfo) {
     if (o instanceof Map) {
       Map<String, Object> items = (Map<String, Object>) o;
-      Map<String, AbstractField> fieldMap = new LinkedTreeMap<>();
-      items.forEach((key, value) -> {
-        String selector = makeSelector(key, currentSelector);
-        fieldMap.put(selector, makeField(key, value, selector, schemaInfo));
-      });
-      return new NestedField(runtimeName, getNewRuntimeName(currentSelector, runtimeName,
-          schemaInfo.getRenameRules()),
-          fieldMap);
+      Map<String, AbstractField> fieldMap;
+      if (nestedLayout != null) {
+        fieldMap = makeSlotFieldMap(items, nestedLayout, schemaInfo);
+      } else {
+        fieldMap = new LinkedTreeMap<>();
+        items.forEach((key, value) -> {
+          String selector = makeSelector(key, currentSelector);
+          fieldMap.put(selector, makeField(key, value, selector, schemaInfo));
+        });
+      }
+      return new NestedField(runtimeName, newRuntimeName, fieldMap);
     } else if (o instanceof List) {
       List<AbstractField> items = new ArrayList<>();
       for (Integer i = 0; i < ((List) o).size(); i++) {
         items.add(makeField("", ((List) o).get(i), currentSelector + "::" + i, schemaInfo));
       }
-      return new ListField(runtimeName, getNewRuntimeName(currentSelector, runtimeName, schemaInfo
-          .getRenameRules()), items);
+      return new ListField(runtimeName, newRuntimeName, items);
     } else {
-      return new PrimitiveField(runtimeName, getNewRuntimeName(currentSelector, runtimeName,
-          schemaInfo.getRenameRules()), o);
+      return new PrimitiveField(runtimeName, newRuntimeName, o);
     }
   }
 
-  private static String getNewRuntimeName(String currentSelector, String
-      runtimeName, List<PropertyRenameRule>
-                                              renameRules) {
-    return renameRules
-        .stream()
-        .filter(r -> r.getRuntimeId().equals(currentSelector))
-        .findFirst()
-        .map(PropertyRenameRule::getNewRuntimeName).orElse(runtimeName);
-  }
-
   private static String makeSelector(String key, String selectorPrefix) {
     return selectorPrefix + PropertySelectorConstants.PROPERTY_DELIMITER + key;
   }
@@ -0,0 +1,125 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.model.runtime;
+
+import org.apache.streampipes.model.constants.PropertySelectorConstants;
+import org.apache.streampipes.model.schema.EventProperty;
+import org.apache.streampipes.model.schema.EventPropertyNested;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Field-slot layout of one level of an event schema, compiled once when a pipeline element is bound.
+ * Each property of the level is assigned a fixed slot index together with its precomputed selector
+ * and (renamed) output name, so that events can be built without selector concatenation or
+ * rename rule lookups per field.
+ */
+public class EventSchemaLayout implements Serializable {
+
+  private final String selectorPrefix;
+  private final String[] runtimeNames;
+  private final String[] selectors;
+  private final String[] outputNames;
+  private final EventSchemaLayout[] nestedLayouts;
+
+  private final Map<String, Integer> runtimeNameIndex;
+  private final Map<String, Integer> selectorIndex;
+
+  private EventSchemaLayout(String selectorPrefix,
+                            List<EventProperty> eventProperties,
+                            Map<String, String> renameRules) {
+    int size = eventProperties.size();
+    this.selectorPrefix = selectorPrefix;
+    this.runtimeNames = new String[size];
+    this.selectors = new String[size];
+    this.outputNames = new String[size];
+    this.nestedLayouts = new EventSchemaLayout[size];
+    this.runtimeNameIndex = new HashMap<>(capacityFor(size));
+    this.selectorIndex = new HashMap<>(capacityFor(size));
+
+    for (int i = 0; i < size; i++) {
+      EventProperty property = eventProperties.get(i);
+      String runtimeName = property.getRuntimeName();
+      String selector = selectorPrefix + PropertySelectorConstants.PROPERTY_DELIMITER + runtimeName;
+
+      runtimeNames[i] = runtimeName;
+      selectors[i] = selector;
+      outputNames[i] = renameRules.getOrDefault(selector, runtimeName);
+      if (property instanceof EventPropertyNested) {
+        nestedLayouts[i] = new EventSchemaLayout(selector,
+            ((EventPropertyNested) property).getEventProperties(),
+            renameRules);
+      }
+      runtimeNameIndex.putIfAbsent(runtimeName, i);
+      selectorIndex.putIfAbsent(selector, i);
+    }
+  }
+
+  public static EventSchemaLayout compile(List<EventProperty> eventProperties,
+                                          String selectorPrefix,
+                                          Map<String, String> renameRules) {
+    return new EventSchemaLayout(selectorPrefix, eventProperties, renameRules);
+  }
+
+  public String getSelectorPrefix() {
+    return selectorPrefix;
+  }
+
+  public int size() {
+    return runtimeNames.length;
+  }
+
+  /**
+   * @return the slot index of the given runtime name on this level or -1 if it is not part of the schema
+   */
+  public int indexOfRuntimeName(String runtimeName) {
+    Integer index = runtimeNameIndex.get(runtimeName);
+    return index != null ? index : -1;
+  }
+
+  /**
+   * @return the slot index of the given selector on this level or -1 if it is not part of the schema
+   */
+  public int indexOfSelector(String selector) {
+    Integer index = selectorIndex.get(selector);
+    return index != null ? index : -1;
+  }
+
+  public String getRuntimeName(int index) {
+    return runtimeNames[index];
+  }
+
+  public String getSelector(int index) {
+    return selectors[index];
+  }
+
+  public String getOutputName(int index) {
+    return outputNames[index];
+  }
+
+  public EventSchemaLayout getNestedLayout(int index) {
+    return nestedLayouts[index];
+  }
+
+  private static int capacityFor(int size) {
+    return (int) (size / 0.75f) + 1;
+  }
+}
@@ -0,0 +1,201 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.model.runtime;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Latency trace of a sampled event. The trace is started when an adapter publishes the event and records a hop
+ * for each pipeline element the event passes, consisting of the time the element dequeued the event and the time
+ * it published the resulting event. Between services, the trace is transported in the message header
+ * {@link #TRACE_HEADER}, so that the event payload seen by other consumers is not changed. Protocols without
+ * message headers do not transport traces. Within a service, raw events carry the trace in the reserved field
+ * {@link #TRACE_FIELD}, which is removed from the event fields when the event is created.
+ * As timestamps are taken on different hosts, latencies between hops are subject to clock skew.
+ */
+public class EventTrace implements Serializable {
+
+  public static final String TRACE_FIELD = "__sp_trace";
+  public static final String TRACE_HEADER = "sp_trace";
+
+  private static final String HOP_SEPARATOR = "|";
+  private static final String VALUE_SEPARATOR = " ";
+
+  private static final String INGEST = "ingest";
+  private static final String HOPS = "hops";
+  private static final String ELEMENT = "element";
+  private static final String DEQUEUED = "dequeued";
+  private static final String ENQUEUED = "enqueued";
+
+  private final long ingestTimestamp;
+  private final List<TraceHop> hops;
+
+  private String currentElementId;
+  private long currentDequeued;
+
+  private EventTrace(long ingestTimestamp,
+                     List<TraceHop> hops) {
+    this.ingestTimestamp = ingestTimestamp;
+    this.hops = hops;
+  }
+
+  /**
+   * Starts a new trace for an event published by the given element (e.g., an adapter).
+   */
+  public static EventTrace start(String elementId,
+                                 long timestamp) {
+    List<TraceHop> hops = new ArrayList<>();
+    hops.add(new TraceHop(elementId, timestamp, timestamp));
+    return new EventTrace(timestamp, hops);
+  }
+
+  public static EventTrace fromMap(Map<String, Object> trace) {
+    List<TraceHop> hops = new ArrayList<>();
+    Object rawHops = trace.get(HOPS);
+    if (rawHops instanceof List) {
+      for (Object rawHop : (List<?>) rawHops) {
+        if (rawHop instanceof Map) {
+          Map<?, ?> hop = (Map<?, ?>) rawHop;
+          hops.add(new TraceHop(String.valueOf(hop.get(ELEMENT)),
+              toLong(hop.get(DEQUEUED)),
+              toLong(hop.get(ENQUEUED))));
+        }
+      }
+    }
+    return new EventTrace(toLong(trace.get(INGEST)), hops);
+  }
+
+  /**
+   * Parses a trace from its header representation created by {@link #toHeader()}.
+   */
+  public static EventTrace fromHeader(String header) {
+    String[] parts = header.split(Pattern.quote(HOP_SEPARATOR));
+    List<TraceHop> hops = new ArrayList<>(parts.length - 1);
+    for (int i = 1; i < parts.length; i++) {
+      String[] values = parts[i].split(VALUE_SEPARATOR);
+      if (values.length == 3) {
+        hops.add(new TraceHop(values[0], Long.parseLong(values[1]), Long.parseLong(values[2])));
+      }
+    }
+    return new EventTrace(Long.parseLong(parts[0]), hops);
+  }
+
+  /**
+   * @return the compact representation of this trace which is sent as message header, consisting of the ingest
+   *     timestamp followed by the element id, dequeue and enqueue timestamp of each hop
+   */
+  public String toHeader() {
+    StringBuilder header = new StringBuilder().append(ingestTimestamp);
+    for (TraceHop hop : hops) {
+      header.append(HOP_SEPARATOR)
+          .append(hop.getElementId()).append(VALUE_SEPARATOR)
+          .append(hop.getDequeued()).append(VALUE_SEPARATOR)
+          .append(hop.getEnqueued());
+    }
+    return header.toString();
+  }
+
+  public Map<String, Object> toMap() {
+    List<Map<String, Object>> rawHops = new ArrayList<>(hops.size());
+    for (TraceHop hop : hops) {
+      Map<String, Object> rawHop = new HashMap<>();
+      rawHop.put(ELEMENT, hop.getElementId());
+      rawHop.put(DEQUEUED, hop.getDequeued());
+      rawHop.put(ENQUEUED, hop.getEnqueued());
+      rawHops.add(rawHop);
+    }
+    Map<String, Object> trace = new HashMap<>();
+    trace.put(INGEST, ingestTimestamp);
+    trace.put(HOPS, rawHops);
+    return trace;
+  }
+
+  public long getIngestTimestamp() {
+    return ingestTimestamp;
+  }
+
+  public List<TraceHop> getHops() {
+    return Collections.unmodifiableList(hops);
+  }
+
+  /**
+   * @return the time the event was published by the previous hop
+   */
+  public long getLastEnqueued() {
+    return hops.isEmpty() ? ingestTimestamp : hops.get(hops.size() - 1).getEnqueued();
+  }
+
+  /**
+   * Marks the event as dequeued by the given element, the hop is completed once the element publishes an event.
+   */
+  public void dequeued(String elementId,
+                       long timestamp) {
+    this.currentElementId = elementId;
+    this.currentDequeued = timestamp;
+  }
+
+  /**
+   * @return a copy of this trace with the current hop completed at the given timestamp
+   */
+  public EventTrace enqueued(long timestamp) {
+    List<TraceHop> newHops = new ArrayList<>(hops.size() + 1);
+    newHops.addAll(hops);
+    if (currentElementId != null) {
+      newHops.add(new TraceHop(currentElementId, currentDequeued, timestamp));
+    }
+    return new EventTrace(ingestTimestamp, newHops);
+  }
+
+  private static long toLong(Object value) {
+    return value instanceof Number ? ((Number) value).longValue() : 0;
+  }
+
+  public static class TraceHop implements Serializable {
+
+    private final String elementId;
+    private final long dequeued;
+    private final long enqueued;
+
+    public TraceHop(String elementId,
+                    long dequeued,
+                    long enqueued) {
+      this.elementId = elementId;
+      this.dequeued = dequeued;
+      this.enqueued = enqueued;
+    }
+
+    public String getElementId() {
+      return elementId;
+    }
+
+    public long getDequeued() {
+      return dequeued;
+    }
+
+    public long getEnqueued() {
+      return enqueued;
+    }
+  }
+}
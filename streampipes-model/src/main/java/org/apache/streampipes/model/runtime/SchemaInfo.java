@@ -21,17 +21,35 @@ import org.apache.streampipes.model.output.PropertyRenameRule;
 import org.apache.streampipes.model.schema.EventSchema;
 
 import java.io.Serializable;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 public class SchemaInfo implements Serializable {
 
   private EventSchema eventSchema;
   private List<PropertyRenameRule> renameRules;
+  private Map<String, String> renameRuleMap;
+  private EventSchemaLayout layout;
 
   public SchemaInfo(EventSchema eventSchema, List<PropertyRenameRule> renameRules) {
     this.eventSchema = eventSchema;
     this.renameRules = renameRules;
+    this.renameRuleMap = makeRenameRuleMap(renameRules);
+  }
+
+  /**
+   * Creates a schema info with a precompiled field-slot layout for events whose selectors start with
+   * the given prefix.
+   */
+  public SchemaInfo(EventSchema eventSchema,
+                    List<PropertyRenameRule> renameRules,
+                    String selectorPrefix) {
+    this(eventSchema, renameRules);
+    if (eventSchema != null && eventSchema.getEventProperties() != null) {
+      this.layout = EventSchemaLayout.compile(eventSchema.getEventProperties(), selectorPrefix, renameRuleMap);
+    }
   }
 
   public EventSchema getEventSchema() {
@@ -42,6 +60,22 @@ public class SchemaInfo implements Serializable {
     return renameRules;
   }
 
+  public String getNewRuntimeName(String selector, String runtimeName) {
+    return renameRuleMap.getOrDefault(selector, runtimeName);
+  }
+
+  public EventSchemaLayout getLayout() {
+    return layout;
+  }
+
+  private Map<String, String> makeRenameRuleMap(List<PropertyRenameRule> renameRules) {
+    Map<String, String> ruleMap = new HashMap<>();
+    if (renameRules != null) {
+      renameRules.forEach(rule -> ruleMap.putIfAbsent(rule.getRuntimeId(), rule.getNewRuntimeName()));
+    }
+    return ruleMap;
+  }
+
   @Override
   public boolean equals(Object o) {
     if (this == o) {
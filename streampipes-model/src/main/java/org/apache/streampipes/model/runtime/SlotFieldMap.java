@@ -0,0 +1,197 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.model.runtime;
+
+import org.apache.streampipes.model.runtime.field.AbstractField;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Field map backed by a flat slot array laid out by an {@link EventSchemaLayout}.
+ * Fields that are not part of the compiled schema (e.g., fields added by a processor) are kept in an
+ * overflow map, so that the map behaves like any other field map of an {@link Event}.
+ */
+class SlotFieldMap extends AbstractMap<String, AbstractField> {
+
+  private final EventSchemaLayout layout;
+  private final AbstractField[] slots;
+  private final boolean[] present;
+  private Map<String, AbstractField> overflow;
+  private int slotCount;
+
+  SlotFieldMap(EventSchemaLayout layout) {
+    this.layout = layout;
+    this.slots = new AbstractField[layout.size()];
+    this.present = new boolean[layout.size()];
+  }
+
+  EventSchemaLayout getLayout() {
+    return layout;
+  }
+
+  void putSlot(int index, AbstractField field) {
+    if (!present[index]) {
+      present[index] = true;
+      slotCount++;
+    }
+    slots[index] = field;
+  }
+
+  AbstractField getSlot(int index) {
+    return slots[index];
+  }
+
+  @Override
+  public AbstractField get(Object key) {
+    int index = indexOf(key);
+    if (index >= 0) {
+      return slots[index];
+    }
+    return overflow != null ? overflow.get(key) : null;
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    int index = indexOf(key);
+    if (index >= 0) {
+      return present[index];
+    }
+    return overflow != null && overflow.containsKey(key);
+  }
+
+  @Override
+  public AbstractField put(String key, AbstractField value) {
+    int index = indexOf(key);
+    if (index >= 0) {
+      AbstractField previous = slots[index];
+      putSlot(index, value);
+      return previous;
+    }
+    if (overflow == null) {
+      overflow = new LinkedHashMap<>();
+    }
+    return overflow.put(key, value);
+  }
+
+  @Override
+  public AbstractField remove(Object key) {
+    int index = indexOf(key);
+    if (index >= 0) {
+      AbstractField previous = slots[index];
+      clearSlot(index);
+      return previous;
+    }
+    return overflow != null ? overflow.remove(key) : null;
+  }
+
+  @Override
+  public int size() {
+    return slotCount + (overflow != null ? overflow.size() : 0);
+  }
+
+  @Override
+  public Set<Entry<String, AbstractField>> entrySet() {
+    return new AbstractSet<>() {
+      @Override
+      public Iterator<Entry<String, AbstractField>> iterator() {
+        return new SlotIterator();
+      }
+
+      @Override
+      public int size() {
+        return SlotFieldMap.this.size();
+      }
+    };
+  }
+
+  private void clearSlot(int index) {
+    if (present[index]) {
+      present[index] = false;
+      slotCount--;
+      slots[index] = null;
+    }
+  }
+
+  private int indexOf(Object key) {
+    return key instanceof String ? layout.indexOfSelector((String) key) : -1;
+  }
+
+  private class SlotIterator implements Iterator<Entry<String, AbstractField>> {
+
+    private int nextSlot = -1;
+    private int lastSlot = -1;
+    private Iterator<Entry<String, AbstractField>> overflowIterator;
+
+    SlotIterator() {
+      advance();
+    }
+
+    @Override
+    public boolean hasNext() {
+      return nextSlot < slots.length || (overflowIterator != null && overflowIterator.hasNext());
+    }
+
+    @Override
+    public Entry<String, AbstractField> next() {
+      if (nextSlot < slots.length) {
+        lastSlot = nextSlot;
+        advance();
+        return new SimpleEntry<>(layout.getSelector(lastSlot), slots[lastSlot]) {
+          @Override
+          public AbstractField setValue(AbstractField value) {
+            putSlot(layout.indexOfSelector(getKey()), value);
+            return super.setValue(value);
+          }
+        };
+      }
+      if (overflowIterator != null) {
+        lastSlot = -1;
+        return overflowIterator.next();
+      }
+      throw new NoSuchElementException();
+    }
+
+    @Override
+    public void remove() {
+      if (lastSlot >= 0) {
+        clearSlot(lastSlot);
+        lastSlot = -1;
+      } else if (overflowIterator != null) {
+        overflowIterator.remove();
+      } else {
+        throw new IllegalStateException();
+      }
+    }
+
+    private void advance() {
+      nextSlot++;
+      while (nextSlot < slots.length && !present[nextSlot]) {
+        nextSlot++;
+      }
+      if (nextSlot >= slots.length && overflowIterator == null && overflow != null) {
+        overflowIterator = overflow.entrySet().iterator();
+      }
+    }
+  }
+}
@@ -30,6 +30,7 @@ import org.apache.streampipes.model.connect.adapter.SpecificAdapterSetDescriptio
 import org.apache.streampipes.model.connect.adapter.SpecificAdapterStreamDescription;
 import org.apache.streampipes.model.graph.DataProcessorDescription;
 import org.apache.streampipes.model.graph.DataSinkDescription;
+import org.apache.streampipes.model.grounding.InMemoryTransportProtocol;
 import org.apache.streampipes.model.grounding.JmsTransportProtocol;
 import org.apache.streampipes.model.grounding.KafkaTransportProtocol;
 import org.apache.streampipes.model.grounding.MqttTransportProtocol;
@@ -172,6 +173,8 @@ public class Cloner {
       return new MqttTransportProtocol((MqttTransportProtocol) protocol);
     } else if (protocol instanceof NatsTransportProtocol) {
       return new NatsTransportProtocol((NatsTransportProtocol) protocol);
+    } else if (protocol instanceof InMemoryTransportProtocol) {
+      return new InMemoryTransportProtocol((InMemoryTransportProtocol) protocol);
     } else {
       logger.error("Could not clone protocol of type {}", protocol.getClass().getCanonicalName());
       return protocol;
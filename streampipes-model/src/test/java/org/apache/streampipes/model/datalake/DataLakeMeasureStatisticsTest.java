@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.model.datalake;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class DataLakeMeasureStatisticsTest {
+
+  @Test
+  public void mergeIntoEmptyStatistics() {
+    var statistics = new DataLakeMeasureStatistics();
+
+    statistics.merge(makeStatistics(100L, 200L, 10, 1.0, 5.0));
+
+    assertEquals(Long.valueOf(100), statistics.getFirstTimestamp());
+    assertEquals(Long.valueOf(200), statistics.getLastTimestamp());
+    assertEquals(10, statistics.getRowCount());
+    assertEquals(Double.valueOf(1.0), statistics.getFields().get("value").getMin());
+  }
+
+  @Test
+  public void mergeStatistics() {
+    var statistics = makeStatistics(100L, 200L, 10, 1.0, 5.0);
+
+    statistics.merge(makeStatistics(50L, 150L, 5, 2.0, 8.0));
+
+    assertEquals(Long.valueOf(50), statistics.getFirstTimestamp());
+    assertEquals(Long.valueOf(200), statistics.getLastTimestamp());
+    assertEquals(15, statistics.getRowCount());
+
+    var field = statistics.getFields().get("value");
+    assertEquals(Double.valueOf(1.0), field.getMin());
+    assertEquals(Double.valueOf(8.0), field.getMax());
+    assertEquals(15, field.getCount());
+  }
+
+  @Test
+  public void mergeWithoutTimestamps() {
+    var statistics = new DataLakeMeasureStatistics();
+
+    statistics.merge(new DataLakeMeasureStatistics());
+
+    assertNull(statistics.getFirstTimestamp());
+    assertEquals(0, statistics.getRowCount());
+  }
+
+  private DataLakeMeasureStatistics makeStatistics(Long first,
+                                                   Long last,
+                                                   long rows,
+                                                   double min,
+                                                   double max) {
+    Map<String, DataLakeFieldStatistics> fields = new HashMap<>();
+    fields.put("value", new DataLakeFieldStatistics(min, max, rows));
+    return new DataLakeMeasureStatistics(first, last, rows, fields);
+  }
+}
@@ -19,10 +19,15 @@ package org.apache.streampipes.model.runtime;
 
 import org.apache.streampipes.model.constants.PropertySelectorConstants;
 import org.apache.streampipes.model.output.PropertyRenameRule;
+import org.apache.streampipes.model.schema.EventProperty;
+import org.apache.streampipes.model.schema.EventPropertyNested;
+import org.apache.streampipes.model.schema.EventPropertyPrimitive;
+import org.apache.streampipes.model.schema.EventSchema;
 
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
@@ -88,4 +93,21 @@ public class RuntimeTestUtils {
     return EventFactory.fromMap(runtimeMap, sourceInfo, new SchemaInfo(null, Arrays.asList(rule,
         rule2)));
   }
+
+  public static EventSchema nestedSchema() {
+    List<EventProperty> nestedProperties = Arrays.asList(primitive("timestamp"), primitive("timestamp2"));
+    return new EventSchema(Arrays.asList(primitive("timestamp"),
+        new EventPropertyNested("nested", nestedProperties)));
+  }
+
+  public static Event makeCompiledEvent(Map<String, Object> runtimeMap,
+                                        SourceInfo sourceInfo,
+                                        List<PropertyRenameRule> renameRules) {
+    SchemaInfo schemaInfo = new SchemaInfo(nestedSchema(), renameRules, sourceInfo.getSelectorPrefix());
+    return EventFactory.fromMap(runtimeMap, sourceInfo, schemaInfo);
+  }
+
+  private static EventPropertyPrimitive primitive(String runtimeName) {
+    return new EventPropertyPrimitive(null, runtimeName, null, Collections.emptyList());
+  }
 }
@@ -0,0 +1,129 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.model.runtime;
+
+import org.apache.streampipes.model.output.PropertyRenameRule;
+import org.apache.streampipes.model.runtime.field.AbstractField;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class TestCompiledEvent {
+
+  @Test
+  public void testSlotBackedFields() {
+    Event event = RuntimeTestUtils.makeCompiledEvent(RuntimeTestUtils.nestedMap(),
+        RuntimeTestUtils.getSourceInfo(), Collections.emptyList());
+
+    assertTrue(event.getFields() instanceof SlotFieldMap);
+    assertEquals(2, event.getFields().size());
+    assertEquals(Integer.valueOf(1), event.getFieldBySelector("s0::timestamp").getAsPrimitive().getAsInt());
+    assertEquals(Integer.valueOf(2), event.getFieldBySelector("s0::nested::timestamp2")
+        .getAsPrimitive()
+        .getAsInt());
+    assertEquals(Integer.valueOf(1), event.getFieldByRuntimeName("timestamp").getAsPrimitive().getAsInt());
+  }
+
+  @Test
+  public void testUnknownFieldIsKept() {
+    Map<String, Object> runtimeMap = RuntimeTestUtils.simpleMap();
+    runtimeMap.put("unknown", 5);
+    Event event = RuntimeTestUtils.makeCompiledEvent(runtimeMap, RuntimeTestUtils.getSourceInfo(),
+        Collections.emptyList());
+
+    assertEquals(2, event.getFields().size());
+    assertEquals(Integer.valueOf(5), event.getFieldBySelector("s0::unknown").getAsPrimitive().getAsInt());
+  }
+
+  @Test
+  public void testAddAndRemoveField() {
+    Event event = RuntimeTestUtils.makeCompiledEvent(RuntimeTestUtils.simpleMap(),
+        RuntimeTestUtils.getSourceInfo(), Collections.emptyList());
+
+    event.addField("added", 3);
+    event.removeFieldBySelector("s0::timestamp");
+
+    Map<String, Object> outMap = new EventConverter(event).toMap();
+    assertEquals(1, outMap.size());
+    assertFalse(outMap.containsKey("timestamp"));
+    assertEquals(3, outMap.get("added"));
+  }
+
+  @Test
+  public void testCompiledRenaming() {
+    PropertyRenameRule rule = new PropertyRenameRule("s0::nested", "ns");
+    PropertyRenameRule rule2 = new PropertyRenameRule("s0::nested::timestamp2", "ts2");
+    Event event = RuntimeTestUtils.makeCompiledEvent(RuntimeTestUtils.nestedMap(),
+        RuntimeTestUtils.getSourceInfo(), Arrays.asList(rule, rule2));
+
+    Map<String, Object> outMap = new EventConverter(event).toMap();
+
+    assertTrue(outMap.containsKey("ns"));
+    Map<String, Object> nestedMap = (Map<String, Object>) outMap.get("ns");
+    assertTrue(nestedMap.containsKey("ts2"));
+    assertEquals(2, nestedMap.keySet().size());
+  }
+
+  @Test
+  public void testPrefixMismatchFallsBackToDynamicFields() {
+    SourceInfo sourceInfo = new SourceInfo("id", "s1");
+    SchemaInfo schemaInfo = new SchemaInfo(RuntimeTestUtils.nestedSchema(), Collections.emptyList(), "s0");
+    Event event = EventFactory.fromMap(RuntimeTestUtils.simpleMap(), sourceInfo, schemaInfo);
+
+    assertFalse(event.getFields() instanceof SlotFieldMap);
+    assertEquals(Integer.valueOf(1), event.getFieldBySelector("s1::timestamp").getAsPrimitive().getAsInt());
+  }
+
+  @Test
+  public void testNullValueIsStoredInSlot() {
+    Event event = RuntimeTestUtils.makeCompiledEvent(RuntimeTestUtils.simpleMap(),
+        RuntimeTestUtils.getSourceInfo(), Collections.emptyList());
+    Map<String, AbstractField> fields = event.getFields();
+
+    fields.put("s0::timestamp", null);
+
+    assertEquals(1, fields.size());
+    assertTrue(fields.containsKey("s0::timestamp"));
+    assertNull(fields.get("s0::timestamp"));
+    assertEquals(1, fields.entrySet().stream().count());
+  }
+
+  @Test
+  public void testEntrySetValueKeepsSizeConsistent() {
+    Event event = RuntimeTestUtils.makeCompiledEvent(RuntimeTestUtils.nestedMap(),
+        RuntimeTestUtils.getSourceInfo(), Collections.emptyList());
+    Map<String, AbstractField> fields = event.getFields();
+    AbstractField replacement = fields.get("s0::timestamp");
+
+    fields.entrySet().forEach(entry -> entry.setValue(null));
+    assertEquals(2, fields.size());
+    assertNull(fields.get("s0::timestamp"));
+
+    fields.entrySet().iterator().next().setValue(replacement);
+    assertEquals(2, fields.size());
+    assertEquals(replacement, fields.get("s0::timestamp"));
+  }
+}
@@ -0,0 +1,55 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.model.runtime;
+
+import org.junit.Test;
+
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+public class TestEventTrace {
+
+  @Test
+  public void testHeaderRoundTrip() {
+    EventTrace trace = EventTrace.start("http://host:8090/adapter/a1", 10);
+    trace.dequeued("http://host:8090/sepa/p1:abc", 12);
+    trace = trace.enqueued(15);
+
+    EventTrace result = EventTrace.fromHeader(trace.toHeader());
+
+    assertEquals(10L, result.getIngestTimestamp());
+    assertEquals(2, result.getHops().size());
+    assertEquals("http://host:8090/sepa/p1:abc", result.getHops().get(1).getElementId());
+    assertEquals(12L, result.getHops().get(1).getDequeued());
+    assertEquals(15L, result.getLastEnqueued());
+  }
+
+  @Test
+  public void testTraceIsRemovedFromRawEventFields() {
+    Map<String, Object> runtimeMap = RuntimeTestUtils.simpleMap();
+    runtimeMap.put(EventTrace.TRACE_FIELD, EventTrace.start("adapter", 10).toMap());
+
+    Event event = RuntimeTestUtils.makeSimpleEvent(runtimeMap, RuntimeTestUtils.getSourceInfo());
+
+    assertEquals(10L, event.getTrace().getIngestTimestamp());
+    assertFalse(event.getFields().containsKey("s0::" + EventTrace.TRACE_FIELD));
+  }
+}
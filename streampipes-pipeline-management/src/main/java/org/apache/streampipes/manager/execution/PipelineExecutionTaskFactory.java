@@ -18,14 +18,17 @@
 
 package org.apache.streampipes.manager.execution;
 
+import org.apache.streampipes.commons.environment.Environments;
 import org.apache.streampipes.manager.execution.http.DetachPipelineElementSubmitter;
 import org.apache.streampipes.manager.execution.http.InvokePipelineElementSubmitter;
 import org.apache.streampipes.manager.execution.provider.CurrentPipelineElementProvider;
 import org.apache.streampipes.manager.execution.provider.StoredPipelineElementProvider;
 import org.apache.streampipes.manager.execution.task.AfterInvocationTask;
+import org.apache.streampipes.manager.execution.task.ApplyKafkaSettingsTask;
 import org.apache.streampipes.manager.execution.task.DiscoverEndpointsTask;
 import org.apache.streampipes.manager.execution.task.PipelineExecutionTask;
 import org.apache.streampipes.manager.execution.task.SecretEncryptionTask;
+import org.apache.streampipes.manager.execution.task.SelectInMemoryProtocolTask;
 import org.apache.streampipes.manager.execution.task.StorePipelineStatusTask;
 import org.apache.streampipes.manager.execution.task.SubmitRequestTask;
 import org.apache.streampipes.manager.execution.task.UpdateGroupIdTask;
@@ -39,9 +42,11 @@ public class PipelineExecutionTaskFactory {
 
   public static List<PipelineExecutionTask> makeStartPipelineTasks(Pipeline pipeline) {
     return List.of(
-        new UpdateGroupIdTask(),
         new SecretEncryptionTask(SecretProvider.getDecryptionService()),
         new DiscoverEndpointsTask(),
+        new SelectInMemoryProtocolTask(Environments.getEnvironment()),
+        new ApplyKafkaSettingsTask(),
+        new UpdateGroupIdTask(),
         new SubmitRequestTask(new InvokePipelineElementSubmitter(pipeline), new CurrentPipelineElementProvider()),
         new SecretEncryptionTask(SecretProvider.getEncryptionService()),
         new AfterInvocationTask(PipelineStatusMessageType.PIPELINE_STARTED),
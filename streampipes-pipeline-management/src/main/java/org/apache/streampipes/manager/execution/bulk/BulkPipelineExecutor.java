@@ -0,0 +1,100 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.manager.execution.bulk;
+
+import org.apache.streampipes.commons.environment.Environments;
+import org.apache.streampipes.model.pipeline.Pipeline;
+import org.apache.streampipes.model.pipeline.PipelineOperationStatus;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutorService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs the pipelines of a bulk operation in parallel, bounded by SP_PIPELINE_BULK_PARALLELISM.
+ */
+public class BulkPipelineExecutor {
+
+  private static final Logger LOG = LoggerFactory.getLogger(BulkPipelineExecutor.class);
+
+  private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+  private final int parallelism;
+
+  public BulkPipelineExecutor() {
+    this(Environments.getEnvironment().getPipelineBulkParallelism().getValueOrDefault());
+  }
+
+  public BulkPipelineExecutor(int parallelism) {
+    this.parallelism = Math.max(1, parallelism);
+  }
+
+  public BulkPipelineOperation execute(BulkPipelineOperation operation) {
+    var pipelines = operation.getPipelines();
+    var executorService = makeExecutorService(pipelines.size());
+    operation.markStarted();
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      pipelines.forEach(pipeline -> futures.add(executorService.submit(() -> execute(operation, pipeline))));
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      LOG.warn("Interrupted while waiting for bulk operation {}", operation.getOperationId());
+    } catch (ExecutionException e) {
+      LOG.error("Bulk operation {} failed", operation.getOperationId(), e.getCause());
+    } finally {
+      executorService.shutdownNow();
+      operation.markFinished();
+    }
+    return operation;
+  }
+
+  private void execute(BulkPipelineOperation operation,
+                       Pipeline pipeline) {
+    PipelineOperationStatus status;
+    try {
+      status = operation.execute(pipeline);
+    } catch (RuntimeException e) {
+      LOG.error("Could not execute operation for pipeline {}", pipeline.getName(), e);
+      status = new PipelineOperationStatus(pipeline.getPipelineId(), pipeline.getName(), e.getMessage(),
+          new ArrayList<>());
+      status.setSuccess(false);
+    }
+    operation.addPipelineStatus(status);
+  }
+
+  private ExecutorService makeExecutorService(int pipelineCount) {
+    var executor = Executors.newFixedThreadPool(Math.max(1, Math.min(parallelism, pipelineCount)), runnable -> {
+      Thread thread = new Thread(runnable, "bulk-pipeline-executor-" + THREAD_COUNTER.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
+    return new DelegatingSecurityContextExecutorService(executor);
+  }
+}
@@ -0,0 +1,139 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.manager.execution.bulk;
+
+import org.apache.streampipes.commons.random.UUIDGenerator;
+import org.apache.streampipes.manager.execution.PipelineExecutor;
+import org.apache.streampipes.model.pipeline.BulkPipelineOperationStatus;
+import org.apache.streampipes.model.pipeline.Pipeline;
+import org.apache.streampipes.model.pipeline.PipelineOperationStatus;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Starts or stops a set of pipelines and keeps track of the progress of the operation.
+ */
+public class BulkPipelineOperation {
+
+  private static final Logger LOG = LoggerFactory.getLogger(BulkPipelineOperation.class);
+
+  private final String operationId;
+  private final BulkPipelineOperationType operationType;
+  private final List<Pipeline> pipelines;
+  private final Function<Pipeline, PipelineOperationStatus> action;
+
+  private final List<PipelineOperationStatus> pipelineStatus = new CopyOnWriteArrayList<>();
+  private final AtomicInteger failedPipelines = new AtomicInteger();
+
+  private volatile long startedAt;
+  private volatile long finishedAt;
+  private volatile boolean finished;
+
+  BulkPipelineOperation(BulkPipelineOperationType operationType,
+                        List<Pipeline> pipelines,
+                        Function<Pipeline, PipelineOperationStatus> action) {
+    this.operationId = UUIDGenerator.generateUuid();
+    this.operationType = operationType;
+    this.pipelines = List.copyOf(pipelines);
+    this.action = action;
+  }
+
+  public static BulkPipelineOperation start(List<Pipeline> pipelines) {
+    return new BulkPipelineOperation(BulkPipelineOperationType.START, pipelines,
+        pipeline -> new PipelineExecutor(pipeline, false).startPipeline());
+  }
+
+  public static BulkPipelineOperation stop(List<Pipeline> pipelines,
+                                           boolean forceStop) {
+    return new BulkPipelineOperation(BulkPipelineOperationType.STOP, pipelines,
+        pipeline -> new PipelineExecutor(pipeline, forceStop).stopPipeline());
+  }
+
+  public String getOperationId() {
+    return operationId;
+  }
+
+  public List<Pipeline> getPipelines() {
+    return pipelines;
+  }
+
+  public List<PipelineOperationStatus> getPipelineStatus() {
+    return new ArrayList<>(pipelineStatus);
+  }
+
+  public boolean isFinished() {
+    return finished;
+  }
+
+  public BulkPipelineOperationStatus toStatus() {
+    var status = new BulkPipelineOperationStatus();
+    status.setOperationId(operationId);
+    status.setOperationType(operationType.name());
+    status.setTotalPipelines(pipelines.size());
+    status.setPipelineStatus(getPipelineStatus());
+    status.setCompletedPipelines(status.getPipelineStatus().size());
+    status.setFailedPipelines(failedPipelines.get());
+    status.setStartedAt(startedAt);
+    status.setFinishedAt(finishedAt);
+    status.setFinished(finished);
+    return status;
+  }
+
+  PipelineOperationStatus execute(Pipeline pipeline) {
+    return action.apply(pipeline);
+  }
+
+  void markStarted() {
+    this.startedAt = System.currentTimeMillis();
+    LOG.info("Bulk operation {} ({}) started for {} pipelines", operationId, operationType, pipelines.size());
+  }
+
+  void addPipelineStatus(PipelineOperationStatus status) {
+    pipelineStatus.add(status);
+    if (!status.isSuccess()) {
+      failedPipelines.incrementAndGet();
+    }
+    LOG.info("Bulk operation {} ({}): pipeline {} {} ({}/{} completed, {} failed)",
+        operationId,
+        operationType,
+        status.getPipelineName(),
+        status.isSuccess() ? "succeeded" : "failed",
+        pipelineStatus.size(),
+        pipelines.size(),
+        failedPipelines.get());
+  }
+
+  void markFinished() {
+    this.finishedAt = System.currentTimeMillis();
+    this.finished = true;
+    LOG.info("Bulk operation {} ({}) finished in {} ms, {} of {} pipelines failed",
+        operationId,
+        operationType,
+        finishedAt - startedAt,
+        failedPipelines.get(),
+        pipelines.size());
+  }
+}
@@ -0,0 +1,69 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.manager.execution.bulk;
+
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutorService;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Runs bulk operations in the background and keeps them available for progress queries.
+ * Finished operations are evicted once more than MAX_FINISHED_OPERATIONS have accumulated.
+ */
+public enum BulkPipelineOperations {
+
+  INSTANCE;
+
+  private static final int MAX_FINISHED_OPERATIONS = 20;
+
+  private final Map<String, BulkPipelineOperation> operations = new LinkedHashMap<>();
+  private final ExecutorService executorService = new DelegatingSecurityContextExecutorService(
+      Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "bulk-pipeline-operation");
+        thread.setDaemon(true);
+        return thread;
+      }));
+
+  public synchronized BulkPipelineOperation submit(BulkPipelineOperation operation) {
+    evictFinishedOperations();
+    operations.put(operation.getOperationId(), operation);
+    executorService.submit(() -> new BulkPipelineExecutor().execute(operation));
+    return operation;
+  }
+
+  public synchronized Optional<BulkPipelineOperation> find(String operationId) {
+    return Optional.ofNullable(operations.get(operationId));
+  }
+
+  private void evictFinishedOperations() {
+    long finishedCount = operations.values().stream().filter(BulkPipelineOperation::isFinished).count();
+    Iterator<BulkPipelineOperation> iterator = operations.values().iterator();
+    while (finishedCount > MAX_FINISHED_OPERATIONS && iterator.hasNext()) {
+      if (iterator.next().isFinished()) {
+        iterator.remove();
+        finishedCount--;
+      }
+    }
+  }
+}
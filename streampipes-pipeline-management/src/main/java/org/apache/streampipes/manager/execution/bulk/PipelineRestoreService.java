@@ -0,0 +1,149 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.manager.execution.bulk;
+
+import org.apache.streampipes.model.pipeline.Pipeline;
+import org.apache.streampipes.model.pipeline.PipelineOperationStatus;
+import org.apache.streampipes.storage.api.IPipelineStorage;
+import org.apache.streampipes.storage.management.StorageDispatcher;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Restores pipelines after a restart of the core: pipelines which were running when the core stopped
+ * unexpectedly (orphaned pipelines) and pipelines which were flagged for restart during a graceful shutdown.
+ * All pipelines are started in one bulk operation; pipelines which could not be started are retried
+ * together after a short wait.
+ */
+public class PipelineRestoreService implements Runnable {
+
+  private static final Logger LOG = LoggerFactory.getLogger(PipelineRestoreService.class);
+
+  private static final int MAX_PIPELINE_START_RETRIES = 3;
+  private static final long WAIT_TIME_AFTER_FAILURE_IN_MILLIS = TimeUnit.SECONDS.toMillis(10);
+
+  private final BulkPipelineExecutor executor;
+  private final Supplier<IPipelineStorage> pipelineStorage;
+  private final long waitTimeAfterFailureInMillis;
+
+  public PipelineRestoreService() {
+    this(new BulkPipelineExecutor());
+  }
+
+  public PipelineRestoreService(BulkPipelineExecutor executor) {
+    this(executor,
+        () -> StorageDispatcher.INSTANCE.getNoSqlStore().getPipelineStorageAPI(),
+        WAIT_TIME_AFTER_FAILURE_IN_MILLIS);
+  }
+
+  PipelineRestoreService(BulkPipelineExecutor executor,
+                         Supplier<IPipelineStorage> pipelineStorage,
+                         long waitTimeAfterFailureInMillis) {
+    this.executor = executor;
+    this.pipelineStorage = pipelineStorage;
+    this.waitTimeAfterFailureInMillis = waitTimeAfterFailureInMillis;
+  }
+
+  @Override
+  public void run() {
+    LOG.info("Checking for orphaned pipelines and gracefully shut down pipelines to be restarted...");
+    var allPipelines = getPipelineStorage().getAllPipelines();
+    var orphanedPipelines = allPipelines.stream().filter(Pipeline::isRunning).toList();
+    var pipelinesToRestart = allPipelines
+        .stream()
+        .filter(p -> !p.isRunning())
+        .filter(Pipeline::isRestartOnSystemReboot)
+        .toList();
+
+    LOG.info("Found {} orphaned pipelines and {} pipelines to restart",
+        orphanedPipelines.size(),
+        pipelinesToRestart.size());
+
+    restore(Stream.concat(orphanedPipelines.stream(), pipelinesToRestart.stream()).toList());
+    LOG.info("No more pipelines to restore...");
+  }
+
+  private void restore(List<Pipeline> pipelines) {
+    var pendingPipelines = pipelines;
+    for (int attempt = 1; !pendingPipelines.isEmpty(); attempt++) {
+      var operation = executor.execute(BulkPipelineOperation.start(pendingPipelines));
+      var statusList = operation.getPipelineStatus();
+
+      statusList.stream().filter(PipelineOperationStatus::isSuccess).forEach(this::resetRestartFlag);
+      Set<String> failedPipelineIds = statusList
+          .stream()
+          .filter(s -> !s.isSuccess())
+          .map(PipelineOperationStatus::getPipelineId)
+          .collect(Collectors.toSet());
+
+      if (failedPipelineIds.isEmpty()) {
+        return;
+      } else if (attempt > MAX_PIPELINE_START_RETRIES) {
+        pendingPipelines.stream()
+            .filter(p -> failedPipelineIds.contains(p.getPipelineId()))
+            .forEach(p -> LOG.error("Pipeline {} could not be restarted - are all pipeline element containers running?",
+                p.getName()));
+        return;
+      }
+
+      LOG.error("{} pipelines could not be restarted - I'll try again in {} seconds ({}/{} failed attempts)",
+          failedPipelineIds.size(),
+          TimeUnit.MILLISECONDS.toSeconds(waitTimeAfterFailureInMillis),
+          attempt,
+          MAX_PIPELINE_START_RETRIES);
+      if (!waitBeforeRetry()) {
+        return;
+      }
+      pendingPipelines = failedPipelineIds
+          .stream()
+          .map(getPipelineStorage()::getPipeline)
+          .filter(Objects::nonNull)
+          .toList();
+    }
+  }
+
+  private void resetRestartFlag(PipelineOperationStatus status) {
+    Pipeline storedPipeline = getPipelineStorage().getPipeline(status.getPipelineId());
+    storedPipeline.setRestartOnSystemReboot(false);
+    getPipelineStorage().updatePipeline(storedPipeline);
+  }
+
+  private boolean waitBeforeRetry() {
+    try {
+      TimeUnit.MILLISECONDS.sleep(waitTimeAfterFailureInMillis);
+      return true;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+
+  private IPipelineStorage getPipelineStorage() {
+    return pipelineStorage.get();
+  }
+}
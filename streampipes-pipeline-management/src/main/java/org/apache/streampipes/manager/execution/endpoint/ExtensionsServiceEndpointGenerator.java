@@ -18,6 +18,9 @@
 package org.apache.streampipes.manager.execution.endpoint;
 
 import org.apache.streampipes.commons.exceptions.NoServiceEndpointsAvailableException;
+import org.apache.streampipes.manager.execution.endpoint.placement.PlacementRequest;
+import org.apache.streampipes.manager.execution.endpoint.placement.PlacementStrategies;
+import org.apache.streampipes.manager.execution.endpoint.placement.PlacementStrategy;
 import org.apache.streampipes.model.base.NamedStreamPipesEntity;
 import org.apache.streampipes.svcdiscovery.SpServiceDiscovery;
 import org.apache.streampipes.svcdiscovery.api.model.DefaultSpServiceGroups;
@@ -35,16 +38,32 @@ public class ExtensionsServiceEndpointGenerator {
 
   private String appId;
   private SpServiceUrlProvider spServiceUrlProvider;
+  private String pipelineId;
+  private PlacementStrategy placementStrategy;
 
   public ExtensionsServiceEndpointGenerator(String appId,
                                             SpServiceUrlProvider spServiceUrlProvider) {
+    this(appId, spServiceUrlProvider, null);
+  }
+
+  public ExtensionsServiceEndpointGenerator(String appId,
+                                            SpServiceUrlProvider spServiceUrlProvider,
+                                            String pipelineId) {
+    this(appId, spServiceUrlProvider, pipelineId, PlacementStrategies.fromEnvironment());
+  }
+
+  public ExtensionsServiceEndpointGenerator(String appId,
+                                            SpServiceUrlProvider spServiceUrlProvider,
+                                            String pipelineId,
+                                            PlacementStrategy placementStrategy) {
     this.appId = appId;
     this.spServiceUrlProvider = spServiceUrlProvider;
+    this.pipelineId = pipelineId;
+    this.placementStrategy = placementStrategy;
   }
 
   public ExtensionsServiceEndpointGenerator(NamedStreamPipesEntity entity) {
-    this.appId = entity.getAppId();
-    this.spServiceUrlProvider = ExtensionsServiceEndpointUtils.getPipelineElementType(entity);
+    this(entity.getAppId(), ExtensionsServiceEndpointUtils.getPipelineElementType(entity));
   }
 
   public String getEndpointResourceUrl() throws NoServiceEndpointsAvailableException {
@@ -56,14 +75,16 @@ public class ExtensionsServiceEndpointGenerator {
   }
 
   private List<String> getServiceEndpoints() {
+    var serviceTag = this.spServiceUrlProvider.getServiceTag(appId).asString();
     return SpServiceDiscovery.getServiceDiscovery().getServiceEndpoints(DefaultSpServiceGroups.EXT, true,
-        Collections.singletonList(this.spServiceUrlProvider.getServiceTag(appId).asString()));
+        Collections.singletonList(serviceTag));
   }
 
   private String selectService() throws NoServiceEndpointsAvailableException {
     List<String> serviceEndpoints = getServiceEndpoints();
     if (serviceEndpoints.size() > 0) {
-      return getServiceEndpoints().get(0);
+      return placementStrategy.select(serviceEndpoints,
+          new PlacementRequest(appId, spServiceUrlProvider, pipelineId));
     } else {
       LOG.error("Could not find any service endpoints for appId {}, serviceTag {}", appId,
           this.spServiceUrlProvider.getServiceTag(appId).asString());
@@ -33,18 +33,29 @@ import java.util.List;
 public class ExtensionsServiceEndpointProvider {
 
   public String findSelectedEndpoint(InvocableStreamPipesEntity g) throws NoServiceEndpointsAvailableException {
+    return findSelectedEndpoint(g, g.getCorrespondingPipeline());
+  }
+
+  public String findSelectedEndpoint(InvocableStreamPipesEntity g,
+                                     String pipelineId) throws NoServiceEndpointsAvailableException {
     return new ExtensionsServiceEndpointGenerator(
         g.getAppId(),
-        ExtensionsServiceEndpointUtils.getPipelineElementType(g))
+        ExtensionsServiceEndpointUtils.getPipelineElementType(g),
+        pipelineId)
         .getEndpointResourceUrl();
   }
 
   public String findSelectedEndpoint(SpDataSet ds) throws NoServiceEndpointsAvailableException {
+    return findSelectedEndpoint(ds, ds.getCorrespondingPipeline());
+  }
+
+  public String findSelectedEndpoint(SpDataSet ds,
+                                     String pipelineId) throws NoServiceEndpointsAvailableException {
     String appId = ds.getAppId() != null ? ds.getAppId() : ds.getCorrespondingAdapterId();
     if (ds.isInternallyManaged()) {
       return getConnectMasterSourcesUrl();
     } else {
-      return new ExtensionsServiceEndpointGenerator(appId, SpServiceUrlProvider.DATA_SET)
+      return new ExtensionsServiceEndpointGenerator(appId, SpServiceUrlProvider.DATA_SET, pipelineId)
           .getEndpointResourceUrl();
     }
   }
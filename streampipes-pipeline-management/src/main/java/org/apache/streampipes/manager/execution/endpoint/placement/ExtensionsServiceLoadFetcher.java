@@ -0,0 +1,54 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.manager.execution.endpoint.placement;
+
+import org.apache.streampipes.manager.health.PipelineElementEndpointHealthCheck;
+import org.apache.streampipes.manager.util.AuthTokenUtils;
+import org.apache.streampipes.model.monitoring.SpEndpointMonitoringInfo;
+import org.apache.streampipes.resource.management.SpResourceManager;
+import org.apache.streampipes.serializers.json.JacksonSerializer;
+
+import org.apache.http.client.fluent.Request;
+
+import java.io.IOException;
+
+/**
+ * Fetches the metrics and running instances an extensions service exposes.
+ */
+public class ExtensionsServiceLoadFetcher {
+
+  private static final String MONITORING_PATH = "/monitoring";
+  private static final int TIMEOUT_MS = 2000;
+
+  public SpEndpointMonitoringInfo fetchMonitoringInfo(String endpoint) throws IOException {
+    var serviceAdmin = new SpResourceManager().manageUsers().getServiceAdmin();
+    var response = Request.Get(endpoint + MONITORING_PATH)
+        .addHeader("Authorization", AuthTokenUtils.getAuthTokenForUser(serviceAdmin))
+        .connectTimeout(TIMEOUT_MS)
+        .socketTimeout(TIMEOUT_MS)
+        .execute()
+        .returnContent()
+        .asString();
+    return JacksonSerializer.getObjectMapper().readValue(response, SpEndpointMonitoringInfo.class);
+  }
+
+  public int fetchRunningInstances(String invocationUrl) throws IOException {
+    return new PipelineElementEndpointHealthCheck(invocationUrl).checkRunningInstances().size();
+  }
+}
@@ -0,0 +1,193 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.manager.execution.endpoint.placement;
+
+import org.apache.streampipes.model.monitoring.MessageCounter;
+import org.apache.streampipes.model.monitoring.SpEndpointMonitoringInfo;
+import org.apache.streampipes.model.monitoring.SpMetricsEntry;
+import org.apache.streampipes.model.monitoring.ThroughputSample;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Places an element on the service with the lowest combined message rate and number of running instances
+ * of the element. Both values are normalized by the maximum among all candidates, so that neither dominates.
+ * Message rates and running instances are cached for a few seconds; elements placed in the meantime are counted as
+ * running instances, which spreads the elements of a pipeline that is started at once. Loads are fetched without
+ * holding a lock, so that placements of concurrently started pipelines do not wait for each other.
+ * Services whose load cannot be fetched are skipped; if no load is known, elements are placed round-robin.
+ */
+public class LeastLoadedPlacementStrategy implements PlacementStrategy {
+
+  private static final Logger LOG = LoggerFactory.getLogger(LeastLoadedPlacementStrategy.class);
+
+  private static final long LOAD_CACHE_TTL_MS = 5000;
+  private static final long RATE_WINDOW_MS = 10000;
+
+  private final ExtensionsServiceLoadFetcher loadFetcher;
+  private final PlacementStrategy fallbackStrategy;
+  private final Map<String, ServiceLoad> serviceLoads = new ConcurrentHashMap<>();
+
+  public LeastLoadedPlacementStrategy() {
+    this(new ExtensionsServiceLoadFetcher(), new RoundRobinPlacementStrategy());
+  }
+
+  public LeastLoadedPlacementStrategy(ExtensionsServiceLoadFetcher loadFetcher,
+                                      PlacementStrategy fallbackStrategy) {
+    this.loadFetcher = loadFetcher;
+    this.fallbackStrategy = fallbackStrategy;
+  }
+
+  @Override
+  public String select(List<String> endpoints,
+                       PlacementRequest request) {
+    if (endpoints.size() == 1) {
+      return endpoints.get(0);
+    }
+    List<Candidate> candidates = new ArrayList<>();
+    for (String endpoint : endpoints) {
+      try {
+        var load = getServiceLoad(endpoint);
+        var instances = load.getRunningInstances(request.getInvocationUrl(endpoint))
+            + load.placedInstances.get();
+        candidates.add(new Candidate(endpoint, load, instances));
+      } catch (IOException | RuntimeException e) {
+        LOG.warn("Could not fetch load of service {}, skipping it for placement", endpoint);
+      }
+    }
+
+    if (candidates.isEmpty()) {
+      return fallbackStrategy.select(endpoints, request);
+    }
+
+    var maxRate = candidates.stream().mapToDouble(c -> c.load.messageRate).max().orElse(0);
+    var maxInstances = candidates.stream().mapToInt(c -> c.instances).max().orElse(0);
+    var selected = candidates
+        .stream()
+        .min(Comparator
+            .comparingDouble((Candidate c) -> normalize(c.load.messageRate, maxRate)
+                + normalize(c.instances, maxInstances))
+            .thenComparing(c -> c.endpoint))
+        .orElseThrow();
+    selected.load.placedInstances.incrementAndGet();
+    return selected.endpoint;
+  }
+
+  private ServiceLoad getServiceLoad(String endpoint) throws IOException {
+    var now = System.currentTimeMillis();
+    var previous = serviceLoads.get(endpoint);
+    if (previous != null && now - previous.fetchedAt < LOAD_CACHE_TTL_MS) {
+      return previous;
+    }
+    var load = new ServiceLoad(loadFetcher, loadFetcher.fetchMonitoringInfo(endpoint), now, previous);
+    serviceLoads.put(endpoint, load);
+    return load;
+  }
+
+  private double normalize(double value,
+                           double max) {
+    return max > 0 ? value / max : 0;
+  }
+
+  private static final class Candidate {
+    private final String endpoint;
+    private final ServiceLoad load;
+    private final int instances;
+
+    private Candidate(String endpoint,
+                      ServiceLoad load,
+                      int instances) {
+      this.endpoint = endpoint;
+      this.load = load;
+      this.instances = instances;
+    }
+  }
+
+  private static final class ServiceLoad {
+    private final ExtensionsServiceLoadFetcher loadFetcher;
+    private final long fetchedAt;
+    private final long messagesOut;
+    private final double messageRate;
+    private final Map<String, Integer> runningInstances = new ConcurrentHashMap<>();
+    private final AtomicInteger placedInstances = new AtomicInteger();
+
+    private ServiceLoad(ExtensionsServiceLoadFetcher loadFetcher,
+                        SpEndpointMonitoringInfo monitoringInfo,
+                        long fetchedAt,
+                        ServiceLoad previous) {
+      this.loadFetcher = loadFetcher;
+      var metrics = monitoringInfo.getMetricsInfos() != null
+          ? monitoringInfo.getMetricsInfos().values()
+          : List.<SpMetricsEntry>of();
+      this.fetchedAt = fetchedAt;
+      this.messagesOut = metrics
+          .stream()
+          .map(SpMetricsEntry::getMessagesOut)
+          .filter(Objects::nonNull)
+          .mapToLong(MessageCounter::getCounter)
+          .sum();
+      this.messageRate = metrics.stream().mapToDouble(this::inRate).sum() + outRate(previous);
+    }
+
+    /**
+     * Returns the number of running instances of an element, which is fetched once per cached load.
+     */
+    private int getRunningInstances(String invocationUrl) throws IOException {
+      var instances = runningInstances.get(invocationUrl);
+      if (instances == null) {
+        instances = loadFetcher.fetchRunningInstances(invocationUrl);
+        runningInstances.put(invocationUrl, instances);
+      }
+      return instances;
+    }
+
+    private double inRate(SpMetricsEntry entry) {
+      var samples = entry.getThroughput();
+      if (samples == null || samples.isEmpty()) {
+        return 0;
+      }
+      var latest = samples.stream().mapToLong(ThroughputSample::getTimestamp).max().orElse(0);
+      var messages = samples
+          .stream()
+          .filter(sample -> sample.getTimestamp() > latest - RATE_WINDOW_MS)
+          .mapToLong(ThroughputSample::getMessages)
+          .sum();
+      return messages * 1000.0 / RATE_WINDOW_MS;
+    }
+
+    private double outRate(ServiceLoad previous) {
+      if (previous == null || fetchedAt <= previous.fetchedAt) {
+        return 0;
+      }
+      // counters are reset when elements are restarted, so a negative difference carries no information
+      var messages = Math.max(0, messagesOut - previous.messagesOut);
+      return messages * 1000.0 / (fetchedAt - previous.fetchedAt);
+    }
+  }
+}
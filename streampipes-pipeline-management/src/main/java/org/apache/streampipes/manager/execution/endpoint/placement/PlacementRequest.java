@@ -0,0 +1,59 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.manager.execution.endpoint.placement;
+
+import org.apache.streampipes.svcdiscovery.api.model.SpServiceUrlProvider;
+
+public class PlacementRequest {
+
+  private final String appId;
+  private final SpServiceUrlProvider spServiceUrlProvider;
+  private final String pipelineId;
+
+  public PlacementRequest(String appId,
+                          SpServiceUrlProvider spServiceUrlProvider,
+                          String pipelineId) {
+    this.appId = appId;
+    this.spServiceUrlProvider = spServiceUrlProvider;
+    this.pipelineId = pipelineId;
+  }
+
+  public String getAppId() {
+    return appId;
+  }
+
+  public SpServiceUrlProvider getSpServiceUrlProvider() {
+    return spServiceUrlProvider;
+  }
+
+  /**
+   * Returns the id of the pipeline the element belongs to or null if the element is not part of a pipeline.
+   */
+  public String getPipelineId() {
+    return pipelineId;
+  }
+
+  public String getServiceTag() {
+    return spServiceUrlProvider.getServiceTag(appId).asString();
+  }
+
+  public String getInvocationUrl(String endpoint) {
+    return spServiceUrlProvider.getInvocationUrl(endpoint, appId);
+  }
+}
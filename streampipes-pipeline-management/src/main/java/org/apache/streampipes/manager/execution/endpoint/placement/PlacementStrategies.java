@@ -0,0 +1,68 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.manager.execution.endpoint.placement;
+
+import org.apache.streampipes.commons.environment.Environments;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The available placement strategies, selected with the environment variable SP_PLACEMENT_STRATEGY.
+ * Each strategy is a single instance per core, so round-robin positions and cached loads are shared
+ * by all lookups.
+ */
+public enum PlacementStrategies {
+
+  FIRST_AVAILABLE(new FirstAvailablePlacementStrategy()),
+  ROUND_ROBIN(new RoundRobinPlacementStrategy()),
+  LEAST_LOADED(new LeastLoadedPlacementStrategy()),
+  STICKY_BY_PIPELINE(new StickyByPipelinePlacementStrategy());
+
+  private static final Logger LOG = LoggerFactory.getLogger(PlacementStrategies.class);
+
+  private final PlacementStrategy strategy;
+
+  PlacementStrategies(PlacementStrategy strategy) {
+    this.strategy = strategy;
+  }
+
+  public PlacementStrategy getStrategy() {
+    return strategy;
+  }
+
+  public static PlacementStrategy fromEnvironment() {
+    return from(Environments.getEnvironment().getPlacementStrategy().getValueOrDefault()).getStrategy();
+  }
+
+  /**
+   * Returns the strategy with the given name or the first available service if the name is empty or unknown.
+   */
+  public static PlacementStrategies from(String name) {
+    if (name == null || name.isBlank()) {
+      return FIRST_AVAILABLE;
+    }
+    try {
+      return valueOf(name.trim().toUpperCase());
+    } catch (IllegalArgumentException e) {
+      LOG.warn("Unknown placement strategy {}, placing elements on the first available service", name);
+      return FIRST_AVAILABLE;
+    }
+  }
+}
@@ -0,0 +1,40 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.manager.execution.endpoint.placement;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Cycles through all services providing an element, with a separate position per service tag.
+ */
+public class RoundRobinPlacementStrategy implements PlacementStrategy {
+
+  private final Map<String, AtomicInteger> positions = new ConcurrentHashMap<>();
+
+  @Override
+  public String select(List<String> endpoints,
+                       PlacementRequest request) {
+    var sortedEndpoints = endpoints.stream().sorted().toList();
+    var position = positions.computeIfAbsent(request.getServiceTag(), key -> new AtomicInteger());
+    return sortedEndpoints.get(Math.floorMod(position.getAndIncrement(), sortedEndpoints.size()));
+  }
+}
@@ -0,0 +1,66 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.manager.execution.endpoint.placement;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Places all elements of a pipeline on the same service as long as the set of available services does not change.
+ * Uses rendezvous hashing, so adding or removing a service only moves the pipelines which were placed on it.
+ * Elements which do not belong to a pipeline are placed round-robin.
+ */
+public class StickyByPipelinePlacementStrategy implements PlacementStrategy {
+
+  private final PlacementStrategy fallbackStrategy;
+
+  public StickyByPipelinePlacementStrategy() {
+    this(new RoundRobinPlacementStrategy());
+  }
+
+  public StickyByPipelinePlacementStrategy(PlacementStrategy fallbackStrategy) {
+    this.fallbackStrategy = fallbackStrategy;
+  }
+
+  @Override
+  public String select(List<String> endpoints,
+                       PlacementRequest request) {
+    var pipelineId = request.getPipelineId();
+    if (pipelineId == null) {
+      return fallbackStrategy.select(endpoints, request);
+    }
+    return endpoints
+        .stream()
+        .max(Comparator
+            .comparingLong((String endpoint) -> score(pipelineId, endpoint))
+            .thenComparing(Comparator.naturalOrder()))
+        .orElseThrow();
+  }
+
+  private long score(String pipelineId,
+                     String endpoint) {
+    // 64-bit FNV-1a keeps the scores well distributed for similar endpoint urls
+    long hash = 0xcbf29ce484222325L;
+    for (char c : (pipelineId + "|" + endpoint).toCharArray()) {
+      hash ^= c;
+      hash *= 0x100000001b3L;
+    }
+    return hash;
+  }
+}
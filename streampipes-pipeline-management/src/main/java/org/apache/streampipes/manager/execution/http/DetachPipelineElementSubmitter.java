@@ -41,6 +41,16 @@ public class DetachPipelineElementSubmitter extends PipelineElementSubmitter {
     return true;
   }
 
+  @Override
+  protected boolean shouldSubmitUpstreamFirst() {
+    return true;
+  }
+
+  @Override
+  protected boolean shouldContinueAfterFailure() {
+    return true;
+  }
+
   @Override
   protected void onSuccess() {
     status.setTitle("Pipeline " + pipelineName + " successfully stopped");
@@ -0,0 +1,67 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.manager.execution.http;
+
+import org.apache.streampipes.commons.environment.Environments;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.function.IntSupplier;
+
+/**
+ * Limits the number of concurrent invoke and detach requests per extensions service, so that starting
+ * many pipelines at once does not overload a single service while others are idle.
+ * The limit is configured with SP_EXT_MAX_CONCURRENT_REQUESTS.
+ */
+public class ExtensionsServiceRequestLimiter {
+
+  public static final ExtensionsServiceRequestLimiter INSTANCE = new ExtensionsServiceRequestLimiter(
+      () -> Environments.getEnvironment().getExtensionsMaxConcurrentRequests().getValueOrDefault());
+
+  private final Map<String, Semaphore> permits = new ConcurrentHashMap<>();
+  private final IntSupplier maxConcurrentRequests;
+
+  ExtensionsServiceRequestLimiter(IntSupplier maxConcurrentRequests) {
+    this.maxConcurrentRequests = maxConcurrentRequests;
+  }
+
+  public void acquire(String endpointUrl) throws InterruptedException {
+    getPermits(endpointUrl).acquire();
+  }
+
+  public void release(String endpointUrl) {
+    getPermits(endpointUrl).release();
+  }
+
+  private Semaphore getPermits(String endpointUrl) {
+    return permits.computeIfAbsent(toServiceKey(endpointUrl),
+        key -> new Semaphore(Math.max(1, maxConcurrentRequests.getAsInt())));
+  }
+
+  private String toServiceKey(String endpointUrl) {
+    try {
+      var authority = URI.create(endpointUrl).getAuthority();
+      return authority != null ? authority : endpointUrl;
+    } catch (IllegalArgumentException e) {
+      return endpointUrl;
+    }
+  }
+}
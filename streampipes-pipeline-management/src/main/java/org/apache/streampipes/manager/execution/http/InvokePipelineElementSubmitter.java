@@ -22,13 +22,11 @@ import org.apache.streampipes.model.api.EndpointSelectable;
 import org.apache.streampipes.model.base.InvocableStreamPipesEntity;
 import org.apache.streampipes.model.pipeline.Pipeline;
 import org.apache.streampipes.model.pipeline.PipelineElementStatus;
-import org.apache.streampipes.model.pipeline.PipelineOperationStatus;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.List;
-import java.util.Optional;
 
 public class InvokePipelineElementSubmitter extends PipelineElementSubmitter {
 
@@ -49,6 +47,16 @@ public class InvokePipelineElementSubmitter extends PipelineElementSubmitter {
     return isSuccess();
   }
 
+  @Override
+  protected boolean shouldSubmitUpstreamFirst() {
+    return false;
+  }
+
+  @Override
+  protected boolean shouldContinueAfterFailure() {
+    return false;
+  }
+
   @Override
   protected void onSuccess() {
     status.setTitle("Pipeline " + pipelineName + " successfully started");
@@ -57,25 +65,18 @@ public class InvokePipelineElementSubmitter extends PipelineElementSubmitter {
   @Override
   protected void onFailure(List<InvocableStreamPipesEntity> processorsAndSinks) {
     LOG.info("Could not start pipeline, initializing rollback...");
-    rollbackInvokedPipelineElements(status, processorsAndSinks);
+    rollbackInvokedPipelineElements();
     status.setTitle("Could not start pipeline " + pipelineName + ".");
   }
 
-  private void rollbackInvokedPipelineElements(PipelineOperationStatus status,
-                                               List<InvocableStreamPipesEntity> pe) {
-    for (PipelineElementStatus s : status.getElementStatus()) {
-      if (s.isSuccess()) {
-        Optional<InvocableStreamPipesEntity> graph = findPipelineElements(s.getElementId(), pe);
-        graph.ifPresent(this::performDetach);
-      }
-    }
-  }
-
-  private Optional<InvocableStreamPipesEntity> findPipelineElements(String elementId,
-                                                                    List<InvocableStreamPipesEntity> pe) {
-    return pe
-        .stream()
-        .filter(g -> g.getBelongsTo().equals(elementId))
-        .findFirst();
+  /**
+   * Detaches all submitted elements upstream first. A failed or timed out invocation might still have
+   * started the element, so elements are detached regardless of their invocation status.
+   */
+  private void rollbackInvokedPipelineElements() {
+    new PipelineElementWaves(submittedElements)
+        .upstreamFirst()
+        .forEach(wave -> submitConcurrently(wave, this::performDetach));
   }
 }
+
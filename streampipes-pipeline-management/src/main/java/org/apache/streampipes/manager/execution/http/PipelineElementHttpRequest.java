@@ -18,6 +18,7 @@
 
 package org.apache.streampipes.manager.execution.http;
 
+import org.apache.streampipes.commons.environment.Environments;
 import org.apache.streampipes.manager.util.AuthTokenUtils;
 import org.apache.streampipes.model.api.EndpointSelectable;
 import org.apache.streampipes.model.pipeline.PipelineElementStatus;
@@ -36,11 +37,21 @@ public abstract class PipelineElementHttpRequest {
                                        String endpointUrl,
                                        String pipelineId) {
     try {
-      Response httpResp = initRequest(pipelineElement, endpointUrl)
-              .addHeader("Authorization", AuthTokenUtils.getAuthToken(pipelineId))
-              .connectTimeout(10000)
-              .execute();
-      return handleResponse(httpResp, pipelineElement, endpointUrl);
+      ExtensionsServiceRequestLimiter.INSTANCE.acquire(endpointUrl);
+      try {
+        Response httpResp = initRequest(pipelineElement, endpointUrl)
+                .addHeader("Authorization", AuthTokenUtils.getAuthToken(pipelineId))
+                .connectTimeout(10000)
+                .socketTimeout(Environments.getEnvironment().getPipelineElementSubmitTimeoutMs().getValueOrDefault())
+                .execute();
+        return handleResponse(httpResp, pipelineElement, endpointUrl);
+      } finally {
+        ExtensionsServiceRequestLimiter.INSTANCE.release(endpointUrl);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      logError(endpointUrl, pipelineElement.getName(), "Interrupted while waiting for the extensions service");
+      return new PipelineElementStatus(endpointUrl, pipelineElement.getName(), false, e.getMessage());
     } catch (Exception e) {
       logError(endpointUrl, pipelineElement.getName(), e.getMessage());
       return new PipelineElementStatus(endpointUrl, pipelineElement.getName(), false, e.getMessage());
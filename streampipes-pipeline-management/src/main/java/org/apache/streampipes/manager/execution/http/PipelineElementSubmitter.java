@@ -18,6 +18,7 @@
 
 package org.apache.streampipes.manager.execution.http;
 
+import org.apache.streampipes.commons.environment.Environments;
 import org.apache.streampipes.model.SpDataSet;
 import org.apache.streampipes.model.api.EndpointSelectable;
 import org.apache.streampipes.model.base.InvocableStreamPipesEntity;
@@ -25,33 +26,69 @@ import org.apache.streampipes.model.pipeline.Pipeline;
 import org.apache.streampipes.model.pipeline.PipelineElementStatus;
 import org.apache.streampipes.model.pipeline.PipelineOperationStatus;
 
-import java.util.List;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutorService;
+import org.springframework.security.core.context.SecurityContextHolder;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Submits the processors and sinks of a pipeline in waves following the pipeline topology.
+ * Elements within a wave are independent of each other and submitted concurrently, bounded by
+ * SP_PIPELINE_SUBMIT_PARALLELISM; each request is bounded by SP_PIPELINE_ELEMENT_SUBMIT_TIMEOUT_MS.
+ */
 public abstract class PipelineElementSubmitter {
 
+  private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
   protected final String pipelineId;
   protected final String pipelineName;
 
   protected final PipelineOperationStatus status;
 
+  protected final List<InvocableStreamPipesEntity> submittedElements;
+
+  private ExecutorService executorService;
+
   public PipelineElementSubmitter(Pipeline pipeline) {
     this.pipelineId = pipeline.getPipelineId();
     this.pipelineName = pipeline.getName();
     this.status = new PipelineOperationStatus(pipelineId, pipelineName);
+    this.submittedElements = new ArrayList<>();
   }
 
   public PipelineOperationStatus submit(List<InvocableStreamPipesEntity> processorsAndSinks,
                                         List<SpDataSet> dataSets) {
-    // First, try handling all data processors and sinks
-    processorsAndSinks.forEach(g -> status.addPipelineElementStatus(submitElement(g)));
-
-    // Then,submit data sets always for detach operation and otherwise only in case of success
-    if (shouldSubmitDataSets()) {
-      dataSets.forEach(dataSet -> status.addPipelineElementStatus(submitElement(dataSet)));
+    this.executorService = makeExecutorService(Math.max(processorsAndSinks.size(), dataSets.size()));
+    try {
+      // First, try handling all data processors and sinks
+      var waves = new PipelineElementWaves(processorsAndSinks);
+      for (List<InvocableStreamPipesEntity> wave : shouldSubmitUpstreamFirst()
+          ? waves.upstreamFirst()
+          : waves.downstreamFirst()) {
+        submittedElements.addAll(wave);
+        submitConcurrently(wave, this::submitElement).forEach(status::addPipelineElementStatus);
+        if (!shouldContinueAfterFailure() && !isSuccess()) {
+          break;
+        }
+      }
+
+      // Then,submit data sets always for detach operation and otherwise only in case of success
+      if (shouldSubmitDataSets()) {
+        submitConcurrently(dataSets, this::submitElement).forEach(status::addPipelineElementStatus);
+      }
+
+      applySuccess(processorsAndSinks);
+      return status;
+    } finally {
+      this.executorService.shutdownNow();
     }
-
-    applySuccess(processorsAndSinks);
-    return status;
   }
 
   protected boolean isSuccess() {
@@ -72,10 +109,68 @@ public abstract class PipelineElementSubmitter {
     return new DetachHttpRequest().execute(pipelineElement, endpointUrl, this.pipelineId);
   }
 
+  /**
+   * Applies the action to all elements concurrently and returns the results in the order of the elements.
+   */
+  protected <T extends EndpointSelectable> List<PipelineElementStatus> submitConcurrently(
+      List<T> pipelineElements,
+      Function<EndpointSelectable, PipelineElementStatus> action) {
+    List<Future<PipelineElementStatus>> futures = new ArrayList<>();
+    pipelineElements.forEach(pe -> futures.add(executorService.submit(() -> action.apply(pe))));
+
+    List<PipelineElementStatus> results = new ArrayList<>();
+    for (int i = 0; i < futures.size(); i++) {
+      results.add(awaitResult(futures.get(i), pipelineElements.get(i)));
+    }
+    return results;
+  }
+
+  private PipelineElementStatus awaitResult(Future<PipelineElementStatus> future,
+                                            EndpointSelectable pipelineElement) {
+    try {
+      // requests are bounded by their socket timeout, so waiting for the result always terminates
+      return future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      future.cancel(true);
+      return failedStatus(pipelineElement, "Interrupted while waiting for pipeline element");
+    } catch (ExecutionException e) {
+      return failedStatus(pipelineElement, e.getCause().getMessage());
+    }
+  }
+
+  private PipelineElementStatus failedStatus(EndpointSelectable pipelineElement,
+                                             String message) {
+    return new PipelineElementStatus(pipelineElement.getSelectedEndpointUrl(), pipelineElement.getName(), false,
+        message);
+  }
+
+  private ExecutorService makeExecutorService(int elementCount) {
+    int parallelism = Math.max(1, Math.min(elementCount,
+        Environments.getEnvironment().getPipelineSubmitParallelism().getValueOrDefault()));
+    ExecutorService executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+      Thread thread = new Thread(runnable, "pipeline-element-submitter-" + THREAD_COUNTER.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
+    // requests are authorized with the token of the user who triggered the operation
+    return new DelegatingSecurityContextExecutorService(executor, SecurityContextHolder.getContext());
+  }
+
   protected abstract PipelineElementStatus submitElement(EndpointSelectable pipelineElement);
 
   protected abstract boolean shouldSubmitDataSets();
 
+  /**
+   * Whether elements closest to the data streams are submitted first (detach) or sinks are submitted first (invoke).
+   */
+  protected abstract boolean shouldSubmitUpstreamFirst();
+
+  /**
+   * Whether further waves are submitted after an element of an earlier wave has failed.
+   */
+  protected abstract boolean shouldContinueAfterFailure();
+
   protected abstract void onSuccess();
 
   protected abstract void onFailure(List<InvocableStreamPipesEntity> processorsAndSinks);
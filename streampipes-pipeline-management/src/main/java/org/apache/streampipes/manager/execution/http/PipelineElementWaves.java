@@ -0,0 +1,109 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.manager.execution.http;
+
+import org.apache.streampipes.manager.data.PipelineGraph;
+import org.apache.streampipes.model.base.InvocableStreamPipesEntity;
+import org.apache.streampipes.model.base.NamedStreamPipesEntity;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Groups the processors and sinks of a pipeline into waves of independent elements.
+ * The first wave contains all elements without downstream processors or sinks, i.e., the sinks,
+ * and every following wave contains the elements whose downstream elements are part of earlier waves.
+ */
+public class PipelineElementWaves {
+
+  private final PipelineGraph pipelineGraph;
+  private final List<InvocableStreamPipesEntity> elements;
+
+  public PipelineElementWaves(List<InvocableStreamPipesEntity> elements) {
+    this.elements = elements;
+    this.pipelineGraph = buildGraph(elements);
+  }
+
+  /**
+   * Returns the waves starting with the sinks, which is the order in which elements should be invoked
+   * so that no element produces events before its consumers are running.
+   */
+  public List<List<InvocableStreamPipesEntity>> downstreamFirst() {
+    Map<NamedStreamPipesEntity, Integer> levels = new HashMap<>();
+    List<List<InvocableStreamPipesEntity>> waves = new ArrayList<>();
+    for (InvocableStreamPipesEntity element : elements) {
+      int level = findLevel(element, levels, new HashSet<>());
+      while (waves.size() <= level) {
+        waves.add(new ArrayList<>());
+      }
+      waves.get(level).add(element);
+    }
+    return waves;
+  }
+
+  /**
+   * Returns the waves starting with the elements closest to the data streams, which is the order in which
+   * elements should be detached so that downstream elements can process all events produced before.
+   */
+  public List<List<InvocableStreamPipesEntity>> upstreamFirst() {
+    var waves = downstreamFirst();
+    Collections.reverse(waves);
+    return waves;
+  }
+
+  private int findLevel(NamedStreamPipesEntity element,
+                        Map<NamedStreamPipesEntity, Integer> levels,
+                        Set<NamedStreamPipesEntity> visiting) {
+    if (levels.containsKey(element)) {
+      return levels.get(element);
+    }
+    // pipelines are acyclic, a cycle in an invalid pipeline is cut at the element visited twice
+    if (!visiting.add(element)) {
+      return 0;
+    }
+    int level = 0;
+    for (String edge : pipelineGraph.outgoingEdgesOf(element)) {
+      level = Math.max(level, findLevel(pipelineGraph.getEdgeTarget(edge), levels, visiting) + 1);
+    }
+    visiting.remove(element);
+    levels.put(element, level);
+    return level;
+  }
+
+  private PipelineGraph buildGraph(List<InvocableStreamPipesEntity> elements) {
+    PipelineGraph graph = new PipelineGraph();
+    elements.forEach(graph::addVertex);
+    for (InvocableStreamPipesEntity source : elements) {
+      for (InvocableStreamPipesEntity target : elements) {
+        if (!source.equals(target)
+            && source.getDom() != null
+            && target.getConnectedTo() != null
+            && target.getConnectedTo().contains(source.getDom())) {
+          graph.addEdge(source, target, source.getDom() + "-" + target.getDom());
+        }
+      }
+    }
+    return graph;
+  }
+}
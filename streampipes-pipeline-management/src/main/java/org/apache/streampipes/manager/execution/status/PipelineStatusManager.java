@@ -21,23 +21,17 @@ package org.apache.streampipes.manager.execution.status;
 import org.apache.streampipes.model.message.PipelineStatusMessage;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 public class PipelineStatusManager {
 
-  private static final Map<String, List<PipelineStatusMessage>> pipelineStatusMessages = new HashMap<>();
+  private static final Map<String, List<PipelineStatusMessage>> pipelineStatusMessages = new ConcurrentHashMap<>();
 
   public static void addPipelineStatus(String pipelineId, PipelineStatusMessage message) {
-    if (isInitialized(pipelineId)) {
-      pipelineStatusMessages.get(pipelineId).add(message);
-    } else {
-      List<PipelineStatusMessage> statusMessageList = new ArrayList<>();
-      statusMessageList.add(message);
-      pipelineStatusMessages.put(pipelineId, statusMessageList);
-    }
-
+    pipelineStatusMessages.computeIfAbsent(pipelineId, key -> new CopyOnWriteArrayList<>()).add(message);
   }
 
   private static boolean isInitialized(String pipelineId) {
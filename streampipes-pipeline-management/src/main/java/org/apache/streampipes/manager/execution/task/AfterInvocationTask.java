@@ -56,6 +56,11 @@ public class AfterInvocationTask implements PipelineExecutionTask {
                                      List<SpDataSet> dataSets) {
     RunningPipelineElementStorage.runningProcessorsAndSinks.put(pipelineId, graphs);
     RunningPipelineElementStorage.runningDataSets.put(pipelineId, dataSets);
+    if (statusMessageType == PipelineStatusMessageType.PIPELINE_STARTED) {
+      RunningPipelineElementStorage.addRunningInstances(pipelineId, graphs);
+    } else if (statusMessageType == PipelineStatusMessageType.PIPELINE_STOPPED) {
+      RunningPipelineElementStorage.removeRunningInstances(graphs);
+    }
   }
 
   private void addPipelineStatus(Pipeline pipeline) {
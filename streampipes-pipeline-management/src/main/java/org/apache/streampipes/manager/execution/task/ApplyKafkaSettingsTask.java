@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package org.apache.streampipes.manager.execution.task;
+
+import org.apache.streampipes.manager.execution.PipelineExecutionInfo;
+import org.apache.streampipes.model.SpDataStream;
+import org.apache.streampipes.model.grounding.KafkaTransportProtocol;
+import org.apache.streampipes.model.pipeline.Pipeline;
+import org.apache.streampipes.model.pipeline.PipelineKafkaSettings;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Applies the Kafka settings of the pipeline to the Kafka groundings of all input and output streams.
+ * Groundings are computed while the pipeline is edited, so the settings are applied when the pipeline is
+ * started, which also covers settings changed after the pipeline was saved.
+ */
+public class ApplyKafkaSettingsTask implements PipelineExecutionTask {
+
+  @Override
+  public void executeTask(Pipeline pipeline,
+                          PipelineExecutionInfo executionInfo) {
+    PipelineKafkaSettings settings = pipeline.getKafkaSettings();
+    if (settings == null) {
+      return;
+    }
+    List<SpDataStream> streams = new ArrayList<>();
+    pipeline.getSepas().forEach(processor -> {
+      streams.addAll(processor.getInputStreams());
+      streams.add(processor.getOutputStream());
+    });
+    pipeline.getActions().forEach(sink -> streams.addAll(sink.getInputStreams()));
+
+    streams
+        .stream()
+        .filter(stream -> stream != null && stream.getEventGrounding() != null)
+        .map(stream -> stream.getEventGrounding().getTransportProtocol())
+        .filter(KafkaTransportProtocol.class::isInstance)
+        .map(KafkaTransportProtocol.class::cast)
+        .forEach(protocol -> applySettings(settings, protocol));
+  }
+
+  private void applySettings(PipelineKafkaSettings settings,
+                             KafkaTransportProtocol protocol) {
+    if (settings.getPartitions() != null) {
+      protocol.setPartitions(settings.getPartitions());
+    }
+    if (settings.getReplicationFactor() != null) {
+      protocol.setReplicationFactor(settings.getReplicationFactor());
+    }
+    if (settings.getConsumerThreads() != null) {
+      protocol.setConsumerThreads(settings.getConsumerThreads());
+    }
+    if (settings.getPartitionKey() != null) {
+      protocol.setPartitionKey(settings.getPartitionKey());
+    }
+  }
+}
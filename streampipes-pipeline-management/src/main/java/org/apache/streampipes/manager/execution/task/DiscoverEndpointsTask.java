@@ -40,7 +40,7 @@ public class DiscoverEndpointsTask implements PipelineExecutionTask {
 
     processorsAndSinks.forEach(el -> {
       try {
-        var endpointUrl = findSelectedEndpoint(el);
+        var endpointUrl = findSelectedEndpoint(el, pipeline.getPipelineId());
         applyEndpointAndPipeline(pipeline.getPipelineId(), el, endpointUrl);
       } catch (NoServiceEndpointsAvailableException e) {
         executionInfo.addFailedPipelineElement(el);
@@ -48,7 +48,7 @@ public class DiscoverEndpointsTask implements PipelineExecutionTask {
     });
     dataSets.forEach(ds -> {
       try {
-        var endpointUrl = findSelectedDsEndpoint(ds);
+        var endpointUrl = findSelectedDsEndpoint(ds, pipeline.getPipelineId());
         applyEndpointAndPipeline(pipeline.getPipelineId(), ds, endpointUrl);
       } catch (NoServiceEndpointsAvailableException e) {
         executionInfo.addFailedPipelineElement(ds);
@@ -77,12 +77,13 @@ public class DiscoverEndpointsTask implements PipelineExecutionTask {
     pipelineElement.setCorrespondingPipeline(pipelineId);
   }
 
-  private String findSelectedEndpoint(InvocableStreamPipesEntity pipelineElement)
-      throws NoServiceEndpointsAvailableException {
-    return new ExtensionsServiceEndpointProvider().findSelectedEndpoint(pipelineElement);
+  private String findSelectedEndpoint(InvocableStreamPipesEntity pipelineElement,
+                                      String pipelineId) throws NoServiceEndpointsAvailableException {
+    return new ExtensionsServiceEndpointProvider().findSelectedEndpoint(pipelineElement, pipelineId);
   }
 
-  private String findSelectedDsEndpoint(SpDataSet dataSet) throws NoServiceEndpointsAvailableException {
-    return new ExtensionsServiceEndpointProvider().findSelectedEndpoint(dataSet);
+  private String findSelectedDsEndpoint(SpDataSet dataSet,
+                                        String pipelineId) throws NoServiceEndpointsAvailableException {
+    return new ExtensionsServiceEndpointProvider().findSelectedEndpoint(dataSet, pipelineId);
   }
 }
@@ -0,0 +1,46 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.manager.execution.task;
+
+import org.apache.streampipes.commons.environment.Environment;
+import org.apache.streampipes.manager.execution.PipelineExecutionInfo;
+import org.apache.streampipes.manager.matching.InMemoryProtocolSelector;
+import org.apache.streampipes.model.pipeline.Pipeline;
+
+public class SelectInMemoryProtocolTask implements PipelineExecutionTask {
+
+  private final Environment environment;
+
+  public SelectInMemoryProtocolTask(Environment environment) {
+    this.environment = environment;
+  }
+
+  @Override
+  public void executeTask(Pipeline pipeline,
+                          PipelineExecutionInfo executionInfo) {
+    var selector = new InMemoryProtocolSelector(
+        executionInfo.getProcessorsAndSinks(),
+        environment.getInMemoryTransportMirror().getValueOrDefault());
+
+    selector.resetToBrokerProtocols();
+    if (environment.getInMemoryTransportEnabled().getValueOrDefault()) {
+      selector.applyInMemoryProtocols();
+    }
+  }
+}
@@ -0,0 +1,163 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.manager.health;
+
+import org.apache.streampipes.commons.environment.Environments;
+import org.apache.streampipes.model.monitoring.RunningInstancesHeartbeat;
+import org.apache.streampipes.model.monitoring.RunningInstancesHeartbeatResponse;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.URI;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Keeps track of the running pipeline element instances of all extensions services based on the heartbeats the
+ * services push to the core. Instances which were removed from a service or whose service stopped sending
+ * heartbeats are collected as missing instances, so that the pipeline health check only needs to look at
+ * these instead of polling all services.
+ */
+public enum ExtensionsServiceHeartbeatRegistry {
+
+  INSTANCE;
+
+  private static final Logger LOG = LoggerFactory.getLogger(ExtensionsServiceHeartbeatRegistry.class);
+
+  private final Map<String, ServiceState> services = new HashMap<>();
+  private final Map<String, String> instanceServices = new HashMap<>();
+  private final Set<String> missingInstances = new HashSet<>();
+
+  public RunningInstancesHeartbeatResponse apply(RunningInstancesHeartbeat heartbeat) {
+    return apply(heartbeat, System.currentTimeMillis());
+  }
+
+  public synchronized RunningInstancesHeartbeatResponse apply(RunningInstancesHeartbeat heartbeat,
+                                                              long timestamp) {
+    String serviceKey = toServiceKey(heartbeat.getServiceUrl());
+    ServiceState state = services.get(serviceKey);
+
+    if (heartbeat.isSnapshot()) {
+      Set<String> instances = new HashSet<>(heartbeat.getAddedInstances());
+      if (state != null) {
+        state.instances
+            .stream()
+            .filter(instanceId -> !instances.contains(instanceId))
+            .forEach(instanceId -> removeInstance(serviceKey, instanceId));
+      }
+      state = new ServiceState();
+      services.put(serviceKey, state);
+      for (String instanceId : instances) {
+        addInstance(serviceKey, state, instanceId);
+      }
+    } else if (state == null || heartbeat.getSequence() != state.sequence + 1) {
+      LOG.info("Requesting running instances snapshot from extensions service {}", serviceKey);
+      return new RunningInstancesHeartbeatResponse(true);
+    } else {
+      for (String instanceId : heartbeat.getRemovedInstances()) {
+        state.instances.remove(instanceId);
+        removeInstance(serviceKey, instanceId);
+      }
+      for (String instanceId : heartbeat.getAddedInstances()) {
+        addInstance(serviceKey, state, instanceId);
+      }
+    }
+    state.sequence = heartbeat.getSequence();
+    state.lastHeartbeat = timestamp;
+
+    return new RunningInstancesHeartbeatResponse(false);
+  }
+
+  /**
+   * Returns all instances which went missing since the previous call.
+   * Services which did not send a heartbeat within SP_EXT_HEARTBEAT_TIMEOUT_MS are considered unavailable,
+   * all of their instances are reported as missing.
+   */
+  public Set<String> drainMissingInstances() {
+    return drainMissingInstances(System.currentTimeMillis(),
+        Environments.getEnvironment().getExtensionsHeartbeatTimeoutMs().getValueOrDefault());
+  }
+
+  public synchronized Set<String> drainMissingInstances(long timestamp,
+                                                        long heartbeatTimeout) {
+    Iterator<Map.Entry<String, ServiceState>> iterator = services.entrySet().iterator();
+    while (iterator.hasNext()) {
+      Map.Entry<String, ServiceState> service = iterator.next();
+      if (timestamp - service.getValue().lastHeartbeat > heartbeatTimeout) {
+        LOG.warn("Extensions service {} did not send a heartbeat within {} ms", service.getKey(), heartbeatTimeout);
+        service.getValue().instances.forEach(instanceId -> removeInstance(service.getKey(), instanceId));
+        iterator.remove();
+      }
+    }
+    Set<String> result = new HashSet<>(missingInstances);
+    missingInstances.clear();
+
+    return result;
+  }
+
+  public synchronized boolean isRunning(String instanceId) {
+    return instanceServices.containsKey(instanceId);
+  }
+
+  public synchronized boolean isTracked(String endpointUrl) {
+    return services.containsKey(toServiceKey(endpointUrl));
+  }
+
+  public synchronized void clear() {
+    services.clear();
+    instanceServices.clear();
+    missingInstances.clear();
+  }
+
+  private void addInstance(String serviceKey,
+                           ServiceState state,
+                           String instanceId) {
+    state.instances.add(instanceId);
+    instanceServices.put(instanceId, serviceKey);
+    missingInstances.remove(instanceId);
+  }
+
+  private void removeInstance(String serviceKey,
+                              String instanceId) {
+    // the instance might have been restored on another service in the meantime
+    if (serviceKey.equals(instanceServices.get(instanceId))) {
+      instanceServices.remove(instanceId);
+      missingInstances.add(instanceId);
+    }
+  }
+
+  private String toServiceKey(String serviceUrl) {
+    try {
+      var authority = URI.create(serviceUrl).getAuthority();
+      return authority != null ? authority : serviceUrl;
+    } catch (IllegalArgumentException e) {
+      return serviceUrl;
+    }
+  }
+
+  private static class ServiceState {
+    private final Set<String> instances = new HashSet<>();
+    private long sequence;
+    private long lastHeartbeat;
+  }
+}
@@ -15,6 +15,7 @@
  * limitations under the License.
  *
  */
+
 package org.apache.streampipes.manager.health;
 
 
@@ -38,109 +39,147 @@ import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Restores pipeline elements which are no longer running on their extensions service.
+ * Extensions services push changes of their running instances to the {@link ExtensionsServiceHeartbeatRegistry},
+ * so that only instances which went missing since the last check, and instances whose restore failed before,
+ * need to be checked. Services which do not send heartbeats are still polled for their running instances.
+ */
 public class PipelineHealthCheck implements Runnable {
 
   private static final Logger LOG = LoggerFactory.getLogger(PipelineHealthCheck.class);
   private static final int MAX_FAILED_ATTEMPTS = 10;
 
-  private static final Map<String, Integer> failedRestartAttempts = new HashMap<>();
+  private static final Map<String, Integer> failedRestartAttempts = new ConcurrentHashMap<>();
+
+  private final ExtensionsServiceHeartbeatRegistry heartbeatRegistry;
 
   public PipelineHealthCheck() {
+    this(ExtensionsServiceHeartbeatRegistry.INSTANCE);
+  }
 
+  public PipelineHealthCheck(ExtensionsServiceHeartbeatRegistry heartbeatRegistry) {
+    this.heartbeatRegistry = heartbeatRegistry;
   }
 
   public void checkAndRestorePipelineElements() {
-    List<Pipeline> runningPipelines = getRunningPipelines();
-
-    if (runningPipelines.size() > 0) {
-      Map<String, List<InvocableStreamPipesEntity>> endpointMap = generateEndpointMap();
-      List<String> allRunningInstances = findRunningInstances(endpointMap.keySet());
-
-      runningPipelines.forEach(pipeline -> {
-        AtomicBoolean shouldUpdatePipeline = new AtomicBoolean(false);
-        List<String> failedInstances = new ArrayList<>();
-        List<String> recoveredInstances = new ArrayList<>();
-        List<String> pipelineNotifications = new ArrayList<>();
-        List<InvocableStreamPipesEntity> graphs = RunningPipelineElementStorage
-            .runningProcessorsAndSinks
-            .get(pipeline.getPipelineId());
-
-        graphs.forEach(graph -> {
-          String instanceId = extractInstanceId(graph);
-          if (allRunningInstances.stream().noneMatch(runningInstanceId -> runningInstanceId.equals(instanceId))) {
-            if (shouldRetry(instanceId)) {
-              String endpointUrl = graph.getSelectedEndpointUrl();
-              shouldUpdatePipeline.set(true);
-              boolean success;
-              try {
-                endpointUrl = findEndpointUrl(graph);
-                success = new InvokeHttpRequest().execute(graph, endpointUrl, pipeline.getPipelineId()).isSuccess();
-              } catch (NoServiceEndpointsAvailableException e) {
-                success = false;
-              }
-              if (!success) {
-                failedInstances.add(instanceId);
-                addFailedAttemptNotification(pipelineNotifications, graph);
-                increaseFailedAttempt(instanceId);
-                LOG.info("Could not restore pipeline element {} of pipeline {} ({}/{})",
-                    graph.getName(),
-                    pipeline.getName(),
-                    failedRestartAttempts.get(instanceId),
-                    MAX_FAILED_ATTEMPTS);
-              } else {
-                recoveredInstances.add(instanceId);
-                addSuccessfulRestoreNotification(pipelineNotifications, graph);
-                resetFailedAttempts(instanceId);
-                graph.setSelectedEndpointUrl(endpointUrl);
-                LOG.info("Successfully restored pipeline element {} of pipeline {}", graph.getName(),
-                    pipeline.getName());
-              }
-            }
-          }
-        });
-        if (shouldUpdatePipeline.get()) {
-          if (failedInstances.size() > 0) {
-            pipeline.setHealthStatus(PipelineHealthStatus.FAILURE);
-          } else if (recoveredInstances.size() > 0) {
-            pipeline.setHealthStatus(PipelineHealthStatus.REQUIRES_ATTENTION);
-          }
-          pipeline.setPipelineNotifications(pipelineNotifications);
-          StorageDispatcher.INSTANCE.getNoSqlStore().getPipelineStorageAPI().updatePipeline(pipeline);
+    findAffectedPipelines().forEach(this::restorePipelineElements);
+  }
+
+  /**
+   * Returns the running graphs which are no longer available, grouped by the id of their pipeline.
+   */
+  Map<String, List<InvocableStreamPipesEntity>> findAffectedPipelines() {
+    Set<String> suspectedInstances = new HashSet<>(heartbeatRegistry.drainMissingInstances());
+    suspectedInstances.addAll(findPendingRetries());
+    suspectedInstances.addAll(findMissingInstancesOfUntrackedServices());
+
+    Map<String, List<InvocableStreamPipesEntity>> affectedPipelines = new HashMap<>();
+    suspectedInstances.forEach(instanceId -> {
+      var pipelineId = RunningPipelineElementStorage.findPipelineId(instanceId);
+      if (pipelineId.isEmpty()) {
+        failedRestartAttempts.remove(instanceId);
+      } else if (!heartbeatRegistry.isRunning(instanceId)) {
+        RunningPipelineElementStorage
+            .findRunningGraph(instanceId)
+            .ifPresent(graph -> affectedPipelines
+                .computeIfAbsent(pipelineId.get(), key -> new ArrayList<>())
+                .add(graph));
+      }
+    });
+
+    return affectedPipelines;
+  }
+
+  private void restorePipelineElements(String pipelineId,
+                                       List<InvocableStreamPipesEntity> graphs) {
+    Pipeline pipeline = getPipeline(pipelineId);
+    if (pipeline == null || !pipeline.isRunning()) {
+      return;
+    }
+
+    boolean shouldUpdatePipeline = false;
+    List<String> failedInstances = new ArrayList<>();
+    List<String> recoveredInstances = new ArrayList<>();
+    List<String> pipelineNotifications = new ArrayList<>();
+
+    for (InvocableStreamPipesEntity graph : graphs) {
+      String instanceId = extractInstanceId(graph);
+      if (shouldRetry(instanceId)) {
+        String endpointUrl = graph.getSelectedEndpointUrl();
+        shouldUpdatePipeline = true;
+        boolean success;
+        try {
+          endpointUrl = findEndpointUrl(graph, pipelineId);
+          success = new InvokeHttpRequest().execute(graph, endpointUrl, pipelineId).isSuccess();
+        } catch (NoServiceEndpointsAvailableException e) {
+          success = false;
+        }
+        if (!success) {
+          failedInstances.add(instanceId);
+          addFailedAttemptNotification(pipelineNotifications, graph);
+          increaseFailedAttempt(instanceId);
+          LOG.info("Could not restore pipeline element {} of pipeline {} ({}/{})",
+              graph.getName(),
+              pipeline.getName(),
+              failedRestartAttempts.get(instanceId),
+              MAX_FAILED_ATTEMPTS);
+        } else {
+          recoveredInstances.add(instanceId);
+          addSuccessfulRestoreNotification(pipelineNotifications, graph);
+          resetFailedAttempts(instanceId);
+          RunningPipelineElementStorage.updateSelectedEndpoint(graph, endpointUrl);
+          LOG.info("Successfully restored pipeline element {} of pipeline {}", graph.getName(),
+              pipeline.getName());
         }
-      });
+      }
+    }
+    if (shouldUpdatePipeline) {
+      if (failedInstances.size() > 0) {
+        pipeline.setHealthStatus(PipelineHealthStatus.FAILURE);
+      } else if (recoveredInstances.size() > 0) {
+        pipeline.setHealthStatus(PipelineHealthStatus.REQUIRES_ATTENTION);
+      }
+      pipeline.setPipelineNotifications(pipelineNotifications);
+      StorageDispatcher.INSTANCE.getNoSqlStore().getPipelineStorageAPI().updatePipeline(pipeline);
     }
   }
 
-  private String findEndpointUrl(InvocableStreamPipesEntity graph) throws NoServiceEndpointsAvailableException {
+  private String findEndpointUrl(InvocableStreamPipesEntity graph,
+                                 String pipelineId) throws NoServiceEndpointsAvailableException {
     SpServiceUrlProvider serviceUrlProvider = ExtensionsServiceEndpointUtils.getPipelineElementType(graph);
-    return new ExtensionsServiceEndpointGenerator(graph.getAppId(), serviceUrlProvider).getEndpointResourceUrl();
+    return new ExtensionsServiceEndpointGenerator(graph.getAppId(), serviceUrlProvider, pipelineId)
+        .getEndpointResourceUrl();
   }
 
   private boolean shouldRetry(String instanceId) {
-    if (!failedRestartAttempts.containsKey(instanceId)) {
-      return true;
-    } else {
-      return failedRestartAttempts.get(instanceId) < MAX_FAILED_ATTEMPTS;
-    }
+    return failedRestartAttempts.getOrDefault(instanceId, 0) < MAX_FAILED_ATTEMPTS;
   }
 
   private void resetFailedAttempts(String instanceId) {
-    failedRestartAttempts.put(instanceId, 0);
+    failedRestartAttempts.remove(instanceId);
   }
 
   private void increaseFailedAttempt(String instanceId) {
-    if (!failedRestartAttempts.containsKey(instanceId)) {
-      failedRestartAttempts.put(instanceId, 1);
-    } else {
-      Integer currentAttempt = failedRestartAttempts.get(instanceId) + 1;
-      failedRestartAttempts.put(instanceId, currentAttempt);
-    }
+    failedRestartAttempts.merge(instanceId, 1, Integer::sum);
+  }
+
+  private Set<String> findPendingRetries() {
+    Set<String> pendingRetries = new HashSet<>();
+    failedRestartAttempts.forEach((instanceId, attempts) -> {
+      if (attempts < MAX_FAILED_ATTEMPTS) {
+        pendingRetries.add(instanceId);
+      } else if (RunningPipelineElementStorage.findPipelineId(instanceId).isEmpty()) {
+        failedRestartAttempts.remove(instanceId);
+      }
+    });
+    return pendingRetries;
   }
 
   private void addSuccessfulRestoreNotification(List<String> pipelineNotifications,
@@ -169,37 +208,33 @@ public class PipelineHealthCheck implements Runnable {
     return InstanceIdExtractor.extractId(graph.getElementId());
   }
 
-
-  private List<String> findRunningInstances(Set<String> endpoints) {
-    List<String> allRunningInstances = new ArrayList<>();
-    endpoints.forEach(endpoint -> {
-      try {
-        allRunningInstances.addAll(new PipelineElementEndpointHealthCheck(endpoint).checkRunningInstances());
-      } catch (IOException e) {
-        LOG.error("Pipeline element endpoint {} is unavailable", endpoint);
+  /**
+   * Polls the running instances of extensions services which do not send heartbeats (e.g., services of an older
+   * version) and returns the instances which are expected to run on them but are not available.
+   */
+  private Set<String> findMissingInstancesOfUntrackedServices() {
+    Set<String> missingInstances = new HashSet<>();
+    RunningPipelineElementStorage.getEndpointInstances().forEach((endpointUrl, instanceIds) -> {
+      if (heartbeatRegistry.isTracked(endpointUrl)) {
+        return;
       }
+      Set<String> runningInstances = findRunningInstances(endpointUrl);
+      instanceIds
+          .stream()
+          .filter(instanceId -> !runningInstances.contains(instanceId))
+          .forEach(missingInstances::add);
     });
 
-    return allRunningInstances;
-  }
-
-  private Map<String, List<InvocableStreamPipesEntity>> generateEndpointMap() {
-    Map<String, List<InvocableStreamPipesEntity>> endpointMap = new HashMap<>();
-    RunningPipelineElementStorage.runningProcessorsAndSinks.forEach((pipelineId, graphs) ->
-        graphs.forEach(graph -> addEndpoint(endpointMap, graph)));
-
-    return endpointMap;
+    return missingInstances;
   }
 
-  private void addEndpoint(Map<String, List<InvocableStreamPipesEntity>> endpointMap,
-                           InvocableStreamPipesEntity graph) {
-    String selectedEndpoint = graph.getSelectedEndpointUrl();
-    if (!endpointMap.containsKey(selectedEndpoint)) {
-      endpointMap.put(selectedEndpoint, new ArrayList<>());
+  Set<String> findRunningInstances(String endpointUrl) {
+    try {
+      return new HashSet<>(new PipelineElementEndpointHealthCheck(endpointUrl).checkRunningInstances());
+    } catch (IOException e) {
+      LOG.error("Pipeline element endpoint {} is unavailable", endpointUrl);
+      return Set.of();
     }
-    List<InvocableStreamPipesEntity> existingGraphs = endpointMap.get(selectedEndpoint);
-    existingGraphs.add(graph);
-    endpointMap.put(selectedEndpoint, existingGraphs);
   }
 
   @Override
@@ -207,14 +242,11 @@ public class PipelineHealthCheck implements Runnable {
     this.checkAndRestorePipelineElements();
   }
 
-  private List<Pipeline> getRunningPipelines() {
+  private Pipeline getPipeline(String pipelineId) {
     return StorageDispatcher
         .INSTANCE
         .getNoSqlStore()
         .getPipelineStorageAPI()
-        .getAllPipelines()
-        .stream()
-        .filter(Pipeline::isRunning)
-        .collect(Collectors.toList());
+        .getPipeline(pipelineId);
   }
 }
@@ -0,0 +1,127 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.manager.matching;
+
+import org.apache.streampipes.model.SpDataStream;
+import org.apache.streampipes.model.base.InvocableStreamPipesEntity;
+import org.apache.streampipes.model.graph.DataProcessorInvocation;
+import org.apache.streampipes.model.grounding.EventGrounding;
+import org.apache.streampipes.model.grounding.InMemoryTransportProtocol;
+import org.apache.streampipes.model.grounding.TransportProtocol;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Selects the in-memory protocol for connections between data processors and their targets if all of them are
+ * placed on the same extensions service instance and support the in-memory protocol.
+ * As placement is only known once the service endpoints have been discovered, the in-memory protocol is applied
+ * when a pipeline is started, while the {@link ProtocolSelector} selects the broker protocol of a connection.
+ */
+public class InMemoryProtocolSelector {
+
+  private final List<InvocableStreamPipesEntity> processorsAndSinks;
+  private final boolean mirrorToBroker;
+
+  public InMemoryProtocolSelector(List<InvocableStreamPipesEntity> processorsAndSinks,
+                                  boolean mirrorToBroker) {
+    this.processorsAndSinks = processorsAndSinks;
+    this.mirrorToBroker = mirrorToBroker;
+  }
+
+  /**
+   * Restores the broker protocol of all connections, e.g., if placement has changed since the last start.
+   */
+  public void resetToBrokerProtocols() {
+    processorsAndSinks.forEach(element -> {
+      element.getInputStreams().forEach(this::resetToBrokerProtocol);
+      if (element instanceof DataProcessorInvocation) {
+        resetToBrokerProtocol(((DataProcessorInvocation) element).getOutputStream());
+      }
+    });
+  }
+
+  public void applyInMemoryProtocols() {
+    processorsAndSinks
+        .stream()
+        .filter(DataProcessorInvocation.class::isInstance)
+        .map(DataProcessorInvocation.class::cast)
+        .filter(this::supportsInMemoryProtocol)
+        .forEach(this::applyInMemoryProtocol);
+  }
+
+  private void applyInMemoryProtocol(DataProcessorInvocation processor) {
+    String topic = topicName(processor.getOutputStream());
+    List<SpDataStream> targetStreams = new ArrayList<>();
+    boolean colocated = true;
+
+    for (InvocableStreamPipesEntity element : processorsAndSinks) {
+      for (SpDataStream inputStream : element.getInputStreams()) {
+        if (topic.equals(topicName(inputStream))) {
+          targetStreams.add(inputStream);
+          colocated &= supportsInMemoryProtocol(element) && isSameServiceInstance(processor, element);
+        }
+      }
+    }
+
+    if (colocated && !targetStreams.isEmpty()) {
+      applyInMemoryProtocol(processor.getOutputStream());
+      targetStreams.forEach(this::applyInMemoryProtocol);
+    }
+  }
+
+  private void applyInMemoryProtocol(SpDataStream stream) {
+    EventGrounding grounding = stream.getEventGrounding();
+    grounding.setTransportProtocol(new InMemoryTransportProtocol(grounding.getTransportProtocol(), mirrorToBroker));
+  }
+
+  private void resetToBrokerProtocol(SpDataStream stream) {
+    EventGrounding grounding = stream.getEventGrounding();
+    if (grounding.getTransportProtocol() instanceof InMemoryTransportProtocol) {
+      grounding.setTransportProtocol(
+          ((InMemoryTransportProtocol) grounding.getTransportProtocol()).getBrokerProtocol());
+    }
+  }
+
+  private boolean supportsInMemoryProtocol(InvocableStreamPipesEntity element) {
+    return element.getSupportedGrounding() != null
+        && element
+        .getSupportedGrounding()
+        .getTransportProtocols()
+        .stream()
+        .anyMatch(InMemoryTransportProtocol.class::isInstance);
+  }
+
+  private boolean isSameServiceInstance(InvocableStreamPipesEntity source,
+                                        InvocableStreamPipesEntity target) {
+    String sourceInstance = serviceInstance(source.getSelectedEndpointUrl());
+    return sourceInstance != null && sourceInstance.equals(serviceInstance(target.getSelectedEndpointUrl()));
+  }
+
+  private String serviceInstance(String endpointUrl) {
+    return endpointUrl != null ? URI.create(endpointUrl).getAuthority() : null;
+  }
+
+  private String topicName(SpDataStream stream) {
+    TransportProtocol protocol = stream.getEventGrounding().getTransportProtocol();
+    return Objects.requireNonNull(protocol.getTopicDefinition()).getActualTopicName();
+  }
+}
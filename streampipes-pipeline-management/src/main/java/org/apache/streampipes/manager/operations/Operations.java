@@ -23,6 +23,8 @@ import org.apache.streampipes.commons.exceptions.SepaParseException;
 import org.apache.streampipes.commons.exceptions.SpRuntimeException;
 import org.apache.streampipes.manager.endpoint.EndpointItemFetcher;
 import org.apache.streampipes.manager.execution.PipelineExecutor;
+import org.apache.streampipes.manager.execution.bulk.BulkPipelineExecutor;
+import org.apache.streampipes.manager.execution.bulk.BulkPipelineOperation;
 import org.apache.streampipes.manager.matching.DataSetGroundingSelector;
 import org.apache.streampipes.manager.matching.PipelineVerificationHandlerV2;
 import org.apache.streampipes.manager.recommender.ElementRecommender;
@@ -50,7 +52,6 @@ import org.apache.streampipes.model.template.PipelineTemplateDescription;
 import org.apache.streampipes.model.template.PipelineTemplateInvocation;
 import org.apache.streampipes.storage.management.StorageDispatcher;
 
-import java.util.ArrayList;
 import java.util.List;
 
 
@@ -100,17 +101,20 @@ public class Operations {
     return new PipelineExecutor(pipeline, false).startPipeline();
   }
 
+  public static List<PipelineOperationStatus> startPipelines(List<Pipeline> pipelines) {
+    return new BulkPipelineExecutor().execute(BulkPipelineOperation.start(pipelines)).getPipelineStatus();
+  }
+
   public static List<PipelineOperationStatus> stopAllPipelines(boolean forceStop) {
-    List<PipelineOperationStatus> status = new ArrayList<>();
     List<Pipeline> pipelines =
         StorageDispatcher.INSTANCE.getNoSqlStore().getPipelineStorageAPI().getAllPipelines();
 
-    pipelines.forEach(p -> {
-      if (p.isRunning()) {
-        status.add(Operations.stopPipeline(p, forceStop));
-      }
-    });
-    return status;
+    return stopPipelines(pipelines.stream().filter(Pipeline::isRunning).toList(), forceStop);
+  }
+
+  public static List<PipelineOperationStatus> stopPipelines(List<Pipeline> pipelines,
+                                                            boolean forceStop) {
+    return new BulkPipelineExecutor().execute(BulkPipelineOperation.stop(pipelines, forceStop)).getPipelineStatus();
   }
 
   public static PipelineOperationStatus stopPipeline(Pipeline pipeline,
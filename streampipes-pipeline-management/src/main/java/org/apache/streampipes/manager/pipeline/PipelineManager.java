@@ -19,10 +19,13 @@
 package org.apache.streampipes.manager.pipeline;
 
 import org.apache.streampipes.commons.random.UUIDGenerator;
+import org.apache.streampipes.manager.execution.bulk.BulkPipelineOperation;
+import org.apache.streampipes.manager.execution.bulk.BulkPipelineOperations;
 import org.apache.streampipes.manager.operations.Operations;
 import org.apache.streampipes.manager.permission.PermissionManager;
 import org.apache.streampipes.model.base.NamedStreamPipesEntity;
 import org.apache.streampipes.model.client.user.Permission;
+import org.apache.streampipes.model.pipeline.BulkPipelineOperationStatus;
 import org.apache.streampipes.model.pipeline.Pipeline;
 import org.apache.streampipes.model.pipeline.PipelineOperationStatus;
 import org.apache.streampipes.storage.api.IPermissionStorage;
@@ -33,6 +36,8 @@ import com.google.common.collect.Streams;
 
 import java.util.Date;
 import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -57,6 +62,15 @@ public class PipelineManager {
     return getPipelineStorage().getPipeline(pipelineId);
   }
 
+  private static List<Pipeline> getPipelines(List<String> pipelineIds) {
+    return pipelineIds
+        .stream()
+        .distinct()
+        .map(PipelineManager::getPipeline)
+        .filter(Objects::nonNull)
+        .collect(Collectors.toList());
+  }
+
   /**
    * Adds a new pipeline for the user with the username to the storage
    *
@@ -105,6 +119,41 @@ public class PipelineManager {
     return Operations.stopPipeline(pipeline, forceStop);
   }
 
+  /**
+   * Starts the pipelines with the given ids in the background
+   *
+   * @param pipelineIds of pipelines to be started
+   * @return status of the bulk operation, which can be queried for progress with its operation id
+   */
+  public static BulkPipelineOperationStatus startPipelines(List<String> pipelineIds) {
+    var operation = BulkPipelineOperation.start(getPipelines(pipelineIds));
+    return BulkPipelineOperations.INSTANCE.submit(operation).toStatus();
+  }
+
+  /**
+   * Stops the pipelines with the given ids in the background
+   *
+   * @param pipelineIds of pipelines to be stopped
+   * @param forceStop   when it is true, the pipelines are stopped, even if not all processing element
+   *                    containers could be reached
+   * @return status of the bulk operation, which can be queried for progress with its operation id
+   */
+  public static BulkPipelineOperationStatus stopPipelines(List<String> pipelineIds,
+                                                          boolean forceStop) {
+    var operation = BulkPipelineOperation.stop(getPipelines(pipelineIds), forceStop);
+    return BulkPipelineOperations.INSTANCE.submit(operation).toStatus();
+  }
+
+  /**
+   * Returns the progress of a bulk start or stop operation
+   *
+   * @param operationId id of the bulk operation
+   * @return the current status of the operation, if the operation is known
+   */
+  public static Optional<BulkPipelineOperationStatus> getBulkOperationStatus(String operationId) {
+    return BulkPipelineOperations.INSTANCE.find(operationId).map(BulkPipelineOperation::toStatus);
+  }
+
   /**
    * Deletes the pipeline with the pipeline Id
    *
@@ -18,17 +18,104 @@
 
 package org.apache.streampipes.manager.storage;
 
+import org.apache.streampipes.commons.constants.InstanceIdExtractor;
 import org.apache.streampipes.model.SpDataSet;
 import org.apache.streampipes.model.base.InvocableStreamPipesEntity;
 
-import java.util.HashMap;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class RunningPipelineElementStorage {
 
-  public static Map<String, List<InvocableStreamPipesEntity>> runningProcessorsAndSinks = new HashMap<>();
+  public static Map<String, List<InvocableStreamPipesEntity>> runningProcessorsAndSinks = new ConcurrentHashMap<>();
 
-  public static Map<String, List<SpDataSet>> runningDataSets = new HashMap<>();
+  public static Map<String, List<SpDataSet>> runningDataSets = new ConcurrentHashMap<>();
+
+  // running instance id -> id of the pipeline the instance belongs to
+  private static final Map<String, String> runningInstancePipelines = new ConcurrentHashMap<>();
+
+  // running instance id -> invocation graph of the instance
+  private static final Map<String, InvocableStreamPipesEntity> runningInstanceGraphs = new ConcurrentHashMap<>();
+
+  // selected endpoint url -> ids of the running instances invoked on this endpoint
+  private static final Map<String, Set<String>> endpointInstances = new ConcurrentHashMap<>();
+
+  public static void addRunningInstances(String pipelineId,
+                                         List<InvocableStreamPipesEntity> graphs) {
+    graphs.forEach(graph -> {
+      String instanceId = extractInstanceId(graph);
+      removeFromEndpoint(runningInstanceGraphs.put(instanceId, graph), instanceId);
+      runningInstancePipelines.put(instanceId, pipelineId);
+      addToEndpoint(graph.getSelectedEndpointUrl(), instanceId);
+    });
+  }
+
+  public static void removeRunningInstances(List<InvocableStreamPipesEntity> graphs) {
+    graphs.forEach(graph -> {
+      String instanceId = extractInstanceId(graph);
+      runningInstancePipelines.remove(instanceId);
+      removeFromEndpoint(runningInstanceGraphs.remove(instanceId), instanceId);
+    });
+  }
+
+  /**
+   * Moves a running instance to the endpoint it was restored on.
+   */
+  public static void updateSelectedEndpoint(InvocableStreamPipesEntity graph,
+                                            String endpointUrl) {
+    String instanceId = extractInstanceId(graph);
+    removeFromEndpoint(graph, instanceId);
+    graph.setSelectedEndpointUrl(endpointUrl);
+    if (runningInstanceGraphs.containsKey(instanceId)) {
+      addToEndpoint(endpointUrl, instanceId);
+    }
+  }
+
+  public static Optional<String> findPipelineId(String instanceId) {
+    return Optional.ofNullable(runningInstancePipelines.get(instanceId));
+  }
+
+  public static Optional<InvocableStreamPipesEntity> findRunningGraph(String instanceId) {
+    return Optional.ofNullable(runningInstanceGraphs.get(instanceId));
+  }
+
+  public static Map<String, Set<String>> getEndpointInstances() {
+    return Collections.unmodifiableMap(endpointInstances);
+  }
+
+  public static void clearRunningInstances() {
+    runningInstancePipelines.clear();
+    runningInstanceGraphs.clear();
+    endpointInstances.clear();
+  }
+
+  private static void addToEndpoint(String endpointUrl,
+                                    String instanceId) {
+    if (endpointUrl != null) {
+      endpointInstances.compute(endpointUrl, (key, instances) -> {
+        Set<String> result = instances != null ? instances : ConcurrentHashMap.newKeySet();
+        result.add(instanceId);
+        return result;
+      });
+    }
+  }
+
+  private static void removeFromEndpoint(InvocableStreamPipesEntity graph,
+                                         String instanceId) {
+    if (graph != null && graph.getSelectedEndpointUrl() != null) {
+      endpointInstances.computeIfPresent(graph.getSelectedEndpointUrl(), (key, instances) -> {
+        instances.remove(instanceId);
+        return instances.isEmpty() ? null : instances;
+      });
+    }
+  }
+
+  private static String extractInstanceId(InvocableStreamPipesEntity graph) {
+    return InstanceIdExtractor.extractId(graph.getElementId());
+  }
 
 }
@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.manager.execution.bulk;
+
+import org.apache.streampipes.model.pipeline.Pipeline;
+import org.apache.streampipes.model.pipeline.PipelineOperationStatus;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TestBulkPipelineExecutor {
+
+  @Test
+  public void testParallelismIsBounded() {
+    var running = new AtomicInteger();
+    var maxRunning = new AtomicInteger();
+    var operation = makeOperation(makePipelines(6), pipeline -> {
+      maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+      sleep();
+      running.decrementAndGet();
+      return makeStatus(pipeline, true);
+    });
+
+    new BulkPipelineExecutor(2).execute(operation);
+
+    assertEquals(2, maxRunning.get());
+    assertEquals(6, operation.getPipelineStatus().size());
+    assertTrue(operation.isFinished());
+  }
+
+  @Test
+  public void testFailedPipelinesAreCounted() {
+    var operation = makeOperation(makePipelines(5), pipeline -> {
+      if ("pipeline-1".equals(pipeline.getPipelineId())) {
+        throw new IllegalStateException("Service unavailable");
+      }
+      return makeStatus(pipeline, !"pipeline-3".equals(pipeline.getPipelineId()));
+    });
+
+    new BulkPipelineExecutor(3).execute(operation);
+
+    var status = operation.toStatus();
+    assertEquals(5, status.getTotalPipelines());
+    assertEquals(5, status.getCompletedPipelines());
+    assertEquals(2, status.getFailedPipelines());
+    assertTrue(status.isFinished());
+  }
+
+  static BulkPipelineOperation makeOperation(List<Pipeline> pipelines,
+                                             Function<Pipeline, PipelineOperationStatus> action) {
+    return new BulkPipelineOperation(BulkPipelineOperationType.START, pipelines, action);
+  }
+
+  static List<Pipeline> makePipelines(int count) {
+    List<Pipeline> pipelines = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      var pipeline = new Pipeline();
+      pipeline.setPipelineId("pipeline-" + i);
+      pipeline.setName("Pipeline " + i);
+      pipelines.add(pipeline);
+    }
+    return pipelines;
+  }
+
+  static PipelineOperationStatus makeStatus(Pipeline pipeline,
+                                            boolean success) {
+    var status = new PipelineOperationStatus(pipeline.getPipelineId(), pipeline.getName());
+    status.setSuccess(success);
+    return status;
+  }
+
+  private static void sleep() {
+    try {
+      TimeUnit.MILLISECONDS.sleep(50);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.manager.execution.bulk;
+
+import org.apache.streampipes.model.pipeline.Pipeline;
+import org.apache.streampipes.storage.api.IPipelineStorage;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class TestPipelineRestoreService {
+
+  private List<Pipeline> pipelines;
+  private IPipelineStorage pipelineStorage;
+  private BulkPipelineExecutor executor;
+  private List<Set<String>> startedPipelineIds;
+
+  @Before
+  public void setUp() {
+    pipelines = TestBulkPipelineExecutor.makePipelines(3);
+    // pipeline-0 was running when the core stopped, pipeline-1 was flagged for restart
+    pipelines.get(0).setRunning(true);
+    pipelines.get(0).setRestartOnSystemReboot(true);
+    pipelines.get(1).setRestartOnSystemReboot(true);
+
+    pipelineStorage = mock(IPipelineStorage.class);
+    when(pipelineStorage.getAllPipelines()).thenReturn(pipelines);
+    pipelines.forEach(p -> when(pipelineStorage.getPipeline(p.getPipelineId())).thenReturn(p));
+
+    executor = mock(BulkPipelineExecutor.class);
+    startedPipelineIds = new ArrayList<>();
+  }
+
+  @Test
+  public void testOnlyFailedPipelinesAreRetried() {
+    var failures = new ArrayList<>(List.of("pipeline-0"));
+    mockExecution(pipeline -> !failures.remove(pipeline.getPipelineId()));
+
+    makeRestoreService().run();
+
+    assertEquals(List.of(Set.of("pipeline-0", "pipeline-1"), Set.of("pipeline-0")), startedPipelineIds);
+    assertFalse(pipelines.get(0).isRestartOnSystemReboot());
+    assertFalse(pipelines.get(1).isRestartOnSystemReboot());
+  }
+
+  @Test
+  public void testRetriesAreLimited() {
+    mockExecution(pipeline -> !"pipeline-1".equals(pipeline.getPipelineId()));
+
+    makeRestoreService().run();
+
+    assertEquals(4, startedPipelineIds.size());
+    startedPipelineIds.subList(1, 4).forEach(ids -> assertEquals(Set.of("pipeline-1"), ids));
+    assertFalse(pipelines.get(0).isRestartOnSystemReboot());
+    assertTrue(pipelines.get(1).isRestartOnSystemReboot());
+  }
+
+  private void mockExecution(Function<Pipeline, Boolean> success) {
+    when(executor.execute(any())).thenAnswer(invocation -> {
+      BulkPipelineOperation operation = invocation.getArgument(0);
+      startedPipelineIds.add(operation.getPipelines()
+          .stream()
+          .map(Pipeline::getPipelineId)
+          .collect(Collectors.toSet()));
+      operation.getPipelines().forEach(pipeline -> operation.addPipelineStatus(
+          TestBulkPipelineExecutor.makeStatus(pipeline, success.apply(pipeline))));
+      return operation;
+    });
+  }
+
+  private PipelineRestoreService makeRestoreService() {
+    return new PipelineRestoreService(executor, () -> pipelineStorage, 0);
+  }
+}
@@ -0,0 +1,170 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.manager.execution.endpoint.placement;
+
+import org.apache.streampipes.model.monitoring.SpEndpointMonitoringInfo;
+import org.apache.streampipes.model.monitoring.SpMetricsEntry;
+import org.apache.streampipes.model.monitoring.ThroughputSample;
+import org.apache.streampipes.svcdiscovery.api.model.SpServiceUrlProvider;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+public class TestPlacementStrategies {
+
+  private static final List<String> ENDPOINTS = List.of("http://ext-1:8090", "http://ext-2:8090", "http://ext-3:8090");
+
+  @Test
+  public void testRoundRobinCyclesThroughEndpoints() {
+    var strategy = new RoundRobinPlacementStrategy();
+    var request = makeRequest(null);
+
+    assertEquals("http://ext-1:8090", strategy.select(ENDPOINTS, request));
+    assertEquals("http://ext-2:8090", strategy.select(List.of("http://ext-3:8090", "http://ext-2:8090",
+        "http://ext-1:8090"), request));
+    assertEquals("http://ext-3:8090", strategy.select(ENDPOINTS, request));
+    assertEquals("http://ext-1:8090", strategy.select(ENDPOINTS, request));
+  }
+
+  @Test
+  public void testStickyByPipelineKeepsPipelineOnEndpoint() {
+    var strategy = new StickyByPipelinePlacementStrategy();
+    var selected = strategy.select(ENDPOINTS, makeRequest("pipeline-a"));
+
+    for (int i = 0; i < 10; i++) {
+      assertEquals(selected, strategy.select(ENDPOINTS, makeRequest("pipeline-a")));
+    }
+  }
+
+  @Test
+  public void testStickyByPipelineOnlyMovesPipelinesOfRemovedEndpoint() {
+    var strategy = new StickyByPipelinePlacementStrategy();
+    for (int i = 0; i < 50; i++) {
+      var pipelineId = "pipeline-" + i;
+      var selected = strategy.select(ENDPOINTS, makeRequest(pipelineId));
+      var remaining = ENDPOINTS.stream().filter(e -> !e.equals("http://ext-2:8090")).toList();
+      var reselected = strategy.select(remaining, makeRequest(pipelineId));
+      if (!selected.equals("http://ext-2:8090")) {
+        assertEquals(selected, reselected);
+      } else {
+        assertNotEquals(selected, reselected);
+      }
+    }
+  }
+
+  @Test
+  public void testLeastLoadedPrefersServiceWithLowestLoad() {
+    var fetcher = new StaticLoadFetcher();
+    fetcher.add("http://ext-1:8090", 100, 2);
+    fetcher.add("http://ext-2:8090", 10, 1);
+    fetcher.add("http://ext-3:8090", 200, 0);
+    var strategy = new LeastLoadedPlacementStrategy(fetcher, new FirstAvailablePlacementStrategy());
+
+    assertEquals("http://ext-2:8090", strategy.select(ENDPOINTS, makeRequest("pipeline-a")));
+  }
+
+  @Test
+  public void testLeastLoadedSpreadsElementsPlacedAtOnce() {
+    var fetcher = new StaticLoadFetcher();
+    fetcher.add("http://ext-1:8090", 0, 0);
+    fetcher.add("http://ext-2:8090", 0, 0);
+    var strategy = new LeastLoadedPlacementStrategy(fetcher, new FirstAvailablePlacementStrategy());
+    var endpoints = List.of("http://ext-1:8090", "http://ext-2:8090");
+
+    var first = strategy.select(endpoints, makeRequest("pipeline-a"));
+    var second = strategy.select(endpoints, makeRequest("pipeline-a"));
+
+    assertNotEquals(first, second);
+  }
+
+  @Test
+  public void testLeastLoadedCachesRunningInstances() {
+    var fetcher = new StaticLoadFetcher();
+    fetcher.add("http://ext-1:8090", 0, 0);
+    fetcher.add("http://ext-2:8090", 0, 0);
+    var strategy = new LeastLoadedPlacementStrategy(fetcher, new FirstAvailablePlacementStrategy());
+    var endpoints = List.of("http://ext-1:8090", "http://ext-2:8090");
+
+    for (int i = 0; i < 5; i++) {
+      strategy.select(endpoints, makeRequest("pipeline-a"));
+    }
+
+    assertEquals(2, fetcher.runningInstanceRequests);
+  }
+
+  @Test
+  public void testLeastLoadedFallsBackIfNoLoadIsKnown() {
+    var strategy = new LeastLoadedPlacementStrategy(new StaticLoadFetcher(), new FirstAvailablePlacementStrategy());
+
+    assertEquals("http://ext-1:8090", strategy.select(ENDPOINTS, makeRequest("pipeline-a")));
+  }
+
+  @Test
+  public void testUnknownStrategyFallsBackToFirstAvailable() {
+    assertEquals(PlacementStrategies.FIRST_AVAILABLE, PlacementStrategies.from("unknown"));
+    assertEquals(PlacementStrategies.FIRST_AVAILABLE, PlacementStrategies.from(null));
+    assertEquals(PlacementStrategies.LEAST_LOADED, PlacementStrategies.from(" least_loaded "));
+  }
+
+  private PlacementRequest makeRequest(String pipelineId) {
+    return new PlacementRequest("org.apache.streampipes.processors.test", SpServiceUrlProvider.DATA_PROCESSOR,
+        pipelineId);
+  }
+
+  private static class StaticLoadFetcher extends ExtensionsServiceLoadFetcher {
+
+    private final Map<String, SpEndpointMonitoringInfo> monitoringInfos = new HashMap<>();
+    private final Map<String, Integer> runningInstances = new HashMap<>();
+    private int runningInstanceRequests;
+
+    void add(String endpoint,
+             long messagesPerSecond,
+             int instances) {
+      var entry = new SpMetricsEntry();
+      entry.setThroughput(List.of(new ThroughputSample(1000, messagesPerSecond * 10)));
+      monitoringInfos.put(endpoint, new SpEndpointMonitoringInfo(Map.of(), Map.of("element", entry)));
+      runningInstances.put(SpServiceUrlProvider.DATA_PROCESSOR.getInvocationUrl(endpoint,
+          "org.apache.streampipes.processors.test"), instances);
+    }
+
+    @Override
+    public SpEndpointMonitoringInfo fetchMonitoringInfo(String endpoint) throws IOException {
+      if (!monitoringInfos.containsKey(endpoint)) {
+        throw new IOException("Unknown endpoint " + endpoint);
+      }
+      return monitoringInfos.get(endpoint);
+    }
+
+    @Override
+    public int fetchRunningInstances(String invocationUrl) throws IOException {
+      runningInstanceRequests++;
+      if (!runningInstances.containsKey(invocationUrl)) {
+        throw new IOException("Unknown endpoint " + invocationUrl);
+      }
+      return runningInstances.get(invocationUrl);
+    }
+  }
+}
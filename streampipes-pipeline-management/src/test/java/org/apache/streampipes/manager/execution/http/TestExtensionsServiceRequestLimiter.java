@@ -0,0 +1,70 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.manager.execution.http;
+
+import org.junit.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.Assert.assertFalse;
+
+public class TestExtensionsServiceRequestLimiter {
+
+  private static final String SERVICE_A_INVOKE = "http://service-a:8090/sec/processor-1";
+  private static final String SERVICE_A_DETACH = "http://service-a:8090/sec/processor-2/detach";
+  private static final String SERVICE_B_INVOKE = "http://service-b:8090/sec/processor-1";
+
+  private final ExtensionsServiceRequestLimiter limiter = new ExtensionsServiceRequestLimiter(() -> 2);
+
+  @Test
+  public void testRequestsAreLimitedPerService() throws Exception {
+    limiter.acquire(SERVICE_A_INVOKE);
+    limiter.acquire(SERVICE_A_INVOKE);
+
+    var blockedRequest = acquireAsync(SERVICE_A_DETACH);
+    // requests to other services are not affected by the busy service
+    acquireAsync(SERVICE_B_INVOKE).get(5, TimeUnit.SECONDS);
+    assertBlocked(blockedRequest);
+
+    limiter.release(SERVICE_A_INVOKE);
+    blockedRequest.get(5, TimeUnit.SECONDS);
+  }
+
+  private CompletableFuture<Void> acquireAsync(String endpointUrl) {
+    return CompletableFuture.runAsync(() -> {
+      try {
+        limiter.acquire(endpointUrl);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    });
+  }
+
+  private void assertBlocked(CompletableFuture<Void> request) throws InterruptedException, ExecutionException {
+    try {
+      request.get(100, TimeUnit.MILLISECONDS);
+    } catch (TimeoutException e) {
+      return;
+    }
+    assertFalse("Request should wait for a free permit", request.isDone());
+  }
+}
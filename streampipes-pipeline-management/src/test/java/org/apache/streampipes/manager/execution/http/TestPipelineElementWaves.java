@@ -0,0 +1,86 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.manager.execution.http;
+
+import org.apache.streampipes.model.base.InvocableStreamPipesEntity;
+import org.apache.streampipes.model.graph.DataProcessorInvocation;
+import org.apache.streampipes.model.graph.DataSinkInvocation;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class TestPipelineElementWaves {
+
+  @Test
+  public void testSinksAreInvokedFirst() {
+    // stream -> p1 -> p2 -> sink1, p1 -> sink2
+    var p1 = makeProcessor("p1", "stream");
+    var p2 = makeProcessor("p2", "p1");
+    var sink1 = makeSink("sink1", "p2");
+    var sink2 = makeSink("sink2", "p1");
+
+    var waves = new PipelineElementWaves(List.of(p1, p2, sink1, sink2)).downstreamFirst();
+
+    assertEquals(3, waves.size());
+    assertEquals(List.of(sink1, sink2), waves.get(0));
+    assertEquals(List.of(p2), waves.get(1));
+    assertEquals(List.of(p1), waves.get(2));
+  }
+
+  @Test
+  public void testUpstreamFirstReversesWaves() {
+    var p1 = makeProcessor("p1", "stream");
+    var sink = makeSink("sink", "p1");
+
+    var waves = new PipelineElementWaves(List.of(sink, p1)).upstreamFirst();
+
+    assertEquals(List.of(List.of(p1), List.of(sink)), waves);
+  }
+
+  @Test
+  public void testIndependentElementsShareWave() {
+    var sink1 = makeSink("sink1", "stream1");
+    var sink2 = makeSink("sink2", "stream2");
+
+    var waves = new PipelineElementWaves(List.of(sink1, sink2)).downstreamFirst();
+
+    assertEquals(List.of(List.of(sink1, sink2)), waves);
+  }
+
+  private InvocableStreamPipesEntity makeProcessor(String dom,
+                                                   String connectedTo) {
+    var processor = new DataProcessorInvocation();
+    processor.setElementId(dom);
+    processor.setDom(dom);
+    processor.setConnectedTo(List.of(connectedTo));
+    return processor;
+  }
+
+  private InvocableStreamPipesEntity makeSink(String dom,
+                                              String connectedTo) {
+    var sink = new DataSinkInvocation();
+    sink.setElementId(dom);
+    sink.setDom(dom);
+    sink.setConnectedTo(List.of(connectedTo));
+    return sink;
+  }
+}
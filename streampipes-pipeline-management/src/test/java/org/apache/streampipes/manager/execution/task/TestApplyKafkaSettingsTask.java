@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package org.apache.streampipes.manager.execution.task;
+
+import org.apache.streampipes.model.SpDataStream;
+import org.apache.streampipes.model.graph.DataProcessorInvocation;
+import org.apache.streampipes.model.graph.DataSinkInvocation;
+import org.apache.streampipes.model.grounding.EventGrounding;
+import org.apache.streampipes.model.grounding.KafkaTransportProtocol;
+import org.apache.streampipes.model.grounding.MqttTransportProtocol;
+import org.apache.streampipes.model.grounding.TransportProtocol;
+import org.apache.streampipes.model.pipeline.Pipeline;
+import org.apache.streampipes.model.pipeline.PipelineKafkaSettings;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class TestApplyKafkaSettingsTask {
+
+  @Test
+  public void testSettingsAreAppliedToAllKafkaStreams() {
+    var processorInput = new KafkaTransportProtocol();
+    var processorOutput = new KafkaTransportProtocol();
+    var sinkInput = new KafkaTransportProtocol();
+    var pipeline = makePipeline(processorInput, processorOutput, sinkInput);
+    var settings = new PipelineKafkaSettings();
+    settings.setPartitions(6);
+    settings.setReplicationFactor(3);
+    settings.setConsumerThreads(2);
+    settings.setPartitionKey("sensorId");
+    pipeline.setKafkaSettings(settings);
+
+    new ApplyKafkaSettingsTask().executeTask(pipeline, null);
+
+    for (KafkaTransportProtocol protocol : List.of(processorInput, processorOutput, sinkInput)) {
+      assertEquals(Integer.valueOf(6), protocol.getPartitions());
+      assertEquals(Integer.valueOf(3), protocol.getReplicationFactor());
+      assertEquals(Integer.valueOf(2), protocol.getConsumerThreads());
+      assertEquals("sensorId", protocol.getPartitionKey());
+    }
+  }
+
+  @Test
+  public void testUnsetSettingsKeepProtocolValues() {
+    var processorInput = new KafkaTransportProtocol();
+    processorInput.setPartitions(4);
+    var pipeline = makePipeline(processorInput, new MqttTransportProtocol(), new KafkaTransportProtocol());
+    var settings = new PipelineKafkaSettings();
+    settings.setConsumerThreads(3);
+    pipeline.setKafkaSettings(settings);
+
+    new ApplyKafkaSettingsTask().executeTask(pipeline, null);
+
+    assertEquals(Integer.valueOf(4), processorInput.getPartitions());
+    assertEquals(Integer.valueOf(3), processorInput.getConsumerThreads());
+    assertNull(processorInput.getPartitionKey());
+  }
+
+  private Pipeline makePipeline(TransportProtocol processorInput,
+                                TransportProtocol processorOutput,
+                                TransportProtocol sinkInput) {
+    var processor = new DataProcessorInvocation();
+    processor.setInputStreams(List.of(makeStream(processorInput)));
+    processor.setOutputStream(makeStream(processorOutput));
+    var sink = new DataSinkInvocation();
+    sink.setInputStreams(List.of(makeStream(sinkInput)));
+
+    var pipeline = new Pipeline();
+    pipeline.setSepas(List.of(processor));
+    pipeline.setActions(List.of(sink));
+    return pipeline;
+  }
+
+  private SpDataStream makeStream(TransportProtocol protocol) {
+    var grounding = new EventGrounding();
+    grounding.setTransportProtocol(protocol);
+    var stream = new SpDataStream();
+    stream.setEventGrounding(grounding);
+    return stream;
+  }
+}
@@ -0,0 +1,108 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.manager.health;
+
+import org.apache.streampipes.model.monitoring.RunningInstancesHeartbeat;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TestExtensionsServiceHeartbeatRegistry {
+
+  private static final String SERVICE_A = "http://ext-a:8090/";
+  private static final String SERVICE_B = "http://ext-b:8090/";
+  private static final long TIMEOUT = 30000;
+
+  private final ExtensionsServiceHeartbeatRegistry registry = ExtensionsServiceHeartbeatRegistry.INSTANCE;
+
+  @After
+  public void tearDown() {
+    registry.clear();
+  }
+
+  @Test
+  public void testDeltasReportRemovedInstancesAsMissing() {
+    registry.apply(snapshot(SERVICE_A, 1, "i1", "i2"), 0);
+    registry.apply(delta(SERVICE_A, 2, List.of("i3"), List.of("i1")), 0);
+
+    assertEquals(Set.of("i1"), registry.drainMissingInstances(0, TIMEOUT));
+    assertTrue(registry.drainMissingInstances(0, TIMEOUT).isEmpty());
+    assertTrue(registry.isRunning("i3"));
+    assertFalse(registry.isRunning("i1"));
+  }
+
+  @Test
+  public void testSnapshotIsDiffedAgainstPreviousState() {
+    registry.apply(snapshot(SERVICE_A, 1, "i1", "i2"), 0);
+    registry.apply(snapshot(SERVICE_A, 1, "i2"), 0);
+
+    assertEquals(Set.of("i1"), registry.drainMissingInstances(0, TIMEOUT));
+  }
+
+  @Test
+  public void testSequenceGapRequiresResync() {
+    assertTrue(registry.apply(delta(SERVICE_A, 1, List.of("i1"), List.of()), 0).isResyncRequired());
+
+    registry.apply(snapshot(SERVICE_A, 1, "i1"), 0);
+
+    assertFalse(registry.apply(delta(SERVICE_A, 2, List.of(), List.of()), 0).isResyncRequired());
+    assertTrue(registry.apply(delta(SERVICE_A, 4, List.of(), List.of("i1")), 0).isResyncRequired());
+    assertTrue(registry.isRunning("i1"));
+  }
+
+  @Test
+  public void testExpiredServicesReportAllInstancesAsMissing() {
+    registry.apply(snapshot(SERVICE_A, 1, "i1", "i2"), 0);
+    registry.apply(snapshot(SERVICE_B, 1, "i3"), TIMEOUT);
+
+    assertEquals(Set.of("i1", "i2"), registry.drainMissingInstances(TIMEOUT + 1, TIMEOUT));
+    assertFalse(registry.isTracked("http://ext-a:8090/sec/org.apache.streampipes.processor"));
+    assertTrue(registry.isTracked("http://ext-b:8090/sec/org.apache.streampipes.processor"));
+  }
+
+  @Test
+  public void testInstanceMovedToOtherServiceIsNotMissing() {
+    registry.apply(snapshot(SERVICE_A, 1, "i1"), 0);
+    registry.apply(snapshot(SERVICE_B, 1, "i1"), 0);
+    registry.apply(delta(SERVICE_A, 2, List.of(), List.of("i1")), 0);
+
+    assertTrue(registry.drainMissingInstances(0, TIMEOUT).isEmpty());
+    assertTrue(registry.isRunning("i1"));
+  }
+
+  private RunningInstancesHeartbeat snapshot(String serviceUrl,
+                                             long sequence,
+                                             String... instanceIds) {
+    return new RunningInstancesHeartbeat("service", serviceUrl, sequence, true, List.of(instanceIds), List.of());
+  }
+
+  private RunningInstancesHeartbeat delta(String serviceUrl,
+                                          long sequence,
+                                          List<String> added,
+                                          List<String> removed) {
+    return new RunningInstancesHeartbeat("service", serviceUrl, sequence, false, added, removed);
+  }
+}
@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package org.apache.streampipes.manager.health;
+
+import org.apache.streampipes.manager.storage.RunningPipelineElementStorage;
+import org.apache.streampipes.model.base.InvocableStreamPipesEntity;
+import org.apache.streampipes.model.graph.DataProcessorInvocation;
+import org.apache.streampipes.model.monitoring.RunningInstancesHeartbeat;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TestPipelineHealthCheck {
+
+  private static final String SERVICE_A = "http://ext-a:8090/";
+  private static final String ENDPOINT_A = "http://ext-a:8090/sepa/org.apache.streampipes.processor";
+  private static final String ENDPOINT_B = "http://ext-b:8090/sepa/org.apache.streampipes.processor";
+
+  private final ExtensionsServiceHeartbeatRegistry registry = ExtensionsServiceHeartbeatRegistry.INSTANCE;
+  private final List<String> polledEndpoints = new ArrayList<>();
+
+  @After
+  public void tearDown() {
+    registry.clear();
+    RunningPipelineElementStorage.clearRunningInstances();
+  }
+
+  @Test
+  public void testOnlyUntrackedEndpointsArePolled() {
+    var trackedGraph = makeGraph("i1", ENDPOINT_A);
+    var untrackedGraph = makeGraph("i2", ENDPOINT_B);
+    RunningPipelineElementStorage.addRunningInstances("p1", List.of(trackedGraph, untrackedGraph));
+    registry.apply(snapshot("i1"), System.currentTimeMillis());
+
+    var affectedPipelines = makeHealthCheck(Set.of()).findAffectedPipelines();
+
+    assertEquals(List.of(ENDPOINT_B), polledEndpoints);
+    assertEquals(Map.of("p1", List.of(untrackedGraph)), affectedPipelines);
+  }
+
+  @Test
+  public void testRunningInstancesOfUntrackedEndpointsAreNotAffected() {
+    RunningPipelineElementStorage.addRunningInstances("p1", List.of(makeGraph("i2", ENDPOINT_B)));
+
+    assertTrue(makeHealthCheck(Set.of("i2")).findAffectedPipelines().isEmpty());
+  }
+
+  @Test
+  public void testInstancesRemovedFromTrackedServiceAreAffected() {
+    var graph = makeGraph("i1", ENDPOINT_A);
+    RunningPipelineElementStorage.addRunningInstances("p1", List.of(graph));
+    registry.apply(snapshot("i1"), System.currentTimeMillis());
+    registry.apply(new RunningInstancesHeartbeat("service", SERVICE_A, 2, false, List.of(), List.of("i1")),
+        System.currentTimeMillis());
+
+    var affectedPipelines = makeHealthCheck(Set.of()).findAffectedPipelines();
+
+    assertTrue(polledEndpoints.isEmpty());
+    assertEquals(Map.of("p1", List.of(graph)), affectedPipelines);
+  }
+
+  @Test
+  public void testEndpointIndexFollowsRestoredAndStoppedInstances() {
+    var graph = makeGraph("i1", ENDPOINT_A);
+    RunningPipelineElementStorage.addRunningInstances("p1", List.of(graph));
+
+    RunningPipelineElementStorage.updateSelectedEndpoint(graph, ENDPOINT_B);
+    assertEquals(Map.of(ENDPOINT_B, Set.of("i1")), RunningPipelineElementStorage.getEndpointInstances());
+    assertEquals(ENDPOINT_B, graph.getSelectedEndpointUrl());
+
+    RunningPipelineElementStorage.removeRunningInstances(List.of(graph));
+    assertTrue(RunningPipelineElementStorage.getEndpointInstances().isEmpty());
+    assertTrue(RunningPipelineElementStorage.findRunningGraph("i1").isEmpty());
+  }
+
+  private PipelineHealthCheck makeHealthCheck(Set<String> runningInstances) {
+    return new PipelineHealthCheck(registry) {
+      @Override
+      Set<String> findRunningInstances(String endpointUrl) {
+        polledEndpoints.add(endpointUrl);
+        return runningInstances;
+      }
+    };
+  }
+
+  private InvocableStreamPipesEntity makeGraph(String instanceId,
+                                               String endpointUrl) {
+    var graph = new DataProcessorInvocation();
+    graph.setElementId("sepa:" + instanceId);
+    graph.setSelectedEndpointUrl(endpointUrl);
+    return graph;
+  }
+
+  private RunningInstancesHeartbeat snapshot(String... instanceIds) {
+    return new RunningInstancesHeartbeat("service", SERVICE_A, 1, true, List.of(instanceIds), List.of());
+  }
+}
@@ -0,0 +1,150 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.manager.matching;
+
+import org.apache.streampipes.model.SpDataStream;
+import org.apache.streampipes.model.base.InvocableStreamPipesEntity;
+import org.apache.streampipes.model.graph.DataProcessorInvocation;
+import org.apache.streampipes.model.graph.DataSinkInvocation;
+import org.apache.streampipes.model.grounding.EventGrounding;
+import org.apache.streampipes.model.grounding.InMemoryTransportProtocol;
+import org.apache.streampipes.model.grounding.KafkaTransportProtocol;
+import org.apache.streampipes.model.grounding.TransportProtocol;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TestInMemoryProtocolSelector {
+
+  private static final String SERVICE_A = "http://extensions-a:8090";
+  private static final String SERVICE_B = "http://extensions-b:8090";
+
+  @Test
+  public void testColocatedElementsUseInMemoryProtocol() {
+    var processor = makeProcessor(SERVICE_A + "/sepa/processor", "input", "output", true);
+    var sink = makeSink(SERVICE_A + "/sec/sink", "output", true);
+
+    select(List.of(processor, sink), false);
+
+    assertTrue(protocol(processor.getOutputStream()) instanceof InMemoryTransportProtocol);
+    assertTrue(protocol(sink.getInputStreams().get(0)) instanceof InMemoryTransportProtocol);
+    assertTrue(protocol(processor.getInputStreams().get(0)) instanceof KafkaTransportProtocol);
+
+    var inMemoryProtocol = (InMemoryTransportProtocol) protocol(sink.getInputStreams().get(0));
+    assertEquals("output", inMemoryProtocol.getTopicDefinition().getActualTopicName());
+    assertTrue(inMemoryProtocol.getBrokerProtocol() instanceof KafkaTransportProtocol);
+    assertFalse(inMemoryProtocol.isMirrorToBroker());
+  }
+
+  @Test
+  public void testElementsOnDifferentServicesUseBroker() {
+    var processor = makeProcessor(SERVICE_A + "/sepa/processor", "input", "output", true);
+    var sink = makeSink(SERVICE_B + "/sec/sink", "output", true);
+
+    select(List.of(processor, sink), false);
+
+    assertTrue(protocol(processor.getOutputStream()) instanceof KafkaTransportProtocol);
+    assertTrue(protocol(sink.getInputStreams().get(0)) instanceof KafkaTransportProtocol);
+  }
+
+  @Test
+  public void testAllTargetsMustBeColocated() {
+    var processor = makeProcessor(SERVICE_A + "/sepa/processor", "input", "output", true);
+    var firstSink = makeSink(SERVICE_A + "/sec/sink", "output", true);
+    var secondSink = makeSink(SERVICE_A + "/sec/other-sink", "output", false);
+
+    select(List.of(processor, firstSink, secondSink), false);
+
+    assertTrue(protocol(processor.getOutputStream()) instanceof KafkaTransportProtocol);
+    assertTrue(protocol(firstSink.getInputStreams().get(0)) instanceof KafkaTransportProtocol);
+    assertTrue(protocol(secondSink.getInputStreams().get(0)) instanceof KafkaTransportProtocol);
+  }
+
+  @Test
+  public void testResetToBrokerProtocols() {
+    var processor = makeProcessor(SERVICE_A + "/sepa/processor", "input", "output", true);
+    var sink = makeSink(SERVICE_A + "/sec/sink", "output", true);
+    select(List.of(processor, sink), true);
+
+    sink.setSelectedEndpointUrl(SERVICE_B + "/sec/sink");
+    select(List.of(processor, sink), true);
+
+    assertTrue(protocol(processor.getOutputStream()) instanceof KafkaTransportProtocol);
+    assertTrue(protocol(sink.getInputStreams().get(0)) instanceof KafkaTransportProtocol);
+    assertEquals("output", protocol(sink.getInputStreams().get(0)).getTopicDefinition().getActualTopicName());
+  }
+
+  private void select(List<InvocableStreamPipesEntity> elements,
+                      boolean mirrorToBroker) {
+    var selector = new InMemoryProtocolSelector(elements, mirrorToBroker);
+    selector.resetToBrokerProtocols();
+    selector.applyInMemoryProtocols();
+  }
+
+  private DataProcessorInvocation makeProcessor(String endpointUrl,
+                                                String inputTopic,
+                                                String outputTopic,
+                                                boolean supportsInMemory) {
+    var processor = new DataProcessorInvocation();
+    processor.setSelectedEndpointUrl(endpointUrl);
+    processor.setSupportedGrounding(makeSupportedGrounding(supportsInMemory));
+    processor.setInputStreams(new ArrayList<>(List.of(makeStream(inputTopic))));
+    processor.setOutputStream(makeStream(outputTopic));
+    return processor;
+  }
+
+  private DataSinkInvocation makeSink(String endpointUrl,
+                                      String inputTopic,
+                                      boolean supportsInMemory) {
+    var sink = new DataSinkInvocation();
+    sink.setSelectedEndpointUrl(endpointUrl);
+    sink.setSupportedGrounding(makeSupportedGrounding(supportsInMemory));
+    sink.setInputStreams(new ArrayList<>(List.of(makeStream(inputTopic))));
+    return sink;
+  }
+
+  private EventGrounding makeSupportedGrounding(boolean supportsInMemory) {
+    var grounding = new EventGrounding();
+    List<TransportProtocol> protocols = new ArrayList<>();
+    protocols.add(new KafkaTransportProtocol());
+    if (supportsInMemory) {
+      protocols.add(new InMemoryTransportProtocol());
+    }
+    grounding.setTransportProtocols(protocols);
+    return grounding;
+  }
+
+  private SpDataStream makeStream(String topic) {
+    var stream = new SpDataStream();
+    var grounding = new EventGrounding();
+    grounding.setTransportProtocol(new KafkaTransportProtocol("kafka", 9092, topic));
+    stream.setEventGrounding(grounding);
+    return stream;
+  }
+
+  private TransportProtocol protocol(SpDataStream stream) {
+    return stream.getEventGrounding().getTransportProtocol();
+  }
+}
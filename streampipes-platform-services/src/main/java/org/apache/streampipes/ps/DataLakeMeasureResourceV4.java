@@ -20,6 +20,7 @@ package org.apache.streampipes.ps;
 
 import org.apache.streampipes.dataexplorer.DataLakeManagementV4;
 import org.apache.streampipes.model.datalake.DataLakeMeasure;
+import org.apache.streampipes.model.datalake.DataLakeMeasureStatistics;
 import org.apache.streampipes.rest.core.base.impl.AbstractAuthGuardedRestResource;
 import org.apache.streampipes.rest.shared.annotation.JacksonSerialized;
 
@@ -78,6 +79,20 @@ public class DataLakeMeasureResourceV4 extends AbstractAuthGuardedRestResource {
     return badRequest();
   }
 
+  @POST
+  @JacksonSerialized
+  @Consumes(MediaType.APPLICATION_JSON)
+  @Path("{measureName}/statistics")
+  public Response addStatistics(@PathParam("measureName") String measureName,
+                                DataLakeMeasureStatistics statistics) {
+    try {
+      this.dataLakeManagement.addStatistics(measureName, statistics);
+      return ok();
+    } catch (IllegalArgumentException e) {
+      return badRequest(e.getMessage());
+    }
+  }
+
   @DELETE
   @JacksonSerialized
   @Path("{id}")
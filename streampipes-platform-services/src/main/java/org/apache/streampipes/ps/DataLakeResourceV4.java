@@ -20,13 +20,18 @@ package org.apache.streampipes.ps;
 
 import org.apache.streampipes.dataexplorer.DataLakeManagementV4;
 import org.apache.streampipes.dataexplorer.v4.ProvidedQueryParams;
+import org.apache.streampipes.dataexplorer.v4.query.cache.QueryCacheStatistics;
+import org.apache.streampipes.dataexplorer.v4.query.cache.QueryResultCache;
 import org.apache.streampipes.dataexplorer.v4.query.writer.OutputFormat;
 import org.apache.streampipes.model.StreamPipesErrorMessage;
 import org.apache.streampipes.model.datalake.DataLakeMeasure;
 import org.apache.streampipes.model.datalake.DataSeries;
 import org.apache.streampipes.model.datalake.SpQueryResult;
 import org.apache.streampipes.rest.core.base.impl.AbstractRestResource;
+import org.apache.streampipes.serializers.json.JacksonSerializer;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.enums.ParameterIn;
@@ -156,6 +161,19 @@ public class DataLakeResourceV4 extends AbstractRestResource {
     return ok(allMeasurements);
   }
 
+  @GET
+  @Path("/cache/statistics")
+  @Produces(MediaType.APPLICATION_JSON)
+  @Operation(summary = "Get statistics of the query result cache", tags = {"Data Lake"},
+      responses = {
+          @ApiResponse(
+              responseCode = "200",
+              description = "current cache statistics",
+              content = @Content(schema = @Schema(implementation = QueryCacheStatistics.class)))})
+  public Response getCacheStatistics() {
+    return ok(QueryResultCache.getInstance().getStatistics());
+  }
+
   @GET
   @Path("/measurements/{measurementId}/tags")
   @Produces(MediaType.APPLICATION_JSON)
@@ -247,13 +265,25 @@ public class DataLakeResourceV4 extends AbstractRestResource {
   @Produces(MediaType.APPLICATION_JSON)
   @Consumes(MediaType.APPLICATION_JSON)
   public Response getData(List<Map<String, String>> queryParams) {
-    var results = queryParams
+    var queries = queryParams
         .stream()
         .map(qp -> new ProvidedQueryParams(qp.get("measureName"), qp))
-        .map(params -> this.dataLakeManagement.getData(params, true))
         .collect(Collectors.toList());
 
-    return ok(results);
+    // queries are executed concurrently, results are written as soon as they are available (in completion order)
+    StreamingOutput streamingOutput = output -> {
+      ObjectMapper mapper = JacksonSerializer.getObjectMapper();
+      try (JsonGenerator generator = mapper.getFactory().createGenerator(output)) {
+        generator.writeStartArray();
+        this.dataLakeManagement.getData(queries, true, result -> {
+          mapper.writeValue(generator, result);
+          generator.flush();
+        });
+        generator.writeEndArray();
+      }
+    };
+
+    return Response.ok(streamingOutput, MediaType.APPLICATION_JSON).build();
   }
 
   @GET
@@ -298,7 +328,7 @@ public class DataLakeResourceV4 extends AbstractRestResource {
       ,
       @Parameter(
           in = ParameterIn.QUERY,
-          description = "format specification (csv, json - default is csv) for data download")
+          description = "format specification (csv, json, parquet, arrow - default is csv) for data download")
       @QueryParam(QP_FORMAT) String format
       , @Parameter(in = ParameterIn.QUERY, description = "csv delimiter (comma or semicolon)")
       @QueryParam(QP_CSV_DELIMITER) String csvDelimiter
@@ -322,7 +352,7 @@ public class DataLakeResourceV4 extends AbstractRestResource {
         format = "csv";
       }
 
-      OutputFormat outputFormat = format.equals("csv") ? OutputFormat.CSV : OutputFormat.JSON;
+      OutputFormat outputFormat = OutputFormat.fromQueryParameter(format);
       StreamingOutput streamingOutput = output -> dataLakeManagement.getDataAsStream(
           sanitizedParams,
           outputFormat,
@@ -330,7 +360,7 @@ public class DataLakeResourceV4 extends AbstractRestResource {
           output);
 
       return Response.ok(streamingOutput, MediaType.APPLICATION_OCTET_STREAM).
-          header("Content-Disposition", "attachment; filename=\"datalake." + outputFormat + "\"")
+          header("Content-Disposition", "attachment; filename=\"datalake." + outputFormat.getFileExtension() + "\"")
           .build();
     }
   }
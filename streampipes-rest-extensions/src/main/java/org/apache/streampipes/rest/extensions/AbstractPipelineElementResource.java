@@ -20,12 +20,14 @@ package org.apache.streampipes.rest.extensions;
 
 import org.apache.streampipes.commons.constants.GlobalStreamPipesConstants;
 import org.apache.streampipes.extensions.api.declarer.Declarer;
+import org.apache.streampipes.extensions.api.declarer.InvocableDeclarer;
 import org.apache.streampipes.extensions.management.assets.AssetZipGenerator;
 import org.apache.streampipes.extensions.management.init.DeclarersSingleton;
 import org.apache.streampipes.extensions.management.locales.LabelGenerator;
 import org.apache.streampipes.model.base.ConsumableStreamPipesEntity;
 import org.apache.streampipes.model.base.NamedStreamPipesEntity;
 import org.apache.streampipes.model.grounding.EventGrounding;
+import org.apache.streampipes.model.grounding.InMemoryTransportProtocol;
 import org.apache.streampipes.model.grounding.TransportFormat;
 import org.apache.streampipes.model.grounding.TransportProtocol;
 import org.apache.streampipes.rest.shared.annotation.JacksonSerialized;
@@ -49,6 +51,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 public abstract class AbstractPipelineElementResource<T extends Declarer<?>> extends AbstractExtensionsResource {
 
@@ -135,7 +138,7 @@ public abstract class AbstractPipelineElementResource<T extends Declarer<?>> ext
 
       if (desc instanceof ConsumableStreamPipesEntity) {
         Collection<TransportProtocol> supportedProtocols =
-            DeclarersSingleton.getInstance().getSupportedProtocols();
+            filterSupportedProtocols(desc, DeclarersSingleton.getInstance().getSupportedProtocols());
         Collection<TransportFormat> supportedFormats =
             DeclarersSingleton.getInstance().getSupportedFormats();
 
@@ -150,6 +153,22 @@ public abstract class AbstractPipelineElementResource<T extends Declarer<?>> ext
     return desc;
   }
 
+  /**
+   * The in-memory protocol is registered for the whole service, but only elements whose runtime consumes events
+   * through the standalone wrapper are able to exchange events in memory.
+   */
+  private Collection<TransportProtocol> filterSupportedProtocols(NamedStreamPipesEntity desc,
+                                                                 Collection<TransportProtocol> supportedProtocols) {
+    Declarer<?> declarer = getElementDeclarers().get(desc.getAppId());
+    if (declarer instanceof InvocableDeclarer && ((InvocableDeclarer<?, ?>) declarer).supportsInMemoryTransport()) {
+      return supportedProtocols;
+    }
+    return supportedProtocols
+        .stream()
+        .filter(protocol -> !(protocol instanceof InMemoryTransportProtocol))
+        .collect(Collectors.toList());
+  }
+
   private EventGrounding makeGrounding(Collection<TransportProtocol> supportedProtocols,
                                        Collection<TransportFormat> supportedFormats) {
     EventGrounding grounding = new EventGrounding();
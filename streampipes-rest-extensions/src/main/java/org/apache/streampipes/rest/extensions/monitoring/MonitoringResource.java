@@ -40,4 +40,11 @@ public class MonitoringResource extends AbstractExtensionsResource {
       //SpLogManager.INSTANCE.clearAllLogs();
     }
   }
+
+  @GET
+  @Path("collectors")
+  @Produces(MediaType.APPLICATION_JSON)
+  public Response getSharedCollectors() {
+    return ok(SpMonitoringManager.INSTANCE.getSharedCollectorInfo());
+  }
 }
@@ -0,0 +1,52 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.rest.impl;
+
+import org.apache.streampipes.manager.health.ExtensionsServiceHeartbeatRegistry;
+import org.apache.streampipes.model.message.Notifications;
+import org.apache.streampipes.model.monitoring.RunningInstancesHeartbeat;
+import org.apache.streampipes.rest.core.base.impl.AbstractAuthGuardedRestResource;
+import org.apache.streampipes.rest.security.AuthConstants;
+
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Component;
+
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+
+@Component
+@Path("/v2/extensions-services")
+public class ExtensionsServiceHeartbeatResource extends AbstractAuthGuardedRestResource {
+
+  @POST
+  @Path("heartbeat")
+  @Consumes(MediaType.APPLICATION_JSON)
+  @Produces(MediaType.APPLICATION_JSON)
+  @PreAuthorize(AuthConstants.IS_ADMIN_ROLE)
+  public Response receiveHeartbeat(RunningInstancesHeartbeat heartbeat) {
+    if (heartbeat == null || heartbeat.getServiceUrl() == null) {
+      return badRequest(Notifications.error("Heartbeat does not contain a service url"));
+    }
+    return ok(ExtensionsServiceHeartbeatRegistry.INSTANCE.apply(heartbeat));
+  }
+}
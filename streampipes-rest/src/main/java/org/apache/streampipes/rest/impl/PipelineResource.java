@@ -51,6 +51,7 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import org.springframework.security.access.prepost.PostAuthorize;
 import org.springframework.security.access.prepost.PostFilter;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.access.prepost.PreFilter;
 import org.springframework.stereotype.Component;
 
 import jakarta.ws.rs.Consumes;
@@ -163,6 +164,45 @@ public class PipelineResource extends AbstractAuthGuardedRestResource {
     }
   }
 
+  @Path("/bulk/start")
+  @POST
+  @Produces(MediaType.APPLICATION_JSON)
+  @JacksonSerialized
+  @Operation(summary = "Start all pipelines with the given ids in the background",
+      tags = {"Pipeline"})
+  @PreAuthorize(AuthConstants.HAS_WRITE_PIPELINE_PRIVILEGE)
+  @PreFilter("hasPermission(filterObject, 'WRITE')")
+  public Response startPipelines(List<String> pipelineIds) {
+    return ok(PipelineManager.startPipelines(pipelineIds));
+  }
+
+  @Path("/bulk/stop")
+  @POST
+  @Produces(MediaType.APPLICATION_JSON)
+  @JacksonSerialized
+  @Operation(summary = "Stop all pipelines with the given ids in the background",
+      tags = {"Pipeline"})
+  @PreAuthorize(AuthConstants.HAS_WRITE_PIPELINE_PRIVILEGE)
+  @PreFilter("hasPermission(filterObject, 'WRITE')")
+  public Response stopPipelines(List<String> pipelineIds,
+                                @QueryParam("forceStop") @DefaultValue("false") boolean forceStop) {
+    return ok(PipelineManager.stopPipelines(pipelineIds, forceStop));
+  }
+
+  @Path("/bulk/{operationId}")
+  @GET
+  @Produces(MediaType.APPLICATION_JSON)
+  @JacksonSerialized
+  @Operation(summary = "Get the progress of a bulk start or stop operation",
+      tags = {"Pipeline"})
+  @PreAuthorize(AuthConstants.HAS_READ_PIPELINE_PRIVILEGE)
+  public Response getBulkOperationStatus(@PathParam("operationId") String operationId) {
+    return PipelineManager
+        .getBulkOperationStatus(operationId)
+        .map(this::ok)
+        .orElseGet(() -> error(Notifications.error("Could not find bulk operation " + operationId), 404));
+  }
+
   @POST
   @Produces(MediaType.APPLICATION_JSON)
   @JacksonSerialized
@@ -68,9 +68,14 @@ public abstract class StreamPipesServiceBase {
 
   protected abstract List<SpServiceTag> getServiceTags();
 
+  /**
+   * Deregisters this service when it shuts down and stops watching other services.
+   */
   protected void deregisterService(String serviceId) {
     LOG.info("Deregistering service (id={})...", serviceId);
-    SpServiceDiscovery.getServiceDiscovery().deregisterService(serviceId);
+    var serviceDiscovery = SpServiceDiscovery.getServiceDiscovery();
+    serviceDiscovery.deregisterService(serviceId);
+    serviceDiscovery.close();
   }
 
   protected String getHealthCheckPath() {
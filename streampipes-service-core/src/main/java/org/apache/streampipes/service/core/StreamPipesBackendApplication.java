@@ -18,6 +18,7 @@
 package org.apache.streampipes.service.core;
 
 import org.apache.streampipes.config.backend.BackendConfig;
+import org.apache.streampipes.manager.execution.bulk.PipelineRestoreService;
 import org.apache.streampipes.manager.health.PipelineHealthCheck;
 import org.apache.streampipes.manager.monitoring.pipeline.ExtensionsServiceLogExecutor;
 import org.apache.streampipes.manager.operations.Operations;
@@ -47,9 +48,7 @@ import jakarta.annotation.PreDestroy;
 
 import java.net.UnknownHostException;
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
@@ -68,9 +67,6 @@ public class StreamPipesBackendApplication extends StreamPipesServiceBase {
 
   private static final Logger LOG = LoggerFactory.getLogger(StreamPipesBackendApplication.class.getCanonicalName());
 
-  private static final int MAX_PIPELINE_START_RETRIES = 3;
-  private static final int WAIT_TIME_AFTER_FAILURE_IN_SECONDS = 10;
-
   private static final int LOG_FETCH_INTERVAL = 60;
   private static final TimeUnit LOG_FETCH_UNIT = TimeUnit.SECONDS;
 
@@ -81,8 +77,6 @@ public class StreamPipesBackendApplication extends StreamPipesServiceBase {
   private ScheduledExecutorService healthCheckExecutorService;
   private ScheduledExecutorService logCheckExecutorService;
 
-  private Map<String, Integer> failedPipelines = new HashMap<>();
-
   public static void main(String[] args) {
     StreamPipesBackendApplication application = new StreamPipesBackendApplication();
     try {
@@ -117,7 +111,7 @@ public class StreamPipesBackendApplication extends StreamPipesServiceBase {
 
     new MigrationsHandler().performMigrations();
 
-    executorService.schedule(this::startAllPreviouslyStoppedPipelines, 5, TimeUnit.SECONDS);
+    executorService.schedule(new PipelineRestoreService(), 5, TimeUnit.SECONDS);
     LOG.info("Pipeline health check will run every {} seconds", HEALTH_CHECK_INTERVAL);
     healthCheckExecutorService.scheduleAtFixedRate(new PipelineHealthCheck(),
         HEALTH_CHECK_INTERVAL,
@@ -153,12 +147,6 @@ public class StreamPipesBackendApplication extends StreamPipesServiceBase {
     }
   }
 
-  private void schedulePipelineStart(Pipeline pipeline, boolean restartOnReboot) {
-    executorService.schedule(() -> {
-      startPipeline(pipeline, restartOnReboot);
-    }, WAIT_TIME_AFTER_FAILURE_IN_SECONDS, TimeUnit.SECONDS);
-  }
-
   @PreDestroy
   public void onExit() {
     LOG.info("Shutting down StreamPipes...");
@@ -190,72 +178,6 @@ public class StreamPipesBackendApplication extends StreamPipesServiceBase {
     LOG.info("Thanks for using Apache StreamPipes - see you next time!");
   }
 
-  private void startAllPreviouslyStoppedPipelines() {
-    LOG.info("Checking for orphaned pipelines...");
-    List<Pipeline> orphanedPipelines = getAllPipelines()
-        .stream()
-        .filter(Pipeline::isRunning)
-        .collect(Collectors.toList());
-
-    LOG.info("Found {} orphaned pipelines", orphanedPipelines.size());
-
-    orphanedPipelines.forEach(pipeline -> {
-      LOG.info("Restoring orphaned pipeline {}", pipeline.getName());
-      startPipeline(pipeline, false);
-    });
-
-    LOG.info("Checking for gracefully shut down pipelines to be restarted...");
-
-    List<Pipeline> pipelinesToRestart = getAllPipelines()
-        .stream()
-        .filter(p -> !(p.isRunning()))
-        .filter(Pipeline::isRestartOnSystemReboot)
-        .collect(Collectors.toList());
-
-    LOG.info("Found {} pipelines that we are attempting to restart...", pipelinesToRestart.size());
-
-    pipelinesToRestart.forEach(pipeline -> {
-      startPipeline(pipeline, false);
-    });
-
-    LOG.info("No more pipelines to restore...");
-  }
-
-  private void startPipeline(Pipeline pipeline, boolean restartOnReboot) {
-    PipelineOperationStatus status = Operations.startPipeline(pipeline);
-    if (status.isSuccess()) {
-      LOG.info("Pipeline {} successfully restarted", status.getPipelineName());
-      Pipeline storedPipeline = getPipelineStorage().getPipeline(pipeline.getPipelineId());
-      storedPipeline.setRestartOnSystemReboot(restartOnReboot);
-      getPipelineStorage().updatePipeline(storedPipeline);
-    } else {
-      storeFailedRestartAttempt(pipeline);
-      int failedAttemptCount = failedPipelines.get(pipeline.getPipelineId());
-      if (failedAttemptCount <= MAX_PIPELINE_START_RETRIES) {
-        LOG.error("Pipeline {} could not be restarted - I'll try again in {} seconds ({}/{} failed attempts)",
-            pipeline.getName(),
-            WAIT_TIME_AFTER_FAILURE_IN_SECONDS,
-            failedAttemptCount,
-            MAX_PIPELINE_START_RETRIES);
-
-        schedulePipelineStart(pipeline, restartOnReboot);
-      } else {
-        LOG.error("Pipeline {} could not be restarted - are all pipeline element containers running?",
-            status.getPipelineName());
-      }
-    }
-  }
-
-  private void storeFailedRestartAttempt(Pipeline pipeline) {
-    String pipelineId = pipeline.getPipelineId();
-    if (!failedPipelines.containsKey(pipelineId)) {
-      failedPipelines.put(pipelineId, 1);
-    } else {
-      int failedAttempts = failedPipelines.get(pipelineId) + 1;
-      failedPipelines.put(pipelineId, failedAttempts);
-    }
-  }
-
   private List<Pipeline> getAllPipelines() {
     return getPipelineStorage()
         .getAllPipelines();
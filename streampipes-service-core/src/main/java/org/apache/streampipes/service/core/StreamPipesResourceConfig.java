@@ -34,6 +34,7 @@ import org.apache.streampipes.rest.impl.CategoryResource;
 import org.apache.streampipes.rest.impl.ContainerProvidedOptions;
 import org.apache.streampipes.rest.impl.DataStream;
 import org.apache.streampipes.rest.impl.EmailResource;
+import org.apache.streampipes.rest.impl.ExtensionsServiceHeartbeatResource;
 import org.apache.streampipes.rest.impl.FunctionsResource;
 import org.apache.streampipes.rest.impl.GenericStorageResource;
 import org.apache.streampipes.rest.impl.LabelResource;
@@ -126,6 +127,7 @@ public class StreamPipesResourceConfig extends BaseResourceConfig {
         EmailConfigurationResource.class,
         EmailResource.class,
         ExtensionsServiceEndpointResource.class,
+        ExtensionsServiceHeartbeatResource.class,
         FunctionsResource.class,
         GeneralConfigurationResource.class,
         GenericStorageResource.class,
@@ -71,4 +71,9 @@ public interface ISpServiceDiscovery {
    */
   void deregisterService(String svcId);
 
+  /**
+   * Stop watching service groups for changes, called when the service shuts down
+   */
+  void close();
+
 }
@@ -15,82 +15,49 @@
  * limitations under the License.
  *
  */
+
 package org.apache.streampipes.svcdiscovery.consul;
 
 import org.apache.streampipes.commons.environment.Environment;
 
-import com.ecwid.consul.v1.QueryParams;
-import com.ecwid.consul.v1.Response;
-import com.ecwid.consul.v1.health.HealthServicesRequest;
-import com.ecwid.consul.v1.health.model.Check;
-import com.ecwid.consul.v1.health.model.HealthService;
-
-import java.util.Collections;
-import java.util.HashSet;
 import java.util.List;
-import java.util.concurrent.TimeUnit;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class ConsulHealthServiceManager extends AbstractConsulService {
 
-  private static final int MAX_RETRIES = 3;
+  // time to wait for a service to register if none is known yet
+  private static final long MAX_WAIT_FOR_SERVICES_MS = 3000;
+
+  private static final Map<String, ConsulServiceGroupWatch> WATCHES = new ConcurrentHashMap<>();
 
   public ConsulHealthServiceManager(Environment environment) {
     super(environment);
-    initializeCache();
-  }
-
-  public void initializeCache() {
-
   }
 
   public List<String> getServiceEndpoints(String serviceGroup,
                                           boolean restrictToHealthy,
                                           List<String> filterByTags) {
-    List<HealthService> activeServices = findService(serviceGroup, 0);
-
-    return activeServices
-        .stream()
-        .filter(service -> allFiltersSupported(service, filterByTags))
-        .filter(service -> !restrictToHealthy
-            || service.getChecks().stream().allMatch(check -> check.getStatus() == Check.CheckStatus.PASSING))
-        .map(this::makeServiceUrl)
-        .collect(Collectors.toList());
+    return getWatch(serviceGroup).getEndpoints(restrictToHealthy, filterByTags, MAX_WAIT_FOR_SERVICES_MS);
   }
 
-  private String makeServiceUrl(HealthService service) {
-    return service.getService().getAddress() + ":" + service.getService().getPort();
-  }
-
-  private boolean allFiltersSupported(HealthService service,
-                                      List<String> filterByTags) {
-    return new HashSet<>(service.getService().getTags()).containsAll(filterByTags);
-  }
-
-  private List<HealthService> findService(String serviceGroup, int retryCount) {
-    HealthServicesRequest request = HealthServicesRequest.newBuilder()
-        .setPassing(true)
-        .setQueryParams(QueryParams.DEFAULT)
-        .build();
-    Response<List<HealthService>> healthyServicesResp = consulInstance().getHealthServices(serviceGroup, request);
-    var healthyServices = healthyServicesResp.getValue();
-    if (healthyServices.size() == 0) {
-      if (retryCount < MAX_RETRIES) {
-        try {
-          retryCount++;
-          TimeUnit.SECONDS.sleep(1);
-          return findService(serviceGroup, retryCount);
-        } catch (InterruptedException e) {
-          e.printStackTrace();
-          return Collections.emptyList();
-        }
-      } else {
-        return Collections.emptyList();
+  /**
+   * Stops all background watches of service groups.
+   */
+  public static void stopWatches() {
+    WATCHES.keySet().forEach(serviceGroup -> {
+      var watch = WATCHES.remove(serviceGroup);
+      if (watch != null) {
+        watch.stop();
       }
-    } else {
-      return healthyServices;
-    }
+    });
   }
 
-
+  private ConsulServiceGroupWatch getWatch(String serviceGroup) {
+    return WATCHES.computeIfAbsent(serviceGroup, group -> {
+      var watch = new ConsulServiceGroupWatch(group, this::consulInstance);
+      watch.start();
+      return watch;
+    });
+  }
 }
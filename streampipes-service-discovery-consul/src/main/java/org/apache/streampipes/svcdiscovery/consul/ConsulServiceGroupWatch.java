@@ -0,0 +1,211 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.svcdiscovery.consul;
+
+import com.ecwid.consul.v1.ConsulClient;
+import com.ecwid.consul.v1.QueryParams;
+import com.ecwid.consul.v1.Response;
+import com.ecwid.consul.v1.health.HealthServicesRequest;
+import com.ecwid.consul.v1.health.model.Check;
+import com.ecwid.consul.v1.health.model.HealthService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory cache of the healthy service instances of a service group.
+ * The cache is populated by a synchronous query on first access and afterwards kept up to date by a background
+ * thread which issues Consul blocking queries, returning as soon as the service catalog changes.
+ * Each update publishes an immutable snapshot of the services, which also holds the endpoint lists computed per
+ * tag filter for exactly these services.
+ */
+public class ConsulServiceGroupWatch {
+
+  private static final Logger LOG = LoggerFactory.getLogger(ConsulServiceGroupWatch.class);
+
+  private static final long WAIT_TIME_SECONDS = 30;
+  private static final long RETRY_INTERVAL_MS = 1000;
+
+  private final String serviceGroup;
+  private final Supplier<ConsulClient> consulClient;
+  private final Object lock = new Object();
+
+  private volatile Snapshot snapshot;
+  private volatile long index;
+  private volatile boolean running;
+  private Thread watcher;
+
+  public ConsulServiceGroupWatch(String serviceGroup,
+                                 Supplier<ConsulClient> consulClient) {
+    this.serviceGroup = serviceGroup;
+    this.consulClient = consulClient;
+    this.snapshot = new Snapshot(Collections.emptyList());
+  }
+
+  /**
+   * Loads the current services and starts watching the service group for changes.
+   */
+  public synchronized void start() {
+    try {
+      update(query(QueryParams.DEFAULT));
+    } catch (RuntimeException e) {
+      LOG.warn("Could not query services of group {}", serviceGroup, e);
+    }
+    this.running = true;
+    this.watcher = new Thread(this::watch, "sp-consul-watch-" + serviceGroup);
+    this.watcher.setDaemon(true);
+    this.watcher.start();
+  }
+
+  public synchronized void stop() {
+    this.running = false;
+    if (watcher != null) {
+      watcher.interrupt();
+      watcher = null;
+    }
+  }
+
+  /**
+   * Returns the endpoints of all services which carry all given tags. If no service is known yet, waits up to
+   * the given time for a matching service to register.
+   */
+  public List<String> getEndpoints(boolean restrictToHealthy,
+                                   List<String> filterByTags,
+                                   long maxWaitMs) {
+    var endpoints = getEndpoints(restrictToHealthy, filterByTags);
+    if (endpoints.isEmpty() && maxWaitMs > 0) {
+      long deadline = System.currentTimeMillis() + maxWaitMs;
+      synchronized (lock) {
+        endpoints = getEndpoints(restrictToHealthy, filterByTags);
+        long remaining = deadline - System.currentTimeMillis();
+        while (endpoints.isEmpty() && remaining > 0) {
+          try {
+            lock.wait(remaining);
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            break;
+          }
+          endpoints = getEndpoints(restrictToHealthy, filterByTags);
+          remaining = deadline - System.currentTimeMillis();
+        }
+      }
+    }
+    return endpoints;
+  }
+
+  private List<String> getEndpoints(boolean restrictToHealthy,
+                                    List<String> filterByTags) {
+    return snapshot.getEndpoints(restrictToHealthy, filterByTags);
+  }
+
+  private void watch() {
+    while (running) {
+      try {
+        update(query(new QueryParams(WAIT_TIME_SECONDS, index)));
+      } catch (RuntimeException e) {
+        if (running) {
+          LOG.warn("Could not watch services of group {}, retrying", serviceGroup, e);
+          sleepBeforeRetry();
+        }
+      }
+    }
+  }
+
+  private Response<List<HealthService>> query(QueryParams queryParams) {
+    HealthServicesRequest request = HealthServicesRequest.newBuilder()
+        .setPassing(true)
+        .setQueryParams(queryParams)
+        .build();
+    return consulClient.get().getHealthServices(serviceGroup, request);
+  }
+
+  private void update(Response<List<HealthService>> response) {
+    Long consulIndex = response.getConsulIndex();
+    // a lower index indicates a reset of the Consul state, in which case the next query must not block
+    long nextIndex = consulIndex == null || consulIndex < index ? 0 : consulIndex;
+    if (consulIndex == null || consulIndex != index) {
+      var services = response.getValue() != null ? response.getValue() : Collections.<HealthService>emptyList();
+      synchronized (lock) {
+        this.snapshot = new Snapshot(services);
+        lock.notifyAll();
+      }
+      LOG.debug("Updated {} services of group {}", services.size(), serviceGroup);
+    }
+    this.index = nextIndex;
+  }
+
+  private void sleepBeforeRetry() {
+    try {
+      TimeUnit.MILLISECONDS.sleep(RETRY_INTERVAL_MS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      running = false;
+    }
+  }
+
+  /**
+   * The services of the group at one point in time, together with the endpoints per tag filter which are computed
+   * on demand from these services.
+   */
+  private static class Snapshot {
+
+    private final List<HealthService> services;
+    private final Map<String, List<String>> endpointsByFilter;
+
+    Snapshot(List<HealthService> services) {
+      this.services = List.copyOf(services);
+      this.endpointsByFilter = new ConcurrentHashMap<>();
+    }
+
+    List<String> getEndpoints(boolean restrictToHealthy,
+                              List<String> filterByTags) {
+      return endpointsByFilter.computeIfAbsent(
+          makeFilterKey(restrictToHealthy, filterByTags),
+          key -> filterEndpoints(services, restrictToHealthy, filterByTags));
+    }
+  }
+
+  private static String makeFilterKey(boolean restrictToHealthy,
+                                      List<String> filterByTags) {
+    List<String> tags = new ArrayList<>(filterByTags);
+    Collections.sort(tags);
+    return restrictToHealthy + ":" + String.join(",", tags);
+  }
+
+  private static List<String> filterEndpoints(List<HealthService> services,
+                                              boolean restrictToHealthy,
+                                              List<String> filterByTags) {
+    return services
+        .stream()
+        .filter(service -> new HashSet<>(service.getService().getTags()).containsAll(filterByTags))
+        .filter(service -> !restrictToHealthy
+            || service.getChecks().stream().allMatch(check -> check.getStatus() == Check.CheckStatus.PASSING))
+        .map(service -> service.getService().getAddress() + ":" + service.getService().getPort())
+        .collect(Collectors.toUnmodifiableList());
+  }
+}
@@ -129,6 +129,11 @@ public class SpConsulServiceDiscovery extends AbstractConsulService implements I
     consul.agentServiceDeregister(svcId);
   }
 
+  @Override
+  public void close() {
+    ConsulHealthServiceManager.stopWatches();
+  }
+
   private NewService createRegistrationBody(SpServiceRegistrationRequest req) {
     var service = new NewService();
     service.setId(req.getSvcId());
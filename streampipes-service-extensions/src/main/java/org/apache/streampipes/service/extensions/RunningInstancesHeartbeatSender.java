@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.service.extensions;
+
+import org.apache.streampipes.commons.environment.Environments;
+import org.apache.streampipes.extensions.management.client.StreamPipesClientResolver;
+import org.apache.streampipes.extensions.management.init.DeclarersSingleton;
+import org.apache.streampipes.extensions.management.init.RunningInstances;
+import org.apache.streampipes.model.monitoring.RunningInstancesHeartbeat;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pushes the changes of the running pipeline element instances of this service to the core, so that the
+ * pipeline health check does not need to poll all extensions services.
+ * The first heartbeat and every heartbeat after a failed request or a resync request of the core contain a full
+ * snapshot, all other heartbeats only contain the instances started or stopped since the previous heartbeat.
+ */
+public class RunningInstancesHeartbeatSender implements Runnable {
+
+  private static final Logger LOG = LoggerFactory.getLogger(RunningInstancesHeartbeatSender.class);
+
+  private long sequence = 0;
+  private boolean resyncRequired = true;
+
+  public void start() {
+    long interval = Environments.getEnvironment().getExtensionsHeartbeatIntervalMs().getValueOrDefault();
+    ScheduledExecutorService executorService = Executors.newSingleThreadScheduledExecutor(r -> {
+      Thread thread = new Thread(r, "running-instances-heartbeat");
+      thread.setDaemon(true);
+      return thread;
+    });
+    LOG.info("Running instances heartbeat will be sent every {} ms", interval);
+    executorService.scheduleWithFixedDelay(this, interval, interval, TimeUnit.MILLISECONDS);
+  }
+
+  @Override
+  public void run() {
+    RunningInstancesHeartbeat heartbeat = makeHeartbeat();
+    try {
+      var response = new StreamPipesClientResolver()
+          .makeStreamPipesClientInstance()
+          .adminApi()
+          .sendRunningInstancesHeartbeat(heartbeat);
+      sequence = heartbeat.getSequence();
+      resyncRequired = response.isResyncRequired();
+    } catch (Exception e) {
+      resyncRequired = true;
+      LOG.warn("Could not send running instances heartbeat to core: {}", e.getMessage());
+    }
+  }
+
+  private RunningInstancesHeartbeat makeHeartbeat() {
+    List<String> addedInstances = new ArrayList<>();
+    List<String> removedInstances = new ArrayList<>();
+    boolean snapshot = resyncRequired;
+    if (snapshot) {
+      addedInstances.addAll(RunningInstances.INSTANCE.snapshotAndResetChanges());
+    } else {
+      for (Map.Entry<String, Boolean> change : RunningInstances.INSTANCE.drainChanges().entrySet()) {
+        if (change.getValue()) {
+          addedInstances.add(change.getKey());
+        } else {
+          removedInstances.add(change.getKey());
+        }
+      }
+    }
+
+    return new RunningInstancesHeartbeat(
+        DeclarersSingleton.getInstance().getServiceId(),
+        DeclarersSingleton.getInstance().getBaseUri(),
+        sequence + 1,
+        snapshot,
+        addedInstances,
+        removedInstances);
+  }
+}
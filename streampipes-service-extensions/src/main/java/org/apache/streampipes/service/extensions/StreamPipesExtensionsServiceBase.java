@@ -75,6 +75,7 @@ public abstract class StreamPipesExtensionsServiceBase extends StreamPipesServic
         networkingConfig
     );
     this.afterServiceRegistered(serviceDef);
+    new RunningInstancesHeartbeatSender().start();
   }
 
   @Override
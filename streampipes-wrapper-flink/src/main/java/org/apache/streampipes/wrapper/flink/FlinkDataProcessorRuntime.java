@@ -29,6 +29,7 @@ import org.apache.streampipes.model.runtime.Event;
 import org.apache.streampipes.wrapper.context.EventProcessorRuntimeContext;
 import org.apache.streampipes.wrapper.flink.converter.EventToMapConverter;
 import org.apache.streampipes.wrapper.flink.serializer.ByteArraySerializer;
+import org.apache.streampipes.wrapper.flink.serializer.KafkaTraceSerializer;
 import org.apache.streampipes.wrapper.flink.sink.JmsFlinkProducer;
 import org.apache.streampipes.wrapper.flink.sink.MqttFlinkProducer;
 import org.apache.streampipes.wrapper.params.binding.EventProcessorBindingParams;
@@ -71,8 +72,9 @@ public abstract class FlinkDataProcessorRuntime<T extends EventProcessorBindingP
     if (isKafkaProtocol(getOutputStream())) {
       applicationLogic
           .addSink(new FlinkKafkaProducer<>(getTopic(getOutputStream()),
-              serializer,
-              getProducerProperties((KafkaTransportProtocol) outputGrounding.getTransportProtocol())));
+              new KafkaTraceSerializer(getTopic(getOutputStream()), serializer),
+              getProducerProperties((KafkaTransportProtocol) outputGrounding.getTransportProtocol()),
+              FlinkKafkaProducer.Semantic.AT_LEAST_ONCE));
     } else if (isJmsProtocol(getOutputStream())) {
       applicationLogic
           .addSink(new JmsFlinkProducer(getJmsProtocol(getOutputStream()), serializer));
@@ -37,7 +37,7 @@ import org.apache.streampipes.wrapper.flink.consumer.JmsFlinkConsumer;
 import org.apache.streampipes.wrapper.flink.consumer.MqttFlinkConsumer;
 import org.apache.streampipes.wrapper.flink.converter.MapToEventConverter;
 import org.apache.streampipes.wrapper.flink.logger.StatisticLogger;
-import org.apache.streampipes.wrapper.flink.serializer.ByteArrayDeserializer;
+import org.apache.streampipes.wrapper.flink.serializer.KafkaTraceDeserializer;
 import org.apache.streampipes.wrapper.params.binding.BindingParams;
 import org.apache.streampipes.wrapper.params.runtime.RuntimeParams;
 
@@ -155,10 +155,10 @@ public abstract class FlinkRuntime<T extends RuntimeParams<V, W, X>, V extends B
     if (protocol.getTopicDefinition() instanceof SimpleTopicDefinition) {
       return new FlinkKafkaConsumer<>(protocol
           .getTopicDefinition()
-          .getActualTopicName(), new ByteArrayDeserializer(spDataFormatDefinition), getProperties(protocol));
+          .getActualTopicName(), new KafkaTraceDeserializer(spDataFormatDefinition), getProperties(protocol));
     } else {
       String patternTopic = replaceWildcardWithPatternFormat(protocol.getTopicDefinition().getActualTopicName());
-      return new FlinkKafkaConsumer<>(Pattern.compile(patternTopic), new ByteArrayDeserializer(spDataFormatDefinition),
+      return new FlinkKafkaConsumer<>(Pattern.compile(patternTopic), new KafkaTraceDeserializer(spDataFormatDefinition),
           getProperties(protocol));
     }
   }
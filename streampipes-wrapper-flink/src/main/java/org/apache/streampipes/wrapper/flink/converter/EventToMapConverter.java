@@ -19,6 +19,7 @@ package org.apache.streampipes.wrapper.flink.converter;
 
 import org.apache.streampipes.model.runtime.Event;
 import org.apache.streampipes.model.runtime.EventConverter;
+import org.apache.streampipes.model.runtime.EventTrace;
 
 import org.apache.flink.api.common.functions.FlatMapFunction;
 import org.apache.flink.util.Collector;
@@ -29,6 +30,10 @@ public class EventToMapConverter implements FlatMapFunction<Event, Map<String, O
 
   @Override
   public void flatMap(Event event, Collector<Map<String, Object>> collector) throws Exception {
-    collector.collect(new EventConverter(event).toMap());
+    Map<String, Object> map = new EventConverter(event).toMap();
+    if (event.getTrace() != null) {
+      map.put(EventTrace.TRACE_FIELD, event.getTrace().enqueued(System.currentTimeMillis()).toMap());
+    }
+    collector.collect(map);
   }
 }
@@ -41,6 +41,11 @@ public class MapToEventConverter<T extends RuntimeParams<?, ?, ?>> implements
 
   @Override
   public void flatMap(Map<String, Object> inMap, Collector<Event> collector) throws Exception {
-    collector.collect(runtimeParams.makeEvent(inMap, sourceId));
+    Event event = runtimeParams.makeEvent(inMap, sourceId);
+    if (event.getTrace() != null) {
+      event.getTrace().dequeued(runtimeParams.getBindingParams().getGraph().getElementId(),
+          System.currentTimeMillis());
+    }
+    collector.collect(event);
   }
 }
@@ -19,6 +19,7 @@ package org.apache.streampipes.wrapper.flink.serializer;
 
 import org.apache.streampipes.commons.exceptions.SpRuntimeException;
 import org.apache.streampipes.dataformat.SpDataFormatDefinition;
+import org.apache.streampipes.model.runtime.EventTrace;
 
 import org.apache.flink.api.common.serialization.SerializationSchema;
 
@@ -32,8 +33,12 @@ public class ByteArraySerializer implements SerializationSchema<Map<String, Obje
     this.spDataFormatDefinition = spDataFormatDefinition;
   }
 
+  /**
+   * Serializes the event without its trace, which is only propagated in Kafka record headers.
+   */
   @Override
   public byte[] serialize(Map<String, Object> event) {
+    event.remove(EventTrace.TRACE_FIELD);
     try {
       return spDataFormatDefinition.fromMap(event);
     } catch (SpRuntimeException e) {
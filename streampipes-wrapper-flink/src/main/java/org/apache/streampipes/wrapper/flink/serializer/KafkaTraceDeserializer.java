@@ -0,0 +1,74 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package org.apache.streampipes.wrapper.flink.serializer;
+
+import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.apache.streampipes.dataformat.SpDataFormatDefinition;
+import org.apache.streampipes.model.runtime.EventTrace;
+
+import org.apache.flink.api.common.typeinfo.TypeHint;
+import org.apache.flink.api.common.typeinfo.TypeInformation;
+import org.apache.flink.streaming.connectors.kafka.KafkaDeserializationSchema;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.Header;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * Deserializes Kafka records and restores the trace of sampled events from the record header, so that
+ * Flink elements propagate traces like standalone elements do.
+ */
+public class KafkaTraceDeserializer implements KafkaDeserializationSchema<Map<String, Object>> {
+
+  private final SpDataFormatDefinition spDataFormatDefinition;
+
+  public KafkaTraceDeserializer(SpDataFormatDefinition spDataFormatDefinition) {
+    this.spDataFormatDefinition = spDataFormatDefinition;
+  }
+
+  @Override
+  public boolean isEndOfStream(Map<String, Object> nextElement) {
+    return false;
+  }
+
+  @Override
+  public Map<String, Object> deserialize(ConsumerRecord<byte[], byte[]> record) throws IOException {
+    Map<String, Object> event;
+    try {
+      event = spDataFormatDefinition.toMap(record.value());
+    } catch (SpRuntimeException e) {
+      throw new IOException(e);
+    }
+    Header trace = record.headers().lastHeader(EventTrace.TRACE_HEADER);
+    if (trace != null) {
+      event.put(EventTrace.TRACE_FIELD,
+          EventTrace.fromHeader(new String(trace.value(), StandardCharsets.UTF_8)).toMap());
+    }
+    return event;
+  }
+
+  @Override
+  public TypeInformation<Map<String, Object>> getProducedType() {
+    return TypeInformation.of(new TypeHint<Map<String, Object>>() {
+    });
+  }
+}
@@ -0,0 +1,61 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package org.apache.streampipes.wrapper.flink.serializer;
+
+import org.apache.streampipes.model.runtime.EventTrace;
+
+import org.apache.flink.streaming.connectors.kafka.KafkaSerializationSchema;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.internals.RecordHeader;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Serializes events to Kafka records. The trace of a sampled event is moved from the event to the record
+ * header, as it must not be part of the payload.
+ */
+public class KafkaTraceSerializer implements KafkaSerializationSchema<Map<String, Object>> {
+
+  private final String topic;
+  private final ByteArraySerializer serializer;
+
+  public KafkaTraceSerializer(String topic,
+                              ByteArraySerializer serializer) {
+    this.topic = topic;
+    this.serializer = serializer;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public ProducerRecord<byte[], byte[]> serialize(Map<String, Object> event, Long timestamp) {
+    Object trace = event.remove(EventTrace.TRACE_FIELD);
+    byte[] value = serializer.serialize(event);
+    if (trace instanceof Map) {
+      String header = EventTrace.fromMap((Map<String, Object>) trace).toHeader();
+      List<Header> headers = List.of(
+          new RecordHeader(EventTrace.TRACE_HEADER, header.getBytes(StandardCharsets.UTF_8)));
+      return new ProducerRecord<>(topic, null, (byte[]) null, value, headers);
+    }
+    return new ProducerRecord<>(topic, value);
+  }
+}
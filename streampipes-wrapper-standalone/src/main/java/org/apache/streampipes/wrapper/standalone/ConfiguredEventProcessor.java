@@ -27,7 +27,24 @@ import java.util.function.Supplier;
 public class ConfiguredEventProcessor<T extends EventProcessorBindingParams>
     extends AbstractConfiguredPipelineElement<DataProcessorInvocation, T, EventProcessor<T>> {
 
+  private final Supplier<EventProcessor<T>> parallelEngineSupplier;
+
   public ConfiguredEventProcessor(T bindingParams, Supplier<EventProcessor<T>> engineSupplier) {
+    this(bindingParams, engineSupplier, null);
+  }
+
+  /**
+   * @param parallelEngineSupplier supplies additional, independent engines if the processor is executed in
+   *                               parallel, or null if the processor does not support parallel execution
+   */
+  public ConfiguredEventProcessor(T bindingParams,
+                                  Supplier<EventProcessor<T>> engineSupplier,
+                                  Supplier<EventProcessor<T>> parallelEngineSupplier) {
     super(bindingParams, engineSupplier);
+    this.parallelEngineSupplier = parallelEngineSupplier;
+  }
+
+  public Supplier<EventProcessor<T>> getParallelEngineSupplier() {
+    return parallelEngineSupplier;
   }
 }
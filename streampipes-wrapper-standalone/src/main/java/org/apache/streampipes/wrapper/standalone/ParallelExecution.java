@@ -0,0 +1,165 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package org.apache.streampipes.wrapper.standalone;
+
+import org.apache.streampipes.model.graph.DataProcessorInvocation;
+import org.apache.streampipes.model.runtime.Event;
+import org.apache.streampipes.model.schema.PropertyScope;
+import org.apache.streampipes.model.staticproperty.FreeTextStaticProperty;
+import org.apache.streampipes.model.staticproperty.MappingPropertyUnary;
+import org.apache.streampipes.model.staticproperty.StaticProperty;
+import org.apache.streampipes.model.staticproperty.StaticPropertyAlternative;
+import org.apache.streampipes.model.staticproperty.StaticPropertyAlternatives;
+import org.apache.streampipes.model.staticproperty.StaticPropertyGroup;
+import org.apache.streampipes.sdk.StaticProperties;
+import org.apache.streampipes.sdk.helpers.Alternatives;
+import org.apache.streampipes.sdk.helpers.Labels;
+import org.apache.streampipes.sdk.utils.Datatypes;
+
+import java.util.List;
+
+/**
+ * Parallel execution settings of a data processor invocation.
+ * Processors opt in by adding the static property returned by {@link #declare()}. Sequential execution is
+ * selected by default, so that existing pipelines and pipelines saved before the option was added keep running
+ * with a single engine. With partitioned execution, events with the same partition key are always processed
+ * in order by the same engine instance.
+ */
+public class ParallelExecution {
+
+  public static final String EXECUTION_MODE_KEY = "execution-mode";
+  public static final String SEQUENTIAL_EXECUTION_KEY = "sequential-execution";
+  public static final String PARTITIONED_EXECUTION_KEY = "partitioned-execution";
+  public static final String PARTITIONED_EXECUTION_SETTINGS_KEY = "partitioned-execution-settings";
+  public static final String PARALLELISM_KEY = "parallelism";
+  public static final String PARTITION_KEY = "partition-key";
+
+  private static final int DEFAULT_PARALLELISM = 2;
+
+  private final int parallelism;
+  private final String partitionKeySelector;
+
+  private ParallelExecution(int parallelism,
+                            String partitionKeySelector) {
+    this.parallelism = parallelism;
+    this.partitionKeySelector = partitionKeySelector;
+  }
+
+  /**
+   * Declares the execution mode of a processor: sequential (default) or partitioned by a field of the input
+   * stream with a configurable number of engines. The labels are resolved from the processor's locales file.
+   */
+  public static StaticPropertyAlternatives declare() {
+    // without a requirement selector, all properties of the input stream can be selected as partition key
+    var partitionKey = new MappingPropertyUnary(PARTITION_KEY, "", "");
+    partitionKey.setPropertyScope(PropertyScope.NONE.name());
+    var parallelism = StaticProperties.freeTextProperty(Labels.withId(PARALLELISM_KEY), Datatypes.Integer);
+    parallelism.setValue(String.valueOf(DEFAULT_PARALLELISM));
+
+    var alternatives = new StaticPropertyAlternatives(EXECUTION_MODE_KEY, EXECUTION_MODE_KEY, "");
+    var sequentialExecution = Alternatives.from(Labels.withId(SEQUENTIAL_EXECUTION_KEY), true);
+    sequentialExecution.setIndex(0);
+    var partitionedExecution = Alternatives.from(Labels.withId(PARTITIONED_EXECUTION_KEY),
+        StaticProperties.group(Labels.withId(PARTITIONED_EXECUTION_SETTINGS_KEY), parallelism, partitionKey));
+    partitionedExecution.setIndex(1);
+    alternatives.setAlternatives(List.of(sequentialExecution, partitionedExecution));
+    return alternatives;
+  }
+
+  public static ParallelExecution from(DataProcessorInvocation graph) {
+    int parallelism = 1;
+    String partitionKeySelector = null;
+
+    var parallelismProperty = findStaticProperty(graph.getStaticProperties(), PARALLELISM_KEY);
+    if (parallelismProperty instanceof FreeTextStaticProperty) {
+      var value = ((FreeTextStaticProperty) parallelismProperty).getValue();
+      if (value != null && !value.isBlank()) {
+        parallelism = Math.max(1, Integer.parseInt(value.trim()));
+      }
+    }
+    var partitionKeyProperty = findStaticProperty(graph.getStaticProperties(), PARTITION_KEY);
+    if (partitionKeyProperty instanceof MappingPropertyUnary) {
+      partitionKeySelector = ((MappingPropertyUnary) partitionKeyProperty).getSelectedProperty();
+    }
+
+    return new ParallelExecution(parallelism, partitionKeySelector);
+  }
+
+  public boolean isParallel() {
+    return parallelism > 1;
+  }
+
+  public boolean isPartitioned() {
+    return partitionKeySelector != null;
+  }
+
+  public int getParallelism() {
+    return parallelism;
+  }
+
+  public String getPartitionKeySelector() {
+    return partitionKeySelector;
+  }
+
+  /**
+   * Returns the value of the partition key of an event, which processors use to keep separate state per key.
+   * Returns null if the execution is not partitioned or the event does not contain the partition key.
+   */
+  public Object partitionKeyOf(Event event) {
+    if (partitionKeySelector == null) {
+      return null;
+    }
+    try {
+      return event.getFieldBySelector(partitionKeySelector).getRawValue();
+    } catch (RuntimeException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Finds a static property by its internal name, including members of groups and of selected alternatives.
+   */
+  private static StaticProperty findStaticProperty(List<StaticProperty> staticProperties,
+                                                   String internalName) {
+    for (StaticProperty staticProperty : staticProperties) {
+      StaticProperty result = null;
+      if (internalName.equals(staticProperty.getInternalName())) {
+        result = staticProperty;
+      } else if (staticProperty instanceof StaticPropertyGroup) {
+        result = findStaticProperty(((StaticPropertyGroup) staticProperty).getStaticProperties(), internalName);
+      } else if (staticProperty instanceof StaticPropertyAlternatives) {
+        result = ((StaticPropertyAlternatives) staticProperty)
+            .getAlternatives()
+            .stream()
+            .filter(alternative -> Boolean.TRUE.equals(alternative.getSelected()))
+            .map(StaticPropertyAlternative::getStaticProperty)
+            .filter(sp -> sp != null)
+            .map(sp -> findStaticProperty(List.of(sp), internalName))
+            .filter(sp -> sp != null)
+            .findFirst()
+            .orElse(null);
+      }
+      if (result != null) {
+        return result;
+      }
+    }
+    return null;
+  }
+}
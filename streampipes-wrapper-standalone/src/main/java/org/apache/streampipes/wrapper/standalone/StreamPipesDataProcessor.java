@@ -17,11 +17,13 @@
  */
 package org.apache.streampipes.wrapper.standalone;
 
+import org.apache.streampipes.commons.exceptions.SpRuntimeException;
 import org.apache.streampipes.model.graph.DataProcessorInvocation;
 import org.apache.streampipes.sdk.extractor.ProcessingElementParameterExtractor;
 import org.apache.streampipes.wrapper.runtime.EventProcessor;
 import org.apache.streampipes.wrapper.standalone.declarer.StandaloneEventProcessingDeclarer;
 
+import java.lang.reflect.InvocationTargetException;
 import java.util.function.Supplier;
 
 public abstract class StreamPipesDataProcessor extends StandaloneEventProcessingDeclarer<ProcessorParams>
@@ -31,7 +33,18 @@ public abstract class StreamPipesDataProcessor extends StandaloneEventProcessing
   public ConfiguredEventProcessor<ProcessorParams> onInvocation(DataProcessorInvocation graph,
                                                                 ProcessingElementParameterExtractor extractor) {
     Supplier<EventProcessor<ProcessorParams>> supplier = () -> this;
-    return new ConfiguredEventProcessor<>(new ProcessorParams(graph), supplier);
+    return new ConfiguredEventProcessor<>(new ProcessorParams(graph), supplier, this::newEngine);
+  }
+
+  /**
+   * Creates an additional engine for parallel execution using the no-arg constructor of the processor.
+   */
+  private EventProcessor<ProcessorParams> newEngine() {
+    try {
+      return this.getClass().getDeclaredConstructor().newInstance();
+    } catch (InstantiationException | IllegalAccessException | InvocationTargetException | NoSuchMethodException e) {
+      throw new SpRuntimeException("Could not create engine instance of " + this.getClass().getName(), e);
+    }
   }
 
 }
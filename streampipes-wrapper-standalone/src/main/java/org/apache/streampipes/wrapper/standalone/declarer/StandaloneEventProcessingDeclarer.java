@@ -50,6 +50,12 @@ public abstract class StandaloneEventProcessingDeclarer<T extends
         );
 
     return new StandaloneEventProcessorRuntime<>(configuredEngine.getEngineSupplier(),
+        configuredEngine.getParallelEngineSupplier(),
         runtimeParams);
   }
+
+  @Override
+  public boolean supportsInMemoryTransport() {
+    return true;
+  }
 }
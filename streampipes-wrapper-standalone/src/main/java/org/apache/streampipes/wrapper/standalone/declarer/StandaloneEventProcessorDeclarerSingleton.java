@@ -57,4 +57,9 @@ public abstract class StandaloneEventProcessorDeclarerSingleton<T extends EventP
 
   public abstract ConfiguredEventProcessor<T> onInvocation(DataProcessorInvocation graph,
                                                            ProcessingElementParameterExtractor extractor);
+
+  @Override
+  public boolean supportsInMemoryTransport() {
+    return true;
+  }
 }
@@ -52,4 +52,8 @@ public abstract class StandaloneEventSinkDeclarer<T extends
 
   public abstract ConfiguredEventSink<T> onInvocation(DataSinkInvocation graph, DataSinkParameterExtractor extractor);
 
+  @Override
+  public boolean supportsInMemoryTransport() {
+    return true;
+  }
 }
@@ -51,4 +51,9 @@ public abstract class StandaloneEventSinkDeclarerSingleton<T extends
   }
 
   public abstract ConfiguredEventSink<T> onInvocation(DataSinkInvocation graph, DataSinkParameterExtractor extractor);
+
+  @Override
+  public boolean supportsInMemoryTransport() {
+    return true;
+  }
 }
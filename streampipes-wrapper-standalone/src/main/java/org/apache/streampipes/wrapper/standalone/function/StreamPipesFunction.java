@@ -21,6 +21,7 @@ package org.apache.streampipes.wrapper.standalone.function;
 import org.apache.streampipes.commons.environment.Environment;
 import org.apache.streampipes.commons.environment.Environments;
 import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.apache.streampipes.dataformat.SpDataFormatDefinition;
 import org.apache.streampipes.extensions.api.declarer.IFunctionConfig;
 import org.apache.streampipes.extensions.api.declarer.IStreamPipesFunctionDeclarer;
 import org.apache.streampipes.extensions.management.monitoring.SpMonitoringManager;
@@ -38,6 +39,7 @@ import org.apache.streampipes.wrapper.routing.RawDataProcessor;
 import org.apache.streampipes.wrapper.routing.SpInputCollector;
 import org.apache.streampipes.wrapper.routing.SpOutputCollector;
 import org.apache.streampipes.wrapper.standalone.manager.ProtocolManager;
+import org.apache.streampipes.wrapper.standalone.routing.StandaloneSpInputCollector;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -83,8 +85,9 @@ public abstract class StreamPipesFunction implements IStreamPipesFunctionDeclare
         .getStreams()
         .forEach(stream -> {
           var topic = getTopic(stream);
-          sourceInfoMapper.put(topic, createSourceInfo(stream, index.get()));
-          schemaInfoMapper.put(topic, createSchemaInfo(stream.getEventSchema()));
+          var sourceInfo = createSourceInfo(stream, index.get());
+          sourceInfoMapper.put(topic, sourceInfo);
+          schemaInfoMapper.put(topic, createSchemaInfo(stream.getEventSchema(), sourceInfo));
           index.getAndIncrement();
         });
 
@@ -104,6 +107,11 @@ public abstract class StreamPipesFunction implements IStreamPipesFunctionDeclare
     this.outputCollectors.forEach((key, value) -> value.disconnect());
   }
 
+  @Override
+  public String getResourceId() {
+    return this.getFunctionConfig().getFunctionId().getId();
+  }
+
   @Override
   public void process(Map<String, Object> rawEvent, String topicName) {
     try {
@@ -112,8 +120,26 @@ public abstract class StreamPipesFunction implements IStreamPipesFunctionDeclare
       var event = EventFactory
           .fromMap(rawEvent, sourceInfo, schemaInfoMapper.get(topicName));
 
+      long start = System.nanoTime();
+      this.onEvent(event, sourceInfo.getSourceId());
+      increaseCounter(sourceInfo.getSourceId());
+      SpMonitoringManager.INSTANCE.recordLatency(getResourceId(), System.nanoTime() - start);
+    } catch (RuntimeException e) {
+      addError(e);
+    }
+  }
+
+  @Override
+  public void process(byte[] rawEvent, SpDataFormatDefinition dataFormatDefinition, String topicName) {
+    try {
+      var sourceInfo = sourceInfoMapper.get(topicName);
+
+      var event = dataFormatDefinition.toEvent(rawEvent, schemaInfoMapper.get(topicName), sourceInfo);
+
+      long start = System.nanoTime();
       this.onEvent(event, sourceInfo.getSourceId());
       increaseCounter(sourceInfo.getSourceId());
+      SpMonitoringManager.INSTANCE.recordLatency(getResourceId(), System.nanoTime() - start);
     } catch (RuntimeException e) {
       addError(e);
     }
@@ -180,7 +206,7 @@ public abstract class StreamPipesFunction implements IStreamPipesFunctionDeclare
   private void unregisterConsumers() {
     this.inputCollectors.forEach((key, is) -> {
       is.unregisterConsumer(key);
-      is.disconnect();
+      ProtocolManager.releaseInputCollector((StandaloneSpInputCollector<?>) is);
     });
   }
 
@@ -191,8 +217,8 @@ public abstract class StreamPipesFunction implements IStreamPipesFunctionDeclare
             + streamIndex);
   }
 
-  private SchemaInfo createSchemaInfo(EventSchema eventSchema) {
-    return new SchemaInfo(eventSchema, new ArrayList<>());
+  private SchemaInfo createSchemaInfo(EventSchema eventSchema, SourceInfo sourceInfo) {
+    return new SchemaInfo(eventSchema, new ArrayList<>(), sourceInfo.getSelectorPrefix());
   }
 
   private Environment getEnvironment() {
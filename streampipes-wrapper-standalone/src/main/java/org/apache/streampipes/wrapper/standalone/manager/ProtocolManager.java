@@ -19,56 +19,109 @@
 package org.apache.streampipes.wrapper.standalone.manager;
 
 import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.apache.streampipes.extensions.management.monitoring.SpMonitoringManager;
 import org.apache.streampipes.model.grounding.TransportFormat;
 import org.apache.streampipes.model.grounding.TransportProtocol;
+import org.apache.streampipes.model.monitoring.SharedCollectorInfo;
+import org.apache.streampipes.wrapper.standalone.routing.StandaloneSpCollector;
 import org.apache.streampipes.wrapper.standalone.routing.StandaloneSpInputCollector;
 import org.apache.streampipes.wrapper.standalone.routing.StandaloneSpOutputCollector;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.HashMap;
 import java.util.Map;
-
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * Registry of the input and output collectors of this service.
+ * Pipeline elements which read from or write to the same topic with the same protocol and format share a
+ * collector. Each element acquires a collector with {@code find...} and returns it with {@code release...};
+ * the collector is disconnected as soon as the last element has released it.
+ * The number of elements sharing each collector is reported to the {@link SpMonitoringManager}.
+ */
 public class ProtocolManager {
 
   private static final Logger LOG = LoggerFactory.getLogger(ProtocolManager.class);
-  public static Map<String, StandaloneSpInputCollector> consumers = new HashMap<>();
-  public static Map<String, StandaloneSpOutputCollector> producers = new HashMap<>();
 
-  // TODO currently only the topic name is used as an identifier for a consumer/producer. Should
-  // be changed by some hashCode implementation in streampipes-model, but this requires changes
-  // in empire serializers
+  private static final Map<String, Registration<StandaloneSpInputCollector>> consumers = new ConcurrentHashMap<>();
+  private static final Map<String, Registration<StandaloneSpOutputCollector>> producers = new ConcurrentHashMap<>();
+
+  static {
+    SpMonitoringManager.INSTANCE.registerSharedCollectors(ProtocolManager::getSharedCollectorInfo);
+  }
 
   public static <T extends TransportProtocol> StandaloneSpInputCollector findInputCollector(T protocol,
                                                                                             TransportFormat format,
                                                                                             Boolean singletonEngine)
       throws SpRuntimeException {
-
-    if (consumers.containsKey(topicName(protocol))) {
-      return consumers.get(topicName(protocol));
-    } else {
-      consumers.put(topicName(protocol), makeInputCollector(protocol, format, singletonEngine));
-      LOG.info("Adding new consumer to consumer map (size=" + consumers.size() + "): " + topicName(protocol));
-      return consumers.get(topicName(protocol));
-    }
-
+    var registration = consumers.compute(collectorKey(protocol, format), (key, existing) -> {
+      var current = existing != null
+          ? existing
+          : new Registration<StandaloneSpInputCollector>(makeInputCollector(protocol, format, singletonEngine));
+      current.references++;
+      return current;
+    });
+    LOG.info("Acquired consumer (references={}, consumers={}): {}",
+        registration.references, consumers.size(), topicName(protocol));
+    return registration.collector;
   }
 
   public static <T extends TransportProtocol> StandaloneSpOutputCollector findOutputCollector(T protocol,
                                                                                               TransportFormat format,
                                                                                               String resourceId)
       throws SpRuntimeException {
+    var registration = producers.compute(collectorKey(protocol, format), (key, existing) -> {
+      var current = existing != null
+          ? existing
+          : new Registration<StandaloneSpOutputCollector>(makeOutputCollector(protocol, format, resourceId));
+      current.references++;
+      return current;
+    });
+    LOG.info("Acquired producer (references={}, producers={}): {}",
+        registration.references, producers.size(), topicName(protocol));
+    return registration.collector;
+  }
+
+  /**
+   * Releases a collector acquired by {@link #findInputCollector}, disconnecting it if it is no longer used.
+   */
+  public static void releaseInputCollector(StandaloneSpInputCollector<?> collector) throws SpRuntimeException {
+    if (release(consumers, collector)) {
+      collector.disconnect();
+      LOG.info("Removed consumer (consumers={}): {}", consumers.size(), topicName(collector.getTransportProtocol()));
+    }
+  }
 
-    if (producers.containsKey(topicName(protocol))) {
-      return producers.get(topicName(protocol));
-    } else {
-      producers.put(topicName(protocol), makeOutputCollector(protocol, format, resourceId));
-      LOG.info("Adding new producer to producer map (size=" + producers.size() + "): " + topicName
-          (protocol));
-      return producers.get(topicName(protocol));
+  /**
+   * Releases a collector acquired by {@link #findOutputCollector}, disconnecting it if it is no longer used.
+   */
+  public static void releaseOutputCollector(StandaloneSpOutputCollector<?> collector) throws SpRuntimeException {
+    if (release(producers, collector)) {
+      collector.disconnect();
+      LOG.info("Removed producer (producers={}): {}", producers.size(), topicName(collector.getTransportProtocol()));
     }
+  }
 
+  private static <T extends StandaloneSpCollector<?, ?>> boolean release(Map<String, Registration<T>> registry,
+                                                                        StandaloneSpCollector<?, ?> collector) {
+    var removed = new AtomicBoolean(false);
+    registry.computeIfPresent(
+        collectorKey(collector.getTransportProtocol(), collector.getTransportFormat()),
+        (key, registration) -> {
+          if (registration.collector != collector) {
+            return registration;
+          }
+          registration.references--;
+          if (registration.references > 0) {
+            return registration;
+          }
+          removed.set(true);
+          return null;
+        });
+    return removed.get();
   }
 
   private static <T extends TransportProtocol> StandaloneSpInputCollector<T> makeInputCollector(T protocol,
@@ -78,6 +131,9 @@ public class ProtocolManager {
     return new StandaloneSpInputCollector<>(protocol, format, singletonEngine);
   }
 
+  /**
+   * Creates an output collector which is not registered and thus not shared with other elements.
+   */
   public static <T extends TransportProtocol> StandaloneSpOutputCollector<T> makeOutputCollector(T protocol,
                                                                                                  TransportFormat format,
                                                                                                  String resourceId)
@@ -85,23 +141,52 @@ public class ProtocolManager {
     return new StandaloneSpOutputCollector<>(protocol, format, resourceId);
   }
 
-  private static String topicName(TransportProtocol protocol) {
-    return protocol.getTopicDefinition().getActualTopicName();
+  /**
+   * Returns the number of elements sharing each registered input collector.
+   */
+  public static Map<String, Integer> getInputCollectorReferences() {
+    return references(consumers);
+  }
+
+  /**
+   * Returns the number of elements sharing each registered output collector.
+   */
+  public static Map<String, Integer> getOutputCollectorReferences() {
+    return references(producers);
   }
 
-  public static <T extends TransportProtocol> void removeInputCollector(T protocol) throws
-      SpRuntimeException {
-    consumers.remove(topicName(protocol));
-    LOG.info("Removing consumer from consumer map (size=" + consumers.size() + "): " + topicName
-        (protocol));
+  public static SharedCollectorInfo getSharedCollectorInfo() {
+    return new SharedCollectorInfo(getInputCollectorReferences(), getOutputCollectorReferences());
   }
 
-  public static <T extends TransportProtocol> void removeOutputCollector(T protocol) throws
-      SpRuntimeException {
-    producers.remove(topicName(protocol));
-    LOG.info("Removing producer from producer map (size=" + producers.size() + "): " + topicName
-        (protocol));
+  private static <T> Map<String, Integer> references(Map<String, Registration<T>> registry) {
+    return registry
+        .entrySet()
+        .stream()
+        .collect(Collectors.toMap(Map.Entry::getKey, e -> e.getValue().references));
   }
 
+  private static String collectorKey(TransportProtocol protocol,
+                                     TransportFormat format) {
+    return protocol.getClass().getSimpleName()
+        + "://" + protocol.getBrokerHostname()
+        + "/" + topicName(protocol)
+        + "?format=" + format.getRdfType();
+  }
 
+  private static String topicName(TransportProtocol protocol) {
+    return protocol.getTopicDefinition().getActualTopicName();
+  }
+
+  private static class Registration<T> {
+
+    private final T collector;
+
+    // only modified within the atomic compute operations of the registry
+    private volatile int references;
+
+    Registration(T collector) {
+      this.collector = collector;
+    }
+  }
 }
@@ -0,0 +1,57 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.wrapper.standalone.protocol;
+
+import org.apache.streampipes.commons.environment.Environments;
+import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.apache.streampipes.messaging.EventConsumer;
+import org.apache.streampipes.messaging.InternalEventProcessor;
+import org.apache.streampipes.model.grounding.InMemoryTransportProtocol;
+
+public class InMemoryConsumer implements EventConsumer<InMemoryTransportProtocol> {
+
+  private String topic;
+  private InMemorySubscription subscription;
+
+  @Override
+  public void connect(InMemoryTransportProtocol protocolSettings,
+                      InternalEventProcessor<byte[]> eventProcessor) throws SpRuntimeException {
+    this.topic = protocolSettings.getTopicDefinition().getActualTopicName();
+    this.subscription = new InMemorySubscription(
+        topic,
+        eventProcessor,
+        Environments.getEnvironment().getInMemoryQueueSize().getValueOrDefault());
+    this.subscription.start();
+    InMemoryEventBus.INSTANCE.subscribe(topic, subscription);
+  }
+
+  @Override
+  public void disconnect() throws SpRuntimeException {
+    if (subscription != null) {
+      InMemoryEventBus.INSTANCE.unsubscribe(topic, subscription);
+      subscription.stop();
+      subscription = null;
+    }
+  }
+
+  @Override
+  public boolean isConnected() {
+    return subscription != null;
+  }
+}
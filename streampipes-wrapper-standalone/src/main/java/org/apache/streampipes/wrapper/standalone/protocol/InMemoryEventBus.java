@@ -0,0 +1,52 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.wrapper.standalone.protocol;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Routes events of the in-memory protocol from publishers to all subscriptions of a topic within this JVM.
+ */
+public enum InMemoryEventBus {
+
+  INSTANCE;
+
+  private final Map<String, List<InMemorySubscription>> subscriptions = new ConcurrentHashMap<>();
+
+  public void subscribe(String topic,
+                        InMemorySubscription subscription) {
+    subscriptions.computeIfAbsent(topic, key -> new CopyOnWriteArrayList<>()).add(subscription);
+  }
+
+  public void unsubscribe(String topic,
+                          InMemorySubscription subscription) {
+    subscriptions.computeIfPresent(topic, (key, topicSubscriptions) -> {
+      topicSubscriptions.remove(subscription);
+      return topicSubscriptions.isEmpty() ? null : topicSubscriptions;
+    });
+  }
+
+  public List<InMemorySubscription> getSubscriptions(String topic) {
+    return subscriptions.getOrDefault(topic, Collections.emptyList());
+  }
+}
@@ -0,0 +1,129 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.wrapper.standalone.protocol;
+
+import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.apache.streampipes.dataformat.SpDataFormatDefinition;
+import org.apache.streampipes.messaging.EventProducer;
+import org.apache.streampipes.messaging.SpProtocolManager;
+import org.apache.streampipes.model.grounding.InMemoryTransportProtocol;
+import org.apache.streampipes.model.grounding.TransportProtocol;
+import org.apache.streampipes.model.runtime.Event;
+import org.apache.streampipes.model.runtime.EventConverter;
+import org.apache.streampipes.model.runtime.EventTrace;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Map;
+
+public class InMemoryPublisher implements EventProducer<InMemoryTransportProtocol> {
+
+  private static final int INITIAL_BUFFER_SIZE = 256;
+
+  private String topic;
+  private EventProducer<TransportProtocol> mirrorProducer;
+  private boolean connected;
+
+  @Override
+  public void connect(InMemoryTransportProtocol protocolSettings) throws SpRuntimeException {
+    this.topic = protocolSettings.getTopicDefinition().getActualTopicName();
+    if (protocolSettings.isMirrorToBroker() && protocolSettings.getBrokerProtocol() != null) {
+      TransportProtocol brokerProtocol = protocolSettings.getBrokerProtocol();
+      this.mirrorProducer = SpProtocolManager.INSTANCE
+          .findDefinition(brokerProtocol)
+          .orElseThrow(() -> new SpRuntimeException("Could not find protocol to mirror in-memory events"))
+          .getProducer();
+      this.mirrorProducer.connect(brokerProtocol);
+    }
+    this.connected = true;
+  }
+
+  /**
+   * Hands the event over to all subscriptions of the topic. Subscriptions which accept raw events receive
+   * a map of the event including its trace, all others (and the optional broker mirror) receive the serialized
+   * event.
+   */
+  public void publish(Event event,
+                      SpDataFormatDefinition dataFormatDefinition) throws SpRuntimeException {
+    byte[] serializedEvent = null;
+    for (InMemorySubscription subscription : InMemoryEventBus.INSTANCE.getSubscriptions(topic)) {
+      if (subscription.acceptsRawEvents()) {
+        subscription.publish(toRawEvent(event));
+      } else {
+        if (serializedEvent == null) {
+          serializedEvent = serialize(event, dataFormatDefinition);
+        }
+        subscription.publish(serializedEvent);
+      }
+    }
+    if (mirrorProducer != null) {
+      byte[] mirroredEvent = serializedEvent != null ? serializedEvent : serialize(event, dataFormatDefinition);
+      if (event.getTrace() != null) {
+        mirrorProducer.publish(null, mirroredEvent, Map.of(EventTrace.TRACE_HEADER, event.getTrace().toHeader()));
+      } else {
+        mirrorProducer.publish(mirroredEvent);
+      }
+    }
+  }
+
+  @Override
+  public void publish(byte[] event) {
+    InMemoryEventBus.INSTANCE.getSubscriptions(topic).forEach(subscription -> subscription.publish(event));
+    if (mirrorProducer != null) {
+      mirrorProducer.publish(event);
+    }
+  }
+
+  @Override
+  public void publish(String key, byte[] event, Map<String, String> headers) {
+    InMemoryEventBus.INSTANCE.getSubscriptions(topic).forEach(subscription -> subscription.publish(event, headers));
+    if (mirrorProducer != null) {
+      mirrorProducer.publish(key, event, headers);
+    }
+  }
+
+  @Override
+  public void disconnect() throws SpRuntimeException {
+    if (mirrorProducer != null) {
+      mirrorProducer.disconnect();
+      mirrorProducer = null;
+    }
+    this.connected = false;
+  }
+
+  @Override
+  public boolean isConnected() {
+    return connected;
+  }
+
+  private Map<String, Object> toRawEvent(Event event) {
+    // each subscription receives its own map, as consumers might modify the event
+    Map<String, Object> rawEvent = new EventConverter(event).toMap();
+    if (event.getTrace() != null) {
+      rawEvent.put(EventTrace.TRACE_FIELD, event.getTrace().toMap());
+    }
+    return rawEvent;
+  }
+
+  private byte[] serialize(Event event,
+                           SpDataFormatDefinition dataFormatDefinition) throws SpRuntimeException {
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream(INITIAL_BUFFER_SIZE);
+    dataFormatDefinition.writeEvent(event, outputStream);
+    return outputStream.toByteArray();
+  }
+}
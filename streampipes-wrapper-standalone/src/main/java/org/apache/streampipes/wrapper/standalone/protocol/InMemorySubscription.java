@@ -0,0 +1,147 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.wrapper.standalone.protocol;
+
+import org.apache.streampipes.messaging.InternalEventProcessor;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A subscription to a topic of the {@link InMemoryEventBus}. Published events are put into a bounded queue and
+ * handed to the consumer by a dedicated worker thread, so that publishers are decoupled from slow consumers
+ * and blocked (instead of dropping events) if the queue is full.
+ */
+public class InMemorySubscription {
+
+  private static final Logger LOG = LoggerFactory.getLogger(InMemorySubscription.class);
+
+  private static final long POLL_TIMEOUT_MS = 100;
+  private static final long SHUTDOWN_TIMEOUT_MS = 5000;
+
+  private final String topic;
+  private final InternalEventProcessor<byte[]> eventProcessor;
+  private final BlockingQueue<Object> queue;
+  private final Thread worker;
+
+  private volatile boolean running;
+
+  public InMemorySubscription(String topic,
+                              InternalEventProcessor<byte[]> eventProcessor,
+                              int capacity) {
+    this.topic = topic;
+    this.eventProcessor = eventProcessor;
+    this.queue = new ArrayBlockingQueue<>(capacity);
+    this.worker = new Thread(this::processQueue, "sp-in-memory-" + topic);
+    this.worker.setDaemon(true);
+  }
+
+  public void start() {
+    this.running = true;
+    this.worker.start();
+  }
+
+  public void stop() {
+    this.running = false;
+    try {
+      this.worker.join(SHUTDOWN_TIMEOUT_MS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    if (!queue.isEmpty()) {
+      LOG.warn("Discarding {} in-memory events of topic {} which could not be processed within {} ms",
+          queue.size(), topic, SHUTDOWN_TIMEOUT_MS);
+      queue.clear();
+    }
+  }
+
+  /**
+   * @return true if the consumer accepts events as maps, false if events need to be serialized
+   */
+  public boolean acceptsRawEvents() {
+    return eventProcessor instanceof InMemoryEventProcessor;
+  }
+
+  public void publish(Map<String, Object> rawEvent) {
+    enqueue(rawEvent);
+  }
+
+  public void publish(byte[] event) {
+    enqueue(event);
+  }
+
+  public void publish(byte[] event,
+                      Map<String, String> headers) {
+    enqueue(new EventWithHeaders(event, headers));
+  }
+
+  private void enqueue(Object event) {
+    try {
+      while (!queue.offer(event, POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+        if (!running) {
+          return;
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * Processes events until the subscription is stopped. Events which have been queued before are processed
+   * before the worker terminates.
+   */
+  @SuppressWarnings("unchecked")
+  private void processQueue() {
+    while (running || !queue.isEmpty()) {
+      try {
+        var event = queue.poll(POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        if (event instanceof Map) {
+          ((InMemoryEventProcessor) eventProcessor).onRawEvent((Map<String, Object>) event);
+        } else if (event instanceof EventWithHeaders) {
+          eventProcessor.onEvent(((EventWithHeaders) event).event, ((EventWithHeaders) event).headers);
+        } else if (event != null) {
+          eventProcessor.onEvent((byte[]) event);
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      } catch (RuntimeException e) {
+        LOG.error("Could not process in-memory event of topic {}", topic, e);
+      }
+    }
+  }
+
+  private static class EventWithHeaders {
+
+    private final byte[] event;
+    private final Map<String, String> headers;
+
+    EventWithHeaders(byte[] event,
+                     Map<String, String> headers) {
+      this.event = event;
+      this.headers = headers;
+    }
+  }
+}
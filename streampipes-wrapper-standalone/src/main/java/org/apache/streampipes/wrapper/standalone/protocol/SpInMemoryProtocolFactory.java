@@ -0,0 +1,47 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.wrapper.standalone.protocol;
+
+import org.apache.streampipes.messaging.SpProtocolDefinition;
+import org.apache.streampipes.messaging.SpProtocolDefinitionFactory;
+import org.apache.streampipes.model.grounding.InMemoryTransportProtocol;
+import org.apache.streampipes.model.grounding.TransportProtocol;
+
+/**
+ * Registers the in-memory protocol, which is selected for connections between pipeline elements which run
+ * in the same extensions service instance. Only register this protocol in services which provide
+ * standalone (non-Flink) pipeline elements.
+ */
+public class SpInMemoryProtocolFactory extends SpProtocolDefinitionFactory<InMemoryTransportProtocol> {
+
+  @Override
+  public TransportProtocol getTransportProtocol() {
+    return new InMemoryTransportProtocol();
+  }
+
+  @Override
+  public String getTransportProtocolClass() {
+    return InMemoryTransportProtocol.class.getCanonicalName();
+  }
+
+  @Override
+  public SpProtocolDefinition<InMemoryTransportProtocol> createInstance() {
+    return new SpInMemoryProtocol();
+  }
+}
@@ -0,0 +1,155 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.wrapper.standalone.routing;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * A bounded queue with a dedicated worker thread. The worker drains all queued items at once and hands them
+ * to the batch consumer, so that consumers receive adaptive batches under load.
+ * When the queue is stopped, the worker processes all remaining items. Items which cannot be processed within
+ * the shutdown timeout are discarded and counted as dropped.
+ *
+ * @param <T> the type of the queued items
+ */
+public class BoundedEventQueue<T> {
+
+  private static final Logger LOG = LoggerFactory.getLogger(BoundedEventQueue.class);
+
+  private static final int MAX_BATCH_SIZE = 1000;
+  private static final long POLL_TIMEOUT_MS = 100;
+  private static final long SHUTDOWN_TIMEOUT_MS = 5000;
+
+  private final String name;
+  private final int capacity;
+  private final QueueOverflowPolicy overflowPolicy;
+  private final Consumer<List<T>> batchConsumer;
+  private final BlockingQueue<T> queue;
+  private final AtomicLong droppedItems;
+  private final Thread worker;
+
+  private volatile boolean running;
+
+  public BoundedEventQueue(String name,
+                           int capacity,
+                           QueueOverflowPolicy overflowPolicy,
+                           Consumer<List<T>> batchConsumer) {
+    this.name = name;
+    this.capacity = capacity;
+    this.overflowPolicy = overflowPolicy;
+    this.batchConsumer = batchConsumer;
+    this.queue = new ArrayBlockingQueue<>(capacity);
+    this.droppedItems = new AtomicLong();
+    this.worker = new Thread(this::processQueue, name);
+    this.worker.setDaemon(true);
+  }
+
+  public void start() {
+    this.running = true;
+    this.worker.start();
+  }
+
+  public void stop() {
+    this.running = false;
+    try {
+      this.worker.join(SHUTDOWN_TIMEOUT_MS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    int remaining = queue.size();
+    if (remaining > 0) {
+      LOG.warn("Discarding {} queued events of {} which could not be processed within {} ms",
+          remaining, name, SHUTDOWN_TIMEOUT_MS);
+      queue.clear();
+      droppedItems.addAndGet(remaining);
+    }
+  }
+
+  public void enqueue(T item) {
+    if (overflowPolicy == QueueOverflowPolicy.DROP_NEWEST) {
+      if (!queue.offer(item)) {
+        droppedItems.incrementAndGet();
+      }
+    } else if (overflowPolicy == QueueOverflowPolicy.DROP_OLDEST) {
+      while (!queue.offer(item)) {
+        if (queue.poll() != null) {
+          droppedItems.incrementAndGet();
+        }
+      }
+    } else {
+      enqueueBlocking(item);
+    }
+  }
+
+  public int getCapacity() {
+    return capacity;
+  }
+
+  public int size() {
+    return queue.size();
+  }
+
+  public long getDroppedItems() {
+    return droppedItems.get();
+  }
+
+  private void enqueueBlocking(T item) {
+    try {
+      while (!queue.offer(item, POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+        if (!running) {
+          droppedItems.incrementAndGet();
+          return;
+        }
+      }
+    } catch (InterruptedException e) {
+      droppedItems.incrementAndGet();
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void processQueue() {
+    List<T> batch = new ArrayList<>();
+    while (running || !queue.isEmpty()) {
+      try {
+        var item = queue.poll(POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        if (item != null) {
+          batch.add(item);
+          queue.drainTo(batch, MAX_BATCH_SIZE - 1);
+          batchConsumer.accept(batch);
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      } catch (RuntimeException e) {
+        LOG.error("Could not process queued events of {}", name, e);
+      } finally {
+        batch.clear();
+      }
+    }
+  }
+}
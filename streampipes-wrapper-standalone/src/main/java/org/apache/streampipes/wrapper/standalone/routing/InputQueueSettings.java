@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.wrapper.standalone.routing;
+
+import org.apache.streampipes.commons.environment.Environments;
+import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.apache.streampipes.model.base.InvocableStreamPipesEntity;
+import org.apache.streampipes.sdk.extractor.StaticPropertyExtractor;
+
+/**
+ * Input queue settings of a pipeline element.
+ * The defaults are configured with SP_EXT_INPUT_QUEUE_SIZE and SP_EXT_INPUT_QUEUE_POLICY. Pipeline elements can
+ * override them by declaring an integer parameter with the internal name {@link #QUEUE_SIZE_KEY} and a
+ * selection with the internal name {@link #QUEUE_POLICY_KEY}, whose options are the names of the
+ * {@link QueueOverflowPolicy} values.
+ */
+public class InputQueueSettings {
+
+  public static final String QUEUE_SIZE_KEY = "input-queue-size";
+  public static final String QUEUE_POLICY_KEY = "input-queue-policy";
+
+  private final int capacity;
+  private final QueueOverflowPolicy overflowPolicy;
+
+  public InputQueueSettings(int capacity,
+                            QueueOverflowPolicy overflowPolicy) {
+    this.capacity = capacity;
+    this.overflowPolicy = overflowPolicy;
+  }
+
+  public static InputQueueSettings fromEnvironment() throws SpRuntimeException {
+    var env = Environments.getEnvironment();
+    return new InputQueueSettings(
+        env.getInputQueueSize().getValueOrDefault(),
+        toOverflowPolicy(env.getInputQueuePolicy().getValueOrDefault()));
+  }
+
+  public static InputQueueSettings from(InvocableStreamPipesEntity graph) throws SpRuntimeException {
+    var defaults = fromEnvironment();
+    var extractor = StaticPropertyExtractor.from(graph.getStaticProperties(), graph.getInputStreams());
+    int capacity = defaults.getCapacity();
+    QueueOverflowPolicy overflowPolicy = defaults.getOverflowPolicy();
+
+    if (extractor.getStaticPropertyByName(QUEUE_SIZE_KEY) != null) {
+      capacity = extractor.singleValueParameter(QUEUE_SIZE_KEY, Integer.class);
+    }
+    if (extractor.getStaticPropertyByName(QUEUE_POLICY_KEY) != null) {
+      overflowPolicy = toOverflowPolicy(extractor.selectedSingleValue(QUEUE_POLICY_KEY, String.class));
+    }
+
+    return new InputQueueSettings(capacity, overflowPolicy);
+  }
+
+  public boolean isEnabled() {
+    return capacity > 0;
+  }
+
+  public int getCapacity() {
+    return capacity;
+  }
+
+  public QueueOverflowPolicy getOverflowPolicy() {
+    return overflowPolicy;
+  }
+
+  private static QueueOverflowPolicy toOverflowPolicy(String policy) throws SpRuntimeException {
+    try {
+      return QueueOverflowPolicy.valueOf(policy.toUpperCase());
+    } catch (IllegalArgumentException e) {
+      throw new SpRuntimeException("Unknown input queue policy " + policy);
+    }
+  }
+}
@@ -0,0 +1,185 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package org.apache.streampipes.wrapper.standalone.routing;
+
+import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.apache.streampipes.messaging.InternalEventProcessor;
+import org.apache.streampipes.model.runtime.Event;
+import org.apache.streampipes.wrapper.routing.SpOutputCollector;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Output of a data processor whose engines run in parallel. Each engine emits events through its own worker
+ * collector, which hands them off to a bounded queue of that worker. A single emitter thread drains the worker
+ * queues round-robin and passes the events to the underlying collector, since producers are not required to be
+ * thread-safe. A worker only blocks when its own queue is full, never while another worker's event is emitted.
+ */
+public class ParallelOutputCollector {
+
+  private static final Logger LOG = LoggerFactory.getLogger(ParallelOutputCollector.class);
+
+  private static final int QUEUE_SIZE = 1000;
+  private static final long POLL_TIMEOUT_MS = 100;
+  private static final long SHUTDOWN_TIMEOUT_MS = 5000;
+
+  private final SpOutputCollector delegate;
+  private final String name;
+  private final List<BlockingQueue<Event>> workerQueues;
+  private final Semaphore pendingEvents;
+  private final AtomicLong droppedEvents;
+  private final Thread emitter;
+
+  private volatile boolean running;
+
+  public ParallelOutputCollector(SpOutputCollector delegate,
+                                 String name) {
+    this.delegate = delegate;
+    this.name = name;
+    this.workerQueues = new CopyOnWriteArrayList<>();
+    this.pendingEvents = new Semaphore(0);
+    this.droppedEvents = new AtomicLong();
+    this.emitter = new Thread(this::emitEvents, name);
+    this.emitter.setDaemon(true);
+  }
+
+  /**
+   * Creates the output collector of a single engine.
+   */
+  public SpOutputCollector newWorkerCollector() {
+    var queue = new ArrayBlockingQueue<Event>(QUEUE_SIZE);
+    workerQueues.add(queue);
+    return new WorkerCollector(queue);
+  }
+
+  public void start() {
+    this.running = true;
+    this.emitter.start();
+  }
+
+  /**
+   * Waits until all events handed off by the workers are emitted and stops the emitter thread. Should be called
+   * after the engines are stopped.
+   */
+  public void stop() {
+    this.running = false;
+    try {
+      this.emitter.join(SHUTDOWN_TIMEOUT_MS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    int remaining = workerQueues.stream().mapToInt(BlockingQueue::size).sum();
+    if (remaining > 0) {
+      LOG.warn("Discarding {} output events of {} which could not be emitted within {} ms",
+          remaining, name, SHUTDOWN_TIMEOUT_MS);
+      workerQueues.forEach(BlockingQueue::clear);
+      droppedEvents.addAndGet(remaining);
+    }
+  }
+
+  public long getDroppedEvents() {
+    return droppedEvents.get();
+  }
+
+  private void emitEvents() {
+    int nextQueue = 0;
+    while (running || pendingEvents.availablePermits() > 0) {
+      try {
+        // each permit is released after an event was added to a worker queue
+        if (!pendingEvents.tryAcquire(POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+          continue;
+        }
+        Event event = null;
+        int queueCount = workerQueues.size();
+        for (int i = 0; i < queueCount && event == null; i++) {
+          event = workerQueues.get(nextQueue % queueCount).poll();
+          nextQueue = (nextQueue + 1) % queueCount;
+        }
+        if (event != null) {
+          delegate.collect(event);
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      } catch (RuntimeException e) {
+        LOG.error("Could not emit output event of {}", name, e);
+      }
+    }
+  }
+
+  private class WorkerCollector implements SpOutputCollector {
+
+    private final BlockingQueue<Event> queue;
+
+    WorkerCollector(BlockingQueue<Event> queue) {
+      this.queue = queue;
+    }
+
+    @Override
+    public void collect(Event event) {
+      try {
+        while (!queue.offer(event, POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+          if (!running) {
+            droppedEvents.incrementAndGet();
+            return;
+          }
+        }
+        pendingEvents.release();
+      } catch (InterruptedException e) {
+        droppedEvents.incrementAndGet();
+        Thread.currentThread().interrupt();
+      }
+    }
+
+    @Override
+    public void registerConsumer(String routeId, InternalEventProcessor<Map<String, Object>> consumer) {
+      delegate.registerConsumer(routeId, consumer);
+    }
+
+    @Override
+    public void unregisterConsumer(String routeId) {
+      delegate.unregisterConsumer(routeId);
+    }
+
+    /**
+     * The underlying collector is connected by the runtime of the processor.
+     */
+    @Override
+    public void connect() throws SpRuntimeException {
+    }
+
+    /**
+     * The underlying collector is disconnected by the runtime of the processor.
+     */
+    @Override
+    public void disconnect() throws SpRuntimeException {
+    }
+  }
+}
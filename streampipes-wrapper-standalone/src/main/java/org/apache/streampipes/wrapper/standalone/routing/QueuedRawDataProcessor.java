@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.wrapper.standalone.routing;
+
+import org.apache.streampipes.dataformat.SpDataFormatDefinition;
+import org.apache.streampipes.extensions.management.monitoring.SpMonitoringManager;
+import org.apache.streampipes.model.monitoring.InputQueueInfo;
+import org.apache.streampipes.wrapper.routing.RawDataProcessor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Decouples a pipeline element from the broker consumer thread. Incoming events are put into a
+ * {@link BoundedEventQueue} whose worker thread drains all queued events at once, so that batch-aware elements
+ * receive them as a single batch. Events which are already available as maps (e.g., from the in-memory
+ * transport) are queued as well and handed over in the order in which they were received.
+ */
+public class QueuedRawDataProcessor implements RawDataProcessor {
+
+  private final RawDataProcessor rawDataProcessor;
+  private final String sourceInfo;
+  private final SpDataFormatDefinition dataFormatDefinition;
+  private final BoundedEventQueue<Object> queue;
+
+  public QueuedRawDataProcessor(RawDataProcessor rawDataProcessor,
+                                SpDataFormatDefinition dataFormatDefinition,
+                                String sourceInfo,
+                                int capacity,
+                                QueueOverflowPolicy overflowPolicy) {
+    this.rawDataProcessor = rawDataProcessor;
+    this.sourceInfo = sourceInfo;
+    this.dataFormatDefinition = dataFormatDefinition;
+    this.queue = new BoundedEventQueue<>(
+        "sp-input-queue-" + sourceInfo,
+        capacity,
+        overflowPolicy,
+        this::processQueuedEvents);
+  }
+
+  public void start() {
+    SpMonitoringManager.INSTANCE.registerInputQueue(getResourceId(), sourceInfo, this::getQueueInfo);
+    this.queue.start();
+  }
+
+  public void stop() {
+    this.queue.stop();
+    SpMonitoringManager.INSTANCE.unregisterInputQueue(getResourceId(), sourceInfo);
+  }
+
+  @Override
+  public String getResourceId() {
+    return rawDataProcessor.getResourceId();
+  }
+
+  @Override
+  public void process(Map<String, Object> rawEvent, String sourceInfo) {
+    queue.enqueue(rawEvent);
+  }
+
+  @Override
+  public void process(byte[] rawEvent, SpDataFormatDefinition dataFormatDefinition, String sourceInfo) {
+    queue.enqueue(rawEvent);
+  }
+
+  @Override
+  public void processBatch(List<byte[]> rawEvents, SpDataFormatDefinition dataFormatDefinition, String sourceInfo) {
+    rawEvents.forEach(queue::enqueue);
+  }
+
+  /**
+   * Hands consecutive serialized events to the element as a batch, while events which are already available as
+   * maps are processed one by one, so that the order of all events is preserved.
+   */
+  @SuppressWarnings("unchecked")
+  private void processQueuedEvents(List<Object> events) {
+    List<byte[]> serializedEvents = new ArrayList<>();
+    for (Object event : events) {
+      if (event instanceof Map) {
+        processSerializedEvents(serializedEvents);
+        serializedEvents = new ArrayList<>();
+        rawDataProcessor.process((Map<String, Object>) event, sourceInfo);
+      } else {
+        serializedEvents.add((byte[]) event);
+      }
+    }
+    processSerializedEvents(serializedEvents);
+  }
+
+  private void processSerializedEvents(List<byte[]> serializedEvents) {
+    if (!serializedEvents.isEmpty()) {
+      rawDataProcessor.processBatch(serializedEvents, dataFormatDefinition, sourceInfo);
+    }
+  }
+
+  public InputQueueInfo getQueueInfo() {
+    return new InputQueueInfo(queue.getCapacity(), queue.size(), queue.getDroppedItems());
+  }
+}
@@ -61,4 +61,12 @@ public abstract class StandaloneSpCollector<T extends TransportProtocol, W> impl
     consumers.remove(routeId);
   }
 
+  public T getTransportProtocol() {
+    return transportProtocol;
+  }
+
+  public TransportFormat getTransportFormat() {
+    return transportFormat;
+  }
+
 }
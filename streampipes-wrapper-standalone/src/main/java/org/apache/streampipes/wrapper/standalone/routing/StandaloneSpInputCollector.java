@@ -22,50 +22,176 @@ import org.apache.streampipes.commons.exceptions.SpRuntimeException;
 import org.apache.streampipes.messaging.InternalEventProcessor;
 import org.apache.streampipes.model.grounding.TransportFormat;
 import org.apache.streampipes.model.grounding.TransportProtocol;
+import org.apache.streampipes.model.runtime.EventTrace;
 import org.apache.streampipes.wrapper.routing.RawDataProcessor;
 import org.apache.streampipes.wrapper.routing.SpInputCollector;
 import org.apache.streampipes.wrapper.standalone.manager.ProtocolManager;
+import org.apache.streampipes.wrapper.standalone.protocol.InMemoryEventProcessor;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 public class StandaloneSpInputCollector<T extends TransportProtocol> extends
     StandaloneSpCollector<T, RawDataProcessor>
     implements
-    InternalEventProcessor<byte[]>, SpInputCollector {
+    InternalEventProcessor<byte[]>, InMemoryEventProcessor, SpInputCollector {
 
   private final Boolean singletonEngine;
+  private final InputQueueSettings defaultQueueSettings;
 
   public StandaloneSpInputCollector(T protocol, TransportFormat format,
                                     Boolean singletonEngine) throws SpRuntimeException {
     super(protocol, format);
     this.singletonEngine = singletonEngine;
+    this.defaultQueueSettings = InputQueueSettings.fromEnvironment();
+  }
+
+  @Override
+  public void registerConsumer(String routeId, RawDataProcessor consumer) {
+    registerConsumer(routeId, consumer, defaultQueueSettings);
+  }
+
+  /**
+   * Registers a consumer of this collector. If the queue settings enable an input queue, the consumer is
+   * decoupled from the broker consumer thread by a bounded queue with a dedicated worker thread.
+   */
+  public void registerConsumer(String routeId,
+                               RawDataProcessor consumer,
+                               InputQueueSettings queueSettings) {
+    if (queueSettings.isEnabled()) {
+      var queuedConsumer = new QueuedRawDataProcessor(
+          consumer,
+          dataFormatDefinition,
+          topic,
+          queueSettings.getCapacity(),
+          queueSettings.getOverflowPolicy());
+      queuedConsumer.start();
+      super.registerConsumer(routeId, queuedConsumer);
+    } else {
+      super.registerConsumer(routeId, consumer);
+    }
+  }
+
+  @Override
+  public void unregisterConsumer(String routeId) {
+    var consumer = consumers.remove(routeId);
+    if (consumer instanceof QueuedRawDataProcessor) {
+      ((QueuedRawDataProcessor) consumer).stop();
+    }
   }
 
   @Override
   public void onEvent(byte[] event) {
     if (singletonEngine) {
-      send(consumers.get(consumers.keySet().toArray()[0]), event);
+      var singletonConsumer = getSingletonConsumer();
+      if (singletonConsumer != null) {
+        send(singletonConsumer, event);
+      }
     } else {
       consumers.forEach((key, value) -> send(value, event));
     }
   }
 
+  /**
+   * Receives an event with message headers. A sampled event's trace is taken from its header and handed over
+   * to the consumers with the decoded event, as the trace is not part of the event payload.
+   */
+  @Override
+  public void onEvent(byte[] event, Map<String, String> headers) {
+    String trace = headers.get(EventTrace.TRACE_HEADER);
+    if (trace != null) {
+      Map<String, Object> rawEvent = dataFormatDefinition.toMap(event);
+      rawEvent.put(EventTrace.TRACE_FIELD, EventTrace.fromHeader(trace).toMap());
+      onRawEvent(rawEvent);
+    } else {
+      onEvent(event);
+    }
+  }
+
+  @Override
+  public void onEvents(List<byte[]> events) {
+    if (singletonEngine) {
+      var singletonConsumer = getSingletonConsumer();
+      if (singletonConsumer != null) {
+        sendBatch(singletonConsumer, events);
+      }
+    } else {
+      consumers.forEach((key, value) -> sendBatch(value, events));
+    }
+  }
+
+  /**
+   * Receives an event which is already available as a map. As consumers might modify the event, each consumer
+   * receives its own copy if the event is handed over to more than one consumer.
+   */
+  @Override
+  public void onRawEvent(Map<String, Object> rawEvent) {
+    if (singletonEngine) {
+      var singletonConsumer = getSingletonConsumer();
+      if (singletonConsumer != null) {
+        singletonConsumer.process(rawEvent, topic);
+      }
+    } else {
+      var targetConsumers = new ArrayList<>(consumers.values());
+      if (targetConsumers.size() == 1) {
+        targetConsumers.get(0).process(rawEvent, topic);
+      } else {
+        targetConsumers.forEach(consumer -> consumer.process(copy(rawEvent), topic));
+      }
+    }
+  }
+
+  private static Map<String, Object> copy(Map<String, Object> rawEvent) {
+    Map<String, Object> copy = new HashMap<>(rawEvent.size());
+    rawEvent.forEach((key, value) -> copy.put(key, copyValue(value)));
+    return copy;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Object copyValue(Object value) {
+    if (value instanceof Map) {
+      return copy((Map<String, Object>) value);
+    } else if (value instanceof List) {
+      return ((List<Object>) value)
+          .stream()
+          .map(StandaloneSpInputCollector::copyValue)
+          .collect(Collectors.toCollection(ArrayList::new));
+    } else {
+      return value;
+    }
+  }
+
+  private RawDataProcessor getSingletonConsumer() {
+    var iterator = consumers.values().iterator();
+    return iterator.hasNext() ? iterator.next() : null;
+  }
+
   private void send(RawDataProcessor rawDataProcessor, byte[] event) {
-    rawDataProcessor.process(dataFormatDefinition.toMap(event), topic);
+    rawDataProcessor.process(event, dataFormatDefinition, topic);
+  }
+
+  private void sendBatch(RawDataProcessor rawDataProcessor, List<byte[]> events) {
+    rawDataProcessor.processBatch(events, dataFormatDefinition, topic);
   }
 
   @Override
-  public void connect() throws SpRuntimeException {
+  public synchronized void connect() throws SpRuntimeException {
     if (!protocolDefinition.getConsumer().isConnected()) {
       protocolDefinition.getConsumer().connect(transportProtocol, this);
     }
   }
 
+  /**
+   * Disconnects the underlying consumer. Collectors obtained from the {@link ProtocolManager} are disconnected
+   * by the manager once they are no longer used by any pipeline element.
+   */
   @Override
-  public void disconnect() throws SpRuntimeException {
+  public synchronized void disconnect() throws SpRuntimeException {
     if (protocolDefinition.getConsumer().isConnected()) {
-      if (consumers.size() == 0) {
-        protocolDefinition.getConsumer().disconnect();
-        ProtocolManager.removeInputCollector(transportProtocol);
-      }
+      protocolDefinition.getConsumer().disconnect();
     }
   }
 }
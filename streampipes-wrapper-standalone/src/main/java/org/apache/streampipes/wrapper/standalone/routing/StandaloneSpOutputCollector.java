@@ -20,20 +20,24 @@ package org.apache.streampipes.wrapper.standalone.routing;
 
 import org.apache.streampipes.commons.exceptions.SpRuntimeException;
 import org.apache.streampipes.extensions.management.monitoring.SpMonitoringManager;
+import org.apache.streampipes.messaging.DeliveryFailureAggregator;
+import org.apache.streampipes.messaging.DeliveryListener;
 import org.apache.streampipes.messaging.EventProducer;
 import org.apache.streampipes.messaging.InternalEventProcessor;
 import org.apache.streampipes.model.StreamPipesErrorMessage;
+import org.apache.streampipes.model.grounding.KafkaTransportProtocol;
 import org.apache.streampipes.model.grounding.TransportFormat;
 import org.apache.streampipes.model.grounding.TransportProtocol;
 import org.apache.streampipes.model.monitoring.SpLogEntry;
 import org.apache.streampipes.model.runtime.Event;
-import org.apache.streampipes.model.runtime.EventConverter;
+import org.apache.streampipes.model.runtime.EventTrace;
 import org.apache.streampipes.wrapper.routing.SpOutputCollector;
-import org.apache.streampipes.wrapper.standalone.manager.ProtocolManager;
+import org.apache.streampipes.wrapper.standalone.protocol.InMemoryPublisher;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.ByteArrayOutputStream;
 import java.util.Map;
 
 public class StandaloneSpOutputCollector<T extends TransportProtocol> extends
@@ -41,22 +45,45 @@ public class StandaloneSpOutputCollector<T extends TransportProtocol> extends
         Object>>> implements SpOutputCollector {
 
   private static final Logger LOG = LoggerFactory.getLogger(StandaloneSpOutputCollector.class);
+  private static final int INITIAL_BUFFER_SIZE = 256;
 
   private final EventProducer<T> producer;
+  private final InMemoryPublisher inMemoryPublisher;
   private final String resourceId;
+  private final String partitionKey;
 
   public StandaloneSpOutputCollector(T protocol,
                                      TransportFormat format,
                                      String resourceId) throws SpRuntimeException {
     super(protocol, format);
     this.producer = protocolDefinition.getProducer();
+    this.inMemoryPublisher = producer instanceof InMemoryPublisher ? (InMemoryPublisher) producer : null;
     this.resourceId = resourceId;
+    this.partitionKey = protocol instanceof KafkaTransportProtocol
+        ? ((KafkaTransportProtocol) protocol).getPartitionKey()
+        : null;
+    this.producer.setDeliveryListener(new MonitoringDeliveryListener());
   }
 
   public void collect(Event event) {
-    Map<String, Object> outEvent = new EventConverter(event).toMap();
     try {
-      producer.publish(dataFormatDefinition.fromMap(outEvent));
+      if (event.getTrace() != null) {
+        event.setTrace(event.getTrace().enqueued(System.currentTimeMillis()));
+      }
+      if (inMemoryPublisher != null) {
+        inMemoryPublisher.publish(event, dataFormatDefinition);
+      } else {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream(INITIAL_BUFFER_SIZE);
+        dataFormatDefinition.writeEvent(event, outputStream);
+        if (event.getTrace() != null) {
+          producer.publish(partitionKey != null ? extractKey(event) : null, outputStream.toByteArray(),
+              Map.of(EventTrace.TRACE_HEADER, event.getTrace().toHeader()));
+        } else if (partitionKey != null) {
+          producer.publish(extractKey(event), outputStream.toByteArray());
+        } else {
+          producer.publish(outputStream.toByteArray());
+        }
+      }
       SpMonitoringManager.INSTANCE.increaseOutCounter(resourceId, System.currentTimeMillis());
     } catch (SpRuntimeException e) {
       var logEntry = SpLogEntry.from(System.currentTimeMillis(), StreamPipesErrorMessage.from(e));
@@ -65,19 +92,50 @@ public class StandaloneSpOutputCollector<T extends TransportProtocol> extends
     }
   }
 
+  private String extractKey(Event event) {
+    return event.getOptionalFieldByRuntimeName(partitionKey)
+        .map(field -> String.valueOf(field.getRawValue()))
+        .orElse(null);
+  }
+
   @Override
-  public void connect() throws SpRuntimeException {
+  public synchronized void connect() throws SpRuntimeException {
     if (!protocolDefinition.getProducer().isConnected()) {
       protocolDefinition.getProducer().connect(transportProtocol);
     }
   }
 
   @Override
-  public void disconnect() throws SpRuntimeException {
+  public synchronized void disconnect() throws SpRuntimeException {
     if (protocolDefinition.getProducer().isConnected()) {
       protocolDefinition.getProducer().disconnect();
-      ProtocolManager.removeOutputCollector(transportProtocol);
     }
   }
 
+  /**
+   * Records the broker write latency and adds failed deliveries to the element's log. Failures are aggregated,
+   * so that at most one log entry per interval is written while the broker is unavailable.
+   */
+  private class MonitoringDeliveryListener implements DeliveryListener {
+
+    private final DeliveryFailureAggregator deliveryFailures = new DeliveryFailureAggregator();
+
+    @Override
+    public void onDelivered(long latencyNanos) {
+      SpMonitoringManager.INSTANCE.recordOutputLatency(resourceId, latencyNanos, 1);
+    }
+
+    @Override
+    public void onDeliveryFailed(Exception cause) {
+      long failedDeliveries = deliveryFailures.recordFailure();
+      if (failedDeliveries > 0) {
+        var errorMessage = StreamPipesErrorMessage.from(cause);
+        errorMessage.setDetail(String.format("%d event(s) could not be delivered", failedDeliveries));
+        SpMonitoringManager.INSTANCE.addErrorMessage(resourceId,
+            SpLogEntry.from(System.currentTimeMillis(), errorMessage));
+        LOG.warn("Could not deliver {} event(s) to {}", failedDeliveries,
+            transportProtocol.getTopicDefinition().getActualTopicName(), cause);
+      }
+    }
+  }
 }
@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.wrapper.standalone.runtime;
+
+import org.apache.streampipes.extensions.management.monitoring.SpMonitoringManager;
+import org.apache.streampipes.model.runtime.Event;
+import org.apache.streampipes.wrapper.params.binding.EventProcessorBindingParams;
+import org.apache.streampipes.wrapper.routing.SpOutputCollector;
+import org.apache.streampipes.wrapper.runtime.BatchEventProcessor;
+import org.apache.streampipes.wrapper.runtime.EventProcessor;
+import org.apache.streampipes.wrapper.standalone.routing.BoundedEventQueue;
+import org.apache.streampipes.wrapper.standalone.routing.QueueOverflowPolicy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Executes several engine instances of a data processor in parallel. Each engine runs on the worker thread of
+ * its own {@link BoundedEventQueue} and emits events through its own output collector. Events are assigned to
+ * engines by the hash of their partition key, so that events with the same key are processed in order by the
+ * same engine. Without a partition key, events are distributed round-robin.
+ */
+public class PartitionedEventProcessorExecutor<T extends EventProcessorBindingParams> {
+
+  private static final int QUEUE_SIZE = 1000;
+
+  private final List<Partition> partitions;
+  private final String partitionKeySelector;
+  private final Consumer<RuntimeException> errorHandler;
+  private final SpMonitoringManager monitoringManager;
+  private final String resourceId;
+  private final AtomicInteger roundRobinCounter;
+
+  /**
+   * @param engines          the engines to run, one per partition
+   * @param outputCollectors the output collectors of the engines, in the same order as the engines
+   */
+  public PartitionedEventProcessorExecutor(List<EventProcessor<T>> engines,
+                                           List<SpOutputCollector> outputCollectors,
+                                           String partitionKeySelector,
+                                           Consumer<RuntimeException> errorHandler,
+                                           SpMonitoringManager monitoringManager,
+                                           String resourceId,
+                                           String name) {
+    this.partitionKeySelector = partitionKeySelector;
+    this.errorHandler = errorHandler;
+    this.monitoringManager = monitoringManager;
+    this.resourceId = resourceId;
+    this.roundRobinCounter = new AtomicInteger();
+    this.partitions = new ArrayList<>(engines.size());
+    for (int i = 0; i < engines.size(); i++) {
+      this.partitions.add(new Partition(engines.get(i), outputCollectors.get(i), name + "-" + i));
+    }
+  }
+
+  public void start() {
+    this.partitions.forEach(partition -> partition.queue.start());
+  }
+
+  /**
+   * Stops accepting events, waits until all queued events are processed and stops the engine threads.
+   */
+  public void stop() {
+    this.partitions.forEach(partition -> partition.queue.stop());
+  }
+
+  public void submit(Event event) {
+    partitions.get(partitionOf(event)).queue.enqueue(event);
+  }
+
+  int partitionOf(Event event) {
+    if (partitionKeySelector == null) {
+      return Math.floorMod(roundRobinCounter.getAndIncrement(), partitions.size());
+    }
+    Object key;
+    try {
+      key = event.getFieldBySelector(partitionKeySelector).getRawValue();
+    } catch (RuntimeException e) {
+      key = null;
+    }
+    return Math.floorMod(Objects.hashCode(key), partitions.size());
+  }
+
+  private class Partition {
+
+    private final EventProcessor<T> engine;
+    private final SpOutputCollector outputCollector;
+    private final BoundedEventQueue<Event> queue;
+
+    Partition(EventProcessor<T> engine,
+              SpOutputCollector outputCollector,
+              String name) {
+      this.engine = engine;
+      this.outputCollector = outputCollector;
+      this.queue = new BoundedEventQueue<>(name, QUEUE_SIZE, QueueOverflowPolicy.BLOCK, this::process);
+    }
+
+    private void process(List<Event> events) {
+      long start = System.nanoTime();
+      if (engine instanceof BatchEventProcessor) {
+        try {
+          ((BatchEventProcessor<T>) engine).onEvents(events, outputCollector);
+        } catch (RuntimeException e) {
+          errorHandler.accept(e);
+        }
+      } else {
+        for (Event event : events) {
+          try {
+            engine.onEvent(event, outputCollector);
+          } catch (RuntimeException e) {
+            errorHandler.accept(e);
+          }
+        }
+      }
+      monitoringManager.recordLatency(resourceId, (System.nanoTime() - start) / events.size(), events.size());
+    }
+  }
+}
@@ -19,18 +19,26 @@
 package org.apache.streampipes.wrapper.standalone.runtime;
 
 import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.apache.streampipes.dataformat.SpDataFormatDefinition;
 import org.apache.streampipes.model.graph.DataProcessorInvocation;
+import org.apache.streampipes.model.runtime.Event;
 import org.apache.streampipes.wrapper.context.EventProcessorRuntimeContext;
 import org.apache.streampipes.wrapper.params.binding.EventProcessorBindingParams;
 import org.apache.streampipes.wrapper.params.runtime.EventProcessorRuntimeParams;
 import org.apache.streampipes.wrapper.routing.SpInputCollector;
 import org.apache.streampipes.wrapper.routing.SpOutputCollector;
+import org.apache.streampipes.wrapper.runtime.BatchEventProcessor;
 import org.apache.streampipes.wrapper.runtime.EventProcessor;
+import org.apache.streampipes.wrapper.standalone.ParallelExecution;
 import org.apache.streampipes.wrapper.standalone.manager.ProtocolManager;
+import org.apache.streampipes.wrapper.standalone.routing.ParallelOutputCollector;
+import org.apache.streampipes.wrapper.standalone.routing.StandaloneSpOutputCollector;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.function.Supplier;
 
@@ -42,10 +50,39 @@ public class StandaloneEventProcessorRuntime<T extends EventProcessorBindingPara
 
   protected SpOutputCollector outputCollector;
 
+  private final ParallelExecution parallelExecution;
+  private final List<EventProcessor<T>> engines;
+  private PartitionedEventProcessorExecutor<T> executor;
+  private ParallelOutputCollector parallelOutputCollector;
+
+  public StandaloneEventProcessorRuntime(Supplier<EventProcessor<T>> supplier,
+                                         EventProcessorRuntimeParams<T> params) {
+    this(supplier, null, params);
+  }
+
+  /**
+   * @param supplier               supplies the engine of the processor
+   * @param parallelEngineSupplier supplies the additional engines for parallel execution, or null if the
+   *                               processor cannot be executed in parallel
+   */
   public StandaloneEventProcessorRuntime(Supplier<EventProcessor<T>> supplier,
+                                         Supplier<EventProcessor<T>> parallelEngineSupplier,
                                          EventProcessorRuntimeParams<T> params) {
     super(supplier, params);
     this.outputCollector = getOutputCollector();
+    this.parallelExecution = ParallelExecution.from(params.getBindingParams().getGraph());
+    this.engines = new ArrayList<>(parallelExecution.getParallelism());
+    this.engines.add(engine);
+    if (parallelExecution.isParallel()) {
+      if (parallelEngineSupplier != null) {
+        for (int i = 1; i < parallelExecution.getParallelism(); i++) {
+          this.engines.add(parallelEngineSupplier.get());
+        }
+      } else {
+        LOG.warn("{} does not support parallel execution, ignoring parallelism of {}",
+            engine.getClass().getCanonicalName(), parallelExecution.getParallelism());
+      }
+    }
   }
 
 
@@ -69,25 +106,105 @@ public class StandaloneEventProcessorRuntime<T extends EventProcessorBindingPara
   @Override
   public void discardRuntime() throws SpRuntimeException {
     getInputCollectors().forEach(is -> is.unregisterConsumer(instanceId));
+    if (executor != null) {
+      executor.stop();
+    }
+    for (int i = 1; i < engines.size(); i++) {
+      engines.get(i).onDetach();
+    }
     discardEngine();
+    if (parallelOutputCollector != null) {
+      parallelOutputCollector.stop();
+    }
     postDiscard();
   }
 
   @Override
   public void process(Map<String, Object> rawEvent, String sourceInfo) {
+    long start = System.nanoTime();
     try {
       monitoringManager.increaseInCounter(resourceId, sourceInfo, System.currentTimeMillis());
-      engine.onEvent(params.makeEvent(rawEvent, sourceInfo), outputCollector);
+      onEvent(onReceived(params.makeEvent(rawEvent, sourceInfo)));
     } catch (RuntimeException e) {
       LOG.error("RuntimeException while processing event in {}", engine.getClass().getCanonicalName(), e);
       addLogEntry(e);
     }
+    if (executor == null) {
+      recordLatency(start, 1);
+    }
+  }
+
+  @Override
+  public void process(byte[] rawEvent, SpDataFormatDefinition dataFormatDefinition, String sourceInfo) {
+    long start = System.nanoTime();
+    try {
+      monitoringManager.increaseInCounter(resourceId, sourceInfo, System.currentTimeMillis());
+      onEvent(onReceived(params.makeEvent(rawEvent, dataFormatDefinition, sourceInfo)));
+    } catch (RuntimeException e) {
+      LOG.error("RuntimeException while processing event in {}", engine.getClass().getCanonicalName(), e);
+      addLogEntry(e);
+    }
+    if (executor == null) {
+      recordLatency(start, 1);
+    }
+  }
+
+  @Override
+  public void processBatch(List<byte[]> rawEvents, SpDataFormatDefinition dataFormatDefinition, String sourceInfo) {
+    long start = System.nanoTime();
+    monitoringManager.increaseInCounter(resourceId, sourceInfo, System.currentTimeMillis(), rawEvents.size());
+    List<Event> events = makeEvents(rawEvents, dataFormatDefinition, sourceInfo);
+    if (executor != null) {
+      events.forEach(executor::submit);
+    } else {
+      synchronized (engineLock) {
+        processBatch(events);
+      }
+    }
+    if (executor == null) {
+      recordLatency(start, rawEvents.size());
+    }
+  }
+
+  private void processBatch(List<Event> events) {
+    if (engine instanceof BatchEventProcessor) {
+      try {
+        ((BatchEventProcessor<T>) engine).onEvents(events, outputCollector);
+      } catch (RuntimeException e) {
+        LOG.error("RuntimeException while processing events in {}", engine.getClass().getCanonicalName(), e);
+        addLogEntry(e);
+      }
+    } else {
+      for (Event event : events) {
+        try {
+          engine.onEvent(event, outputCollector);
+        } catch (RuntimeException e) {
+          LOG.error("RuntimeException while processing event in {}", engine.getClass().getCanonicalName(), e);
+          addLogEntry(e);
+        }
+      }
+    }
+  }
+
+  private void onEvent(Event event) {
+    if (executor != null) {
+      executor.submit(event);
+    } else {
+      synchronized (engineLock) {
+        engine.onEvent(event, outputCollector);
+      }
+    }
+  }
+
+  private void onProcessingError(RuntimeException e) {
+    LOG.error("RuntimeException while processing event in {}", engine.getClass().getCanonicalName(), e);
+    addLogEntry(e);
   }
 
   @Override
   public void bindRuntime() throws SpRuntimeException {
     bindEngine();
-    getInputCollectors().forEach(is -> is.registerConsumer(instanceId, this));
+    registerInputConsumers();
     prepareRuntime();
   }
 
@@ -102,16 +219,38 @@ public class StandaloneEventProcessorRuntime<T extends EventProcessorBindingPara
 
   @Override
   public void postDiscard() throws SpRuntimeException {
-    for (SpInputCollector spInputCollector : getInputCollectors()) {
-      spInputCollector.disconnect();
-    }
+    releaseInputCollectors();
 
-    outputCollector.disconnect();
+    if (outputCollector instanceof StandaloneSpOutputCollector) {
+      ProtocolManager.releaseOutputCollector((StandaloneSpOutputCollector<?>) outputCollector);
+    } else {
+      outputCollector.disconnect();
+    }
   }
 
   @Override
   public void bindEngine() throws SpRuntimeException {
-    engine.onInvocation(params.getBindingParams(), getOutputCollector(), params.getRuntimeContext());
+    if (engines.size() > 1) {
+      parallelOutputCollector = new ParallelOutputCollector(outputCollector, "sp-processor-output-" + instanceId);
+      List<SpOutputCollector> outputCollectors = new ArrayList<>(engines.size());
+      for (EventProcessor<T> currentEngine : engines) {
+        var workerOutputCollector = parallelOutputCollector.newWorkerCollector();
+        currentEngine.onInvocation(params.getBindingParams(), workerOutputCollector, params.getRuntimeContext());
+        outputCollectors.add(workerOutputCollector);
+      }
+      executor = new PartitionedEventProcessorExecutor<>(
+          engines,
+          outputCollectors,
+          parallelExecution.getPartitionKeySelector(),
+          this::onProcessingError,
+          monitoringManager,
+          resourceId,
+          "sp-processor-" + instanceId);
+      parallelOutputCollector.start();
+      executor.start();
+    } else {
+      engine.onInvocation(params.getBindingParams(), outputCollector, params.getRuntimeContext());
+    }
   }
 
 }
@@ -19,16 +19,20 @@
 package org.apache.streampipes.wrapper.standalone.runtime;
 
 import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.apache.streampipes.dataformat.SpDataFormatDefinition;
 import org.apache.streampipes.model.graph.DataSinkInvocation;
+import org.apache.streampipes.model.runtime.Event;
 import org.apache.streampipes.wrapper.context.EventSinkRuntimeContext;
 import org.apache.streampipes.wrapper.params.binding.EventSinkBindingParams;
 import org.apache.streampipes.wrapper.params.runtime.EventSinkRuntimeParams;
 import org.apache.streampipes.wrapper.routing.SpInputCollector;
+import org.apache.streampipes.wrapper.runtime.BatchEventSink;
 import org.apache.streampipes.wrapper.runtime.EventSink;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.List;
 import java.util.Map;
 import java.util.function.Supplier;
 
@@ -52,19 +56,71 @@ public class StandaloneEventSinkRuntime<T extends EventSinkBindingParams> extend
 
   @Override
   public void process(Map<String, Object> rawEvent, String sourceInfo) {
+    long start = System.nanoTime();
     try {
       monitoringManager.increaseInCounter(resourceId, sourceInfo, System.currentTimeMillis());
-      engine.onEvent(params.makeEvent(rawEvent, sourceInfo));
+      var event = onReceived(params.makeEvent(rawEvent, sourceInfo));
+      synchronized (engineLock) {
+        engine.onEvent(event);
+      }
     } catch (RuntimeException e) {
       LOG.error("RuntimeException while processing event in {}", engine.getClass().getCanonicalName(), e);
       addLogEntry(e);
     }
+    recordLatency(start, 1);
+  }
+
+  @Override
+  public void process(byte[] rawEvent, SpDataFormatDefinition dataFormatDefinition, String sourceInfo) {
+    long start = System.nanoTime();
+    try {
+      monitoringManager.increaseInCounter(resourceId, sourceInfo, System.currentTimeMillis());
+      var event = onReceived(params.makeEvent(rawEvent, dataFormatDefinition, sourceInfo));
+      synchronized (engineLock) {
+        engine.onEvent(event);
+      }
+    } catch (RuntimeException e) {
+      LOG.error("RuntimeException while processing event in {}", engine.getClass().getCanonicalName(), e);
+      addLogEntry(e);
+    }
+    recordLatency(start, 1);
+  }
+
+  @Override
+  public void processBatch(List<byte[]> rawEvents, SpDataFormatDefinition dataFormatDefinition, String sourceInfo) {
+    long start = System.nanoTime();
+    monitoringManager.increaseInCounter(resourceId, sourceInfo, System.currentTimeMillis(), rawEvents.size());
+    List<Event> events = makeEvents(rawEvents, dataFormatDefinition, sourceInfo);
+    synchronized (engineLock) {
+      processBatch(events);
+    }
+    recordLatency(start, rawEvents.size());
+  }
+
+  private void processBatch(List<Event> events) {
+    if (engine instanceof BatchEventSink) {
+      try {
+        ((BatchEventSink<T>) engine).onEvents(events);
+      } catch (RuntimeException e) {
+        LOG.error("RuntimeException while processing events in {}", engine.getClass().getCanonicalName(), e);
+        addLogEntry(e);
+      }
+    } else {
+      for (Event event : events) {
+        try {
+          engine.onEvent(event);
+        } catch (RuntimeException e) {
+          LOG.error("RuntimeException while processing event in {}", engine.getClass().getCanonicalName(), e);
+          addLogEntry(e);
+        }
+      }
+    }
   }
 
   @Override
   public void bindRuntime() throws SpRuntimeException {
     bindEngine();
-    getInputCollectors().forEach(is -> is.registerConsumer(instanceId, this));
+    registerInputConsumers();
     prepareRuntime();
   }
 
@@ -77,9 +133,7 @@ public class StandaloneEventSinkRuntime<T extends EventSinkBindingParams> extend
 
   @Override
   public void postDiscard() throws SpRuntimeException {
-    for (SpInputCollector spInputCollector : getInputCollectors()) {
-      spInputCollector.disconnect();
-    }
+    releaseInputCollectors();
   }
 
   @Override
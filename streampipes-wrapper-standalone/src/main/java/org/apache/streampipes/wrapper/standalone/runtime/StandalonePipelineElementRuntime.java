@@ -18,11 +18,13 @@
 package org.apache.streampipes.wrapper.standalone.runtime;
 
 import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.apache.streampipes.dataformat.SpDataFormatDefinition;
 import org.apache.streampipes.extensions.management.monitoring.SpMonitoringManager;
 import org.apache.streampipes.model.SpDataStream;
 import org.apache.streampipes.model.StreamPipesErrorMessage;
 import org.apache.streampipes.model.base.InvocableStreamPipesEntity;
 import org.apache.streampipes.model.monitoring.SpLogEntry;
+import org.apache.streampipes.model.runtime.Event;
 import org.apache.streampipes.wrapper.context.RuntimeContext;
 import org.apache.streampipes.wrapper.params.binding.BindingParams;
 import org.apache.streampipes.wrapper.params.runtime.RuntimeParams;
@@ -31,6 +33,11 @@ import org.apache.streampipes.wrapper.routing.SpInputCollector;
 import org.apache.streampipes.wrapper.runtime.PipelineElement;
 import org.apache.streampipes.wrapper.runtime.PipelineElementRuntime;
 import org.apache.streampipes.wrapper.standalone.manager.ProtocolManager;
+import org.apache.streampipes.wrapper.standalone.routing.InputQueueSettings;
+import org.apache.streampipes.wrapper.standalone.routing.StandaloneSpInputCollector;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -43,11 +50,20 @@ public abstract class StandalonePipelineElementRuntime<T extends BindingParams<K
     PeT extends PipelineElement<T, K>>
     extends PipelineElementRuntime implements RawDataProcessor {
 
+  private static final Logger LOG = LoggerFactory.getLogger(StandalonePipelineElementRuntime.class);
+
   protected final PeT engine;
+
+  /**
+   * Guards the engine against concurrent invocations, e.g., from multiple consumers of a partitioned topic.
+   */
+  protected final Object engineLock = new Object();
   protected V params;
   protected SpMonitoringManager monitoringManager;
   protected String resourceId;
 
+  private List<SpInputCollector> inputCollectors;
+
   public StandalonePipelineElementRuntime(Supplier<PeT> supplier, V runtimeParams) {
     super();
     this.engine = supplier.get();
@@ -56,6 +72,11 @@ public abstract class StandalonePipelineElementRuntime<T extends BindingParams<K
     this.resourceId = params.getBindingParams().getGraph().getElementId();
   }
 
+  @Override
+  public String getResourceId() {
+    return resourceId;
+  }
+
   public PeT getEngine() {
     return engine;
   }
@@ -65,16 +86,81 @@ public abstract class StandalonePipelineElementRuntime<T extends BindingParams<K
     this.monitoringManager.resetCounter(resourceId);
   }
 
+  /**
+   * Returns the input collectors of this element, which are acquired from the {@link ProtocolManager} on first use
+   * and returned by {@link #releaseInputCollectors()}.
+   */
   public List<SpInputCollector> getInputCollectors() throws SpRuntimeException {
-    List<SpInputCollector> inputCollectors = new ArrayList<>();
-    for (SpDataStream is : params.getBindingParams().getGraph().getInputStreams()) {
-      inputCollectors.add(ProtocolManager.findInputCollector(is.getEventGrounding()
-              .getTransportProtocol(), is.getEventGrounding().getTransportFormats().get(0),
-          params.isSingletonEngine()));
+    if (inputCollectors == null) {
+      List<SpInputCollector> collectors = new ArrayList<>();
+      for (SpDataStream is : params.getBindingParams().getGraph().getInputStreams()) {
+        collectors.add(ProtocolManager.findInputCollector(is.getEventGrounding()
+                .getTransportProtocol(), is.getEventGrounding().getTransportFormats().get(0),
+            params.isSingletonEngine()));
+      }
+      inputCollectors = collectors;
     }
     return inputCollectors;
   }
 
+  /**
+   * Registers this element as consumer of all of its input collectors, using the input queue settings of the
+   * element's invocation.
+   */
+  protected void registerInputConsumers() throws SpRuntimeException {
+    var queueSettings = InputQueueSettings.from(params.getBindingParams().getGraph());
+    for (SpInputCollector is : getInputCollectors()) {
+      ((StandaloneSpInputCollector<?>) is).registerConsumer(instanceId, this, queueSettings);
+    }
+  }
+
+  protected void releaseInputCollectors() throws SpRuntimeException {
+    if (inputCollectors != null) {
+      inputCollectors.forEach(is -> ProtocolManager.releaseInputCollector((StandaloneSpInputCollector<?>) is));
+      inputCollectors = null;
+    }
+  }
+
+  /**
+   * Decodes all events of a batch, events which cannot be decoded are logged and skipped.
+   */
+  protected List<Event> makeEvents(List<byte[]> rawEvents,
+                                   SpDataFormatDefinition dataFormatDefinition,
+                                   String sourceInfo) {
+    List<Event> events = new ArrayList<>(rawEvents.size());
+    for (byte[] rawEvent : rawEvents) {
+      try {
+        events.add(onReceived(params.makeEvent(rawEvent, dataFormatDefinition, sourceInfo)));
+      } catch (RuntimeException e) {
+        LOG.error("RuntimeException while decoding event in {}", engine.getClass().getCanonicalName(), e);
+        addLogEntry(e);
+      }
+    }
+    return events;
+  }
+
+  /**
+   * Marks a sampled event as dequeued by this element and records its transport and end-to-end latency.
+   */
+  protected Event onReceived(Event event) {
+    var trace = event.getTrace();
+    if (trace != null) {
+      long now = System.currentTimeMillis();
+      trace.dequeued(resourceId, now);
+      monitoringManager.recordTraceLatency(resourceId, now - trace.getLastEnqueued(), now - trace.getIngestTimestamp());
+    }
+    return event;
+  }
+
+  /**
+   * Records the processing latency of the given number of events handled since {@code startNanos}.
+   */
+  protected void recordLatency(long startNanos, int events) {
+    if (events > 0) {
+      monitoringManager.recordLatency(resourceId, (System.nanoTime() - startNanos) / events, events);
+    }
+  }
+
   protected void addLogEntry(RuntimeException e) {
     monitoringManager.addErrorMessage(
         params.getBindingParams().getGraph().getElementId(),
@@ -0,0 +1,87 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package org.apache.streampipes.wrapper.standalone;
+
+import org.apache.streampipes.model.graph.DataProcessorInvocation;
+import org.apache.streampipes.model.runtime.EventFactory;
+import org.apache.streampipes.model.staticproperty.FreeTextStaticProperty;
+import org.apache.streampipes.model.staticproperty.MappingPropertyUnary;
+import org.apache.streampipes.model.staticproperty.StaticProperty;
+import org.apache.streampipes.model.staticproperty.StaticPropertyAlternatives;
+import org.apache.streampipes.model.staticproperty.StaticPropertyGroup;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class TestParallelExecution {
+
+  @Test
+  public void testInvocationWithoutExecutionModeIsSequential() {
+    var parallelExecution = ParallelExecution.from(makeInvocation(null));
+
+    assertFalse(parallelExecution.isParallel());
+    assertFalse(parallelExecution.isPartitioned());
+    assertEquals(1, parallelExecution.getParallelism());
+  }
+
+  @Test
+  public void testSequentialExecutionIsSelectedByDefault() {
+    var parallelExecution = ParallelExecution.from(makeInvocation(ParallelExecution.declare()));
+
+    assertFalse(parallelExecution.isParallel());
+    assertFalse(parallelExecution.isPartitioned());
+  }
+
+  @Test
+  public void testPartitionedExecution() {
+    var executionMode = ParallelExecution.declare();
+    executionMode.getAlternatives().get(0).setSelected(false);
+    executionMode.getAlternatives().get(1).setSelected(true);
+    var settings = (StaticPropertyGroup) executionMode.getAlternatives().get(1).getStaticProperty();
+    ((FreeTextStaticProperty) settings.getStaticProperties().get(0)).setValue("3");
+    ((MappingPropertyUnary) settings.getStaticProperties().get(1)).setSelectedProperty("o::sensorId");
+
+    var parallelExecution = ParallelExecution.from(makeInvocation(executionMode));
+
+    assertTrue(parallelExecution.isParallel());
+    assertTrue(parallelExecution.isPartitioned());
+    assertEquals(3, parallelExecution.getParallelism());
+    assertEquals("sensor-1", parallelExecution.partitionKeyOf(
+        EventFactory.fromMap(Map.of("sensorId", "sensor-1", "value", 1.0))));
+    assertNull(parallelExecution.partitionKeyOf(EventFactory.fromMap(Map.of("value", 1.0))));
+  }
+
+  private DataProcessorInvocation makeInvocation(StaticPropertyAlternatives executionMode) {
+    var invocation = new DataProcessorInvocation();
+    var staticProperties = new ArrayList<StaticProperty>();
+    if (executionMode != null) {
+      staticProperties.add(executionMode);
+    }
+    invocation.setStaticProperties(staticProperties);
+    return invocation;
+  }
+}
@@ -0,0 +1,138 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.wrapper.standalone.manager;
+
+import org.apache.streampipes.dataformat.SpDataFormatDefinition;
+import org.apache.streampipes.dataformat.SpDataFormatFactory;
+import org.apache.streampipes.dataformat.SpDataFormatManager;
+import org.apache.streampipes.extensions.management.monitoring.SpMonitoringManager;
+import org.apache.streampipes.messaging.SpProtocolManager;
+import org.apache.streampipes.model.grounding.InMemoryTransportProtocol;
+import org.apache.streampipes.model.grounding.SimpleTopicDefinition;
+import org.apache.streampipes.model.grounding.TransportFormat;
+import org.apache.streampipes.wrapper.standalone.protocol.SpInMemoryProtocolFactory;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class TestProtocolManager {
+
+  private static final String FORMAT = "urn:test:format";
+
+  @BeforeClass
+  public static void registerProtocolAndFormat() {
+    SpProtocolManager.INSTANCE.register(new SpInMemoryProtocolFactory());
+    SpDataFormatManager.INSTANCE.register(new SpDataFormatFactory() {
+      @Override
+      public String getTransportFormatRdfUri() {
+        return FORMAT;
+      }
+
+      @Override
+      public SpDataFormatDefinition createInstance() {
+        return new SpDataFormatDefinition() {
+          @Override
+          public Map<String, Object> toMap(byte[] event) {
+            throw new UnsupportedOperationException();
+          }
+
+          @Override
+          public byte[] fromMap(Map<String, Object> event) {
+            throw new UnsupportedOperationException();
+          }
+        };
+      }
+    });
+  }
+
+  @Test
+  public void testInputCollectorIsSharedUntilLastRelease() {
+    var protocol = makeProtocol("input-shared");
+    var format = new TransportFormat(FORMAT);
+
+    var first = ProtocolManager.findInputCollector(protocol, format, false);
+    var second = ProtocolManager.findInputCollector(makeProtocol("input-shared"), format, false);
+
+    assertSame(first, second);
+    assertEquals(Integer.valueOf(2), referencesOf(ProtocolManager.getInputCollectorReferences(), "input-shared"));
+
+    ProtocolManager.releaseInputCollector(first);
+    assertEquals(Integer.valueOf(1), referencesOf(ProtocolManager.getInputCollectorReferences(), "input-shared"));
+
+    ProtocolManager.releaseInputCollector(second);
+    assertFalse(containsTopic(ProtocolManager.getInputCollectorReferences(), "input-shared"));
+
+    var third = ProtocolManager.findInputCollector(protocol, format, false);
+    assertNotSame(first, third);
+    ProtocolManager.releaseInputCollector(third);
+  }
+
+  @Test
+  public void testReleaseOfUnregisteredCollectorKeepsReferences() {
+    var format = new TransportFormat(FORMAT);
+    var registered = ProtocolManager.findOutputCollector(makeProtocol("output-shared"), format, "test");
+    var unregistered = ProtocolManager.makeOutputCollector(makeProtocol("output-shared"), format, "test");
+
+    ProtocolManager.releaseOutputCollector(unregistered);
+    assertEquals(Integer.valueOf(1), referencesOf(ProtocolManager.getOutputCollectorReferences(), "output-shared"));
+
+    ProtocolManager.releaseOutputCollector(registered);
+    assertFalse(containsTopic(ProtocolManager.getOutputCollectorReferences(), "output-shared"));
+  }
+
+  @Test
+  public void testReferencesAreReportedToMonitoring() {
+    var format = new TransportFormat(FORMAT);
+    var collector = ProtocolManager.findOutputCollector(makeProtocol("output-monitored"), format, "test");
+
+    var collectorInfo = SpMonitoringManager.INSTANCE.getSharedCollectorInfo();
+    assertEquals(Integer.valueOf(1), referencesOf(collectorInfo.getOutputCollectors(), "output-monitored"));
+
+    ProtocolManager.releaseOutputCollector(collector);
+  }
+
+  private InMemoryTransportProtocol makeProtocol(String topic) {
+    var protocol = new InMemoryTransportProtocol();
+    protocol.setTopicDefinition(new SimpleTopicDefinition(topic));
+    return protocol;
+  }
+
+  private Integer referencesOf(Map<String, Integer> references,
+                               String topic) {
+    return references
+        .entrySet()
+        .stream()
+        .filter(entry -> entry.getKey().contains("/" + topic + "?"))
+        .map(Map.Entry::getValue)
+        .findFirst()
+        .orElse(null);
+  }
+
+  private boolean containsTopic(Map<String, Integer> references,
+                                String topic) {
+    return referencesOf(references, topic) != null;
+  }
+}
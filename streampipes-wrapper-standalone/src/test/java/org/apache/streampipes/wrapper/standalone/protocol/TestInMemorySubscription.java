@@ -0,0 +1,107 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.wrapper.standalone.protocol;
+
+import org.apache.streampipes.messaging.InternalEventProcessor;
+
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TestInMemorySubscription {
+
+  @Test
+  public void testQueuedEventsAreProcessedOnStop() throws InterruptedException {
+    CountDownLatch blocked = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    List<Object> processed = new CopyOnWriteArrayList<>();
+    var subscription = new InMemorySubscription("test-topic", new BlockingProcessor(blocked, release, processed), 10);
+    subscription.start();
+
+    subscription.publish(Map.of("value", 0));
+    assertTrue(blocked.await(5, TimeUnit.SECONDS));
+    subscription.publish(Map.of("value", 1));
+    subscription.publish(Map.of("value", 2));
+    release.countDown();
+    subscription.stop();
+
+    assertEquals(List.of(0, 1, 2), processed);
+  }
+
+  @Test
+  public void testHeadersAreHandedOverWithEvent() {
+    List<Map<String, String>> headers = new CopyOnWriteArrayList<>();
+    var subscription = new InMemorySubscription("test-topic", new InternalEventProcessor<>() {
+      @Override
+      public void onEvent(byte[] event) {
+        headers.add(Map.of());
+      }
+
+      @Override
+      public void onEvent(byte[] event, Map<String, String> eventHeaders) {
+        headers.add(eventHeaders);
+      }
+    }, 10);
+    subscription.start();
+
+    subscription.publish(new byte[0]);
+    subscription.publish(new byte[0], Map.of("sp_trace", "trace"));
+    subscription.stop();
+
+    assertEquals(List.of(Map.of(), Map.of("sp_trace", "trace")), headers);
+  }
+
+  private static class BlockingProcessor implements InternalEventProcessor<byte[]>, InMemoryEventProcessor {
+
+    private final CountDownLatch blocked;
+    private final CountDownLatch release;
+    private final List<Object> processed;
+
+    BlockingProcessor(CountDownLatch blocked,
+                      CountDownLatch release,
+                      List<Object> processed) {
+      this.blocked = blocked;
+      this.release = release;
+      this.processed = processed;
+    }
+
+    @Override
+    public void onRawEvent(Map<String, Object> rawEvent) {
+      blocked.countDown();
+      try {
+        release.await(5, TimeUnit.SECONDS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      processed.add(rawEvent.get("value"));
+    }
+
+    @Override
+    public void onEvent(byte[] event) {
+      processed.add(new String(event));
+    }
+  }
+}
@@ -0,0 +1,105 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.wrapper.standalone.routing;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TestBoundedEventQueue {
+
+  @Test
+  public void testAllEventsAreProcessedBeforeStop() {
+    List<Integer> processed = new ArrayList<>();
+    var queue = new BoundedEventQueue<Integer>("test", 10, QueueOverflowPolicy.BLOCK, processed::addAll);
+    queue.start();
+    for (int i = 0; i < 100; i++) {
+      queue.enqueue(i);
+    }
+    queue.stop();
+
+    assertEquals(100, processed.size());
+    for (int i = 0; i < 100; i++) {
+      assertEquals(Integer.valueOf(i), processed.get(i));
+    }
+    assertEquals(0, queue.getDroppedItems());
+  }
+
+  @Test
+  public void testDropNewestDiscardsIncomingEvents() throws InterruptedException {
+    CountDownLatch blocked = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    List<Integer> processed = new ArrayList<>();
+    var queue = new BoundedEventQueue<Integer>("test", 2, QueueOverflowPolicy.DROP_NEWEST, batch -> {
+      blocked.countDown();
+      await(release);
+      processed.addAll(batch);
+    });
+    queue.start();
+    queue.enqueue(0);
+    assertTrue(blocked.await(5, TimeUnit.SECONDS));
+
+    queue.enqueue(1);
+    queue.enqueue(2);
+    queue.enqueue(3);
+    release.countDown();
+    queue.stop();
+
+    assertEquals(List.of(0, 1, 2), processed);
+    assertEquals(1, queue.getDroppedItems());
+  }
+
+  @Test
+  public void testDropOldestDiscardsQueuedEvents() throws InterruptedException {
+    CountDownLatch blocked = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    List<Integer> processed = new ArrayList<>();
+    var queue = new BoundedEventQueue<Integer>("test", 2, QueueOverflowPolicy.DROP_OLDEST, batch -> {
+      blocked.countDown();
+      await(release);
+      processed.addAll(batch);
+    });
+    queue.start();
+    queue.enqueue(0);
+    assertTrue(blocked.await(5, TimeUnit.SECONDS));
+
+    queue.enqueue(1);
+    queue.enqueue(2);
+    queue.enqueue(3);
+    release.countDown();
+    queue.stop();
+
+    assertEquals(List.of(0, 2, 3), processed);
+    assertEquals(1, queue.getDroppedItems());
+  }
+
+  private void await(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,209 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package org.apache.streampipes.wrapper.standalone.routing;
+
+import org.apache.streampipes.dataformat.SpDataFormatDefinition;
+import org.apache.streampipes.dataformat.SpDataFormatFactory;
+import org.apache.streampipes.dataformat.SpDataFormatManager;
+import org.apache.streampipes.messaging.InternalEventProcessor;
+import org.apache.streampipes.messaging.SpProtocolManager;
+import org.apache.streampipes.model.grounding.InMemoryTransportProtocol;
+import org.apache.streampipes.model.grounding.SimpleTopicDefinition;
+import org.apache.streampipes.model.grounding.TransportFormat;
+import org.apache.streampipes.model.runtime.Event;
+import org.apache.streampipes.model.runtime.EventFactory;
+import org.apache.streampipes.wrapper.routing.SpOutputCollector;
+import org.apache.streampipes.wrapper.standalone.protocol.InMemoryEventBus;
+import org.apache.streampipes.wrapper.standalone.protocol.InMemoryEventProcessor;
+import org.apache.streampipes.wrapper.standalone.protocol.InMemorySubscription;
+import org.apache.streampipes.wrapper.standalone.protocol.SpInMemoryProtocolFactory;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TestParallelOutputCollector {
+
+  private static final String FORMAT = "urn:test:parallel-output-format";
+  private static final int WORKERS = 3;
+  private static final int EVENTS_PER_WORKER = 200;
+
+  @BeforeClass
+  public static void registerProtocolAndFormat() {
+    SpProtocolManager.INSTANCE.register(new SpInMemoryProtocolFactory());
+    SpDataFormatManager.INSTANCE.register(new SpDataFormatFactory() {
+      @Override
+      public String getTransportFormatRdfUri() {
+        return FORMAT;
+      }
+
+      @Override
+      public SpDataFormatDefinition createInstance() {
+        return new SpDataFormatDefinition() {
+          @Override
+          public Map<String, Object> toMap(byte[] event) {
+            throw new UnsupportedOperationException();
+          }
+
+          @Override
+          public byte[] fromMap(Map<String, Object> event) {
+            throw new UnsupportedOperationException();
+          }
+        };
+      }
+    });
+  }
+
+  @Test
+  public void testEventsOfAllWorkersArePublishedInOrder() throws InterruptedException {
+    var protocol = new InMemoryTransportProtocol();
+    protocol.setTopicDefinition(new SimpleTopicDefinition("parallel-output"));
+    var delegate = new StandaloneSpOutputCollector<>(protocol, new TransportFormat(FORMAT), "test");
+    delegate.connect();
+
+    var received = new RecordingProcessor();
+    var subscription = new InMemorySubscription("parallel-output", received, 10000);
+    subscription.start();
+    InMemoryEventBus.INSTANCE.subscribe("parallel-output", subscription);
+
+    var parallelOutputCollector = new ParallelOutputCollector(delegate, "test");
+    List<Thread> workers = new ArrayList<>();
+    for (int i = 0; i < WORKERS; i++) {
+      var workerCollector = parallelOutputCollector.newWorkerCollector();
+      var worker = i;
+      workers.add(new Thread(() -> {
+        for (int sequence = 0; sequence < EVENTS_PER_WORKER; sequence++) {
+          workerCollector.collect(makeEvent(worker, sequence));
+        }
+      }));
+    }
+    parallelOutputCollector.start();
+    for (Thread worker : workers) {
+      worker.start();
+    }
+    for (Thread worker : workers) {
+      worker.join();
+    }
+    parallelOutputCollector.stop();
+    InMemoryEventBus.INSTANCE.unsubscribe("parallel-output", subscription);
+    subscription.stop();
+    delegate.disconnect();
+
+    assertEquals(WORKERS * EVENTS_PER_WORKER, received.events.size());
+    int[] lastSequence = new int[WORKERS];
+    for (Map<String, Object> event : received.events) {
+      int worker = (Integer) event.get("worker");
+      int sequence = (Integer) event.get("sequence");
+      assertEquals(lastSequence[worker], sequence);
+      lastSequence[worker]++;
+    }
+    assertEquals(0, parallelOutputCollector.getDroppedEvents());
+  }
+
+  @Test
+  public void testWorkerDoesNotBlockWhileDelegateIsBusy() throws Exception {
+    CountDownLatch busy = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    var delegate = new BlockingOutputCollector(busy, release);
+
+    var parallelOutputCollector = new ParallelOutputCollector(delegate, "test");
+    var first = parallelOutputCollector.newWorkerCollector();
+    var second = parallelOutputCollector.newWorkerCollector();
+    parallelOutputCollector.start();
+
+    first.collect(makeEvent(0, 0));
+    assertTrue(busy.await(5, TimeUnit.SECONDS));
+    CompletableFuture.runAsync(() -> second.collect(makeEvent(1, 0))).get(1, TimeUnit.SECONDS);
+
+    release.countDown();
+    parallelOutputCollector.stop();
+    assertEquals(2, delegate.events.size());
+  }
+
+  private Event makeEvent(int worker,
+                          int sequence) {
+    return EventFactory.fromMap(Map.of("worker", worker, "sequence", sequence));
+  }
+
+  private static class RecordingProcessor implements InternalEventProcessor<byte[]>, InMemoryEventProcessor {
+
+    private final List<Map<String, Object>> events = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void onRawEvent(Map<String, Object> rawEvent) {
+      events.add(rawEvent);
+    }
+
+    @Override
+    public void onEvent(byte[] event) {
+      throw new UnsupportedOperationException();
+    }
+  }
+
+  private static class BlockingOutputCollector implements SpOutputCollector {
+
+    private final CountDownLatch busy;
+    private final CountDownLatch release;
+    private final List<Event> events = new CopyOnWriteArrayList<>();
+
+    BlockingOutputCollector(CountDownLatch busy,
+                            CountDownLatch release) {
+      this.busy = busy;
+      this.release = release;
+    }
+
+    @Override
+    public void collect(Event event) {
+      busy.countDown();
+      try {
+        release.await(5, TimeUnit.SECONDS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      events.add(event);
+    }
+
+    @Override
+    public void registerConsumer(String routeId, InternalEventProcessor<Map<String, Object>> consumer) {
+    }
+
+    @Override
+    public void unregisterConsumer(String routeId) {
+    }
+
+    @Override
+    public void connect() {
+    }
+
+    @Override
+    public void disconnect() {
+    }
+  }
+}
@@ -0,0 +1,72 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.wrapper.standalone.routing;
+
+import org.apache.streampipes.dataformat.SpDataFormatDefinition;
+import org.apache.streampipes.wrapper.routing.RawDataProcessor;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+
+public class TestQueuedRawDataProcessor {
+
+  @Test
+  public void testRawEventsAreQueuedInOrder() {
+    List<String> processed = new ArrayList<>();
+    var queuedProcessor = new QueuedRawDataProcessor(
+        new RecordingProcessor(processed),
+        null,
+        "test-topic",
+        10,
+        QueueOverflowPolicy.BLOCK);
+    queuedProcessor.start();
+
+    queuedProcessor.process("a".getBytes(), null, "test-topic");
+    queuedProcessor.process("b".getBytes(), null, "test-topic");
+    queuedProcessor.process(Map.of("value", "c"), "test-topic");
+    queuedProcessor.process("d".getBytes(), null, "test-topic");
+    queuedProcessor.stop();
+
+    assertEquals(List.of("a", "b", "c", "d"), processed);
+  }
+
+  private static class RecordingProcessor implements RawDataProcessor {
+
+    private final List<String> processed;
+
+    RecordingProcessor(List<String> processed) {
+      this.processed = processed;
+    }
+
+    @Override
+    public void process(Map<String, Object> rawEvent, String sourceInfo) {
+      processed.add(String.valueOf(rawEvent.get("value")));
+    }
+
+    @Override
+    public void process(byte[] rawEvent, SpDataFormatDefinition dataFormatDefinition, String sourceInfo) {
+      processed.add(new String(rawEvent));
+    }
+  }
+}
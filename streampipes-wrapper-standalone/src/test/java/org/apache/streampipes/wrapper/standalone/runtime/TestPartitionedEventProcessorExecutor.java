@@ -0,0 +1,146 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.wrapper.standalone.runtime;
+
+import org.apache.streampipes.extensions.management.monitoring.SpMonitoringManager;
+import org.apache.streampipes.model.runtime.Event;
+import org.apache.streampipes.model.runtime.EventFactory;
+import org.apache.streampipes.wrapper.context.EventProcessorRuntimeContext;
+import org.apache.streampipes.wrapper.routing.SpOutputCollector;
+import org.apache.streampipes.wrapper.runtime.EventProcessor;
+import org.apache.streampipes.wrapper.standalone.ProcessorParams;
+import org.apache.streampipes.wrapper.standalone.routing.ParallelOutputCollector;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TestPartitionedEventProcessorExecutor {
+
+  private static final int PARALLELISM = 3;
+
+  @Test
+  public void testEventsWithSameKeyAreProcessedInOrderBySameEngine() {
+    List<RecordingEngine> engines = new ArrayList<>();
+    List<SpOutputCollector> collectors = new ArrayList<>();
+    var parallelOutputCollector = new ParallelOutputCollector(null, "test");
+    for (int i = 0; i < PARALLELISM; i++) {
+      engines.add(new RecordingEngine());
+      collectors.add(parallelOutputCollector.newWorkerCollector());
+    }
+    var executor = makeExecutor(engines, collectors, "o::key");
+    executor.start();
+    for (int i = 0; i < 300; i++) {
+      executor.submit(makeEvent("key-" + (i % 7), i));
+    }
+    executor.stop();
+
+    Set<String> seenKeys = new HashSet<>();
+    int processed = 0;
+    for (RecordingEngine engine : engines) {
+      processed += engine.events.size();
+      Set<String> engineKeys = new HashSet<>();
+      int[] lastSequence = new int[7];
+      Arrays.fill(lastSequence, -1);
+      for (Event event : engine.events) {
+        String key = event.getFieldBySelector("o::key").getAsPrimitive().getAsString();
+        int sequence = event.getFieldBySelector("o::sequence").getAsPrimitive().getAsInt();
+        int keyIndex = Integer.parseInt(key.substring(4));
+        assertTrue(sequence > lastSequence[keyIndex]);
+        lastSequence[keyIndex] = sequence;
+        engineKeys.add(key);
+      }
+      engineKeys.forEach(key -> assertTrue("key processed by several engines", seenKeys.add(key)));
+    }
+    assertEquals(300, processed);
+  }
+
+  @Test
+  public void testEachEngineUsesItsOwnOutputCollector() {
+    List<RecordingEngine> engines = new ArrayList<>();
+    List<SpOutputCollector> collectors = new ArrayList<>();
+    var parallelOutputCollector = new ParallelOutputCollector(null, "test");
+    for (int i = 0; i < PARALLELISM; i++) {
+      engines.add(new RecordingEngine());
+      collectors.add(parallelOutputCollector.newWorkerCollector());
+    }
+    var executor = makeExecutor(engines, collectors, null);
+    executor.start();
+    for (int i = 0; i < 30; i++) {
+      executor.submit(makeEvent("key", i));
+    }
+    executor.stop();
+
+    for (int i = 0; i < PARALLELISM; i++) {
+      assertEquals(10, engines.get(i).events.size());
+      assertEquals(Set.of(collectors.get(i)), engines.get(i).collectors);
+    }
+  }
+
+  private PartitionedEventProcessorExecutor<ProcessorParams> makeExecutor(List<RecordingEngine> engines,
+                                                                          List<SpOutputCollector> collectors,
+                                                                          String partitionKeySelector) {
+    return new PartitionedEventProcessorExecutor<>(
+        new ArrayList<>(engines),
+        collectors,
+        partitionKeySelector,
+        e -> {
+          throw e;
+        },
+        SpMonitoringManager.INSTANCE,
+        "test",
+        "test");
+  }
+
+  private Event makeEvent(String key,
+                          int sequence) {
+    return EventFactory.fromMap(Map.of("key", key, "sequence", sequence));
+  }
+
+  private static class RecordingEngine implements EventProcessor<ProcessorParams> {
+
+    private final List<Event> events = Collections.synchronizedList(new ArrayList<>());
+    private final Set<SpOutputCollector> collectors = Collections.synchronizedSet(new HashSet<>());
+
+    @Override
+    public void onInvocation(ProcessorParams parameters,
+                             SpOutputCollector spOutputCollector,
+                             EventProcessorRuntimeContext runtimeContext) {
+    }
+
+    @Override
+    public void onEvent(Event event, SpOutputCollector collector) {
+      events.add(event);
+      collectors.add(collector);
+    }
+
+    @Override
+    public void onDetach() {
+    }
+  }
+}
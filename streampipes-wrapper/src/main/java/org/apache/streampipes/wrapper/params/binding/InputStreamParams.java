@@ -51,7 +51,7 @@ public class InputStreamParams implements Serializable {
   }
 
   private SchemaInfo makeSchemaInfo(List<PropertyRenameRule> renameRules) {
-    return new SchemaInfo(eventSchema, renameRules);
+    return new SchemaInfo(eventSchema, renameRules, sourceInfo.getSelectorPrefix());
   }
 
   private SourceInfo makeSourceInfo(Integer streamId) {
@@ -19,6 +19,7 @@
 package org.apache.streampipes.wrapper.params.runtime;
 
 import org.apache.streampipes.client.StreamPipesClient;
+import org.apache.streampipes.dataformat.SpDataFormatDefinition;
 import org.apache.streampipes.extensions.management.config.ConfigExtractor;
 import org.apache.streampipes.model.base.InvocableStreamPipesEntity;
 import org.apache.streampipes.model.runtime.Event;
@@ -77,6 +78,11 @@ public abstract class RuntimeParams<V extends BindingParams<W>, W extends
 
   }
 
+  public Event makeEvent(byte[] rawEvent, SpDataFormatDefinition dataFormatDefinition, String sourceId) {
+    Integer index = getIndex(sourceId);
+    return dataFormatDefinition.toEvent(rawEvent, getSchemaInfo(index), getSourceInfo(index));
+  }
+
   public List<SourceInfo> getSourceInfo() {
     return bindingParams.getInputStreamParams().size() == 1 ? Collections.singletonList
         (getSourceInfo(0)) : Arrays.asList(getSourceInfo(0), getSourceInfo(1));
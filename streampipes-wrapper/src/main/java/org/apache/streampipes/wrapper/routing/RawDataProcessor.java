@@ -17,9 +17,27 @@
  */
 package org.apache.streampipes.wrapper.routing;
 
+import org.apache.streampipes.dataformat.SpDataFormatDefinition;
+
+import java.util.List;
 import java.util.Map;
 
 public interface RawDataProcessor {
 
+  /**
+   * @return the id under which the processor reports its metrics and logs
+   */
+  default String getResourceId() {
+    return getClass().getName();
+  }
+
   void process(Map<String, Object> rawEvent, String sourceInfo);
+
+  default void process(byte[] rawEvent, SpDataFormatDefinition dataFormatDefinition, String sourceInfo) {
+    process(dataFormatDefinition.toMap(rawEvent), sourceInfo);
+  }
+
+  default void processBatch(List<byte[]> rawEvents, SpDataFormatDefinition dataFormatDefinition, String sourceInfo) {
+    rawEvents.forEach(rawEvent -> process(rawEvent, dataFormatDefinition, sourceInfo));
+  }
 }
@@ -738,6 +738,40 @@ export class BoundPipelineElement {
     }
 }
 
+export class BulkPipelineOperationStatus {
+    completedPipelines: number;
+    failedPipelines: number;
+    finished: boolean;
+    finishedAt: number;
+    operationId: string;
+    operationType: string;
+    pipelineStatus: PipelineOperationStatus[];
+    startedAt: number;
+    totalPipelines: number;
+
+    static fromData(
+        data: BulkPipelineOperationStatus,
+        target?: BulkPipelineOperationStatus,
+    ): BulkPipelineOperationStatus {
+        if (!data) {
+            return data;
+        }
+        const instance = target || new BulkPipelineOperationStatus();
+        instance.completedPipelines = data.completedPipelines;
+        instance.failedPipelines = data.failedPipelines;
+        instance.finished = data.finished;
+        instance.finishedAt = data.finishedAt;
+        instance.operationId = data.operationId;
+        instance.operationType = data.operationType;
+        instance.pipelineStatus = __getCopyArrayFn(
+            PipelineOperationStatus.fromData,
+        )(data.pipelineStatus);
+        instance.startedAt = data.startedAt;
+        instance.totalPipelines = data.totalPipelines;
+        return instance;
+    }
+}
+
 export class CanvasPosition {
     x: number;
     y: number;
@@ -1192,6 +1226,26 @@ export class DataExplorerWidgetModel extends DashboardEntity {
     }
 }
 
+export class DataLakeFieldStatistics {
+    count: number;
+    max: number;
+    min: number;
+
+    static fromData(
+        data: DataLakeFieldStatistics,
+        target?: DataLakeFieldStatistics,
+    ): DataLakeFieldStatistics {
+        if (!data) {
+            return data;
+        }
+        const instance = target || new DataLakeFieldStatistics();
+        instance.count = data.count;
+        instance.max = data.max;
+        instance.min = data.min;
+        return instance;
+    }
+}
+
 export class DataLakeMeasure {
     '@class': 'org.apache.streampipes.model.datalake.DataLakeMeasure';
     '_rev': string;
@@ -1201,8 +1255,12 @@ export class DataLakeMeasure {
     'pipelineId': string;
     'pipelineIsRunning': boolean;
     'pipelineName': string;
+    'rollupTiers': DataLakeRollupTier[];
     'schemaVersion': string;
+    'statistics': DataLakeMeasureStatistics;
     'timestampField': string;
+    'writeBatchSize': number;
+    'writeLingerMs': number;
 
     static 'fromData'(
         data: DataLakeMeasure,
@@ -1220,8 +1278,36 @@ export class DataLakeMeasure {
         instance.pipelineId = data.pipelineId;
         instance.pipelineIsRunning = data.pipelineIsRunning;
         instance.pipelineName = data.pipelineName;
+        instance.rollupTiers = __getCopyArrayFn(DataLakeRollupTier.fromData)(
+            data.rollupTiers,
+        );
         instance.schemaVersion = data.schemaVersion;
+        instance.statistics = DataLakeMeasureStatistics.fromData(
+            data.statistics,
+        );
         instance.timestampField = data.timestampField;
+        instance.writeBatchSize = data.writeBatchSize;
+        instance.writeLingerMs = data.writeLingerMs;
+        return instance;
+    }
+}
+
+export class InputQueueInfo {
+    capacity: number;
+    droppedMessages: number;
+    size: number;
+
+    static fromData(
+        data: InputQueueInfo,
+        target?: InputQueueInfo,
+    ): InputQueueInfo {
+        if (!data) {
+            return data;
+        }
+        const instance = target || new InputQueueInfo();
+        instance.capacity = data.capacity;
+        instance.droppedMessages = data.droppedMessages;
+        instance.size = data.size;
         return instance;
     }
 }
@@ -1277,6 +1363,52 @@ export class InvocableStreamPipesEntity extends NamedStreamPipesEntity {
     }
 }
 
+export class DataLakeMeasureStatistics {
+    fields: { [index: string]: DataLakeFieldStatistics };
+    firstTimestamp: number;
+    lastTimestamp: number;
+    rowCount: number;
+
+    static fromData(
+        data: DataLakeMeasureStatistics,
+        target?: DataLakeMeasureStatistics,
+    ): DataLakeMeasureStatistics {
+        if (!data) {
+            return data;
+        }
+        const instance = target || new DataLakeMeasureStatistics();
+        instance.fields = __getCopyObjectFn(DataLakeFieldStatistics.fromData)(
+            data.fields,
+        );
+        instance.firstTimestamp = data.firstTimestamp;
+        instance.lastTimestamp = data.lastTimestamp;
+        instance.rowCount = data.rowCount;
+        return instance;
+    }
+}
+
+export class DataLakeRollupTier {
+    aggregations: string[];
+    createdAt: number;
+    interval: string;
+
+    static fromData(
+        data: DataLakeRollupTier,
+        target?: DataLakeRollupTier,
+    ): DataLakeRollupTier {
+        if (!data) {
+            return data;
+        }
+        const instance = target || new DataLakeRollupTier();
+        instance.aggregations = __getCopyArrayFn(__identity<string>())(
+            data.aggregations,
+        );
+        instance.createdAt = data.createdAt;
+        instance.interval = data.interval;
+        return instance;
+    }
+}
+
 export class DataProcessorInvocation extends InvocableStreamPipesEntity {
     '@class': 'org.apache.streampipes.model.graph.DataProcessorInvocation';
     'category': string[];
@@ -2147,6 +2279,7 @@ export class GuessTypeInfo {
 
 export class TransportProtocol {
     '@class':
+        | 'org.apache.streampipes.model.grounding.InMemoryTransportProtocol'
         | 'org.apache.streampipes.model.grounding.JmsTransportProtocol'
         | 'org.apache.streampipes.model.grounding.KafkaTransportProtocol'
         | 'org.apache.streampipes.model.grounding.MqttTransportProtocol'
@@ -2179,6 +2312,8 @@ export class TransportProtocol {
             return data;
         }
         switch (data['@class']) {
+            case 'org.apache.streampipes.model.grounding.InMemoryTransportProtocol':
+                return InMemoryTransportProtocol.fromData(data);
             case 'org.apache.streampipes.model.grounding.JmsTransportProtocol':
                 return JmsTransportProtocol.fromData(data);
             case 'org.apache.streampipes.model.grounding.KafkaTransportProtocol':
@@ -2191,6 +2326,28 @@ export class TransportProtocol {
     }
 }
 
+export class InMemoryTransportProtocol extends TransportProtocol {
+    '@class': 'org.apache.streampipes.model.grounding.InMemoryTransportProtocol';
+    'brokerProtocol': TransportProtocolUnion;
+    'mirrorToBroker': boolean;
+
+    static 'fromData'(
+        data: InMemoryTransportProtocol,
+        target?: InMemoryTransportProtocol,
+    ): InMemoryTransportProtocol {
+        if (!data) {
+            return data;
+        }
+        const instance = target || new InMemoryTransportProtocol();
+        super.fromData(data, instance);
+        instance.brokerProtocol = TransportProtocol.fromDataUnion(
+            data.brokerProtocol,
+        );
+        instance.mirrorToBroker = data.mirrorToBroker;
+        return instance;
+    }
+}
+
 export class JmsTransportProtocol extends TransportProtocol {
     '@class': 'org.apache.streampipes.model.grounding.JmsTransportProtocol';
     'port': number;
@@ -2213,12 +2370,18 @@ export class KafkaTransportProtocol extends TransportProtocol {
     '@class': 'org.apache.streampipes.model.grounding.KafkaTransportProtocol';
     'acks': string;
     'batchSize': string;
+    'compressionType': string;
+    'consumerThreads': number;
     'groupId': string;
     'kafkaPort': number;
     'lingerMs': number;
     'maxRequestSize': string;
     'messageMaxBytes': string;
     'offset': string;
+    'partitionKey': string;
+    'partitions': number;
+    'producerProfile': string;
+    'replicationFactor': number;
     'zookeeperHost': string;
     'zookeeperPort': number;
 
@@ -2233,12 +2396,18 @@ export class KafkaTransportProtocol extends TransportProtocol {
         super.fromData(data, instance);
         instance.acks = data.acks;
         instance.batchSize = data.batchSize;
+        instance.compressionType = data.compressionType;
+        instance.consumerThreads = data.consumerThreads;
         instance.groupId = data.groupId;
         instance.kafkaPort = data.kafkaPort;
         instance.lingerMs = data.lingerMs;
         instance.maxRequestSize = data.maxRequestSize;
         instance.messageMaxBytes = data.messageMaxBytes;
         instance.offset = data.offset;
+        instance.partitionKey = data.partitionKey;
+        instance.partitions = data.partitions;
+        instance.producerProfile = data.producerProfile;
+        instance.replicationFactor = data.replicationFactor;
         instance.zookeeperHost = data.zookeeperHost;
         instance.zookeeperPort = data.zookeeperPort;
         return instance;
@@ -2288,6 +2457,29 @@ export class Label {
     }
 }
 
+export class LatencyInfo {
+    count: number;
+    max: number;
+    mean: number;
+    p50: number;
+    p95: number;
+    p99: number;
+
+    static fromData(data: LatencyInfo, target?: LatencyInfo): LatencyInfo {
+        if (!data) {
+            return data;
+        }
+        const instance = target || new LatencyInfo();
+        instance.count = data.count;
+        instance.max = data.max;
+        instance.mean = data.mean;
+        instance.p50 = data.p50;
+        instance.p95 = data.p95;
+        instance.p99 = data.p99;
+        return instance;
+    }
+}
+
 export class ListOutputStrategy extends OutputStrategy {
     '@class': 'org.apache.streampipes.model.output.ListOutputStrategy';
     'propertyName': string;
@@ -2543,6 +2735,28 @@ export class Option {
     }
 }
 
+export class OutputBufferInfo {
+    capacity: number;
+    droppedMessages: number;
+    size: number;
+    spilledMessages: number;
+
+    static fromData(
+        data: OutputBufferInfo,
+        target?: OutputBufferInfo,
+    ): OutputBufferInfo {
+        if (!data) {
+            return data;
+        }
+        const instance = target || new OutputBufferInfo();
+        instance.capacity = data.capacity;
+        instance.droppedMessages = data.droppedMessages;
+        instance.size = data.size;
+        instance.spilledMessages = data.spilledMessages;
+        return instance;
+    }
+}
+
 export class PageResult extends DataSeries {
     page: number;
     pageSum: number;
@@ -2588,6 +2802,7 @@ export class Pipeline extends ElementComposition {
     createdAt: number;
     createdByUser: string;
     healthStatus: PipelineHealthStatus;
+    kafkaSettings: PipelineKafkaSettings;
     pipelineCategories: string[];
     pipelineNotifications: string[];
     publicElement: boolean;
@@ -2609,6 +2824,9 @@ export class Pipeline extends ElementComposition {
         instance.createdAt = data.createdAt;
         instance.createdByUser = data.createdByUser;
         instance.healthStatus = data.healthStatus;
+        instance.kafkaSettings = PipelineKafkaSettings.fromData(
+            data.kafkaSettings,
+        );
         instance.pipelineCategories = __getCopyArrayFn(__identity<string>())(
             data.pipelineCategories,
         );
@@ -2895,6 +3113,28 @@ export class PipelineElementValidationInfo {
     }
 }
 
+export class PipelineKafkaSettings {
+    consumerThreads: number;
+    partitionKey: string;
+    partitions: number;
+    replicationFactor: number;
+
+    static fromData(
+        data: PipelineKafkaSettings,
+        target?: PipelineKafkaSettings,
+    ): PipelineKafkaSettings {
+        if (!data) {
+            return data;
+        }
+        const instance = target || new PipelineKafkaSettings();
+        instance.consumerThreads = data.consumerThreads;
+        instance.partitionKey = data.partitionKey;
+        instance.partitions = data.partitions;
+        instance.replicationFactor = data.replicationFactor;
+        return instance;
+    }
+}
+
 export class PipelineModification {
     domId: string;
     elementId: string;
@@ -3557,9 +3797,16 @@ export class SpLogEntry {
 }
 
 export class SpMetricsEntry {
+    endToEndLatency: LatencyInfo;
+    inputQueues: { [index: string]: InputQueueInfo };
     lastTimestamp: number;
     messagesIn: { [index: string]: MessageCounter };
     messagesOut: MessageCounter;
+    outputBuffers: { [index: string]: OutputBufferInfo };
+    outputLatency: LatencyInfo;
+    processingLatency: LatencyInfo;
+    throughput: ThroughputSample[];
+    transportLatency: LatencyInfo;
 
     static fromData(
         data: SpMetricsEntry,
@@ -3569,11 +3816,28 @@ export class SpMetricsEntry {
             return data;
         }
         const instance = target || new SpMetricsEntry();
+        instance.endToEndLatency = LatencyInfo.fromData(data.endToEndLatency);
+        instance.inputQueues = __getCopyObjectFn(InputQueueInfo.fromData)(
+            data.inputQueues,
+        );
         instance.lastTimestamp = data.lastTimestamp;
         instance.messagesIn = __getCopyObjectFn(MessageCounter.fromData)(
             data.messagesIn,
         );
         instance.messagesOut = MessageCounter.fromData(data.messagesOut);
+        instance.outputBuffers = __getCopyObjectFn(OutputBufferInfo.fromData)(
+            data.outputBuffers,
+        );
+        instance.outputLatency = LatencyInfo.fromData(data.outputLatency);
+        instance.processingLatency = LatencyInfo.fromData(
+            data.processingLatency,
+        );
+        instance.throughput = __getCopyArrayFn(ThroughputSample.fromData)(
+            data.throughput,
+        );
+        instance.transportLatency = LatencyInfo.fromData(
+            data.transportLatency,
+        );
         return instance;
     }
 }
@@ -3826,6 +4090,24 @@ export class SupportedProperty {
     }
 }
 
+export class ThroughputSample {
+    messages: number;
+    timestamp: number;
+
+    static fromData(
+        data: ThroughputSample,
+        target?: ThroughputSample,
+    ): ThroughputSample {
+        if (!data) {
+            return data;
+        }
+        const instance = target || new ThroughputSample();
+        instance.messages = data.messages;
+        instance.timestamp = data.timestamp;
+        return instance;
+    }
+}
+
 export class TimestampTranfsformationRuleDescription extends ValueTransformationRuleDescription {
     '@class': 'org.apache.streampipes.model.connect.rules.value.TimestampTranfsformationRuleDescription';
     'formatString': string;
@@ -4109,7 +4391,7 @@ export type SelectionStaticPropertyUnion =
 
 export type SpDataStreamUnion = SpDataStream | SpDataSet;
 
-export type SpQueryStatus = 'OK' | 'TOO_MUCH_DATA';
+export type SpQueryStatus = 'OK' | 'TOO_MUCH_DATA' | 'ERROR';
 
 export type StaticPropertyType =
     | 'AnyStaticProperty'
@@ -4177,6 +4459,7 @@ export type TransformationRuleDescriptionUnion =
     | DebugSinkRuleDescription;
 
 export type TransportProtocolUnion =
+    | InMemoryTransportProtocol
     | JmsTransportProtocol
     | KafkaTransportProtocol
     | MqttTransportProtocol